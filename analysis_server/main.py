@@ -1,5 +1,6 @@
-from fastapi import FastAPI, File, UploadFile, HTTPException
+from fastapi import FastAPI, File, Form, UploadFile, HTTPException
 from fastapi.responses import JSONResponse
+from fastapi.concurrency import run_in_threadpool
 import numpy as np
 import tensorflow as tf
 import mediapipe as mp
@@ -7,7 +8,10 @@ import cv2
 import os
 import tempfile
 import shutil
-from typing import List, Dict, Any
+import threading
+import urllib.request
+from urllib.parse import urlsplit
+from typing import List, Dict, Any, Optional
 import uvicorn
 
 app = FastAPI(title="Squat Analysis API", version="1.0.0")
@@ -18,6 +22,42 @@ model_path = os.path.join(base_dir, "best_model.h5")
 mean_path = os.path.join(base_dir, "mean.npy")
 std_path = os.path.join(base_dir, "std.npy")
 
+# 업로드/다운로드 영상 최대 크기
+MAX_VIDEO_BYTES = 100 * 1024 * 1024
+
+
+def _video_url_hosts():
+    """videoUrl 로 받을 수 있는 호스트 (설정한 S3 버킷 엔드포인트만)"""
+    hosts = os.environ.get("VIDEO_URL_HOSTS")
+    if hosts:
+        return {host.strip().lower() for host in hosts.split(",") if host.strip()}
+    bucket = os.environ.get("S3_BUCKET_NAME")
+    if not bucket:
+        return set()
+    allowed = {f"{bucket}.s3.amazonaws.com".lower()}
+    region = os.environ.get("AWS_REGION")
+    if region:
+        allowed.add(f"{bucket}.s3.{region}.amazonaws.com".lower())
+    return allowed
+
+
+# 비어 있으면 videoUrl 요청은 모두 거절
+VIDEO_URL_HOSTS = _video_url_hosts()
+
+
+class _NoRedirect(urllib.request.HTTPRedirectHandler):
+    """S3 밖으로 리다이렉트되지 않도록 3xx 는 따라가지 않고 실패 처리"""
+
+    def redirect_request(self, req, fp, code, msg, headers, newurl):
+        return None
+
+
+# https 만 다루는 opener (file://, ftp:// 처리기는 쓰지 않는다)
+_video_opener = urllib.request.OpenerDirector()
+for _handler in (urllib.request.HTTPSHandler(), _NoRedirect(), urllib.request.HTTPErrorProcessor(),
+                 urllib.request.HTTPDefaultErrorHandler()):
+    _video_opener.add_handler(_handler)
+
 # MediaPipe 초기화
 mp_pose = mp.solutions.pose
 pose = mp_pose.Pose(static_image_mode=False, min_detection_confidence=0.5, model_complexity=1)
@@ -214,6 +254,13 @@ class SquatAnalyzer:
 # 전역 분석기 인스턴스 생성
 analyzer = None
 
+# MediaPipe pose 와 TFLite interpreter 는 스레드 안전하지 않으므로 분석은 한 번에 하나씩
+analysis_lock = threading.Lock()
+
+def _analyze_blocking(video_path):
+    with analysis_lock:
+        return analyzer.analyze(video_path)
+
 @app.on_event("startup")
 async def startup_event():
     """서버 시작 시 모델 로드"""
@@ -248,55 +295,109 @@ async def health_check():
         "model_loaded": analyzer is not None
     }
 
+def _check_video_url(video_url):
+    """설정한 S3 버킷의 https URL 이 아니면 400 (내부 주소/로컬 파일을 읽지 않도록)"""
+    try:
+        parts = urlsplit(video_url)
+        port = parts.port
+    except ValueError:
+        parts, port = None, None
+    if (parts is None or parts.scheme != "https" or parts.username or parts.password
+            or port not in (None, 443) or (parts.hostname or "").lower() not in VIDEO_URL_HOSTS):
+        raise HTTPException(
+            status_code=400,
+            detail="videoUrl must be an https URL of the configured S3 bucket"
+        )
+
+def _download_video(video_url, dest):
+    """presigned URL 에서 영상을 내려받아 dest 에 기록 (크기 제한)"""
+    copied = 0
+    with _video_opener.open(video_url, timeout=30) as response:
+        while True:
+            chunk = response.read(1024 * 1024)
+            if not chunk:
+                break
+            copied += len(chunk)
+            if copied > MAX_VIDEO_BYTES:
+                raise HTTPException(
+                    status_code=400,
+                    detail="File size must be less than 100MB"
+                )
+            dest.write(chunk)
+
 @app.post("/analyze")
 async def analyze_squat_video(
-    videoUrl: str = None,
-    username: str = None,
-    videoId: int = None,
-    file: UploadFile = File(...)
+    videoUrl: Optional[str] = Form(None),
+    username: Optional[str] = Form(None),
+    videoId: Optional[int] = Form(None),
+    file: Optional[UploadFile] = File(None)
 ) -> Dict[str, Any]:
     """
     스쿼트 영상 분석 API
+    file 대신 videoUrl(S3 presigned GET URL)을 주면 영상을 직접 내려받아 분석
     """
     if analyzer is None:
-        raise HTTPException(status_code=500, detail="Model not loaded")
-    if not file.content_type.startswith('video/'):
-        raise HTTPException(
-            status_code=400,
-            detail="Only video files are allowed"
-        )
-    if file.size > 100 * 1024 * 1024:
+        raise HTTPException(status_code=503, detail="Model not loaded")
+    if file is None and not videoUrl:
         raise HTTPException(
             status_code=400,
-            detail="File size must be less than 100MB"
+            detail="file or videoUrl is required"
         )
+    if file is not None:
+        if not file.content_type.startswith('video/'):
+            raise HTTPException(
+                status_code=400,
+                detail="Only video files are allowed"
+            )
+        if file.size > MAX_VIDEO_BYTES:
+            raise HTTPException(
+                status_code=400,
+                detail="File size must be less than 100MB"
+            )
+    else:
+        _check_video_url(videoUrl)
     temp_file = None
     try:
         temp_file = tempfile.NamedTemporaryFile(delete=False, suffix='.mp4')
-        shutil.copyfileobj(file.file, temp_file)
+        # 파일 복사/다운로드와 분석은 워커 스레드에서 실행해 이벤트 루프가 /health 에 계속 응답하게 한다
+        if file is not None:
+            await run_in_threadpool(shutil.copyfileobj, file.file, temp_file)
+        else:
+            try:
+                await run_in_threadpool(_download_video, videoUrl, temp_file)
+            except OSError as e:
+                # S3 에서 받지 못한 건 영상 문제가 아니므로 다시 시도할 수 있게 502
+                raise HTTPException(
+                    status_code=502,
+                    detail=f"Video download failed: {str(e)}"
+                )
         temp_file.close()
-        score, feedback = analyzer.analyze(temp_file.name)
+        score, feedback = await run_in_threadpool(_analyze_blocking, temp_file.name)
         return {
             "score": round(float(score), 2),
             "feedback": feedback,
             "status": "success",
             "message": "분석이 완료되었습니다.",
             "metadata": {
-                "filename": file.filename,
+                "filename": file.filename if file is not None else None,
                 "username": username,
                 "videoId": videoId,
                 "videoUrl": videoUrl
             }
         }
+    except HTTPException:
+        raise
     except Exception as e:
+        # 영상을 읽거나 분석하지 못함: 같은 영상을 다시 보내도 같으므로 재시도하지 않도록 422
         raise HTTPException(
-            status_code=500,
+            status_code=422,
             detail=f"Analysis failed: {str(e)}"
         )
     finally:
         if temp_file and os.path.exists(temp_file.name):
             os.unlink(temp_file.name)
-        file.file.close()
+        if file is not None:
+            file.file.close()
 
 @app.post("/analyze-batch")
 async def analyze_multiple_videos(
@@ -306,7 +407,7 @@ async def analyze_multiple_videos(
     여러 스쿼트 영상 일괄 분석 API
     """
     if analyzer is None:
-        raise HTTPException(status_code=500, detail="Model not loaded")
+        raise HTTPException(status_code=503, detail="Model not loaded")
     if len(files) > 5:
         raise HTTPException(
             status_code=400,
@@ -321,7 +422,7 @@ async def analyze_multiple_videos(
                 "message": "Only video files are allowed"
             })
             continue
-        if file.size > 100 * 1024 * 1024:
+        if file.size > MAX_VIDEO_BYTES:
             results.append({
                 "filename": file.filename,
                 "status": "error",
@@ -331,9 +432,9 @@ async def analyze_multiple_videos(
         temp_file = None
         try:
             temp_file = tempfile.NamedTemporaryFile(delete=False, suffix='.mp4')
-            shutil.copyfileobj(file.file, temp_file)
+            await run_in_threadpool(shutil.copyfileobj, file.file, temp_file)
             temp_file.close()
-            score, feedback = analyzer.analyze(temp_file.name)
+            score, feedback = await run_in_threadpool(_analyze_blocking, temp_file.name)
             results.append({
                 "filename": file.filename,
                 "score": round(float(score), 2),
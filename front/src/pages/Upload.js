@@ -1,6 +1,7 @@
 import React, { useState, useRef } from 'react';
 import { useAuth } from '../context/AuthContext';
 import { uploadApi } from '../services/api';
+import { watchAnalysisResults } from '../services/events';
 
 const Upload = () => {
   const [file, setFile] = useState(null);
@@ -53,6 +54,8 @@ const Upload = () => {
     setUploading(true);
     setError('');
 
+    // 업로드 전에 알림 구독을 열어 두어 업로드 직후 끝난 결과도 놓치지 않는다
+    const analysis = watchAnalysisResults();
     try {
       const formData = new FormData();
       formData.append('upload', file);
@@ -64,7 +67,19 @@ const Upload = () => {
         withCredentials: true
       });
 
-      setResult(response.data);
+      // 업로드는 202 로 즉시 응답하고, 분석 결과는 SSE(/events)로 받는다
+      const { videoId } = response.data;
+      let status = response.data;
+      if (status.status === 'PENDING' || status.status === 'PROCESSING') {
+        status = await analysis.resultOf(videoId);
+      }
+
+      if (status.status === 'FAILED') {
+        setError(status.feedBack || '분석에 실패했습니다.');
+        return;
+      }
+
+      setResult(status);
       setFile(null);
       if (fileInputRef.current) {
         fileInputRef.current.value = '';
@@ -72,6 +87,7 @@ const Upload = () => {
     } catch (error) {
       setError(error.response?.data?.message || '업로드 중 오류가 발생했습니다.');
     } finally {
+      analysis.close();
       setUploading(false);
     }
   };
@@ -29,6 +29,29 @@ const addTokenInterceptor = (instance) => {
   );
 };
 
+// refresh 쿠키로 ACCESS 토큰 재발급 (실패하면 로그인 화면으로)
+const reissueAccessToken = async () => {
+  try {
+    const refreshToken = getCookie('refresh');
+    if (refreshToken) {
+      const response = await axios.post(`${API_BASE_URL}/reissue`, {}, {
+        withCredentials: true
+      });
+
+      const newAccessToken = response.headers.access;
+      if (newAccessToken) {
+        localStorage.setItem('accessToken', newAccessToken);
+        return newAccessToken;
+      }
+    }
+  } catch (refreshError) {
+    localStorage.removeItem('accessToken');
+    removeCookie('refresh');
+    window.location.href = '/login';
+  }
+  return null;
+};
+
 // 응답 인터셉터 - 토큰 만료 시 자동 재발급
 const addResponseInterceptor = (instance) => {
   instance.interceptors.response.use(
@@ -39,24 +62,10 @@ const addResponseInterceptor = (instance) => {
       if (error.response?.status === 401 && !originalRequest._retry) {
         originalRequest._retry = true;
 
-        try {
-          const refreshToken = getCookie('refresh');
-          if (refreshToken) {
-            const response = await axios.post(`${API_BASE_URL}/reissue`, {}, {
-              withCredentials: true
-            });
-
-            const newAccessToken = response.headers.access;
-            if (newAccessToken) {
-              localStorage.setItem('accessToken', newAccessToken);
-              originalRequest.headers.access = newAccessToken;
-              return instance(originalRequest);
-            }
-          }
-        } catch (refreshError) {
-          localStorage.removeItem('accessToken');
-          removeCookie('refresh');
-          window.location.href = '/login';
+        const newAccessToken = await reissueAccessToken();
+        if (newAccessToken) {
+          originalRequest.headers.access = newAccessToken;
+          return instance(originalRequest);
         }
       }
 
@@ -71,4 +80,4 @@ addTokenInterceptor(uploadApi);
 addResponseInterceptor(api);
 addResponseInterceptor(uploadApi);
 
-export { api, uploadApi };
\ No newline at end of file
+export { API_BASE_URL, api, uploadApi, reissueAccessToken };
\ No newline at end of file
@@ -0,0 +1,149 @@
+import { API_BASE_URL, api, reissueAccessToken } from './api';
+
+const RETRY_MS = 3000;
+
+const sleep = (ms) => new Promise((resolve) => setTimeout(resolve, ms));
+
+const isFinished = (status) => status === 'DONE' || status === 'FAILED';
+
+// "id:", "event:", "data:" 줄을 빈 줄 단위로 묶어 이벤트 하나로 만든다 (":" 로 시작하는 줄은 코멘트)
+const readEvents = async (body, onEvent) => {
+  const reader = body.getReader();
+  const decoder = new TextDecoder();
+  let buffer = '';
+  let event = { id: null, name: 'message', data: [] };
+
+  for (;;) {
+    const { value, done } = await reader.read();
+    if (done) {
+      return;
+    }
+    buffer += decoder.decode(value, { stream: true });
+
+    let newline;
+    while ((newline = buffer.indexOf('\n')) >= 0) {
+      const line = buffer.slice(0, newline).replace(/\r$/, '');
+      buffer = buffer.slice(newline + 1);
+
+      if (line === '') {
+        if (event.data.length > 0) {
+          onEvent(event);
+        }
+        event = { id: null, name: 'message', data: [] };
+        continue;
+      }
+      if (line.startsWith(':')) {
+        continue;
+      }
+      const separator = line.indexOf(':');
+      const field = separator < 0 ? line : line.slice(0, separator);
+      const value = separator < 0 ? '' : line.slice(separator + 1).replace(/^ /, '');
+      if (field === 'id') {
+        event.id = value;
+      } else if (field === 'event') {
+        event.name = value;
+      } else if (field === 'data') {
+        event.data.push(value);
+      }
+    }
+  }
+};
+
+// GET /events 구독. EventSource 는 access 헤더를 보낼 수 없어 fetch 로 스트림을 읽는다
+// 끊기면 다시 연결하고, 마지막으로 받은 결과 이벤트 id 를 Last-Event-ID 로 보내 끊긴 동안의 결과를 다시 받는다
+// 연결될 때마다 onOpen 을 부른다. 반환값을 호출하면 구독을 닫는다
+const subscribeAnalysisEvents = (onStatus, onOpen) => {
+  const controller = new AbortController();
+  let lastEventId = null;
+
+  const connect = async () => {
+    while (!controller.signal.aborted) {
+      try {
+        const headers = { access: localStorage.getItem('accessToken') };
+        if (lastEventId) {
+          headers['Last-Event-ID'] = lastEventId;
+        }
+        const response = await fetch(`${API_BASE_URL}/events`, {
+          headers,
+          credentials: 'include',
+          signal: controller.signal
+        });
+
+        if (response.status === 401) {
+          if (!(await reissueAccessToken())) {
+            return;
+          }
+          continue;
+        }
+        if (response.ok) {
+          onOpen?.();
+          await readEvents(response.body, (event) => {
+            if (event.name !== 'status') {
+              return;
+            }
+            if (event.id) {
+              lastEventId = event.id;
+            }
+            onStatus(JSON.parse(event.data.join('\n')));
+          });
+        }
+      } catch (error) {
+        if (controller.signal.aborted) {
+          return;
+        }
+      }
+      await sleep(RETRY_MS);
+    }
+  };
+
+  connect();
+  return () => controller.abort();
+};
+
+// 업로드 전에 구독을 열어 두고, 업로드 응답의 videoId 가 DONE/FAILED 가 될 때까지 기다린다
+// (다시) 연결될 때마다 기다리는 영상의 상태를 한 번 조회해 연결 전이나 끊긴 동안 끝난 결과도 받는다
+const watchAnalysisResults = () => {
+  const finished = new Map();
+  const waiters = new Map();
+
+  const finish = (result) => {
+    finished.set(result.videoId, result);
+    const resolve = waiters.get(result.videoId);
+    if (resolve) {
+      waiters.delete(result.videoId);
+      resolve(result);
+    }
+  };
+
+  const refresh = (videoId) => {
+    api.get(`/upload/${videoId}`)
+      .then((response) => {
+        if (isFinished(response.data.status)) {
+          finish(response.data);
+        }
+      })
+      .catch(() => {});
+  };
+
+  const close = subscribeAnalysisEvents(
+    (event) => {
+      if (isFinished(event.status)) {
+        finish(event);
+      }
+    },
+    () => waiters.forEach((resolve, videoId) => refresh(videoId))
+  );
+
+  const resultOf = (videoId) => {
+    if (finished.has(videoId)) {
+      return Promise.resolve(finished.get(videoId));
+    }
+    const result = new Promise((resolve) => waiters.set(videoId, resolve));
+    refresh(videoId);
+    return result;
+  };
+
+  return { resultOf, close };
+};
+
+export { subscribeAnalysisEvents, watchAnalysisResults };
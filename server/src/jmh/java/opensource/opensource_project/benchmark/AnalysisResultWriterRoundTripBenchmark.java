@@ -0,0 +1,139 @@
+package opensource.opensource_project.benchmark;
+
+import opensource.opensource_project.config.IdSequenceInitializer;
+import opensource.opensource_project.config.JpaBatchConfig;
+import opensource.opensource_project.domain.squat_videos.entity.SquatVideo;
+import opensource.opensource_project.domain.squat_videos.squat_video_constants.Status;
+import opensource.opensource_project.dto.AnalysisJob;
+import opensource.opensource_project.service.AnalysisOutboxService;
+import opensource.opensource_project.service.AnalysisResultWriter;
+import opensource.opensource_project.service.UserProgressService;
+import opensource.opensource_project.support.RoundTripCountingDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+// 업로드 한 건의 DB 쓰기 경로
+// analyzed: 영상+작업 행 저장 → PROCESSING → 결과 저장+작업 행 삭제, reused: 같은 영상 재업로드 (기존 결과 재사용)
+// H2 를 MySQL 방언으로 띄워 운영과 같은 id 생성/배치 경로를 타고, 반복마다 업로드 한 건당 DB 왕복 수를 출력한다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalysisResultWriterRoundTripBenchmark {
+
+    private static final RoundTripCountingDataSource COUNTER = new RoundTripCountingDataSource();
+
+    private ConfigurableApplicationContext context;
+    private AnalysisOutboxService outboxService;
+    private AnalysisResultWriter writer;
+    private long uploads;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(WriterContext.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:round-trips;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER",
+                        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.open-in-view=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        outboxService = context.getBean(AnalysisOutboxService.class);
+        writer = context.getBean(AnalysisResultWriter.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounter() {
+        COUNTER.reset();
+        uploads = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void printRoundTrips() {
+        StringBuilder line = new StringBuilder("DB round trips per upload:");
+        COUNTER.snapshot().forEach((name, total) -> line.append(String.format(" %s=%.2f", name, total / (double) uploads)));
+        System.out.println(line);
+    }
+
+    // 분석 서버를 거치는 업로드
+    @Benchmark
+    public void analyzed() {
+        AnalysisJob job = outboxService.saveTracked(newVideo("analyzed"),
+                videoId -> new AnalysisJob(videoId, "analyzed", null, "squat.mp4", "squat.mp4", "video/mp4", null));
+        writer.markProcessing(job.getVideoId(), "analyzed");
+        outboxService.complete(job, 80f, "무릎을 조금 더 굽히세요");
+        uploads++;
+    }
+
+    // 같은 영상 재업로드: 기존 결과를 그대로 저장
+    @Benchmark
+    public SquatVideo reused() {
+        uploads++;
+        return writer.completeReused(newVideo("reused"), 80f, "무릎을 조금 더 굽히세요");
+    }
+
+    private static SquatVideo newVideo(String username) {
+        SquatVideo video = new SquatVideo();
+        video.setUsername(username);
+        video.setOriginalFilename("squat.mp4");
+        video.setExtension(".mp4");
+        video.setS3Url("https://bucket.s3.amazonaws.com/squat.mp4");
+        video.setStatus(Status.PENDING);
+        return video;
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+    @EntityScan("opensource.opensource_project.domain")
+    @EnableJpaRepositories("opensource.opensource_project.repository")
+    @Import({AnalysisOutboxService.class, AnalysisResultWriter.class, UserProgressService.class, JpaBatchConfig.class,
+            IdSequenceInitializer.class})
+    static class WriterContext {
+
+        @Bean
+        static BeanPostProcessor roundTripCounter() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? COUNTER.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
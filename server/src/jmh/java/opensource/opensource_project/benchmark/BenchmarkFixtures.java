@@ -0,0 +1,84 @@
+package opensource.opensource_project.benchmark;
+
+import com.amazonaws.services.s3.AbstractAmazonS3;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// 벤치마크 공용 고정값과 스텁
+final class BenchmarkFixtures {
+
+    static final String JWT_SECRET = "benchmark-secret-key-which-is-long-enough-for-hs256";
+
+    private BenchmarkFixtures() {
+    }
+
+    // 본문을 읽어 버리기만 하는 S3 스텁
+    static class DiscardingS3 extends AbstractAmazonS3 {
+        @Override
+        public PutObjectResult putObject(PutObjectRequest request) {
+            try (InputStream in = request.getInputStream()) {
+                in.transferTo(OutputStream.nullOutputStream());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new PutObjectResult();
+        }
+
+        @Override
+        public URL getUrl(String bucketName, String key) {
+            try {
+                return new URL("http://localhost/" + bucketName + "/" + key);
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+    }
+
+    // save 는 id 를 채워 그대로 돌려주고, findById/findForUpdate 는 factory 로 만든 엔티티를 돌려주는 리포지토리 스텁
+    @SuppressWarnings("unchecked")
+    static <T, E> T stubRepository(Class<T> repositoryType, Function<Long, E> factory, IdSetter<E> idSetter) {
+        AtomicLong sequence = new AtomicLong();
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> invoke(method, args, sequence, factory, idSetter));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Object invoke(Method method, Object[] args, AtomicLong sequence, Function<Long, E> factory, IdSetter<E> idSetter) {
+        switch (method.getName()) {
+            case "save":
+                idSetter.setIfAbsent((E) args[0], sequence.incrementAndGet());
+                return args[0];
+            case "findById":
+                return Optional.of(factory.apply((Long) args[0]));
+            case "findForUpdate":
+                return Optional.of(factory.apply(null));
+            case "toString":
+                return "stub repository";
+            case "hashCode":
+                return 0;
+            case "equals":
+                return false;
+            default:
+                if (method.getReturnType() == int.class) {
+                    return 0;
+                }
+                return method.getReturnType() == Optional.class ? Optional.empty() : null;
+        }
+    }
+
+    interface IdSetter<E> {
+        void setIfAbsent(E entity, long id);
+    }
+}
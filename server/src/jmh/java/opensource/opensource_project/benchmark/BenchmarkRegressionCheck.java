@@ -0,0 +1,61 @@
+package opensource.opensource_project.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 두 JMH JSON 결과를 비교해 허용치 이상 느려진 벤치마크가 있으면 종료 코드 1 을 반환
+// 사용법: BenchmarkRegressionCheck <기준 결과.json> <현재 결과.json> [허용 비율(%) 기본 10]
+public class BenchmarkRegressionCheck {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BenchmarkRegressionCheck <baseline.json> <current.json> [threshold%]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) / 100 : 0.10;
+
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> current = load(new File(args[1]));
+
+        boolean regressed = false;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+
+            double oldScore = before.path("primaryMetric").path("score").asDouble();
+            double newScore = entry.getValue().path("primaryMetric").path("score").asDouble();
+            String unit = entry.getValue().path("primaryMetric").path("scoreUnit").asText();
+
+            // 처리량(thrpt)은 클수록, 나머지(avgt, sample, ss)는 작을수록 좋다
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+            double change = oldScore == 0 ? 0 : (newScore - oldScore) / oldScore;
+            boolean worse = higherIsBetter ? change < -threshold : change > threshold;
+
+            System.out.printf("%s%s: %.3f -> %.3f %s (%+.1f%%)%n",
+                    worse ? "REGRESSION " : "", entry.getKey(), oldScore, newScore, unit, change * 100);
+            regressed |= worse;
+        }
+
+        System.exit(regressed ? 1 : 0);
+    }
+
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            String key = result.path("benchmark").asText();
+            JsonNode params = result.path("params");
+            if (!params.isMissingNode() && params.size() > 0) {
+                key += params.toString();
+            }
+            results.put(key, result);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,32 @@
+package opensource.opensource_project.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+// 모든 벤치마크를 실행하고 결과를 JSON 으로 남긴다
+// 사용법: BenchmarkRunner [결과 파일 경로] [벤치마크 정규식]
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        String resultFile = args.length > 0 ? args[0] : "build/reports/jmh/results.json";
+        String include = args.length > 1 ? args[1] : "opensource\\.opensource_project\\.benchmark\\..*";
+
+        File parent = new File(resultFile).getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build();
+
+        new Runner(options).run();
+    }
+}
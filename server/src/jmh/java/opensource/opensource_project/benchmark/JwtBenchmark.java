@@ -0,0 +1,53 @@
+package opensource.opensource_project.benchmark;
+
+import opensource.opensource_project.jwt.JwtClaims;
+import opensource.opensource_project.jwt.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil cachedJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        cachedJwtUtil = new JwtUtil(BenchmarkFixtures.JWT_SECRET, 10_000);
+        uncachedJwtUtil = new JwtUtil(BenchmarkFixtures.JWT_SECRET, 0);
+        accessToken = cachedJwtUtil.createJwt("access", "bench-user", "ROLE_USER", "벤치", 1000L * 60 * 30);
+    }
+
+    @Benchmark
+    public String createJwt() {
+        return cachedJwtUtil.createJwt("access", "bench-user", "ROLE_USER", "벤치", 1000L * 60 * 30);
+    }
+
+    // 매번 서명 검증 + 클레임 파싱
+    @Benchmark
+    public JwtClaims parseUncached() {
+        return uncachedJwtUtil.parse(accessToken);
+    }
+
+    // 검증된 클레임 캐시 적중
+    @Benchmark
+    public JwtClaims parseCached() {
+        return cachedJwtUtil.parse(accessToken);
+    }
+}
@@ -0,0 +1,68 @@
+package opensource.opensource_project.benchmark;
+
+import jakarta.servlet.ServletException;
+import opensource.opensource_project.jwt.JwtFilter;
+import opensource.opensource_project.jwt.JwtUtil;
+import opensource.opensource_project.revocation.LocalRevocationChannel;
+import opensource.opensource_project.revocation.TokenRevocationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private JwtFilter jwtFilter;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil(BenchmarkFixtures.JWT_SECRET, 10_000);
+        // 다른 사용자들이 로그아웃해 폐기 목록이 찬 상태에서 유효한 토큰이 통과하는 비용 (Bloom filter 음성 경로)
+        TokenRevocationService revocationService = new TokenRevocationService(null, new LocalRevocationChannel());
+        ReflectionTestUtils.setField(revocationService, "expectedEntries", 100_000);
+        ReflectionTestUtils.setField(revocationService, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(revocationService, "maxEntries", 200_000);
+        revocationService.init();
+        for (int i = 0; i < 50_000; i++) {
+            revocationService.revoke(jwtUtil.parse(jwtUtil.createJwt("access", "user-" + i, "ROLE_USER", "벤치", 1000L * 60 * 30)));
+        }
+        jwtFilter = new JwtFilter(jwtUtil, revocationService);
+        accessToken = jwtUtil.createJwt("access", "bench-user", "ROLE_USER", "벤치", 1000L * 60 * 30);
+    }
+
+    // 유효한 access 토큰으로 인증 컨텍스트를 구성하는 전체 필터 처리
+    @Benchmark
+    public int validAccessToken() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/upload/1");
+        request.addHeader("access", accessToken);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try {
+            jwtFilter.doFilter(request, response, new MockFilterChain());
+            return response.getStatus();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
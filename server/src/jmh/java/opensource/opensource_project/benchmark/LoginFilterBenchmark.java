@@ -0,0 +1,51 @@
+package opensource.opensource_project.benchmark;
+
+import opensource.opensource_project.jwt.JwtUtil;
+import opensource.opensource_project.jwt.LoginFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoginFilterBenchmark {
+
+    private static final byte[] LOGIN_BODY = "{\"username\":\"bench-user\",\"password\":\"bench-password\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private LoginFilter loginFilter;
+
+    @Setup
+    public void setUp() {
+        // 비밀번호 검증(BCrypt)은 제외하고 JSON 파싱 비용만 측정
+        AuthenticationManager authenticationManager = authentication -> authentication;
+        loginFilter = new LoginFilter(authenticationManager, new JwtUtil(BenchmarkFixtures.JWT_SECRET, 10_000), null);
+    }
+
+    @Benchmark
+    public Authentication attemptAuthenticationJson() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setContentType("application/json");
+        request.setContent(LOGIN_BODY);
+
+        return loginFilter.attemptAuthentication(request, new MockHttpServletResponse());
+    }
+}
@@ -0,0 +1,111 @@
+package opensource.opensource_project.benchmark;
+
+import opensource.opensource_project.service.S3MultipartUploader;
+import opensource.opensource_project.support.InMemoryS3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+// 로컬 S3 대역(InMemoryS3)을 상대로 파일 크기별 업로드 한 건의 소요 시간 (MB/s = sizeMb / 초)
+// 요청당 20ms, 연결당 50MB/s 로 원격 S3 를 흉내. concurrency 0 은 단일 PUT, 그 외는 8MB 파트를 동시에 그 수만큼 올린다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class S3MultipartUploaderBenchmark {
+
+    private static final long MB = 1024 * 1024;
+    private static final long LATENCY_MS = 20;
+    private static final long BYTES_PER_SECOND = 50 * MB;
+
+    @Param({"8", "32", "128", "512"})
+    private long sizeMb;
+
+    @Param({"0", "1", "4", "8"})
+    private int concurrency;
+
+    private ThreadPoolTaskExecutor partExecutor;
+    private InMemoryS3 s3;
+    private S3MultipartUploader uploader;
+
+    @Setup(Level.Trial)
+    public void startExecutor() {
+        partExecutor = new ThreadPoolTaskExecutor();
+        partExecutor.setCorePoolSize(16);
+        partExecutor.setMaxPoolSize(16);
+        partExecutor.setThreadNamePrefix("bench-part-");
+        partExecutor.initialize();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopExecutor() {
+        partExecutor.shutdown();
+    }
+
+    // 업로드마다 빈 S3 로 시작한다 (내용은 보관하지 않음)
+    @Setup(Level.Invocation)
+    public void newBucket() {
+        s3 = new InMemoryS3(LATENCY_MS, BYTES_PER_SECOND, false);
+        long threshold = concurrency == 0 ? Long.MAX_VALUE : 8 * MB;
+        uploader = new S3MultipartUploader(s3, partExecutor, 8 * MB, Math.max(1, concurrency), threshold, 3);
+    }
+
+    @TearDown(Level.Iteration)
+    public void printRequests() {
+        System.out.println("S3 requests per upload: " + s3.getRequests());
+    }
+
+    @Benchmark
+    public void upload() throws IOException {
+        long size = sizeMb * MB;
+        uploader.upload("bench", "bench-" + sizeMb, new GeneratedInputStream(size), size, "video/mp4");
+    }
+
+    // 대용량 배열을 만들지 않고 지정한 길이만큼 바이트를 생성하는 스트림
+    private static class GeneratedInputStream extends InputStream {
+        private long remaining;
+
+        GeneratedInputStream(long size) {
+            this.remaining = size;
+        }
+
+        @Override
+        public int read() {
+            if (remaining <= 0) {
+                return -1;
+            }
+            remaining--;
+            return (int) (remaining & 0xff);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = (int) Math.min(len, remaining);
+            for (int i = 0; i < n; i++) {
+                b[off + i] = (byte) (remaining - i);
+            }
+            remaining -= n;
+            return n;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package opensource.opensource_project.benchmark;
+
+import opensource.opensource_project.controller.UploadController;
+import opensource.opensource_project.domain.analysis_result.entity.AnalysisResult;
+import opensource.opensource_project.domain.squat_videos.entity.SquatVideo;
+import opensource.opensource_project.domain.user.entity.User;
+import opensource.opensource_project.domain.user_progress.entity.UserProgress;
+import opensource.opensource_project.dto.CustomUserDetails;
+import opensource.opensource_project.repository.AnalysisResultRepository;
+import opensource.opensource_project.repository.SquatVideoRepository;
+import opensource.opensource_project.repository.UserProgressRepository;
+import opensource.opensource_project.service.AnalysisEndpointPool;
+import opensource.opensource_project.service.AnalysisJobService;
+import opensource.opensource_project.service.AnalysisOutboxService;
+import opensource.opensource_project.service.AnalysisResultWriter;
+import opensource.opensource_project.service.AnalysisServerClient;
+import opensource.opensource_project.service.ChunkedUploadService;
+import opensource.opensource_project.service.ContentDedupService;
+import opensource.opensource_project.service.Mp4Probe;
+import opensource.opensource_project.service.S3MultipartUploader;
+import opensource.opensource_project.service.UserProgressService;
+import opensource.opensource_project.service.VideoUploadService;
+import opensource.opensource_project.support.TestVideos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.mock.web.MockMultipartHttpServletRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+// S3 와 분석 서버를 스텁으로 바꾼 UploadController.upload 전체 경로
+// (multipart 읽기 → S3 tee → 메타데이터 저장 → 분석 요청 생성/응답 처리)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UploadPathBenchmark {
+
+    private static final String ANALYSIS_BASE_URL = "http://analysis.local";
+    private static final String ANALYSIS_RESPONSE = "{\"score\": 87.5, \"feedback\": [\"무릎이 발끝을 넘지 않도록 하세요\"], \"status\": \"success\"}";
+
+    @Param({"1048576", "8388608"})
+    public int videoBytes;
+
+    private byte[] video;
+    private Path stagingDir;
+    private ThreadPoolTaskExecutor s3TransferExecutor;
+    private ThreadPoolTaskExecutor s3PartExecutor;
+    private UploadController uploadController;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        video = TestVideos.mp4(videoBytes, new Random(42));
+        stagingDir = Files.createTempDirectory("upload-bench");
+
+        s3TransferExecutor = executor("bench-s3-");
+        s3PartExecutor = executor("bench-part-");
+
+        BenchmarkFixtures.DiscardingS3 s3 = new BenchmarkFixtures.DiscardingS3();
+        S3MultipartUploader uploader = new S3MultipartUploader(s3, s3PartExecutor, 8L << 20, 4, 64L << 20, 3);
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer analysisServer = MockRestServiceServer.bindTo(restTemplate).build();
+        analysisServer.expect(ExpectedCount.manyTimes(), requestTo(ANALYSIS_BASE_URL + "/analyze"))
+                .andRespond(withSuccess(ANALYSIS_RESPONSE, MediaType.APPLICATION_JSON));
+
+        SquatVideoRepository squatVideoRepository = BenchmarkFixtures.stubRepository(SquatVideoRepository.class,
+                id -> new SquatVideo(), (SquatVideo entity, long id) -> {
+                    if (entity.getVideoId() == null) {
+                        entity.setVideoId(id);
+                    }
+                });
+        AnalysisResultRepository analysisResultRepository = BenchmarkFixtures.stubRepository(AnalysisResultRepository.class,
+                id -> new AnalysisResult(), (AnalysisResult entity, long id) -> {
+                    if (entity.getAnalysisId() == null) {
+                        entity.setAnalysisId(id);
+                    }
+                });
+
+        UserProgressRepository userProgressRepository = BenchmarkFixtures.stubRepository(UserProgressRepository.class,
+                id -> new UserProgress(), (UserProgress entity, long id) -> {
+                });
+
+        AnalysisResultWriter writer = new AnalysisResultWriter(squatVideoRepository, analysisResultRepository,
+                new UserProgressService(userProgressRepository), event -> {
+                });
+        // 스텁 저장소는 DONE 영상을 찾지 못하므로 매 반복이 업로드/분석 전체 경로를 탄다
+        // 분석 작업 대기열(DB)은 끈 상태 (@Value 미적용 시 enabled=false): 실패는 바로 FAILED 로 저장
+        AnalysisOutboxService outboxService = new AnalysisOutboxService(null, squatVideoRepository, writer);
+        ContentDedupService dedupService = new ContentDedupService(squatVideoRepository, analysisResultRepository, writer, outboxService);
+
+        Mp4Probe mp4Probe = new Mp4Probe();
+        ReflectionTestUtils.setField(mp4Probe, "maxReadBytes", 1L << 20);
+        ReflectionTestUtils.setField(mp4Probe, "maxDurationSeconds", 600L);
+
+        VideoUploadService videoUploadService = new VideoUploadService(s3, s3TransferExecutor, uploader, dedupService, mp4Probe);
+        ReflectionTestUtils.setField(videoUploadService, "bucket", "bench");
+        ReflectionTestUtils.setField(videoUploadService, "stagingDir", stagingDir.toString());
+        ReflectionTestUtils.setField(videoUploadService, "streamingEnabled", true);
+        ReflectionTestUtils.setField(videoUploadService, "chunkSize", 65536);
+        ReflectionTestUtils.setField(videoUploadService, "bufferChunks", 16);
+
+        AnalysisEndpointPool endpointPool = new AnalysisEndpointPool(null);
+        ReflectionTestUtils.setField(endpointPool, "baseUrls", ANALYSIS_BASE_URL);
+        endpointPool.init();
+        AnalysisJobService jobService = new AnalysisJobService(inlineExecutor(), new AnalysisServerClient(restTemplate, null, endpointPool), writer, dedupService, outboxService);
+        uploadController = new UploadController(videoUploadService, jobService, writer, dedupService, outboxService,
+                new ChunkedUploadService(), null,
+                squatVideoRepository, analysisResultRepository);
+
+        User user = new User();
+        user.setUsername("bench-user");
+        user.setRealName("벤치");
+        user.setRole("ROLE_USER");
+        CustomUserDetails userDetails = new CustomUserDetails(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        s3TransferExecutor.shutdown();
+        s3PartExecutor.shutdown();
+        try (var files = Files.list(stagingDir)) {
+            files.forEach(path -> path.toFile().delete());
+        }
+        Files.deleteIfExists(stagingDir);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> upload() throws Exception {
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        request.addFile(new MockMultipartFile("upload", "squat.mp4", "video/mp4", video));
+        return uploadController.upload(request, null);
+    }
+
+    private static ThreadPoolTaskExecutor executor(String prefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(8);
+        executor.setThreadNamePrefix(prefix);
+        executor.initialize();
+        return executor;
+    }
+
+    // 분석 작업을 호출 스레드에서 바로 실행해 분석 요청 생성/응답 처리까지 측정에 포함
+    private static ThreadPoolTaskExecutor inlineExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor() {
+            @Override
+            public void execute(Runnable task) {
+                task.run();
+            }
+        };
+        executor.initialize();
+        return executor;
+    }
+}
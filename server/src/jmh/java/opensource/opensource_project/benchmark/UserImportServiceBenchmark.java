@@ -0,0 +1,147 @@
+package opensource.opensource_project.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import opensource.opensource_project.config.BoundedPasswordEncoder;
+import opensource.opensource_project.config.IdSequenceInitializer;
+import opensource.opensource_project.config.JpaBatchConfig;
+import opensource.opensource_project.dto.JoinDTO;
+import opensource.opensource_project.dto.UserImportRowDTO;
+import opensource.opensource_project.service.JoinService;
+import opensource.opensource_project.service.UserImportService;
+import opensource.opensource_project.support.RoundTripCountingDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 가입 USERS 명: JoinService 로 한 명씩(existsByUsername + save) vs UserImportService 로 CSV 한 번에
+// H2 를 MySQL 방언으로 띄워 운영과 같은 id 시퀀스 테이블을 쓰고, 반복마다 한 명당 DB 왕복 수를 출력한다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class UserImportServiceBenchmark {
+
+    private static final int USERS = 300;
+    private static final RoundTripCountingDataSource COUNTER = new RoundTripCountingDataSource();
+
+    private ConfigurableApplicationContext context;
+    private JoinService joinService;
+    private UserImportService importService;
+    // 반복마다 새 아이디로 가입시킨다
+    private int round;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ImportContext.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:user-import;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER",
+                        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.open-in-view=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        joinService = context.getBean(JoinService.class);
+        importService = context.getBean(UserImportService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounter() {
+        COUNTER.reset();
+        round++;
+    }
+
+    @TearDown(Level.Iteration)
+    public void printRoundTrips() {
+        StringBuilder line = new StringBuilder("DB round trips per user:");
+        COUNTER.snapshot().forEach((name, total) -> line.append(String.format(" %s=%.2f", name, total / (double) USERS)));
+        System.out.println(line);
+    }
+
+    @Benchmark
+    public void join() {
+        for (int i = 0; i < USERS; i++) {
+            JoinDTO joinDTO = new JoinDTO();
+            joinDTO.setUsername("join-" + round + "-" + i);
+            joinDTO.setPassword("secret");
+            joinDTO.setRealName("회원");
+            joinService.joinProcess(joinDTO);
+        }
+    }
+
+    @Benchmark
+    public List<UserImportRowDTO> importCsv() throws Exception {
+        StringBuilder csv = new StringBuilder("username,password,realName\n");
+        for (int i = 0; i < USERS; i++) {
+            csv.append("import-").append(round).append('-').append(i).append(",secret-").append(i).append(",\"체육관, 회원\"\n");
+        }
+        return importService.importUsers(new BufferedReader(new StringReader(csv.toString())), UserImportService.Format.CSV);
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+    @EntityScan("opensource.opensource_project.domain")
+    @EnableJpaRepositories("opensource.opensource_project.repository")
+    @Import({JoinService.class, UserImportService.class, JpaBatchConfig.class, IdSequenceInitializer.class})
+    static class ImportContext {
+
+        // 운영 기본값(cost 10 이상)보다 낮춰 해시 대신 DB 경로 차이가 드러나게 한다. 두 경로 모두 같은 cost
+        @Bean(destroyMethod = "shutdown")
+        BoundedPasswordEncoder passwordEncoder() {
+            int cores = Runtime.getRuntime().availableProcessors();
+            return new BoundedPasswordEncoder(8, cores, 64, 30_000);
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        static BeanPostProcessor roundTripCounter() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? COUNTER.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package opensource.opensource_project.admission;
+
+import lombok.Getter;
+
+// 업로드 수락 결과: 수락되면 permit, 거절되면 사유와 Retry-After(초)
+@Getter
+public class AdmissionDecision {
+
+    private AdmissionDecision(AdmissionPermit permit, String reason, long retryAfterSeconds) {
+        this.permit = permit;
+        this.reason = reason;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public static AdmissionDecision admitted(AdmissionPermit permit) {
+        return new AdmissionDecision(permit, null, 0);
+    }
+
+    public static AdmissionDecision rejected(String reason, long retryAfterSeconds) {
+        return new AdmissionDecision(null, reason, retryAfterSeconds);
+    }
+
+    public boolean isAdmitted() {
+        return permit != null;
+    }
+
+    private final AdmissionPermit permit;
+    private final String reason;
+    private final long retryAfterSeconds;
+}
@@ -0,0 +1,25 @@
+package opensource.opensource_project.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 전역 동시 분석 슬롯 하나. 요청과 그 요청이 만든 분석 작업이 모두 반납해야 슬롯이 비워진다
+// 배치 요청의 여러 분석 작업은 각자 retain 하므로 마지막 작업이 끝날 때 비워진다
+public class AdmissionPermit {
+
+    private final AtomicInteger holders = new AtomicInteger(1);
+    private final Runnable onRelease;
+
+    AdmissionPermit(Runnable onRelease) {
+        this.onRelease = onRelease;
+    }
+
+    public void retain() {
+        holders.incrementAndGet();
+    }
+
+    public void release() {
+        if (holders.decrementAndGet() == 0) {
+            onRelease.run();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package opensource.opensource_project.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// GCRA 방식 토큰 버킷: 다음 토큰이 생기는 이론상 시각(TAT) 하나만 CAS 로 갱신하므로 락이 없다
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(long intervalNanos, int burst, long now) {
+        this.intervalNanos = intervalNanos;
+        this.capacityNanos = intervalNanos * burst;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    // 토큰을 얻으면 0, 아니면 다음 토큰까지 기다려야 하는 시간(ns)
+    public long tryAcquire(long now) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = (tat - now > 0 ? tat : now) + intervalNanos;
+            long wait = next - now - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // 버킷이 가득 찼으면 지워도 다음 요청에서 새로 만든 것과 같다
+    public boolean isFull(long now) {
+        return theoreticalArrival.get() - now <= 0;
+    }
+}
@@ -0,0 +1,82 @@
+package opensource.opensource_project.admission;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+// JwtFilter 다음에서 업로드 요청을 수락할지 결정
+// multipart 본문은 DispatcherServlet 에서 파싱되므로 여기서 거절하면 본문을 받지 않는다
+public class UploadAdmissionFilter extends OncePerRequestFilter {
+
+    // 컨트롤러가 분석 작업에 슬롯을 넘길 때 사용하는 요청 속성 이름
+    public static final String PERMIT_ATTRIBUTE = "opensource.opensource_project.admission.permit";
+
+    private final UploadAdmissionService uploadAdmissionService;
+
+    public UploadAdmissionFilter(UploadAdmissionService uploadAdmissionService) {
+        this.uploadAdmissionService = uploadAdmissionService;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
+        String path = request.getRequestURI();
+        return !uploadAdmissionService.isEnabled() ||
+                !"POST".equals(request.getMethod()) ||
+                !isAnalysisRequest(path);
+    }
+
+    // 분석을 시작하는 요청만 제한 (청크/presigned 업로드는 완료 요청에서 한 번)
+    private boolean isAnalysisRequest(String path) {
+        return path.equals("/upload") ||
+                path.equals("/upload/batch") ||
+                (path.startsWith("/upload/sessions/") && path.endsWith("/complete")) ||
+                (path.startsWith("/upload/presigned/") && path.endsWith("/complete"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        // 인증되지 않은 요청은 뒤의 인가 단계에서 거절
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdmissionDecision decision = uploadAdmissionService.admit(authentication.getName());
+        if (!decision.isAdmitted()) {
+            sendTooManyRequests(response, decision);
+            return;
+        }
+
+        AdmissionPermit permit = decision.getPermit();
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // 분석 작업이 슬롯을 넘겨받았다면 작업이 끝날 때 최종 반납된다
+            permit.release();
+        }
+    }
+
+    private void sendTooManyRequests(HttpServletResponse response, AdmissionDecision decision) throws IOException {
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.getRetryAfterSeconds()));
+        // 읽지 않은 본문을 비우지 않도록 연결을 닫는다 (Expect: 100-continue 클라이언트는 본문을 보내지 않음)
+        response.setHeader(HttpHeaders.CONNECTION, "close");
+        PrintWriter writer = response.getWriter();
+        writer.write("{\"error\": \"" + decision.getReason() + "\"}");
+    }
+}
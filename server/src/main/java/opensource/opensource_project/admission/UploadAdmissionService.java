@@ -0,0 +1,124 @@
+package opensource.opensource_project.admission;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// /upload 수락 제어: 사용자별 토큰 버킷 + 전역 동시 분석 수 상한
+@Component
+public class UploadAdmissionService {
+
+    @Value("${admission.enabled:true}")
+    private boolean enabled;
+
+    // 사용자별 분당 업로드 수와 연속 허용 개수
+    @Value("${admission.user.rate-per-minute:10}")
+    private int ratePerMinute;
+
+    @Value("${admission.user.burst:3}")
+    private int burst;
+
+    // 업로드 수신부터 분석 완료까지 동시에 진행할 수 있는 요청 수
+    // 영상 수가 아니라 요청 수다: 본문을 받기 전에 정하므로 /upload/batch 는 영상이 최대 5개여도 슬롯 하나를 쓴다
+    @Value("${admission.global.max-in-flight:100}")
+    private int maxInFlight;
+
+    @Value("${admission.global.retry-after-seconds:5}")
+    private long globalRetryAfterSeconds;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejectedByUser = new LongAdder();
+    private final LongAdder rejectedByGlobal = new LongAdder();
+
+    private long intervalNanos;
+
+    @PostConstruct
+    public void init() {
+        intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, ratePerMinute);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public AdmissionDecision admit(String username) {
+        // 전역 슬롯을 먼저 잡아야 거절될 요청이 사용자 토큰을 소모하지 않는다
+        if (!tryAcquireSlot()) {
+            rejectedByGlobal.increment();
+            return AdmissionDecision.rejected("분석 요청이 많아 잠시 후 다시 시도해주세요", globalRetryAfterSeconds);
+        }
+
+        long now = System.nanoTime();
+        long waitNanos = bucket(username, now).tryAcquire(now);
+        if (waitNanos > 0) {
+            inFlight.decrementAndGet();
+            rejectedByUser.increment();
+            return AdmissionDecision.rejected("업로드 요청이 너무 잦습니다", toRetryAfterSeconds(waitNanos));
+        }
+
+        admitted.increment();
+        return AdmissionDecision.admitted(new AdmissionPermit(inFlight::decrementAndGet));
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("inFlight", inFlight.get());
+        metrics.put("maxInFlight", maxInFlight);
+        metrics.put("trackedUsers", buckets.size());
+        metrics.put("admitted", admitted.sum());
+        metrics.put("rejectedByUser", rejectedByUser.sum());
+        metrics.put("rejectedByGlobal", rejectedByGlobal.sum());
+        return metrics;
+    }
+
+    // 가득 찬 버킷은 새로 만든 것과 같으므로 주기적으로 정리
+    // 정리와 동시에 들어온 요청 하나가 토큰을 더 받을 수 있지만 락을 두지 않기 위해 허용한다
+    @Scheduled(fixedDelayString = "${admission.user.purge-interval-ms:60000}")
+    public void purgeIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.forEach((username, bucket) -> {
+            if (bucket.isFull(now)) {
+                buckets.remove(username, bucket);
+            }
+        });
+    }
+
+    private boolean tryAcquireSlot() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private TokenBucket bucket(String username, long now) {
+        // computeIfAbsent 는 버킷 생성 시 bin 락을 잡으므로 조회를 먼저 시도
+        TokenBucket bucket = buckets.get(username);
+        if (bucket == null) {
+            TokenBucket created = new TokenBucket(intervalNanos, Math.max(1, burst), now);
+            bucket = buckets.putIfAbsent(username, created);
+            if (bucket == null) {
+                bucket = created;
+            }
+        }
+        return bucket;
+    }
+
+    private long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
@@ -0,0 +1,40 @@
+package opensource.opensource_project.aop;
+
+import opensource.opensource_project.metrics.LatencyRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.util.ClassUtils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// 포인트컷에 걸린 메서드의 실행 시간을 히스토그램에 기록 (표본 추출 가능)
+public class LatencyTraceInterceptor implements MethodInterceptor {
+
+    private final LatencyRegistry latencyRegistry;
+    private final double sampleRate;
+
+    public LatencyTraceInterceptor(LatencyRegistry latencyRegistry, double sampleRate) {
+        this.latencyRegistry = latencyRegistry;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return invocation.proceed();
+        }
+
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            latencyRegistry.record(operationName(invocation), System.nanoTime() - start);
+        }
+    }
+
+    private String operationName(MethodInvocation invocation) {
+        Object target = invocation.getThis();
+        Class<?> type = target != null ? ClassUtils.getUserClass(target) : invocation.getMethod().getDeclaringClass();
+        return type.getSimpleName() + "." + invocation.getMethod().getName();
+    }
+}
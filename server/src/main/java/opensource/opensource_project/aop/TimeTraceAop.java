@@ -1,23 +0,0 @@
-package opensource.opensource_project.aop;
-
-import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.Around;
-import org.aspectj.lang.annotation.Aspect;
-import org.springframework.stereotype.Component;
-@Component
-@Aspect
-public class TimeTraceAop {
-    @Around("execution(* opensource.opensource_project..*(..))")
-    public Object execute(ProceedingJoinPoint joinPoint) throws Throwable {
-        long start = System.currentTimeMillis();
-        System.out.println("START: " + joinPoint.toString());
-        try {
-            return joinPoint.proceed();
-        } finally {
-            long finish = System.currentTimeMillis();
-            long timeMs = finish - start;
-            System.out.println("END: " + joinPoint.toString()+ " " + timeMs +
-                    "ms");
-        }
-    }
-}
\ No newline at end of file
@@ -0,0 +1,271 @@
+package opensource.opensource_project.config;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.converter.support.AllEncompassingFormHttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class AnalysisClientConfig {
+
+    @Value("${analysis.client.max-total:50}")
+    private int maxTotal;
+
+    @Value("${analysis.client.max-per-route:20}")
+    private int maxPerRoute;
+
+    @Value("${analysis.client.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    // 풀에서 커넥션을 얻기까지 기다리는 최대 시간
+    @Value("${analysis.client.pool-timeout-ms:5000}")
+    private long poolTimeoutMs;
+
+    // 소켓 읽기 타임아웃 (분석 추론 시간 포함)
+    @Value("${analysis.client.read-timeout-ms:120000}")
+    private long readTimeoutMs;
+
+    // 요청 전체(커넥션 대기 + 전송 + 응답) 마감 시간
+    @Value("${analysis.client.total-timeout-ms:180000}")
+    private long totalTimeoutMs;
+
+    // 헬스 체크는 분석 요청용 풀과 따로 짧은 타임아웃으로 (풀이 포화돼도 정상 인스턴스를 제외하지 않도록)
+    @Value("${analysis.server.health-timeout-ms:1000}")
+    private int healthTimeoutMs;
+
+    @Value("${analysis.client.idle-evict-ms:30000}")
+    private long idleEvictMs;
+
+    // STRICT | LAX, 비워 두면 가상 스레드 모드에서 LAX (수천 개 스레드가 풀 잠금 하나를 두고 경합하지 않도록)
+    @Value("${analysis.client.pool-concurrency:}")
+    private String poolConcurrency;
+
+    @Value("${threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // 요청이 끝나면 마감 작업을 취소하고 큐에서도 바로 뺀다 (끝난 요청의 작업이 마감 시간까지 쌓이지 않도록)
+    private final ScheduledThreadPoolExecutor deadlineScheduler = newDeadlineScheduler();
+
+    // createRequest 안에서 postProcessHttpRequest 가 예약한 마감 작업을 같은 스레드에서 넘겨받는다
+    private final ThreadLocal<ScheduledFuture<?>> scheduledDeadline = new ThreadLocal<>();
+
+    private static ScheduledThreadPoolExecutor newDeadlineScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "analysis-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    @Bean
+    public MeteredConnectionManager analysisConnectionManager() {
+        MeteredConnectionManager connectionManager = new MeteredConnectionManager(concurrencyPolicy());
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build());
+        return connectionManager;
+    }
+
+    private PoolConcurrencyPolicy concurrencyPolicy() {
+        if (poolConcurrency == null || poolConcurrency.isBlank()) {
+            return virtualThreads ? PoolConcurrencyPolicy.LAX : PoolConcurrencyPolicy.STRICT;
+        }
+        return PoolConcurrencyPolicy.valueOf(poolConcurrency.trim().toUpperCase());
+    }
+
+    @Bean
+    public CloseableHttpClient analysisHttpClient(MeteredConnectionManager analysisConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(analysisConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictMs))
+                .build();
+    }
+
+    // 분석 서버 전용 RestTemplate (커넥션 풀 공유, keep-alive 재사용). 주소는 AnalysisEndpointPool 이 요청마다 고른다
+    @Bean
+    public RestTemplate analysisRestTemplate(CloseableHttpClient analysisHttpClient) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(analysisHttpClient) {
+            @Override
+            protected void postProcessHttpRequest(ClassicHttpRequest request) {
+                // 전체 마감 시간이 지나면 요청을 취소해 커넥션과 워커 스레드를 돌려받는다
+                if (request instanceof HttpUriRequestBase cancellable) {
+                    scheduledDeadline.set(deadlineScheduler.schedule(cancellable::cancel, totalTimeoutMs, TimeUnit.MILLISECONDS));
+                }
+            }
+
+            @Override
+            public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+                try {
+                    ClientHttpRequest request = super.createRequest(uri, httpMethod);
+                    ScheduledFuture<?> deadline = scheduledDeadline.get();
+                    return deadline == null ? request : new DeadlineRequest(request, deadline);
+                } catch (IOException | RuntimeException e) {
+                    ScheduledFuture<?> deadline = scheduledDeadline.get();
+                    if (deadline != null) {
+                        deadline.cancel(false);
+                    }
+                    throw e;
+                } finally {
+                    scheduledDeadline.remove();
+                }
+            }
+        };
+
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getMessageConverters().replaceAll(converter ->
+                converter instanceof AllEncompassingFormHttpMessageConverter ? new LocalBoundaryFormHttpMessageConverter() : converter);
+        return restTemplate;
+    }
+
+    @Bean
+    public RestTemplate analysisHealthRestTemplate() {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(healthTimeoutMs);
+        requestFactory.setReadTimeout(healthTimeoutMs);
+        return new RestTemplate(requestFactory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        deadlineScheduler.shutdownNow();
+    }
+
+    // 응답을 닫거나(본문까지 다 읽음) 요청이 실패하면 마감 작업을 취소한다
+    static class DeadlineRequest implements ClientHttpRequest {
+
+        private final ClientHttpRequest delegate;
+        private final ScheduledFuture<?> deadline;
+
+        DeadlineRequest(ClientHttpRequest delegate, ScheduledFuture<?> deadline) {
+            this.delegate = delegate;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            try {
+                return new DeadlineResponse(delegate.execute(), deadline);
+            } catch (IOException | RuntimeException e) {
+                deadline.cancel(false);
+                throw e;
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return delegate.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return delegate.getURI();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+    }
+
+    static class DeadlineResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final ScheduledFuture<?> deadline;
+
+        DeadlineResponse(ClientHttpResponse delegate, ScheduledFuture<?> deadline) {
+            this.delegate = delegate;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                deadline.cancel(false);
+            }
+        }
+    }
+
+    // 기본 구현은 multipart 경계를 공유 SecureRandom(synchronized)으로 만들어 요청마다 전역 잠금을 잡는다
+    // 경계는 본문과 겹치지만 않으면 되므로 스레드별 난수로 충분하다
+    static class LocalBoundaryFormHttpMessageConverter extends AllEncompassingFormHttpMessageConverter {
+
+        private static final byte[] BOUNDARY_CHARS =
+                "-_1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ".getBytes(StandardCharsets.US_ASCII);
+
+        @Override
+        protected byte[] generateMultipartBoundary() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            byte[] boundary = new byte[random.nextInt(30, 41)];
+            for (int i = 0; i < boundary.length; i++) {
+                boundary[i] = BOUNDARY_CHARS[random.nextInt(BOUNDARY_CHARS.length)];
+            }
+            return boundary;
+        }
+    }
+}
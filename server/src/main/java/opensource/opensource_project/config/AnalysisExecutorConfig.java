@@ -0,0 +1,38 @@
+package opensource.opensource_project.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AnalysisExecutorConfig {
+
+    @Value("${analysis.worker.threads:2}")
+    private int workerThreads;
+
+    @Value("${analysis.worker.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // 분석 서버 호출 전용 워커 풀 (큐가 가득 차면 즉시 거절)
+    @Bean
+    public ThreadPoolTaskExecutor analysisExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("analysis-worker-");
+        // 가상 스레드여도 workerThreads 는 분석 서버 동시 호출 상한으로 유지
+        VirtualThreads.apply(executor, virtualThreads, "analysis-worker-vt-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,142 @@
+package opensource.opensource_project.config;
+
+import opensource.opensource_project.metrics.LatencyHistogram;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// BCrypt 해시/검증을 전용 스레드 풀에서 실행하는 PasswordEncoder
+// 동시에 도는 BCrypt 는 스레드 수로, 결과를 기다리는 요청 스레드 수는 대기열 크기로 묶는다
+// 요청 스레드는 결과가 나올 때까지 최대 maxWaitMs 동안 기다리고, 대기열이 차 있거나 시간 안에 끝나지 않으면 바로 거절한다
+// 그래서 로그인이 몰려도 (threads + queueCapacity) 개를 넘는 Tomcat 스레드가 묶이지 않아 /reissue 같은 가벼운 요청은 계속 처리된다
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final int queueCapacity;
+    private final long maxWaitMs;
+    private final ThreadPoolExecutor executor;
+
+    private final LatencyHistogram hashTime = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    // upgradeEncoding 이 true 를 돌려준 직후 DaoAuthenticationProvider 가 같은 스레드에서 부르는 encode 는 재해시
+    private final ThreadLocal<String> upgradingFrom = new ThreadLocal<>();
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long maxWaitMs) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.queueCapacity = queueCapacity;
+        this.maxWaitMs = maxWaitMs;
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        String previous = upgradingFrom.get();
+        if (previous == null) {
+            return run(() -> delegate.encode(rawPassword));
+        }
+        upgradingFrom.remove();
+        try {
+            return run(() -> delegate.encode(rawPassword));
+        } catch (PasswordEncoderBusyException e) {
+            // 재해시는 덤이므로 바쁘면 기존 해시를 그대로 두고 로그인은 성공시킨다 (다음 로그인에 다시 시도)
+            return previous;
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // 저장된 해시의 cost 가 현재보다 낮으면 로그인 성공 시 다시 해시한다
+    // 재해시도 BCrypt 한 번이므로 대기열이 절반 넘게 찼을 때는 다음 로그인으로 미룬다
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (!delegate.upgradeEncoding(encodedPassword) || executor.getQueue().size() >= queueCapacity / 2) {
+            return false;
+        }
+        upgradingFrom.set(encodedPassword);
+        return true;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("strength", strength);
+        snapshot.put("threads", executor.getMaximumPoolSize());
+        snapshot.put("active", executor.getActiveCount());
+        snapshot.put("queued", executor.getQueue().size());
+        snapshot.put("queueCapacity", queueCapacity);
+        snapshot.put("rejected", rejected.sum());
+        snapshot.put("timedOut", timedOut.sum());
+        snapshot.put("hashTime", hashTime.snapshot());
+        return snapshot;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    hashTime.recordNanos(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordEncoderBusyException("비밀번호 확인 대기열 포화");
+        }
+
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 아직 대기 중이면 실행하지 않고 대기열 자리도 바로 비운다 (실행 중인 BCrypt 는 끊을 수 없다)
+            future.cancel(false);
+            executor.remove((Runnable) future);
+            timedOut.increment();
+            throw new PasswordEncoderBusyException("비밀번호 확인 대기 시간 초과");
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            executor.remove((Runnable) future);
+            Thread.currentThread().interrupt();
+            throw new PasswordEncoderBusyException("비밀번호 확인 중단");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
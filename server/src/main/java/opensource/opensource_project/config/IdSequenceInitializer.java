@@ -0,0 +1,47 @@
+package opensource.opensource_project.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// MySQL 에는 시퀀스가 없어 Hibernate 가 <이름>_seq 테이블(next_val)로 흉내 낸다
+// IDENTITY 로 쌓인 기존 행과 id 가 겹치지 않도록 시작할 때 next_val 을 현재 최대 id 위로 올린다 (내리지는 않음)
+@Component
+public class IdSequenceInitializer {
+
+    // 엔티티의 @SequenceGenerator allocationSize 와 같아야 한다
+    public static final int ALLOCATION_SIZE = 50;
+
+    // {시퀀스 테이블, 엔티티 테이블, id 컬럼}
+    private static final String[][] SEQUENCES = {
+            {"squat_video_seq", "squat_video", "video_id"},
+            {"analysis_result_seq", "analysis_result", "analysis_id"},
+            {"user_seq", "`user`", "user_id"},
+            {"analysis_outbox_seq", "analysis_outbox", "outbox_id"},
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // EntityManagerFactory 를 받아 스키마 생성(ddl-auto) 이후에 실행되도록 한다
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        for (String[] sequence : SEQUENCES) {
+            try {
+                Long maxId = jdbcTemplate.queryForObject(
+                        "SELECT COALESCE(MAX(" + sequence[2] + "), 0) FROM " + sequence[1], Long.class);
+                // pooled 최적화는 읽은 값에서 allocationSize 만큼 아래부터 id 를 쓴다
+                long floor = (maxId == null ? 0 : maxId) + ALLOCATION_SIZE + 1;
+                jdbcTemplate.update("UPDATE " + sequence[0] + " SET next_val = ? WHERE next_val < ?", floor, floor);
+            } catch (DataAccessException e) {
+                // 시퀀스를 지원하는 DB 이거나 테이블이 아직 없는 경우
+                System.err.println("id 시퀀스 정렬 건너뜀: " + sequence[0] + " - " + e.getMessage());
+            }
+        }
+    }
+}
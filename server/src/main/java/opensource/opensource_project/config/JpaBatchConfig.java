@@ -0,0 +1,27 @@
+package opensource.opensource_project.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 한 트랜잭션에서 같은 테이블에 쓰는 INSERT/UPDATE 를 JDBC 배치로 묶어 보낸다
+// MySQL 은 datasource URL 에 rewriteBatchedStatements=true 를 줘야 배치가 한 번의 왕복으로 나간다
+@Configuration
+public class JpaBatchConfig {
+
+    @Value("${jpa.batch-size:50}")
+    private int batchSize;
+
+    @Bean
+    public HibernatePropertiesCustomizer jpaBatchCustomizer() {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            // 엔티티 종류별로 정렬해야 서로 다른 테이블이 섞여도 배치가 끊기지 않는다
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+            properties.putIfAbsent(AvailableSettings.BATCH_VERSIONED_DATA, true);
+        };
+    }
+}
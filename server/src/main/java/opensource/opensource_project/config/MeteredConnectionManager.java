@@ -0,0 +1,73 @@
+package opensource.opensource_project.config;
+
+import opensource.opensource_project.metrics.LatencyHistogram;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
+import org.apache.hc.client5.http.socket.PlainConnectionSocketFactory;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.config.RegistryBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+// 커넥션 풀에서 커넥션을 빌리기까지 기다린 시간을 기록하는 커넥션 매니저
+public class MeteredConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private final LatencyHistogram leaseWait = new LatencyHistogram();
+    private final LongAdder leaseTimeouts = new LongAdder();
+
+    public MeteredConnectionManager() {
+        super();
+    }
+
+    // LAX: 경로별 풀마다 잠금을 나눠 동시 요청이 많을 때 lease/release 경합을 줄인다 (maxTotal 은 강제되지 않음)
+    public MeteredConnectionManager(PoolConcurrencyPolicy concurrencyPolicy) {
+        super(RegistryBuilder.<ConnectionSocketFactory>create()
+                        .register(URIScheme.HTTP.id, PlainConnectionSocketFactory.getSocketFactory())
+                        .register(URIScheme.HTTPS.id, SSLConnectionSocketFactory.getSocketFactory())
+                        .build(),
+                concurrencyPolicy, PoolReusePolicy.LIFO, TimeValue.NEG_ONE_MILLISECOND);
+    }
+
+    @Override
+    public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+        LeaseRequest delegate = super.lease(id, route, requestTimeout, state);
+        long start = System.nanoTime();
+
+        return new LeaseRequest() {
+            @Override
+            public ConnectionEndpoint get(Timeout timeout) throws InterruptedException, ExecutionException, TimeoutException {
+                try {
+                    ConnectionEndpoint endpoint = delegate.get(timeout);
+                    leaseWait.recordNanos(System.nanoTime() - start);
+                    return endpoint;
+                } catch (TimeoutException e) {
+                    leaseTimeouts.increment();
+                    throw e;
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return delegate.cancel();
+            }
+        };
+    }
+
+    public LatencyHistogram getLeaseWait() {
+        return leaseWait;
+    }
+
+    public long getLeaseTimeoutCount() {
+        return leaseTimeouts.sum();
+    }
+}
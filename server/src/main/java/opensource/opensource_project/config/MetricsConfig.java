@@ -0,0 +1,29 @@
+package opensource.opensource_project.config;
+
+import opensource.opensource_project.aop.LatencyTraceInterceptor;
+import opensource.opensource_project.metrics.LatencyRegistry;
+import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "metrics.latency.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+
+    // 컨트롤러, 서비스(외부 호출 포함) 경계만 계측. 필터/리포지토리는 제외
+    @Value("${metrics.latency.pointcut:within(opensource.opensource_project.controller..*) || within(opensource.opensource_project.service..*)}")
+    private String pointcut;
+
+    @Value("${metrics.latency.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Bean
+    public AspectJExpressionPointcutAdvisor latencyTraceAdvisor(LatencyRegistry latencyRegistry) {
+        AspectJExpressionPointcutAdvisor advisor = new AspectJExpressionPointcutAdvisor();
+        advisor.setExpression(pointcut);
+        advisor.setAdvice(new LatencyTraceInterceptor(latencyRegistry, sampleRate));
+        return advisor;
+    }
+}
@@ -0,0 +1,13 @@
+package opensource.opensource_project.config;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+// 비밀번호 해시 스레드 풀이 포화돼 검증을 시작하지 못한 경우 (로그인/회원가입은 503 으로 응답)
+public class PasswordEncoderBusyException extends AuthenticationServiceException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordEncoderBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,66 @@
+package opensource.opensource_project.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+@Configuration
+public class PasswordEncoderConfig {
+
+    // 0 이면 시작할 때 target-ms 에 맞춰 정한다. 여러 노드로 띄우면 같은 값을 명시해야 노드마다 cost 가 달라지지 않는다
+    @Value("${auth.bcrypt.strength:0}")
+    private int strength;
+
+    // 검증 한 번에 쓸 목표 시간
+    @Value("${auth.bcrypt.target-ms:100}")
+    private long targetMs;
+
+    // 기존 기본값(10) 아래로는 내리지 않는다
+    @Value("${auth.bcrypt.min-strength:10}")
+    private int minStrength;
+
+    @Value("${auth.bcrypt.max-strength:16}")
+    private int maxStrength;
+
+    // 0 이면 CPU 코어 수
+    @Value("${auth.password.threads:0}")
+    private int threads;
+
+    @Value("${auth.password.queue-capacity:64}")
+    private int queueCapacity;
+
+    // 대기열에서 기다린 시간 포함, 넘으면 503
+    @Value("${auth.password.max-wait-ms:3000}")
+    private long maxWaitMs;
+
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder() {
+        int cost = strength > 0 ? strength : calibrate();
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(cost, poolSize, queueCapacity, maxWaitMs);
+    }
+
+    // cost 가 1 오를 때마다 시간이 두 배가 되므로 minStrength 에서 한 번 재고 target-ms 를 넘지 않는 가장 큰 cost 를 고른다
+    int calibrate() {
+        String salt = BCrypt.gensalt(minStrength);
+        // 첫 호출은 클래스 로딩/JIT 비용이 섞이므로 버린다
+        BCrypt.hashpw("calibration", salt);
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double measuredMs = Math.max(best / 1e6, 0.001);
+        int cost = minStrength;
+        while (cost < maxStrength && measuredMs * (1L << (cost + 1 - minStrength)) <= targetMs) {
+            cost++;
+        }
+        System.err.println("BCrypt cost " + cost + " 선택 (cost " + minStrength + " = " + String.format("%.1f", measuredMs)
+                + "ms, 목표 " + targetMs + "ms)");
+        return cost;
+    }
+}
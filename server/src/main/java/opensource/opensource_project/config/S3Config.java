@@ -1,4 +1,5 @@
 package opensource.opensource_project.config;
+import com.amazonaws.ClientConfiguration;
 import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
@@ -9,6 +10,7 @@ import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
 @Configuration
@@ -23,6 +25,23 @@ public class S3Config {
     @Value("${cloud.aws.region.static}")
     private String region;
 
+    @Value("${cloud.aws.s3.transfer-threads:32}")
+    private int transferThreads;
+
+    @Value("${cloud.aws.s3.multipart.part-threads:16}")
+    private int partThreads;
+
+    // S3 클라이언트 HTTP 커넥션 풀 크기
+    @Value("${cloud.aws.s3.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // 가상 스레드 모드에서 동시에 진행할 수 있는 S3 전송 수 (스레드 수가 아니라 동시 업로드 상한)
+    @Value("${threads.virtual.max-s3-transfers:2000}")
+    private int virtualMaxTransfers;
+
     private AmazonS3 amazonS3Client;
 
     @PostConstruct
@@ -31,6 +50,7 @@ public class S3Config {
         this.amazonS3Client = AmazonS3ClientBuilder.standard()
                 .withCredentials(new AWSStaticCredentialsProvider(credentials))
                 .withRegion(region)
+                .withClientConfiguration(new ClientConfiguration().withMaxConnections(maxConnections))
                 .build();
     }
 
@@ -38,4 +58,38 @@ public class S3Config {
     public AmazonS3 amazonS3Client() {
         return this.amazonS3Client;
     }
+
+    // 업로드 스트림을 S3 로 흘려보내는 소비자 스레드 풀
+    @Bean
+    public ThreadPoolTaskExecutor s3TransferExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(transferThreads);
+        executor.setMaxPoolSize(transferThreads);
+        // 대기열에 쌓이면 요청 스레드가 파이프에 쓰다 멈춘 채 기다리므로 바로 거절한다 (UploadController 가 503 + Retry-After)
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("s3-transfer-");
+        if (VirtualThreads.apply(executor, virtualThreads, "s3-transfer-vt-")) {
+            executor.setCorePoolSize(0);
+            executor.setMaxPoolSize(virtualMaxTransfers);
+        }
+        executor.initialize();
+        return executor;
+    }
+
+    // multipart 업로드의 파트들을 병렬로 전송하는 스레드 풀 (업로드별 동시성은 S3MultipartUploader 가 제한)
+    @Bean
+    public ThreadPoolTaskExecutor s3PartExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(partThreads);
+        executor.setMaxPoolSize(partThreads);
+        executor.setThreadNamePrefix("s3-part-");
+        if (VirtualThreads.apply(executor, virtualThreads, "s3-part-vt-")) {
+            // 업로드별 파트 동시성은 S3MultipartUploader 의 semaphore 가 제한
+            executor.setCorePoolSize(0);
+            executor.setMaxPoolSize(virtualMaxTransfers);
+            executor.setQueueCapacity(0);
+        }
+        executor.initialize();
+        return executor;
+    }
 }
@@ -1,11 +1,15 @@
 package opensource.opensource_project.config;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
+import opensource.opensource_project.admission.UploadAdmissionFilter;
+import opensource.opensource_project.admission.UploadAdmissionService;
 import opensource.opensource_project.jwt.CustomLogoutFilter;
 import opensource.opensource_project.jwt.JwtFilter;
 import opensource.opensource_project.jwt.JwtUtil;
 import opensource.opensource_project.jwt.LoginFilter;
-import opensource.opensource_project.repository.RefreshRepository;
+import opensource.opensource_project.revocation.TokenRevocationService;
+import opensource.opensource_project.service.RefreshTokenService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,7 +19,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.authentication.logout.LogoutFilter;
@@ -31,18 +34,18 @@ public class SecurityConfig {
 
     private final AuthenticationConfiguration authenticationConfiguration;
     private final JwtUtil jwtUtil;
-    private final RefreshRepository refreshRepository;
+    private final RefreshTokenService refreshTokenService;
+    private final UploadAdmissionService uploadAdmissionService;
+    private final TokenRevocationService tokenRevocationService;
 
     @Autowired
-    public SecurityConfig(AuthenticationConfiguration authenticationConfiguration, JwtUtil jwtUtil, RefreshRepository refreshRepository) {
+    public SecurityConfig(AuthenticationConfiguration authenticationConfiguration, JwtUtil jwtUtil, RefreshTokenService refreshTokenService,
+                          UploadAdmissionService uploadAdmissionService, TokenRevocationService tokenRevocationService) {
         this.authenticationConfiguration = authenticationConfiguration;
         this.jwtUtil = jwtUtil;
-        this.refreshRepository = refreshRepository;
-    }
-
-    @Bean
-    public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+        this.refreshTokenService = refreshTokenService;
+        this.uploadAdmissionService = uploadAdmissionService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Bean
@@ -84,9 +87,12 @@ public class SecurityConfig {
 
         //경로별 인가 작업
         http.authorizeHttpRequests((auth) -> auth
+                // SSE 등 비동기 응답의 재디스패치는 최초 요청에서 이미 인가됨
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                 .requestMatchers("/login","/","/join").permitAll()
-                .requestMatchers("/admin").hasRole("ADMIN")
+                .requestMatchers("/admin/**").hasRole("ADMIN")
+                .requestMatchers("/metrics/**").hasRole("ADMIN")
                 .requestMatchers("/reissue").permitAll()
                 .requestMatchers("/upload").authenticated()
                 .anyRequest().authenticated());
@@ -95,9 +101,11 @@ public class SecurityConfig {
         http.sessionManagement((session) -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS));
 
-        http.addFilterBefore(new JwtFilter(jwtUtil), LoginFilter.class);
-        http.addFilterAt(new LoginFilter(authenticationManager(authenticationConfiguration), jwtUtil, refreshRepository), UsernamePasswordAuthenticationFilter.class);
-        http.addFilterBefore(new CustomLogoutFilter(jwtUtil, refreshRepository), LogoutFilter.class);
+        http.addFilterBefore(new JwtFilter(jwtUtil, tokenRevocationService), LoginFilter.class);
+        // 인증된 사용자 기준으로 업로드 본문을 받기 전에 수락 여부 결정
+        http.addFilterAfter(new UploadAdmissionFilter(uploadAdmissionService), JwtFilter.class);
+        http.addFilterAt(new LoginFilter(authenticationManager(authenticationConfiguration), jwtUtil, refreshTokenService), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(new CustomLogoutFilter(jwtUtil, refreshTokenService, tokenRevocationService), LogoutFilter.class);
 
         return http.build();
     }
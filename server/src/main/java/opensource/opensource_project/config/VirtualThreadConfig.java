@@ -0,0 +1,23 @@
+package opensource.opensource_project.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// threads.virtual.enabled=true 이면 Tomcat 요청 처리를 요청당 가상 스레드로 실행 (기본 200 스레드 상한 제거)
+@Configuration
+@ConditionalOnProperty(name = "threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (!VirtualThreads.isSupported()) {
+                System.err.println("가상 스레드를 지원하지 않는 JVM 이므로 Tomcat 기본 스레드 풀을 사용합니다");
+                return;
+            }
+            protocolHandler.setExecutor(VirtualThreads.perTaskExecutor("tomcat-vt-"));
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package opensource.opensource_project.config;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+// 가상 스레드(Java 21+) 생성 도우미: 컴파일 대상이 17 이어도 동작하도록 리플렉션으로 Thread.ofVirtual() 을 호출
+public final class VirtualThreads {
+
+    // Thread.ofVirtual() 의 반환 타입은 비공개 클래스이므로 공개 인터페이스 Thread.Builder 의 메서드로 호출해야 한다
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method FACTORY;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = builderType.getMethod("name", String.class, long.class);
+            factory = builderType.getMethod("factory");
+            // 19/20 의 preview 상태에서는 호출 시 예외가 나므로 실제로 하나 만들어 본다
+            factory.invoke(ofVirtual.invoke(null));
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+    }
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    // 이름이 prefix0, prefix1 ... 인 가상 스레드 팩토리
+    public static ThreadFactory factory(String prefix) {
+        if (OF_VIRTUAL == null) {
+            throw new IllegalStateException("가상 스레드는 Java 21 이상에서만 사용할 수 있습니다");
+        }
+        try {
+            Object builder = NAME.invoke(OF_VIRTUAL.invoke(null), prefix, 0L);
+            return (ThreadFactory) FACTORY.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드 팩토리 생성 실패", e);
+        }
+    }
+
+    // enabled 이면 풀의 워커를 가상 스레드로 만든다 (미지원 JVM 이면 플랫폼 스레드 유지, 적용 여부 반환)
+    public static boolean apply(ThreadPoolTaskExecutor executor, boolean enabled, String prefix) {
+        if (!enabled) {
+            return false;
+        }
+        if (!isSupported()) {
+            System.err.println("가상 스레드를 지원하지 않는 JVM 이므로 플랫폼 스레드를 사용합니다: " + prefix);
+            return false;
+        }
+        executor.setThreadFactory(factory(prefix));
+        return true;
+    }
+
+    // 작업마다 새 가상 스레드를 띄우는 실행기 (풀링하지 않음)
+    public static Executor perTaskExecutor(String prefix) {
+        ThreadFactory factory = factory(prefix);
+        return command -> factory.newThread(command).start();
+    }
+}
@@ -1,15 +1,73 @@
 package opensource.opensource_project.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import opensource.opensource_project.dto.UserImportRowDTO;
+import opensource.opensource_project.service.UserImportService;
+import opensource.opensource_project.service.UserProgressRebuildService;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Controller
 @ResponseBody
 public class AdminConstoller {
 
+    private final UserProgressRebuildService userProgressRebuildService;
+    private final UserImportService userImportService;
+
+    public AdminConstoller(UserProgressRebuildService userProgressRebuildService, UserImportService userImportService) {
+        this.userProgressRebuildService = userProgressRebuildService;
+        this.userImportService = userImportService;
+    }
+
     @GetMapping("/admin")
     public String admin() {
         return "admin";
     }
+
+    // 분석 이력으로 전체 사용자 요약 재계산
+    @PostMapping("/admin/progress/rebuild")
+    public Map<String, Object> rebuildProgress() throws InterruptedException {
+        long start = System.currentTimeMillis();
+        int users = userProgressRebuildService.rebuildAll();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("users", users);
+        response.put("elapsedMs", System.currentTimeMillis() - start);
+        return response;
+    }
+
+    // 일괄 가입: text/csv 또는 application/x-ndjson 본문을 읽으면서 처리하고 줄별 결과를 돌려준다
+    @PostMapping("/admin/users/import")
+    public Map<String, Object> importUsers(HttpServletRequest request) throws IOException, InterruptedException {
+        long start = System.currentTimeMillis();
+        String contentType = request.getContentType();
+        UserImportService.Format format = contentType != null && contentType.contains("json")
+                ? UserImportService.Format.NDJSON : UserImportService.Format.CSV;
+        // 문자셋을 밝히지 않으면 ISO-8859-1 대신 UTF-8 로 읽는다 (한글 이름)
+        Charset charset = request.getCharacterEncoding() != null ? Charset.forName(request.getCharacterEncoding()) : StandardCharsets.UTF_8;
+
+        List<UserImportRowDTO> rows;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), charset))) {
+            rows = userImportService.importUsers(reader, format);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("accepted", rows.stream().filter(row -> UserImportService.ACCEPTED.equals(row.getStatus())).count());
+        response.put("duplicates", rows.stream().filter(row -> UserImportService.DUPLICATE.equals(row.getStatus())).count());
+        response.put("invalid", rows.stream().filter(row -> UserImportService.INVALID.equals(row.getStatus())).count());
+        response.put("elapsedMs", System.currentTimeMillis() - start);
+        response.put("rows", rows);
+        return response;
+    }
 }
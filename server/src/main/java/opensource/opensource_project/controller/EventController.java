@@ -0,0 +1,40 @@
+package opensource.opensource_project.controller;
+
+import opensource.opensource_project.service.AnalysisEventService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+@Controller
+@ResponseBody
+public class EventController {
+
+    private final AnalysisEventService analysisEventService;
+
+    public EventController(AnalysisEventService analysisEventService) {
+        this.analysisEventService = analysisEventService;
+    }
+
+    // 내 영상의 상태 변경과 분석 결과를 SSE 로 받는다 (업로드 요청을 열어두거나 폴링할 필요 없음)
+    // 재연결 시 Last-Event-ID 이후 저장된 결과를 먼저 보낸다
+    // 본문 타입이 SseEmitter 로 드러나야 비동기 스트림으로 처리되므로 ResponseEntity<?> 를 쓰지 않는다
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> events(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) throws IOException {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        try {
+            return ResponseEntity.ok(analysisEventService.subscribe(username, lastEventId));
+        } catch (IllegalStateException e) {
+            // 연결 수 초과
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
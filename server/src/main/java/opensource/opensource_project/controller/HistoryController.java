@@ -0,0 +1,33 @@
+package opensource.opensource_project.controller;
+
+import opensource.opensource_project.service.AnalysisHistoryService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+@Controller
+@ResponseBody
+public class HistoryController {
+
+    private final AnalysisHistoryService analysisHistoryService;
+
+    public HistoryController(AnalysisHistoryService analysisHistoryService) {
+        this.analysisHistoryService = analysisHistoryService;
+    }
+
+    // 최신순 분석 이력, 응답의 nextCursor 로 다음 페이지 조회
+    @GetMapping("/history")
+    public ResponseEntity<?> history(@RequestParam(required = false) String cursor,
+                                     @RequestParam(defaultValue = "20") int size) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        try {
+            return ResponseEntity.ok(analysisHistoryService.findHistory(username, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
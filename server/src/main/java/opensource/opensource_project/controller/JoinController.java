@@ -1,10 +1,13 @@
 package opensource.opensource_project.controller;
 
+import opensource.opensource_project.config.PasswordEncoderBusyException;
 import opensource.opensource_project.dto.JoinDTO;
 import opensource.opensource_project.dto.LoginDTO;
 import opensource.opensource_project.service.CustomUserDetailsService;
 import opensource.opensource_project.service.JoinService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -29,6 +32,10 @@ public class JoinController {
         try {
             joinService.joinProcess(joinDTO);
             return ResponseEntity.ok().body(Map.of("message", "회원가입이 완료되었습니다."));
+        } catch (PasswordEncoderBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", "요청이 많아 잠시 후 다시 시도해주세요"));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
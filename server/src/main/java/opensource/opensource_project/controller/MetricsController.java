@@ -0,0 +1,94 @@
+package opensource.opensource_project.controller;
+
+import opensource.opensource_project.admission.UploadAdmissionService;
+import opensource.opensource_project.config.BoundedPasswordEncoder;
+import opensource.opensource_project.config.MeteredConnectionManager;
+import opensource.opensource_project.metrics.LatencyRegistry;
+import opensource.opensource_project.revocation.TokenRevocationService;
+import opensource.opensource_project.service.AnalysisEndpointPool;
+import opensource.opensource_project.service.AnalysisOutboxService;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Controller
+@ResponseBody
+public class MetricsController {
+
+    private final MeteredConnectionManager analysisConnectionManager;
+    private final LatencyRegistry latencyRegistry;
+    private final UploadAdmissionService uploadAdmissionService;
+    private final AnalysisOutboxService analysisOutboxService;
+    private final AnalysisEndpointPool analysisEndpointPool;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final TokenRevocationService tokenRevocationService;
+
+    public MetricsController(MeteredConnectionManager analysisConnectionManager, LatencyRegistry latencyRegistry,
+                             UploadAdmissionService uploadAdmissionService, AnalysisOutboxService analysisOutboxService,
+                             AnalysisEndpointPool analysisEndpointPool, BoundedPasswordEncoder passwordEncoder,
+                             TokenRevocationService tokenRevocationService) {
+        this.analysisConnectionManager = analysisConnectionManager;
+        this.latencyRegistry = latencyRegistry;
+        this.uploadAdmissionService = uploadAdmissionService;
+        this.analysisOutboxService = analysisOutboxService;
+        this.analysisEndpointPool = analysisEndpointPool;
+        this.passwordEncoder = passwordEncoder;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    // 연산별 지연 시간 분포 (p50 / p99 / p999)
+    @GetMapping("/metrics/latency")
+    public Map<String, Map<String, Object>> latency() {
+        return latencyRegistry.snapshot();
+    }
+
+    // 분석 서버 커넥션 풀 사용량 및 대기 시간
+    @GetMapping("/metrics/analysis-pool")
+    public Map<String, Object> analysisPool() {
+        PoolStats stats = analysisConnectionManager.getTotalStats();
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("leased", stats.getLeased());
+        metrics.put("available", stats.getAvailable());
+        metrics.put("pending", stats.getPending());
+        metrics.put("max", stats.getMax());
+        metrics.put("leaseTimeouts", analysisConnectionManager.getLeaseTimeoutCount());
+        metrics.put("leaseWait", analysisConnectionManager.getLeaseWait().snapshot());
+        return metrics;
+    }
+
+    // 업로드 수락 제어: 진행 중인 분석 수, 거절 횟수
+    @GetMapping("/metrics/admission")
+    public Map<String, Object> admission() {
+        return uploadAdmissionService.snapshot();
+    }
+
+    // 분석 작업 대기열: 상태별 행 수 (dead 는 재시도 한도를 넘은 작업)
+    @GetMapping("/metrics/outbox")
+    public Map<String, Object> outbox() {
+        return analysisOutboxService.snapshot();
+    }
+
+    // 비밀번호 해시 스레드 풀: BCrypt cost, 대기열, 거절 횟수, 해시 시간 분포
+    @GetMapping("/metrics/password")
+    public Map<String, Object> password() {
+        return passwordEncoder.snapshot();
+    }
+
+    // 분석 서버 인스턴스별 상태: 헬스 체크 결과, 진행 중인 요청 수, 지연 분포, 실패/제외 횟수
+    @GetMapping("/metrics/analysis-endpoints")
+    public List<Map<String, Object>> analysisEndpoints() {
+        return analysisEndpointPool.snapshot();
+    }
+
+    // 토큰 폐기 목록: 항목 수, Bloom filter 음성/오탐 횟수, DB 조회 횟수, 다른 노드에서 받은 폐기 수
+    @GetMapping("/metrics/revocation")
+    public Map<String, Object> revocation() {
+        return tokenRevocationService.snapshot();
+    }
+}
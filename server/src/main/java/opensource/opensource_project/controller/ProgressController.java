@@ -0,0 +1,36 @@
+package opensource.opensource_project.controller;
+
+import opensource.opensource_project.dto.UserProgressDTO;
+import opensource.opensource_project.service.UserProgressService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+import java.util.Map;
+
+@Controller
+@ResponseBody
+public class ProgressController {
+
+    private final UserProgressService userProgressService;
+
+    public ProgressController(UserProgressService userProgressService) {
+        this.userProgressService = userProgressService;
+    }
+
+    @GetMapping("/progress")
+    public ResponseEntity<UserProgressDTO> progress() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        // 아직 분석 결과가 없으면 빈 요약
+        return ResponseEntity.ok(userProgressService.find(username).orElseGet(() -> {
+            UserProgressDTO empty = new UserProgressDTO();
+            empty.setRecentScores(List.of());
+            empty.setFeedbackCounts(Map.of());
+            return empty;
+        }));
+    }
+}
@@ -1,30 +1,33 @@
 package opensource.opensource_project.controller;
 
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import opensource.opensource_project.domain.refresh_token.entity.Refresh;
+import opensource.opensource_project.jwt.JwtClaims;
 import opensource.opensource_project.jwt.JwtUtil;
-import opensource.opensource_project.repository.RefreshRepository;
+import opensource.opensource_project.revocation.TokenRevocationService;
+import opensource.opensource_project.service.RefreshTokenService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 
-import java.util.Date;
 
 @Controller
 @ResponseBody
 public class ReissueController {
 
     private final JwtUtil jwtUtil;
-    private final RefreshRepository refreshRepository;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
-    public ReissueController(JwtUtil jwtUtil, RefreshRepository refreshRepository) {
+    public ReissueController(JwtUtil jwtUtil, RefreshTokenService refreshTokenService, TokenRevocationService tokenRevocationService) {
         this.jwtUtil = jwtUtil;
-        this.refreshRepository = refreshRepository;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @PostMapping("/reissue")
@@ -44,39 +47,45 @@ public class ReissueController {
             return new ResponseEntity<>("refresh token is null", HttpStatus.BAD_REQUEST);
         }
 
-        //expire check
+        //expire check (한 번만 파싱)
+        JwtClaims claims;
         try {
-            jwtUtil.isExpired(refresh);
+            claims = jwtUtil.parse(refresh);
         } catch (ExpiredJwtException e) {
             //response status code
             return new ResponseEntity<>("refresh token is expired", HttpStatus.BAD_REQUEST);
+        } catch (JwtException | IllegalArgumentException e) {
+            return new ResponseEntity<>("invalid refresh token", HttpStatus.BAD_REQUEST);
         }
 
         //토큰이 refresh인지 확인 (발급시 페이로드에 명시)
-        String category = jwtUtil.getCategory(refresh);
+        String category = claims.getCategory();
 
-        if(!category.equals("refresh")) {
+        if(!"refresh".equals(category)) {
             //response status code
             return new ResponseEntity<>("invalid refresh token", HttpStatus.BAD_REQUEST);
         }
 
-        //DB에 저장되어 있는지 확인
-        Boolean isExist = refreshRepository.existsByRefresh(refresh);
-        if(!isExist) {
+        //로그아웃으로 폐기된 토큰은 DB 를 거치지 않고 거절
+        if(tokenRevocationService.isRevoked(claims)) {
+            return new ResponseEntity<>("refresh token is revoked", HttpStatus.BAD_REQUEST);
+        }
+
+        //DB에 저장되어 있는지 확인하면서 제거 (다이제스트 인덱스 조회, 동시 재사용 시 한 요청만 성공)
+        if(!refreshTokenService.delete(refresh)) {
             return new ResponseEntity<>("invalid refresh token", HttpStatus.BAD_REQUEST);
         }
 
-        String username = jwtUtil.getUsername(refresh);
-        String realName = jwtUtil.getRealName(refresh);
-        String role = jwtUtil.getRole(refresh);
+        String username = claims.getUsername();
+        String realName = claims.getRealName();
+        String role = claims.getRole();
 
         //make new JWT
-        String newAccess = jwtUtil.createJwt("access", username, realName, role, 1000L * 60 * 30);
-        String newRefresh = jwtUtil.createJwt("refresh", username, realName, role, 1000L * 60 * 60 * 24 * 30);
+        String newAccess = jwtUtil.createJwt("access", username, role, realName, 1000L * 60 * 30);
+        String newRefresh = jwtUtil.createJwt("refresh", username, role, realName, 1000L * 60 * 60 * 24 * 30);
 
         //refresh 토큰 리로케이트
-        refreshRepository.deleteByRefresh(refresh);
-        addRefreshEntity(username, newRefresh, 1000L * 60 * 60 * 24 * 30);
+        refreshTokenService.save(username, newRefresh, 1000L * 60 * 60 * 24 * 30);
 
         //response
         response.setHeader("access", newAccess);
@@ -86,17 +95,6 @@ public class ReissueController {
         return new ResponseEntity<>(HttpStatus.OK);
     }
 
-    private void addRefreshEntity(String username, String refresh, Long expireMs) {
-        Date date = new Date(System.currentTimeMillis() + expireMs);
-
-        Refresh refreshToken = new Refresh();
-        refreshToken.setUsername(username);
-        refreshToken.setRefresh(refresh);
-        refreshToken.setExpiration(date.toString());
-
-        refreshRepository.save(refreshToken);
-    }
-
     private Cookie createCookie(String key, String value) {
         Cookie cookie = new Cookie(key, value);
         cookie.setMaxAge(24*60*60*30);
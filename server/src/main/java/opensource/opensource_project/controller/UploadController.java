@@ -1,207 +1,487 @@
 package opensource.opensource_project.controller;
 
 import jakarta.servlet.http.HttpServletRequest;
+import opensource.opensource_project.admission.AdmissionPermit;
+import opensource.opensource_project.admission.UploadAdmissionFilter;
 import opensource.opensource_project.domain.analysis_result.entity.AnalysisResult;
 import opensource.opensource_project.domain.squat_videos.entity.SquatVideo;
 import opensource.opensource_project.domain.squat_videos.squat_video_constants.Status;
+import opensource.opensource_project.dto.AnalysisJob;
+import opensource.opensource_project.dto.ChunkedUploadCreateDTO;
 import opensource.opensource_project.dto.CustomUserDetails;
-import opensource.opensource_project.dto.UploadResponseDTO;
+import opensource.opensource_project.dto.DedupClaim;
+import opensource.opensource_project.dto.PresignedUploadCreateDTO;
+import opensource.opensource_project.dto.UploadAcceptedDTO;
 import opensource.opensource_project.dto.UploadResultDTO;
+import opensource.opensource_project.dto.UploadStatusDTO;
+import opensource.opensource_project.dto.VideoMetadata;
 import opensource.opensource_project.repository.AnalysisResultRepository;
 import opensource.opensource_project.repository.SquatVideoRepository;
+import opensource.opensource_project.service.AnalysisJobService;
+import opensource.opensource_project.service.AnalysisOutboxService;
+import opensource.opensource_project.service.AnalysisResultWriter;
+import opensource.opensource_project.service.ChunkedUploadService;
+import opensource.opensource_project.service.ChunkedUploadSession;
+import opensource.opensource_project.service.ContentDedupService;
+import opensource.opensource_project.service.PresignedUploadService;
 import opensource.opensource_project.service.VideoUploadService;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.ResponseBody;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.HttpServerErrorException;
-import org.springframework.web.client.ResourceAccessException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.multipart.MultipartRequest;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @Controller
 @ResponseBody
-@Transactional
 public class UploadController {
     private final VideoUploadService videoUploadService;
+    private final AnalysisJobService analysisJobService;
+    private final AnalysisResultWriter analysisResultWriter;
+    private final ContentDedupService contentDedupService;
+    private final AnalysisOutboxService analysisOutboxService;
+    private final ChunkedUploadService chunkedUploadService;
+    private final PresignedUploadService presignedUploadService;
     private SquatVideoRepository squatVideoRepository;
     private AnalysisResultRepository analysisResultRepository;
 
-    public UploadController(VideoUploadService videoUploadService, SquatVideoRepository squatVideoRepository, AnalysisResultRepository analysisResultRepository) {
+    public UploadController(VideoUploadService videoUploadService, AnalysisJobService analysisJobService, AnalysisResultWriter analysisResultWriter,
+                            ContentDedupService contentDedupService, AnalysisOutboxService analysisOutboxService,
+                            ChunkedUploadService chunkedUploadService,
+                            PresignedUploadService presignedUploadService, SquatVideoRepository squatVideoRepository,
+                            AnalysisResultRepository analysisResultRepository) {
         this.videoUploadService = videoUploadService;
+        this.analysisJobService = analysisJobService;
+        this.analysisResultWriter = analysisResultWriter;
+        this.contentDedupService = contentDedupService;
+        this.analysisOutboxService = analysisOutboxService;
+        this.chunkedUploadService = chunkedUploadService;
+        this.presignedUploadService = presignedUploadService;
         this.squatVideoRepository = squatVideoRepository;
         this.analysisResultRepository = analysisResultRepository;
     }
 
     @PostMapping("/upload")
-    public ResponseEntity<?> upload(MultipartRequest request) throws Exception {
+    public ResponseEntity<?> upload(MultipartRequest request,
+                                    @RequestAttribute(name = UploadAdmissionFilter.PERMIT_ATTRIBUTE, required = false) AdmissionPermit permit) throws Exception {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
 
-        UploadResultDTO uploadResult = null;
-
+        MultipartFile file = request.getFile("upload");
+        VideoMetadata metadata;
         try {
-            uploadResult = videoUploadService.videoUploadProcess(request);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            metadata = videoUploadService.probe(file);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
 
-        String username = userDetails.getUsername();
-        String fileName = uploadResult.getOriginalFileName();
-        String s3Url = uploadResult.getS3Url();
-        String extension = uploadResult.getExtension();
-        Status status = Status.FAILED;
+        List<AnalysisJob> jobs = new ArrayList<>();
+        UploadStatusDTO accepted;
+        try {
+            accepted = acceptUpload(file, metadata, userDetails.getUsername(), permit, jobs);
+        } catch (RejectedExecutionException e) {
+            return transferBusy();
+        }
+        return submitJobs(accepted, jobs);
+    }
 
-        SquatVideo data1 = new SquatVideo();
+    // 여러 영상을 한 번에 올리면 /analyze-batch 한 번으로 분석
+    @PostMapping("/upload/batch")
+    public ResponseEntity<?> uploadBatch(MultipartRequest request,
+                                         @RequestAttribute(name = UploadAdmissionFilter.PERMIT_ATTRIBUTE, required = false) AdmissionPermit permit) throws Exception {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
 
-        data1.setUsername(username);
-        data1.setOriginalFilename(fileName);
-        data1.setS3Url(s3Url);
-        data1.setExtension(extension);
-        data1.setStatus(status);
+        List<MultipartFile> files = request.getFiles("upload");
+        if (files.isEmpty()) {
+            return ResponseEntity.badRequest().body("업로드할 파일이 없습니다");
+        }
+        if (files.size() > AnalysisJobService.MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body("한 번에 최대 " + AnalysisJobService.MAX_BATCH_SIZE + "개까지 업로드할 수 있습니다");
+        }
 
-        //DB에 meta data 저장
-        SquatVideo savedData = squatVideoRepository.save(data1);
-        Long videoId = savedData.getVideoId();
+        // 하나라도 영상이 아니면 아무것도 올리지 않고 거절
+        List<VideoMetadata> metadata = new ArrayList<>();
+        try {
+            for (MultipartFile file : files) {
+                metadata.add(videoUploadService.probe(file));
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
 
-        //분석 서버로 영상 데이터 전송 - InputStreamResource 문제 해결
-        MultipartFile file = request.getFile("upload");
+        List<AnalysisJob> jobs = new ArrayList<>();
+        List<UploadStatusDTO> responseDTO = new ArrayList<>();
+        try {
+            for (int i = 0; i < files.size(); i++) {
+                responseDTO.add(acceptUpload(files.get(i), metadata.get(i), userDetails.getUsername(), permit, jobs));
+            }
+        } catch (RuntimeException e) {
+            // 이미 저장된 영상은 실패 처리
+            jobs.forEach(job -> rejectJob(job, "업로드 실패"));
+            if (e instanceof RejectedExecutionException) {
+                return transferBusy();
+            }
+            throw e;
+        }
 
-        // ByteArrayResource로 변경하여 스트림 재사용 문제 해결
-        byte[] fileBytes = file.getBytes();
-        ByteArrayResource resource = new ByteArrayResource(fileBytes) {
-            @Override
-            public String getFilename() {
-                return file.getOriginalFilename();
+        if (!jobs.isEmpty()) {
+            try {
+                analysisJobService.submitBatch(jobs);
+            } catch (RuntimeException e) {
+                jobs.forEach(this::rejectJob);
+                if (!(e instanceof RejectedExecutionException)) {
+                    throw e;
+                }
+
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body("분석 요청이 많아 잠시 후 다시 시도해주세요");
             }
-        };
+        }
+
+        return ResponseEntity.accepted().body(responseDTO);
+    }
+
+    // 청크 업로드 세션 생성: 끊긴 업로드는 받지 못한 청크만 다시 보내면 된다
+    @PostMapping("/upload/sessions")
+    public ResponseEntity<?> createSession(@RequestBody ChunkedUploadCreateDTO createDTO) throws IOException {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
 
-        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-        body.add("file", resource);
+        try {
+            ChunkedUploadSession session = chunkedUploadService.create(username, createDTO.getFileName(), createDTO.getTotalSize());
+            return ResponseEntity.status(HttpStatus.CREATED).body(chunkedUploadService.status(session, false));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(e.getMessage());
+        }
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+    // 청크 본문(application/octet-stream)을 순서와 관계없이 받는다. 이미 받은 청크는 다시 보내도 성공
+    @PutMapping("/upload/sessions/{sessionId}/chunks/{index}")
+    public ResponseEntity<?> uploadChunk(@PathVariable String sessionId, @PathVariable int index, HttpServletRequest request) throws IOException {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
 
-        RestTemplate restTemplate = new RestTemplate();
+        Optional<ChunkedUploadSession> session = chunkedUploadService.find(sessionId, username);
+        if (session.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("업로드 세션을 찾을 수 없습니다");
+        }
 
-        HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
         try {
-            ResponseEntity<Map> response = restTemplate.postForEntity("http://localhost:8000/analyze", requestEntity, Map.class);
+            chunkedUploadService.writeChunk(session.get(), index, request.getContentLengthLong(), request.getInputStream());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+        return ResponseEntity.noContent().build();
+    }
 
-            // 응답 상태 코드 확인
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                throw new RuntimeException("분석 서버 응답 실패: " + response.getStatusCode());
-            }
+    @GetMapping("/upload/sessions/{sessionId}")
+    public ResponseEntity<?> sessionStatus(@PathVariable String sessionId) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
 
-            Map<String, Object> responseBody = response.getBody();
+        Optional<ChunkedUploadSession> session = chunkedUploadService.find(sessionId, username);
+        if (session.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("업로드 세션을 찾을 수 없습니다");
+        }
+        return ResponseEntity.ok(chunkedUploadService.status(session.get(), true));
+    }
 
-            if (responseBody == null) {
-                throw new RuntimeException("분석 서버로부터 응답 데이터가 없습니다");
-            }
+    // 모든 청크를 받은 뒤 기존 업로드와 같은 S3/분석 흐름을 한 번만 실행. 다시 호출하면 같은 영상 상태를 반환
+    @PostMapping("/upload/sessions/{sessionId}/complete")
+    public ResponseEntity<?> completeSession(@PathVariable String sessionId,
+                                             @RequestAttribute(name = UploadAdmissionFilter.PERMIT_ATTRIBUTE, required = false) AdmissionPermit permit) throws IOException {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
 
-            // 타입 안전성 개선
-            Object scoreObj = responseBody.get("score");
-            Float score = null;
-            if (scoreObj instanceof Number) {
-                score = ((Number) scoreObj).floatValue();
-            }
+        Optional<ChunkedUploadSession> found = chunkedUploadService.find(sessionId, username);
+        if (found.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("업로드 세션을 찾을 수 없습니다");
+        }
+        ChunkedUploadSession session = found.get();
+        if (session.getState() == ChunkedUploadSession.State.DONE) {
+            return status(session.getVideoId());
+        }
+        if (!session.isComplete()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(chunkedUploadService.status(session, true));
+        }
+        if (!chunkedUploadService.beginFinalize(session)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("업로드 완료 처리 중입니다");
+        }
 
-            List<String> feedbackList = (List<String>) responseBody.get("feedback");
-            String feedback = "";
+        VideoMetadata metadata;
+        try {
+            metadata = videoUploadService.probe(session.getFile());
+        } catch (IllegalArgumentException e) {
+            // 영상이 아니면 다시 받아도 같으므로 세션을 버린다
+            chunkedUploadService.discard(session);
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            chunkedUploadService.abortFinalize(session);
+            throw e;
+        }
 
-            if (feedbackList != null && !feedbackList.isEmpty()) {
-                feedback = String.join("\n", feedbackList);
+        List<AnalysisJob> jobs = new ArrayList<>();
+        UploadStatusDTO accepted;
+        UploadResultDTO uploadResult = null;
+        try {
+            uploadResult = videoUploadService.videoUploadProcess(session.getFile(), session.getFileName(), metadata, username);
+            accepted = register(uploadResult, username, permit, jobs);
+        } catch (IOException | RuntimeException e) {
+            if (uploadResult == null) {
+                // 세션 파일이 그대로 있으므로 다시 완료 요청할 수 있다
+                chunkedUploadService.abortFinalize(session);
+            } else {
+                // 세션 파일은 이미 분석용 임시 파일로 옮겨졌거나 삭제됐다 (claim 과 임시 파일은 register 가 정리)
+                chunkedUploadService.discard(session);
             }
+            throw e;
+        }
+        chunkedUploadService.finish(session, accepted.getVideoId());
 
-            AnalysisResult data2 = new AnalysisResult();
-            data2.setUsername(username);
-            data2.setVideoId(videoId);
-            data2.setScore(score);
-            data2.setFeedback(feedback);
+        return submitJobs(accepted, jobs);
+    }
 
-            analysisResultRepository.save(data2);
+    // S3 직접 업로드: 영상 행을 만들고 presigned PUT URL 발급. 영상 바이트는 앱 서버를 거치지 않는다
+    @PostMapping("/upload/presigned")
+    public ResponseEntity<?> createPresignedUpload(@RequestBody PresignedUploadCreateDTO createDTO) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
 
-            // 분석 성공 시에만 status를 DONE 변경
-            savedData.setStatus(Status.DONE);
-            squatVideoRepository.save(savedData);
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(presignedUploadService.create(username, createDTO.getFileName(), createDTO.getTotalSize()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(e.getMessage());
+        }
+    }
+
+    // S3 PUT 이 끝나면 호출: 객체 헤더만 확인하고 분석 서버가 S3 에서 직접 내려받아 분석
+    @PostMapping("/upload/presigned/{videoId}/complete")
+    public ResponseEntity<?> completePresignedUpload(@PathVariable Long videoId,
+                                                     @RequestAttribute(name = UploadAdmissionFilter.PERMIT_ATTRIBUTE, required = false) AdmissionPermit permit) throws IOException {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        Optional<SquatVideo> found = squatVideoRepository.findById(videoId);
+        if (found.isEmpty() || !found.get().getUsername().equals(username)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("영상을 찾을 수 없습니다");
+        }
+        SquatVideo video = found.get();
+        // 이미 완료 처리된 요청이면 현재 상태를 그대로 반환
+        if (video.getStatus() != Status.UPLOADING) {
+            return status(videoId);
+        }
+
+        VideoMetadata metadata;
+        try {
+            metadata = presignedUploadService.inspect(video);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            presignedUploadService.reject(video);
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
 
-            UploadResponseDTO responseDTO = new UploadResponseDTO();
-            responseDTO.setFeedBack(feedback);
-            responseDTO.setScore(score);
+        AnalysisJob job = AnalysisJob.remote(videoId, username, video.getS3Key(), video.getOriginalFilename(), metadata.getContentType());
+        if (!presignedUploadService.markPending(job, metadata)) {
+            return status(videoId);
+        }
 
-            return ResponseEntity.ok(responseDTO);
+        if (permit != null) {
+            job.holdAdmission(permit);
+        }
 
-        } catch (ResourceAccessException e) {
-            // 네트워크 연결 실패 (서버가 응답하지 않음)
-            System.err.println("분석 서버 연결 실패: " + e.getMessage());
+        UploadStatusDTO accepted = new UploadStatusDTO();
+        accepted.setVideoId(videoId);
+        accepted.setStatus(Status.PENDING);
+        return submitJobs(accepted, List.of(job));
+    }
+
+    @GetMapping("/upload/{videoId}")
+    public ResponseEntity<?> status(@PathVariable Long videoId) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        Optional<SquatVideo> video = squatVideoRepository.findById(videoId);
+        if (video.isEmpty() || !video.get().getUsername().equals(username)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("영상을 찾을 수 없습니다");
+        }
 
-            // 실패 정보를 DB에 기록
-            AnalysisResult failedResult = new AnalysisResult();
-            failedResult.setUsername(username);
-            failedResult.setVideoId(videoId);
-            failedResult.setScore(null);
-            failedResult.setFeedback("분석 서버 연결 실패");
-            analysisResultRepository.save(failedResult);
+        UploadStatusDTO responseDTO = new UploadStatusDTO();
+        responseDTO.setVideoId(videoId);
+        responseDTO.setStatus(video.get().getStatus());
+
+        Status status = video.get().getStatus();
+        if (status == Status.DONE || status == Status.FAILED) {
+            Optional<AnalysisResult> result = analysisResultRepository.findTopByVideoIdOrderByAnalysisIdDesc(videoId);
+            result.ifPresent(r -> {
+                responseDTO.setScore(r.getScore());
+                responseDTO.setFeedBack(r.getFeedback());
+            });
+        }
+
+        return ResponseEntity.ok(responseDTO);
+    }
+
+    // S3 업로드 후 메타데이터를 저장하고, 새로 분석할 영상이면 jobs 에 분석 작업을 추가한다
+    private UploadStatusDTO acceptUpload(MultipartFile file, VideoMetadata metadata, String username, AdmissionPermit permit,
+                                         List<AnalysisJob> jobs) {
+        UploadResultDTO uploadResult = null;
+
+        try {
+            uploadResult = videoUploadService.videoUploadProcess(file, metadata, username);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return register(uploadResult, username, permit, jobs);
+    }
+
+    // 분석 작업은 요청의 수락 슬롯을 넘겨받아 분석이 끝날 때 반납한다
+    private UploadStatusDTO register(UploadResultDTO uploadResult, String username, AdmissionPermit permit, List<AnalysisJob> jobs) {
+        String fileName = uploadResult.getOriginalFileName();
+        String s3Url = uploadResult.getS3Url();
+        String extension = uploadResult.getExtension();
+        Path stagedFile = uploadResult.getStagedFile();
+        DedupClaim claim = uploadResult.getDedupClaim();
+        VideoMetadata metadata = uploadResult.getMetadata();
 
-            // status는 이미 FAILED로 설정되어 있으므로 그대로 유지
+        SquatVideo data1 = new SquatVideo();
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("분석 서버에 연결할 수 없습니다");
+        data1.setUsername(username);
+        data1.setOriginalFilename(fileName);
+        data1.setS3Url(s3Url);
+        data1.setS3Key(uploadResult.getS3Key());
+        data1.setExtension(extension);
+        data1.setContentHash(uploadResult.getContentHash());
+        data1.setDurationMs(metadata.getDurationMs());
+        data1.setFrameRate(metadata.getFrameRate());
+        data1.setWidth(metadata.getWidth());
+        data1.setHeight(metadata.getHeight());
+        data1.setEstimatedCost(metadata.getEstimatedCost());
+        data1.setStatus(Status.PENDING);
+
+        UploadStatusDTO responseDTO = new UploadStatusDTO();
+        responseDTO.setStatus(Status.PENDING);
+        try {
+            //DB에 meta data 저장 (같은 영상의 기존 결과를 재사용하면 결과와 함께, 새로 분석할 영상이면 작업 행과 함께 한 트랜잭션으로 저장)
+            Long videoId;
+            AnalysisJob job = null;
+            if (claim.getRole() == DedupClaim.Role.REUSED) {
+                videoId = analysisResultWriter.completeReused(data1, claim.getScore(), claim.getFeedBack()).getVideoId();
+            } else if (claim.isLeader()) {
+                job = analysisOutboxService.saveTracked(data1, id -> new AnalysisJob(id, username, stagedFile,
+                        uploadResult.getS3Key(), fileName, metadata.getContentType(), uploadResult.getContentHash()));
+                videoId = job.getVideoId();
+            } else {
+                videoId = squatVideoRepository.save(data1).getVideoId();
+            }
+            responseDTO.setVideoId(videoId);
+
+            switch (claim.getRole()) {
+                case REUSED -> {
+                    // 같은 영상의 기존 분석 결과를 그대로 저장했다
+                    responseDTO.setStatus(Status.DONE);
+                    responseDTO.setScore(claim.getScore());
+                    responseDTO.setFeedBack(claim.getFeedBack());
+                }
+                // 동시에 올라온 같은 영상의 분석이 끝나면 함께 완료
+                case FOLLOWER -> contentDedupService.follow(claim, videoId, username);
+                case LEADER -> {
+                    if (permit != null) {
+                        job.holdAdmission(permit);
+                    }
+                    jobs.add(job);
+                }
+            }
+        } catch (RuntimeException e) {
+            // 분석 작업을 만들기 전에 실패하면 이 해시를 기다리는 업로드가 영원히 PENDING 으로 남지 않도록 풀어 준다
+            if (claim.isLeader()) {
+                contentDedupService.publishFailure(username, uploadResult.getContentHash(), "업로드 실패");
+                deleteStagedFile(stagedFile);
+            }
+            throw e;
+        }
 
-        } catch (HttpClientErrorException e) {
-            // 4xx 에러 (클라이언트 요청 오류)
-            System.err.println("분석 요청 오류: " + e.getStatusCode() + " - " + e.getResponseBodyAsString());
+        return responseDTO;
+    }
 
-            AnalysisResult failedResult = new AnalysisResult();
-            failedResult.setUsername(username);
-            failedResult.setVideoId(videoId);
-            failedResult.setScore(null);
-            failedResult.setFeedback("분석 요청 오류: " + e.getStatusCode());
-            analysisResultRepository.save(failedResult);
+    // 이미 분석된 영상이면 저장된 결과를 바로 반환하고, 아니면 워커 풀에서 비동기로 분석
+    private ResponseEntity<?> submitJobs(UploadStatusDTO accepted, List<AnalysisJob> jobs) {
+        if (accepted.getStatus() == Status.DONE) {
+            return ResponseEntity.ok(accepted);
+        }
 
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body("분석 요청이 잘못되었습니다");
+        int submitted = 0;
+        try {
+            for (AnalysisJob job : jobs) {
+                analysisJobService.submit(job);
+                submitted++;
+            }
+        } catch (RuntimeException e) {
+            // 넘기지 못한 작업은 여기서 실패 처리 (대기 중인 같은 영상 업로드도 함께 풀린다)
+            jobs.subList(submitted, jobs.size()).forEach(this::rejectJob);
+            if (!(e instanceof RejectedExecutionException)) {
+                throw e;
+            }
 
-        } catch (HttpServerErrorException e) {
-            // 5xx 에러 (서버 내부 오류)
-            System.err.println("분석 서버 내부 오류: " + e.getStatusCode() + " - " + e.getResponseBodyAsString());
+            // 워커 큐 포화
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body("분석 요청이 많아 잠시 후 다시 시도해주세요");
+        }
 
-            AnalysisResult failedResult = new AnalysisResult();
-            failedResult.setUsername(username);
-            failedResult.setVideoId(videoId);
-            failedResult.setScore(null);
-            failedResult.setFeedback("분석 서버 내부 오류");
-            analysisResultRepository.save(failedResult);
+        return ResponseEntity.accepted().body(accepted(accepted.getVideoId()));
+    }
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("분석 서버에서 오류가 발생했습니다");
+    // S3 전송 스레드 포화 (대기열 없이 거절): 업로드한 영상은 저장하지 않았으므로 잠시 후 다시 보내면 된다
+    private ResponseEntity<?> transferBusy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("업로드 요청이 많아 잠시 후 다시 시도해주세요");
+    }
 
-        } catch (Exception e) {
-            // 기타 예상치 못한 오류
-            System.err.println("예상치 못한 오류: " + e.getMessage());
+    private void rejectJob(AnalysisJob job) {
+        System.err.println("분석 대기열 포화: " + job.getVideoId());
+        rejectJob(job, "분석 대기열 포화");
+    }
 
-            AnalysisResult failedResult = new AnalysisResult();
-            failedResult.setUsername(username);
-            failedResult.setVideoId(videoId);
-            failedResult.setScore(null);
-            failedResult.setFeedback("분석 중 오류 발생");
-            analysisResultRepository.save(failedResult);
+    private void rejectJob(AnalysisJob job, String feedback) {
+        deleteStagedFile(job.getStagedFile());
+        try {
+            analysisJobService.fail(job, feedback);
+        } finally {
+            job.releaseAdmission();
+        }
+    }
 
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("분석 처리 중 오류가 발생했습니다");
+    private void deleteStagedFile(Path stagedFile) {
+        if (stagedFile != null) {
+            try {
+                Files.deleteIfExists(stagedFile);
+            } catch (IOException e) {
+                System.err.println("임시 파일 삭제 실패: " + stagedFile);
+            }
         }
     }
+
+    private UploadAcceptedDTO accepted(Long videoId) {
+        UploadAcceptedDTO responseDTO = new UploadAcceptedDTO();
+        responseDTO.setVideoId(videoId);
+        responseDTO.setStatus(Status.PENDING);
+        return responseDTO;
+    }
 }
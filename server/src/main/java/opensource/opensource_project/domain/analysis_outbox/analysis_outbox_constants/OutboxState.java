@@ -0,0 +1,22 @@
+package opensource.opensource_project.domain.analysis_outbox.analysis_outbox_constants;
+
+public enum OutboxState {
+    // 다음 시도 시각을 기다리는 중
+    PENDING("pending"),
+    // 한 노드가 임대(lease)해 분석 중
+    RUNNING("running"),
+    // 같은 영상을 먼저 올린 업로드(leader_video_id)의 재시도 결과를 기다리는 중. 직접 분석하지 않는다
+    WAITING("waiting"),
+    // 재시도 한도를 넘었거나 다시 시도해도 소용없는 실패 (영상은 FAILED)
+    DEAD("dead");
+
+    private final String value;
+
+    OutboxState(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
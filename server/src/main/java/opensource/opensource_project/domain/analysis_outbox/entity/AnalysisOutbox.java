@@ -0,0 +1,68 @@
+package opensource.opensource_project.domain.analysis_outbox.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import opensource.opensource_project.domain.analysis_outbox.analysis_outbox_constants.OutboxState;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// 분석 작업 대기열 (영상당 한 행). 분석이 끝나면 행을 지우고, 실패하면 백오프 후 다시 시도한다
+@Entity
+@Table(name = "analysis_outbox", indexes = {
+        @Index(name = "idx_analysis_outbox_state_next", columnList = "state, next_attempt_at"),
+        @Index(name = "idx_analysis_outbox_leader", columnList = "leader_video_id")
+})
+@Getter
+@Setter
+public class AnalysisOutbox {
+    // 영상 행과 같은 트랜잭션에서 INSERT 를 모아 보내도록 IDENTITY 대신 시퀀스
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "analysis_outbox_seq")
+    @SequenceGenerator(name = "analysis_outbox_seq", sequenceName = "analysis_outbox_seq", allocationSize = 50)
+    private Long outboxId;
+
+    @Column(name = "video_id", nullable = false, unique = true)
+    private Long videoId;
+
+    @Column(name = "username", nullable = false)
+    private String username;
+
+    // 재시도는 어느 노드에서든 S3 에서 받아 분석하므로 로컬 임시 파일 대신 객체 키를 남긴다
+    @Column(name = "s3_key", nullable = false)
+    private String s3Key;
+
+    @Column(name = "original_filename", length = 255)
+    private String originalFilename;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxState state;
+
+    // 임대(시도)한 횟수
+    @Column(nullable = false)
+    private int attempts;
+
+    // PENDING 이면 다음 시도 시각, RUNNING 이면 임대 만료 시각 (지나면 다른 노드가 가져간다)
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // 임대한 노드 (프로세스마다 다르다)
+    @Column(name = "lease_owner", length = 64)
+    private String leaseOwner;
+
+    // WAITING 이면 결과를 받아 올 영상 (그 분석이 끝나면 같은 결과로 완료, DEAD 가 되면 함께 실패)
+    @Column(name = "leader_video_id")
+    private Long leaderVideoId;
+
+    @Column(name = "last_error", length = 512)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
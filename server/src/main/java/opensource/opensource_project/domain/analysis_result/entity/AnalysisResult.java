@@ -8,12 +8,18 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "analysis_result")
+@Table(name = "analysis_result", indexes = {
+        // 사용자별 이력 keyset 페이지 조회
+        @Index(name = "idx_analysis_result_user_analyzed", columnList = "username, analyzed_at, analysisId"),
+        // 영상별 최신 결과 조회
+        @Index(name = "idx_analysis_result_video", columnList = "videoId, analysisId")
+})
 @Getter
 @Setter
 public class AnalysisResult {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "analysis_result_seq")
+    @SequenceGenerator(name = "analysis_result_seq", sequenceName = "analysis_result_seq", allocationSize = 50)
     private Long analysisId;
 
     @Column(nullable = false)
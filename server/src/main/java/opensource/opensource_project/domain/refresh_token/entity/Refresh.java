@@ -6,7 +6,9 @@ import lombok.Setter;
 import opensource.opensource_project.domain.user.entity.User;
 
 @Entity
-@Table(name = "refresh")
+@Table(name = "refresh", indexes = {
+        @Index(name = "idx_refresh_expires_at", columnList = "expires_at")
+})
 @Getter
 @Setter
 public class Refresh {
@@ -17,9 +19,11 @@ public class Refresh {
     @Column
     private String username;
 
-    @Column
-    private String refresh;
+    // 토큰 원문 대신 SHA-256 hex (고정 길이, unique 인덱스). 토큰마다 jti 가 달라 같은 초에 발급해도 겹치지 않는다
+    @Column(name = "token_digest", length = 64, nullable = false, unique = true)
+    private String tokenDigest;
 
-    @Column
-    private String expiration;
+    // 만료 시각 (epoch millis)
+    @Column(name = "expires_at", nullable = false)
+    private Long expiresAt;
 }
@@ -0,0 +1,34 @@
+package opensource.opensource_project.domain.revoked_token.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+// 만료 전에 폐기된 토큰 (jti 기준). 재시작/다른 노드가 메모리 폐기 목록을 다시 채울 때 쓴다
+@Entity
+@Table(name = "revoked_token", indexes = {
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_revoked_token_revoked_at", columnList = "revoked_at")
+})
+@Getter
+@Setter
+public class RevokedToken {
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column
+    private String username;
+
+    // access / refresh
+    @Column(length = 16)
+    private String category;
+
+    // 토큰 자체의 만료 시각 (epoch millis), 지나면 지워도 된다
+    @Column(name = "expires_at", nullable = false)
+    private Long expiresAt;
+
+    // 폐기 시각 (epoch millis), 다른 노드가 새로 생긴 폐기만 가져갈 때 쓴다
+    @Column(name = "revoked_at", nullable = false)
+    private Long revokedAt;
+}
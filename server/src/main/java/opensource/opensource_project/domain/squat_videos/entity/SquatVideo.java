@@ -9,12 +9,18 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "squat_video")
+@Table(name = "squat_video", indexes = {
+        @Index(name = "idx_squat_video_content_hash", columnList = "content_hash"),
+        @Index(name = "idx_squat_video_user_uploaded", columnList = "username, uploaded_at"),
+        @Index(name = "idx_squat_video_status_uploaded", columnList = "status, uploaded_at")
+})
 @Getter
 @Setter
 public class SquatVideo {
+    // IDENTITY 는 persist 마다 INSERT 를 바로 보내 JDBC 배치가 꺼진다. id 를 50개씩 미리 받아 두고 INSERT 는 커밋 때 모아 보낸다
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "squat_video_seq")
+    @SequenceGenerator(name = "squat_video_seq", sequenceName = "squat_video_seq", allocationSize = 50)
     private Long videoId;
 
     @Column(name = "username", nullable = false)
@@ -29,6 +35,31 @@ public class SquatVideo {
     @Column(name = "s3_url", nullable = false, columnDefinition = "TEXT")
     private String s3Url;
 
+    // S3 객체 키 (presigned 업로드 완료 시 객체 확인과 분석 서버용 URL 발급에 사용)
+    @Column(name = "s3_key")
+    private String s3Key;
+
+    // 영상 바이트의 SHA-256 (같은 영상 재업로드 시 기존 분석 결과 재사용)
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // 업로드 시 컨테이너 헤더에서 읽은 영상 정보
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Column(name = "frame_rate")
+    private Float frameRate;
+
+    @Column
+    private Integer width;
+
+    @Column
+    private Integer height;
+
+    // 분석 비용 추정치 (720p 기준 프레임 수). 스케줄링/사용량 제한에 사용
+    @Column(name = "estimated_cost")
+    private Long estimatedCost;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Status status;
@@ -1,6 +1,10 @@
 package opensource.opensource_project.domain.squat_videos.squat_video_constants;
 
 public enum Status {
+    // presigned URL 로 클라이언트가 S3 에 직접 올리는 중
+    UPLOADING("uploading"),
+    PENDING("pending"),
+    PROCESSING("processing"),
     DONE("done"),
     FAILED("failed");
 
@@ -0,0 +1,48 @@
+package opensource.opensource_project.domain.user_progress.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 사용자별 누적 분석 요약 (분석 결과 저장과 같은 트랜잭션에서 증분 갱신)
+@Entity
+@Table(name = "user_progress")
+@Getter
+@Setter
+public class UserProgress {
+    @Id
+    @Column(name = "username", nullable = false)
+    private String username;
+
+    // 점수가 나온 분석 횟수
+    @Column(name = "session_count", nullable = false)
+    private long sessionCount;
+
+    @Column(name = "failed_count", nullable = false)
+    private long failedCount;
+
+    @Column(name = "score_sum", nullable = false)
+    private double scoreSum;
+
+    @Column(name = "best_score")
+    private Float bestScore;
+
+    @Column(name = "last_score")
+    private Float lastScore;
+
+    // 최근 점수 (오래된 순, 쉼표 구분)
+    @Column(name = "recent_scores", length = 512)
+    private String recentScores;
+
+    // 피드백 문장별 횟수 (JSON)
+    @Column(name = "feedback_counts", columnDefinition = "TEXT")
+    private String feedbackCounts;
+
+    @Column(name = "top_feedback", columnDefinition = "TEXT")
+    private String topFeedback;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
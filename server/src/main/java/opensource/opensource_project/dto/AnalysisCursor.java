@@ -0,0 +1,44 @@
+package opensource.opensource_project.dto;
+
+import lombok.Getter;
+import opensource.opensource_project.domain.analysis_result.entity.AnalysisResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// 분석 결과 위치 (analyzedAt, analysisId). 이력 페이지 커서와 SSE 이벤트 id 로 쓴다
+// 시퀀스 id 는 노드별로 미리 할당되어 저장 순서와 다르므로 analyzedAt 을 앞에 둔다
+// 문자열 = base64url("analyzedAt|analysisId")
+@Getter
+public class AnalysisCursor {
+
+    private final LocalDateTime analyzedAt;
+    private final Long analysisId;
+
+    public AnalysisCursor(LocalDateTime analyzedAt, Long analysisId) {
+        this.analyzedAt = analyzedAt;
+        this.analysisId = analysisId;
+    }
+
+    public static AnalysisCursor of(AnalysisResult result) {
+        return new AnalysisCursor(result.getAnalyzedAt(), result.getAnalysisId());
+    }
+
+    public String encode() {
+        String raw = analyzedAt + "|" + analysisId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 형식이 맞지 않으면 IllegalArgumentException
+    public static AnalysisCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new AnalysisCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다");
+        }
+    }
+}
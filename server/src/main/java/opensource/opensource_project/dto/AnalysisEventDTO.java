@@ -0,0 +1,33 @@
+package opensource.opensource_project.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import opensource.opensource_project.domain.squat_videos.squat_video_constants.Status;
+
+// 영상 상태 변경 알림. 트랜잭션 커밋 후 영상 소유자의 SSE 연결로 전달된다
+@Getter
+public class AnalysisEventDTO {
+
+    public AnalysisEventDTO(String username, Long videoId, Status status) {
+        this(username, videoId, status, null, null, null);
+    }
+
+    public AnalysisEventDTO(String username, Long videoId, Status status, String eventId, Float score, String feedBack) {
+        this.username = username;
+        this.videoId = videoId;
+        this.status = status;
+        this.eventId = eventId;
+        this.score = score;
+        this.feedBack = feedBack;
+    }
+
+    @JsonIgnore
+    private final String username;
+    private final Long videoId;
+    private final Status status;
+    // 결과 이벤트(DONE/FAILED)의 SSE id (AnalysisCursor). 재연결 시 Last-Event-ID 이후 결과를 다시 보낸다
+    @JsonIgnore
+    private final String eventId;
+    private final Float score;
+    private final String feedBack;
+}
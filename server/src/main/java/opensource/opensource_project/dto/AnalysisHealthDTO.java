@@ -0,0 +1,17 @@
+package opensource.opensource_project.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+// 분석 서버 /health 응답 본문
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AnalysisHealthDTO {
+    String status;
+    // 모델을 불러오지 못했으면 false (예전 분석 서버는 보내지 않는다)
+    @JsonProperty("model_loaded")
+    Boolean modelLoaded;
+}
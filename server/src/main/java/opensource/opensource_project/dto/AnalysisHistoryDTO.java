@@ -0,0 +1,29 @@
+package opensource.opensource_project.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// JPQL 생성자 표현식으로 바로 채워지는 분석 이력 한 건 (엔티티를 영속성 컨텍스트에 올리지 않음)
+@Getter
+public class AnalysisHistoryDTO {
+
+    public AnalysisHistoryDTO(Long analysisId, Long videoId, String originalFilename, String s3Url,
+                              Float score, String feedBack, LocalDateTime analyzedAt) {
+        this.analysisId = analysisId;
+        this.videoId = videoId;
+        this.originalFilename = originalFilename;
+        this.s3Url = s3Url;
+        this.score = score;
+        this.feedBack = feedBack;
+        this.analyzedAt = analyzedAt;
+    }
+
+    private final Long analysisId;
+    private final Long videoId;
+    private final String originalFilename;
+    private final String s3Url;
+    private final Float score;
+    private final String feedBack;
+    private final LocalDateTime analyzedAt;
+}
@@ -0,0 +1,14 @@
+package opensource.opensource_project.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class AnalysisHistoryPageDTO {
+    List<AnalysisHistoryDTO> items;
+    // 다음 페이지 요청에 그대로 넘기는 커서 (마지막 페이지면 null)
+    String nextCursor;
+}
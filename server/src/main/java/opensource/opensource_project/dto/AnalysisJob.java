@@ -0,0 +1,68 @@
+package opensource.opensource_project.dto;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import opensource.opensource_project.admission.AdmissionPermit;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Getter
+public class AnalysisJob {
+
+    public AnalysisJob(Long videoId, String username, Path stagedFile, String originalFileName, String contentType) {
+        this(videoId, username, stagedFile, originalFileName, contentType, null);
+    }
+
+    public AnalysisJob(Long videoId, String username, Path stagedFile, String originalFileName, String contentType, String contentHash) {
+        this(videoId, username, stagedFile, null, originalFileName, contentType, contentHash);
+    }
+
+    // s3Key 가 있으면 임시 파일이 없는 노드에서도 S3 에서 받아 다시 분석할 수 있다
+    public AnalysisJob(Long videoId, String username, Path stagedFile, String s3Key, String originalFileName, String contentType,
+                       String contentHash) {
+        this.videoId = videoId;
+        this.username = username;
+        this.stagedFile = stagedFile;
+        this.s3Key = s3Key;
+        this.originalFileName = originalFileName;
+        this.contentType = contentType;
+        this.contentHash = contentHash;
+    }
+
+    // 분석 서버가 S3 에서 직접 내려받는 작업 (presigned 업로드)
+    public static AnalysisJob remote(Long videoId, String username, String s3Key, String originalFileName, String contentType) {
+        return new AnalysisJob(videoId, username, null, s3Key, originalFileName, contentType, null);
+    }
+
+    public boolean isRemote() {
+        return stagedFile == null && s3Key != null;
+    }
+
+    private final Long videoId;
+    private final String username;
+    // 분석 서버로 보낼 로컬 임시 파일 (요청이 끝나도 남아 있도록 multipart 와 별도로 보관)
+    private final Path stagedFile;
+    // 분석 서버에 넘길 S3 객체 키 (원격 작업, 재시도)
+    private final String s3Key;
+    private final String originalFileName;
+    private final String contentType;
+    // 분석이 끝나면 같은 해시로 대기 중인 업로드에 결과를 전달
+    private final String contentHash;
+    // 분석이 끝날 때 반납할 업로드 수락 슬롯
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<AdmissionPermit> admissionPermit = new AtomicReference<>();
+
+    public void holdAdmission(AdmissionPermit permit) {
+        permit.retain();
+        admissionPermit.set(permit);
+    }
+
+    // 성공/실패와 관계없이 한 번만 반납
+    public void releaseAdmission() {
+        AdmissionPermit permit = admissionPermit.getAndSet(null);
+        if (permit != null) {
+            permit.release();
+        }
+    }
+}
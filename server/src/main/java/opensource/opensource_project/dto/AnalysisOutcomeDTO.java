@@ -0,0 +1,14 @@
+package opensource.opensource_project.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// 배치 분석 결과 중 파일 하나의 결과 (성공 시 score/feedBack, 실패 시 message)
+@Getter
+@Setter
+public class AnalysisOutcomeDTO {
+    boolean success;
+    Float score;
+    String feedBack;
+    String message;
+}
@@ -0,0 +1,22 @@
+package opensource.opensource_project.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+// 분석 서버 /analyze, /analyze-batch 응답 본문
+// (Map 대신 고정 타입으로 받아야 Jackson 이 역직렬화기를 캐시해 요청마다 잠금을 잡지 않는다)
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AnalysisServerResponseDTO {
+    String filename;
+    Float score;
+    List<String> feedback;
+    String status;
+    String message;
+    // /analyze-batch 전용 (파일 순서와 같음)
+    List<AnalysisServerResponseDTO> results;
+}
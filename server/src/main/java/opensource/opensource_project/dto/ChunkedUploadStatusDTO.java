@@ -0,0 +1,20 @@
+package opensource.opensource_project.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class ChunkedUploadStatusDTO {
+    String sessionId;
+    long totalSize;
+    int chunkSize;
+    int chunkCount;
+    int receivedChunks;
+    // 아직 받지 못한 청크 번호 (앞에서부터 최대 100개)
+    List<Integer> missingChunks;
+    // 완료 처리 후 생성된 영상 id
+    Long videoId;
+}
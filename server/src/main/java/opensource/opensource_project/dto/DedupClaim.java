@@ -0,0 +1,45 @@
+package opensource.opensource_project.dto;
+
+import lombok.Getter;
+
+import java.util.concurrent.CompletableFuture;
+
+// 업로드 해시 확인 결과: 직접 업로드/분석(LEADER), 진행 중인 동일 업로드 대기(FOLLOWER), 기존 결과 재사용(REUSED)
+@Getter
+public class DedupClaim {
+
+    public enum Role {
+        LEADER, FOLLOWER, REUSED
+    }
+
+    private DedupClaim(Role role, String s3Url, Float score, String feedBack, CompletableFuture<UploadResponseDTO> leaderResult) {
+        this.role = role;
+        this.s3Url = s3Url;
+        this.score = score;
+        this.feedBack = feedBack;
+        this.leaderResult = leaderResult;
+    }
+
+    public static DedupClaim leader(String s3Url) {
+        return new DedupClaim(Role.LEADER, s3Url, null, null, null);
+    }
+
+    public static DedupClaim follower(String s3Url, CompletableFuture<UploadResponseDTO> leaderResult) {
+        return new DedupClaim(Role.FOLLOWER, s3Url, null, null, leaderResult);
+    }
+
+    public static DedupClaim reused(String s3Url, Float score, String feedBack) {
+        return new DedupClaim(Role.REUSED, s3Url, score, feedBack, null);
+    }
+
+    public boolean isLeader() {
+        return role == Role.LEADER;
+    }
+
+    private final Role role;
+    private final String s3Url;
+    private final Float score;
+    private final String feedBack;
+    // FOLLOWER 일 때 앞선 동일 업로드의 분석 결과
+    private final CompletableFuture<UploadResponseDTO> leaderResult;
+}
@@ -0,0 +1,11 @@
+package opensource.opensource_project.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class PresignedUploadCreateDTO {
+    private String fileName;
+    private Long totalSize;
+}
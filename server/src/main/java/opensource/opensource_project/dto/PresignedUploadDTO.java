@@ -0,0 +1,17 @@
+package opensource.opensource_project.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import opensource.opensource_project.domain.squat_videos.squat_video_constants.Status;
+
+@Getter
+@Setter
+public class PresignedUploadDTO {
+    Long videoId;
+    Status status;
+    // 이 URL 로 영상 바이트를 PUT 한다 (Content-Type 헤더는 contentType 과 같아야 함)
+    String uploadUrl;
+    String contentType;
+    // uploadUrl 만료 시각 (epoch ms)
+    long expiresAt;
+}
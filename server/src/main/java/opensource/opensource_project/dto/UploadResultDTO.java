@@ -3,6 +3,8 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.stereotype.Component;
 
+import java.nio.file.Path;
+
 @Getter
 @Setter
 public class UploadResultDTO {
@@ -16,4 +18,13 @@ public class UploadResultDTO {
     private String originalFileName;
     private String s3Url;
     private String extension;
+    // LEADER 가 올린 S3 객체 키 (분석 재시도 시 다른 노드가 S3 에서 받는다)
+    private String s3Key;
+    // 분석 워커가 읽을 로컬 임시 파일
+    private Path stagedFile;
+    private String contentHash;
+    // 같은 해시의 영상이 이미 있으면 LEADER 가 아님 (stagedFile 없음)
+    private DedupClaim dedupClaim;
+    // 컨테이너 헤더에서 읽은 길이/해상도와 분석 비용 추정치
+    private VideoMetadata metadata;
 }
@@ -0,0 +1,14 @@
+package opensource.opensource_project.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import opensource.opensource_project.domain.squat_videos.squat_video_constants.Status;
+
+@Getter
+@Setter
+public class UploadStatusDTO {
+    Long videoId;
+    Status status;
+    Float score;
+    String feedBack;
+}
@@ -0,0 +1,29 @@
+package opensource.opensource_project.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+// 일괄 가입 파일의 한 줄 처리 결과 (status: ACCEPTED / DUPLICATE / INVALID)
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportRowDTO {
+
+    public UserImportRowDTO(int line) {
+        this.line = line;
+    }
+
+    private final int line;
+    private String username;
+    private String status;
+    private String message;
+
+    @JsonIgnore
+    private String password;
+    @JsonIgnore
+    private String realName;
+    @JsonIgnore
+    private String encodedPassword;
+}
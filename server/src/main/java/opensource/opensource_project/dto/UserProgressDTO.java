@@ -0,0 +1,21 @@
+package opensource.opensource_project.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+public class UserProgressDTO {
+    long sessionCount;
+    long failedCount;
+    Float averageScore;
+    Float bestScore;
+    Float lastScore;
+    // 최근 점수 (오래된 순)
+    List<Float> recentScores;
+    String topFeedback;
+    Map<String, Long> feedbackCounts;
+}
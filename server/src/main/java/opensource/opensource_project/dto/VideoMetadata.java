@@ -0,0 +1,44 @@
+package opensource.opensource_project.dto;
+
+import lombok.Getter;
+
+// 컨테이너 헤더(moov)에서 읽은 영상 정보
+@Getter
+public class VideoMetadata {
+
+    public VideoMetadata(String majorBrand, long durationMs, float frameRate, long frameCount, int width, int height) {
+        this.majorBrand = majorBrand;
+        this.durationMs = durationMs;
+        this.frameRate = frameRate;
+        this.frameCount = frameCount;
+        this.width = width;
+        this.height = height;
+    }
+
+    private final String majorBrand;
+    private final long durationMs;
+    private final float frameRate;
+    private final long frameCount;
+    private final int width;
+    private final int height;
+
+    // QuickTime 은 ftyp 이 없거나 major brand 가 "qt  "
+    public boolean isQuickTime() {
+        return majorBrand == null || majorBrand.equals("qt  ");
+    }
+
+    public String getExtension() {
+        return isQuickTime() ? ".mov" : ".mp4";
+    }
+
+    public String getContentType() {
+        return isQuickTime() ? "video/quicktime" : "video/mp4";
+    }
+
+    // 분석 비용 추정치: 분석 서버는 모든 프레임을 디코딩하고 포즈를 추정하므로
+    // 720p 기준 프레임 수로 환산 (해상도가 더 높으면 디코딩 비용만큼 가중)
+    public long getEstimatedCost() {
+        double pixelFactor = Math.max(1.0, (double) width * height / (1280 * 720));
+        return Math.round(frameCount * pixelFactor);
+    }
+}
@@ -1,6 +1,7 @@
 package opensource.opensource_project.jwt;
 
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
@@ -8,18 +9,21 @@ import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import opensource.opensource_project.repository.RefreshRepository;
+import opensource.opensource_project.revocation.TokenRevocationService;
+import opensource.opensource_project.service.RefreshTokenService;
 import org.springframework.web.filter.GenericFilterBean;
 import java.io.IOException;
 public class CustomLogoutFilter extends GenericFilterBean {
 
     private final JwtUtil jwtUtil;
-    private final RefreshRepository refreshRepository;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
-    public CustomLogoutFilter(JwtUtil jwtUtil, RefreshRepository refreshRepository) {
+    public CustomLogoutFilter(JwtUtil jwtUtil, RefreshTokenService refreshTokenService, TokenRevocationService tokenRevocationService) {
 
         this.jwtUtil = jwtUtil;
-        this.refreshRepository = refreshRepository;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -62,37 +66,49 @@ public class CustomLogoutFilter extends GenericFilterBean {
             return;
         }
 
-        //expired check
+        //expired check (한 번만 파싱)
+        JwtClaims claims;
         try {
-            jwtUtil.isExpired(refresh);
+            claims = jwtUtil.parse(refresh);
         } catch (ExpiredJwtException e) {
 
             //response status code
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        } catch (JwtException | IllegalArgumentException e) {
+
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             return;
         }
 
         // 토큰이 refresh인지 확인 (발급시 페이로드에 명시)
-        String category = jwtUtil.getCategory(refresh);
-        if (!category.equals("refresh")) {
+        String category = claims.getCategory();
+        if (!"refresh".equals(category)) {
 
             //response status code
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             return;
         }
 
-        //DB에 저장되어 있는지 확인
-        Boolean isExist = refreshRepository.existsByRefresh(refresh);
-        if (!isExist) {
+        //이미 로그아웃한 토큰은 DB 를 거치지 않고 거절
+        if (tokenRevocationService.isRevoked(claims)) {
 
-            //response status code
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             return;
         }
 
         //로그아웃 진행
-        //Refresh 토큰 DB에서 제거
-        refreshRepository.deleteByRefresh(refresh);
+        //Refresh 토큰 DB에서 제거 (저장되어 있지 않으면 삭제된 행이 없음)
+        if (!refreshTokenService.delete(refresh)) {
+
+            //response status code
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+
+        //만료 전까지 refresh 와 함께 보낸 access 토큰도 폐기
+        tokenRevocationService.revoke(claims);
+        revokeAccessToken(request.getHeader("access"), claims.getUsername());
 
         //Refresh 토큰 Cookie 값 0
         Cookie cookie = new Cookie("refresh", null);
@@ -102,4 +118,20 @@ public class CustomLogoutFilter extends GenericFilterBean {
         response.addCookie(cookie);
         response.setStatus(HttpServletResponse.SC_OK);
     }
+
+    //같은 사용자의 유효한 access 토큰일 때만 폐기 (만료/위조 토큰은 이미 쓸 수 없음)
+    private void revokeAccessToken(String access, String username) {
+
+        if (access == null) {
+            return;
+        }
+        try {
+            JwtClaims accessClaims = jwtUtil.parse(access);
+            if ("access".equals(accessClaims.getCategory()) && username.equals(accessClaims.getUsername())) {
+                tokenRevocationService.revoke(accessClaims);
+            }
+        } catch (JwtException | IllegalArgumentException e) {
+            // 만료/위조된 access 토큰은 이미 쓸 수 없으므로 폐기하지 않고 로그아웃은 계속 진행
+        }
+    }
 }
@@ -0,0 +1,31 @@
+package opensource.opensource_project.jwt;
+
+import lombok.Getter;
+
+// 서명 검증이 끝난 토큰의 클레임 (불변)
+@Getter
+public final class JwtClaims {
+
+    public JwtClaims(String jti, String category, String username, String role, String realName, long issuedAtMs, long expirationMs) {
+        this.jti = jti;
+        this.category = category;
+        this.username = username;
+        this.role = role;
+        this.realName = realName;
+        this.issuedAtMs = issuedAtMs;
+        this.expirationMs = expirationMs;
+    }
+
+    // 토큰 id (폐기 판정용), 이 필드가 생기기 전에 발급된 토큰은 null
+    private final String jti;
+    private final String category;
+    private final String username;
+    private final String role;
+    private final String realName;
+    private final long issuedAtMs;
+    private final long expirationMs;
+
+    public boolean isExpiredAt(long nowMs) {
+        return expirationMs <= nowMs;
+    }
+}
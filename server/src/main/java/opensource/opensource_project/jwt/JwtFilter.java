@@ -1,12 +1,14 @@
 package opensource.opensource_project.jwt;
 
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import opensource.opensource_project.domain.user.entity.User;
 import opensource.opensource_project.dto.CustomUserDetails;
+import opensource.opensource_project.revocation.TokenRevocationService;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,9 +19,11 @@ import java.io.PrintWriter;
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
 
-    public JwtFilter(JwtUtil jwtUtil) {
+    public JwtFilter(JwtUtil jwtUtil, TokenRevocationService tokenRevocationService) {
         this.jwtUtil = jwtUtil;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -42,23 +46,34 @@ public class JwtFilter extends OncePerRequestFilter {
             return;
         }
 
-        // JWT 만료 검증
-        if (jwtUtil.isExpired(accessToken)) {
+        // JWT 서명/만료 검증 (요청당 한 번만 파싱)
+        JwtClaims claims;
+        try {
+            claims = jwtUtil.parse(accessToken);
+        } catch (ExpiredJwtException e) {
             sendErrorResponse(response, "access token is expired");
             return;
+        } catch (JwtException | IllegalArgumentException e) {
+            sendErrorResponse(response, "invalid access token");
+            return;
         }
 
         // 토큰 카테고리 검증
-        String category = jwtUtil.getCategory(accessToken);
-        if(!category.equals("access")) {
+        if(!"access".equals(claims.getCategory())) {
             sendErrorResponse(response, "invalid access token");
             return;
         }
 
+        // 로그아웃으로 폐기된 토큰 (메모리에서 판정)
+        if(tokenRevocationService.isRevoked(claims)) {
+            sendErrorResponse(response, "access token is revoked");
+            return;
+        }
+
         // 사용자 정보 추출 및 인증 설정
-        String username = jwtUtil.getUsername(accessToken);
-        String realName = jwtUtil.getRealName(accessToken);
-        String role = jwtUtil.getRole(accessToken);
+        String username = claims.getUsername();
+        String realName = claims.getRealName();
+        String role = claims.getRole();
 
         User user = new User();
         user.setUsername(username);
@@ -1,5 +1,7 @@
 package opensource.opensource_project.jwt;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -7,38 +9,103 @@ import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtUtil {
 
     private final SecretKey secretKey;
+    // 파서는 불변이고 스레드 안전하므로 한 번만 생성해 재사용
+    private final JwtParser jwtParser;
 
-    public JwtUtil(@Value("${spring.jwt.secret}")String secret) {
+    // 서명 검증이 끝난 토큰 캐시 (키: 토큰 SHA-256, 만료 시각까지만 유효)
+    private final Map<String, JwtClaims> verifiedClaims = new ConcurrentHashMap<>();
+    private final int claimsCacheSize;
+
+    public JwtUtil(@Value("${spring.jwt.secret}")String secret,
+                   @Value("${spring.jwt.claims-cache-size:10000}") int claimsCacheSize) {
         secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), Jwts.SIG.HS256.key().build().getAlgorithm());
+        jwtParser = Jwts.parser().verifyWith(secretKey).build();
+        this.claimsCacheSize = claimsCacheSize;
+    }
+
+    // 토큰을 한 번만 파싱/검증해 모든 클레임을 돌려준다
+    // 만료된 토큰은 ExpiredJwtException, 위조/손상된 토큰은 JwtException 을 던진다
+    public JwtClaims parse(String token) {
+        String key = TokenDigest.sha256Hex(token);
+        long now = System.currentTimeMillis();
+
+        JwtClaims cached = verifiedClaims.get(key);
+        if (cached != null) {
+            if (!cached.isExpiredAt(now)) {
+                return cached;
+            }
+            verifiedClaims.remove(key);
+        }
+
+        Claims payload = jwtParser.parseSignedClaims(token).getPayload();
+        JwtClaims claims = new JwtClaims(
+                payload.getId(),
+                payload.get("category", String.class),
+                payload.get("username", String.class),
+                payload.get("role", String.class),
+                payload.get("realName", String.class),
+                payload.getIssuedAt() != null ? payload.getIssuedAt().getTime() : 0L,
+                payload.getExpiration().getTime());
+
+        cache(key, claims, now);
+        return claims;
+    }
+
+    private void cache(String key, JwtClaims claims, long now) {
+        if (claimsCacheSize <= 0) {
+            return;
+        }
+        if (verifiedClaims.size() >= claimsCacheSize) {
+            evict(now);
+        }
+        verifiedClaims.put(key, claims);
+    }
+
+    // 만료된 항목을 먼저 지우고, 그래도 가득 차 있으면 임의의 항목을 덜어낸다
+    private void evict(long now) {
+        verifiedClaims.values().removeIf(claims -> claims.isExpiredAt(now));
+
+        int target = claimsCacheSize - Math.max(1, claimsCacheSize / 10);
+        Iterator<String> iterator = verifiedClaims.keySet().iterator();
+        while (verifiedClaims.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
     }
 
     public String getUsername(String token) {
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("username", String.class);
+        return parse(token).getUsername();
     }
 
     public String getRole(String token) {
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("role", String.class);
+        return parse(token).getRole();
     }
 
     public String getRealName(String token) {
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("realName", String.class);
+        return parse(token).getRealName();
     }
 
     public Boolean isExpired(String token) {
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().getExpiration().before(new Date());
+        return parse(token).isExpiredAt(System.currentTimeMillis());
     }
 
     public String getCategory(String token) {
-        return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload().get("category", String.class);
+        return parse(token).getCategory();
     }
 
+    // jti 는 로그아웃 폐기 키이면서, 같은 초에 발급한 refresh 토큰끼리도 달라지게 해 token_digest unique 인덱스 충돌을 막는다
     public String createJwt(String category,String username, String role, String realName,Long expiredMs) {
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .claim("category", category)
                 .claim("username", username)
                 .claim("role", role)
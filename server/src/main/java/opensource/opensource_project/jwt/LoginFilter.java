@@ -5,10 +5,11 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import opensource.opensource_project.domain.refresh_token.entity.Refresh;
+import opensource.opensource_project.config.PasswordEncoderBusyException;
 import opensource.opensource_project.dto.CustomUserDetails;
 import opensource.opensource_project.dto.LoginDTO;
-import opensource.opensource_project.repository.RefreshRepository;
+import opensource.opensource_project.service.RefreshTokenService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationServiceException;
@@ -20,19 +21,18 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 
 import java.io.IOException;
 import java.util.Collection;
-import java.util.Date;
 import java.util.Iterator;
 
 public class LoginFilter extends UsernamePasswordAuthenticationFilter {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
-    private final RefreshRepository refreshRepository;
+    private final RefreshTokenService refreshTokenService;
 
-    public LoginFilter(AuthenticationManager authenticationManager, JwtUtil jwtUtil, RefreshRepository refreshRepository) {
+    public LoginFilter(AuthenticationManager authenticationManager, JwtUtil jwtUtil, RefreshTokenService refreshTokenService) {
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
-        this.refreshRepository = refreshRepository;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @Override
@@ -80,7 +80,7 @@ public class LoginFilter extends UsernamePasswordAuthenticationFilter {
         String refresh = jwtUtil.createJwt("refresh", username, role, realName, 1000L * 60 * 60 * 24 * 30);
 
         //refresh 토큰 저장
-        addRefreshEntity(username, refresh, 1000L * 60 * 60 * 24 * 30);
+        refreshTokenService.save(username, refresh, 1000L * 60 * 60 * 24 * 30);
 
         //응답 설정
         response.setHeader("access", access);
@@ -88,17 +88,6 @@ public class LoginFilter extends UsernamePasswordAuthenticationFilter {
         response.setStatus(HttpStatus.OK.value());
     }
 
-    private void addRefreshEntity(String username, String refresh, Long expireMs) {
-        Date date = new Date(System.currentTimeMillis() + expireMs);
-
-        Refresh refreshToken = new Refresh();
-        refreshToken.setUsername(username);
-        refreshToken.setRefresh(refresh);
-        refreshToken.setExpiration(date.toString());
-
-        refreshRepository.save(refreshToken);
-    }
-
     private Cookie createCookie(String key, String value) {
         Cookie cookie = new Cookie(key, value);
         cookie.setMaxAge(24*60*60*30);
@@ -111,6 +100,12 @@ public class LoginFilter extends UsernamePasswordAuthenticationFilter {
 
     @Override
     protected void unsuccessfulAuthentication (HttpServletRequest request, HttpServletResponse response, AuthenticationException failed) {
+        // 비밀번호 확인 대기열 포화: 인증 실패가 아니므로 잠시 후 재시도하도록 503
+        if (failed instanceof PasswordEncoderBusyException) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return;
+        }
         response.setStatus(401);
         response.setHeader("error", failed.getMessage());
     }
@@ -0,0 +1,32 @@
+package opensource.opensource_project.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 연산 이름별 지연 시간 히스토그램 저장소
+@Component
+public class LatencyRegistry {
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    public LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+        }
+        return histogram;
+    }
+
+    public void record(String name, long nanos) {
+        histogram(name).recordNanos(nanos);
+    }
+
+    public Map<String, Map<String, Object>> snapshot() {
+        Map<String, Map<String, Object>> snapshot = new TreeMap<>();
+        histograms.forEach((name, histogram) -> snapshot.put(name, histogram.snapshot()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,45 @@
+package opensource.opensource_project.repository;
+
+import jakarta.persistence.LockModeType;
+import opensource.opensource_project.domain.analysis_outbox.analysis_outbox_constants.OutboxState;
+import opensource.opensource_project.domain.analysis_outbox.entity.AnalysisOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface AnalysisOutboxRepository extends JpaRepository<AnalysisOutbox, Long> {
+
+    // 시도 시각이 된 PENDING 과 임대가 만료된 RUNNING 을 잠근다
+    // 다른 노드가 잠근 행은 건너뛰므로 여러 노드가 겹치지 않게 나눠 가져간다 (MySQL 8.0+)
+    @Query(value = "SELECT * FROM analysis_outbox WHERE state IN ('PENDING', 'RUNNING') AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<AnalysisOutbox> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from AnalysisOutbox o where o.videoId = :videoId")
+    Optional<AnalysisOutbox> findForUpdate(@Param("videoId") Long videoId);
+
+    // 이 영상의 분석 결과를 기다리는 같은 영상 업로드들
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from AnalysisOutbox o where o.leaderVideoId = :leaderVideoId and o.state = opensource.opensource_project.domain.analysis_outbox.analysis_outbox_constants.OutboxState.WAITING")
+    List<AnalysisOutbox> findWaitingForUpdate(@Param("leaderVideoId") Long leaderVideoId);
+
+    // 아직 임대 중일 때만 만료 시각 연장
+    @Modifying
+    @Query("update AnalysisOutbox o set o.nextAttemptAt = :leaseUntil " +
+            "where o.videoId = :videoId and o.leaseOwner = :owner and o.state = opensource.opensource_project.domain.analysis_outbox.analysis_outbox_constants.OutboxState.RUNNING")
+    int renew(@Param("videoId") Long videoId, @Param("owner") String owner, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // 임대 중인 노드만 완료 처리 (다른 노드가 가져간 뒤면 0)
+    @Modifying
+    @Query("delete from AnalysisOutbox o where o.videoId = :videoId and o.leaseOwner = :owner and o.state = opensource.opensource_project.domain.analysis_outbox.analysis_outbox_constants.OutboxState.RUNNING")
+    int deleteLeased(@Param("videoId") Long videoId, @Param("owner") String owner);
+
+    long countByState(OutboxState state);
+}
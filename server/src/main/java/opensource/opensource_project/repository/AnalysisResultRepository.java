@@ -1,8 +1,53 @@
 package opensource.opensource_project.repository;
 
 import opensource.opensource_project.domain.analysis_result.entity.AnalysisResult;
+import opensource.opensource_project.dto.AnalysisHistoryDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 public interface AnalysisResultRepository extends JpaRepository<AnalysisResult, Long> {
+    Optional<AnalysisResult> findTopByVideoIdOrderByAnalysisIdDesc(Long videoId);
+
+    // SSE 재연결 시 놓친 결과: 이력과 같은 (username, analyzed_at, analysisId) 인덱스를 정순으로 읽는다
+    @Query("select r from AnalysisResult r " +
+            "where r.username = :username " +
+            "and (r.analyzedAt, r.analysisId) > (:analyzedAt, :analysisId) " +
+            "order by r.analyzedAt asc, r.analysisId asc")
+    List<AnalysisResult> findResultsAfter(@Param("username") String username,
+                                          @Param("analyzedAt") LocalDateTime analyzedAt,
+                                          @Param("analysisId") Long analysisId,
+                                          Pageable pageable);
+
+    @Query("select distinct r.username from AnalysisResult r")
+    List<String> findDistinctUsernames();
+
+    // 요약 재계산용 ((username, analyzed_at, analysisId) 인덱스 범위, 커밋된 순서대로)
+    // 시퀀스 id 는 노드별로 미리 할당되므로 id 순서로 읽으면 최근 점수/최다 피드백이 증분 갱신과 달라진다
+    List<AnalysisResult> findByUsernameOrderByAnalyzedAtAscAnalysisIdAsc(String username);
+
+    // 첫 페이지: (username, analyzed_at, analysisId) 인덱스를 역순으로 읽는다
+    @Query("select new opensource.opensource_project.dto.AnalysisHistoryDTO(" +
+            "r.analysisId, r.videoId, v.originalFilename, v.s3Url, r.score, r.feedback, r.analyzedAt) " +
+            "from AnalysisResult r join SquatVideo v on v.videoId = r.videoId " +
+            "where r.username = :username " +
+            "order by r.analyzedAt desc, r.analysisId desc")
+    List<AnalysisHistoryDTO> findHistory(@Param("username") String username, Pageable pageable);
 
+    // 다음 페이지: offset 없이 마지막 (analyzedAt, analysisId) 다음부터 인덱스 범위로 읽어 페이지 깊이와 무관하게 일정한 비용
+    @Query("select new opensource.opensource_project.dto.AnalysisHistoryDTO(" +
+            "r.analysisId, r.videoId, v.originalFilename, v.s3Url, r.score, r.feedback, r.analyzedAt) " +
+            "from AnalysisResult r join SquatVideo v on v.videoId = r.videoId " +
+            "where r.username = :username " +
+            "and (r.analyzedAt, r.analysisId) < (:analyzedAt, :analysisId) " +
+            "order by r.analyzedAt desc, r.analysisId desc")
+    List<AnalysisHistoryDTO> findHistoryBefore(@Param("username") String username,
+                                               @Param("analyzedAt") LocalDateTime analyzedAt,
+                                               @Param("analysisId") Long analysisId,
+                                               Pageable pageable);
 }
@@ -2,11 +2,22 @@ package opensource.opensource_project.repository;
 
 import opensource.opensource_project.domain.refresh_token.entity.Refresh;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 public interface RefreshRepository extends JpaRepository<Refresh, Long> {
-    Boolean existsByRefresh(String refresh);
+    Boolean existsByTokenDigest(String tokenDigest);
 
     @Transactional
-    void deleteByRefresh(String refresh);
+    @Modifying
+    @Query("delete from Refresh r where r.tokenDigest = :tokenDigest")
+    int deleteByTokenDigest(@Param("tokenDigest") String tokenDigest);
+
+    // 만료된 토큰을 limit 개씩 삭제 (expires_at 인덱스 사용)
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM refresh WHERE expires_at < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") long now, @Param("limit") int limit);
 }
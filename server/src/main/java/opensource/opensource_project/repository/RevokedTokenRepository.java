@@ -0,0 +1,39 @@
+package opensource.opensource_project.repository;
+
+import opensource.opensource_project.domain.revoked_token.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    boolean existsByJtiAndExpiresAtGreaterThan(String jti, Long now);
+
+    // afterJti 다음부터 아직 만료되지 않은 폐기 (시작할 때/목록이 넘쳤을 때 Bloom filter 를 채운다)
+    @Query(value = "SELECT * FROM revoked_token WHERE jti > :afterJti AND expires_at > :now ORDER BY jti LIMIT :limit", nativeQuery = true)
+    List<RevokedToken> findActiveAfter(@Param("afterJti") String afterJti, @Param("now") long now, @Param("limit") int limit);
+
+    // (since, afterJti) 다음에 폐기된 토큰을 폐기 시각 순으로 (revoked_at 인덱스 사용)
+    @Query(value = "SELECT * FROM revoked_token WHERE (revoked_at > :since OR (revoked_at = :since AND jti > :afterJti)) " +
+            "AND expires_at > :now ORDER BY revoked_at, jti LIMIT :limit", nativeQuery = true)
+    List<RevokedToken> findRevokedAfter(@Param("since") long since, @Param("afterJti") String afterJti,
+                                        @Param("now") long now, @Param("limit") int limit);
+
+    // 같은 토큰을 두 노드가 동시에 폐기해도 실패하지 않도록 중복은 무시한다
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO revoked_token (jti, username, category, expires_at, revoked_at) " +
+            "VALUES (:jti, :username, :category, :expiresAt, :revokedAt)", nativeQuery = true)
+    int insertIgnore(@Param("jti") String jti, @Param("username") String username, @Param("category") String category,
+                     @Param("expiresAt") long expiresAt, @Param("revokedAt") long revokedAt);
+
+    // 만료된 폐기를 limit 개씩 삭제 (expires_at 인덱스 사용)
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM revoked_token WHERE expires_at < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") long now, @Param("limit") int limit);
+}
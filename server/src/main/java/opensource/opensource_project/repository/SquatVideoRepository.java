@@ -1,10 +1,35 @@
 package opensource.opensource_project.repository;
 
 import opensource.opensource_project.domain.squat_videos.entity.SquatVideo;
+import opensource.opensource_project.domain.squat_videos.squat_video_constants.Status;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SquatVideoRepository extends JpaRepository<SquatVideo, Long> {
+    Optional<SquatVideo> findFirstByUsernameAndContentHashAndStatusOrderByVideoIdDesc(String username, String contentHash, Status status);
+
+    long countByUsernameAndStatus(String username, Status status);
+
+    List<SquatVideo> findByStatusAndUploadedAtBefore(Status status, LocalDateTime uploadedAt, Pageable pageable);
+
+    // 현재 상태가 from 일 때만 변경 (동시에 들어온 완료 요청/만료 정리 중 한쪽만 성공)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update SquatVideo v set v.status = :to where v.videoId = :videoId and v.status = :from")
+    int updateStatus(@Param("videoId") Long videoId, @Param("from") Status from, @Param("to") Status to);
 
+    // 조회 없이 상태만 바꾼다. 호출한 트랜잭션의 영속성 컨텍스트는 비우지 않는다 (아직 보내지 않은 INSERT 가 사라지지 않도록)
+    @Modifying
+    @Query("update SquatVideo v set v.status = :status where v.videoId = :videoId")
+    int setStatus(@Param("videoId") Long videoId, @Param("status") Status status);
 }
@@ -0,0 +1,25 @@
+package opensource.opensource_project.repository;
+
+import jakarta.persistence.LockModeType;
+import opensource.opensource_project.domain.user_progress.entity.UserProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface UserProgressRepository extends JpaRepository<UserProgress, String> {
+
+    // 첫 결과일 때만 빈 요약 행 생성 (이미 있으면 무시)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO user_progress (username, session_count, failed_count, score_sum) VALUES (:username, 0, 0, 0)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("username") String username);
+
+    // 같은 사용자의 동시 갱신은 행 잠금으로 직렬화
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from UserProgress p where p.username = :username")
+    Optional<UserProgress> findForUpdate(@Param("username") String username);
+}
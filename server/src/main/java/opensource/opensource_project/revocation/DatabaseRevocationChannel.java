@@ -0,0 +1,74 @@
+package opensource.opensource_project.revocation;
+
+import opensource.opensource_project.domain.revoked_token.entity.RevokedToken;
+import opensource.opensource_project.repository.RevokedTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// 기본 채널: 다른 노드가 revoked_token 에 남긴 폐기를 poll-interval-ms 마다 가져온다 (별도 메시지 브로커 없이 동작)
+// 폐기 기록은 TokenRevocationService 가 이미 DB 에 남기므로 publish 는 할 일이 없다
+// 늦게 커밋된 트랜잭션과 노드 간 시계 차이를 덮도록 마지막 조회 시각보다 poll-overlap-ms 앞부터 다시 읽는다
+@Component
+@ConditionalOnProperty(name = "auth.revocation.channel", havingValue = "database", matchIfMissing = true)
+public class DatabaseRevocationChannel implements RevocationChannel {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final List<Consumer<RevocationEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Value("${auth.revocation.poll-overlap-ms:10000}")
+    private long pollOverlapMs;
+
+    @Value("${auth.revocation.poll-batch-size:1000}")
+    private int pollBatchSize;
+
+    // 시작할 때는 TokenRevocationService 가 만료 전 폐기를 모두 불러오므로 그 이후만 본다
+    private long lastPolledAt = System.currentTimeMillis();
+
+    public DatabaseRevocationChannel(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    @Override
+    public void publish(RevocationEvent event) {
+    }
+
+    @Override
+    public void subscribe(Consumer<RevocationEvent> listener) {
+        listeners.add(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.poll-interval-ms:2000}")
+    public void poll() {
+        long now = System.currentTimeMillis();
+        long since = lastPolledAt - pollOverlapMs;
+        String afterJti = "";
+        try {
+            while (true) {
+                List<RevokedToken> revoked = revokedTokenRepository.findRevokedAfter(since, afterJti, now, pollBatchSize);
+                for (RevokedToken token : revoked) {
+                    RevocationEvent event = new RevocationEvent(token.getJti(), token.getExpiresAt());
+                    for (Consumer<RevocationEvent> listener : listeners) {
+                        listener.accept(event);
+                    }
+                }
+                if (revoked.size() < pollBatchSize) {
+                    break;
+                }
+                // 다 못 읽었으면 마지막 행 다음부터 이어서 읽는다
+                RevokedToken last = revoked.get(revoked.size() - 1);
+                since = last.getRevokedAt();
+                afterJti = last.getJti();
+            }
+            lastPolledAt = now;
+        } catch (DataAccessException e) {
+            System.err.println("토큰 폐기 동기화 실패: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package opensource.opensource_project.revocation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// 같은 JVM 안의 구독자에게 바로 전달한다 (단일 노드 또는 테스트에서 여러 노드를 흉내 낼 때)
+@Component
+@ConditionalOnProperty(name = "auth.revocation.channel", havingValue = "local")
+public class LocalRevocationChannel implements RevocationChannel {
+
+    private final List<Consumer<RevocationEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(RevocationEvent event) {
+        for (Consumer<RevocationEvent> listener : listeners) {
+            listener.accept(event);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<RevocationEvent> listener) {
+        listeners.add(listener);
+    }
+}
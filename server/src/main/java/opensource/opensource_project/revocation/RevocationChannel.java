@@ -0,0 +1,12 @@
+package opensource.opensource_project.revocation;
+
+import java.util.function.Consumer;
+
+// 한 노드에서 생긴 폐기를 다른 노드에 알리는 통로
+// 받는 쪽은 같은 이벤트를 여러 번 받아도 되고(자기 자신이 보낸 것 포함), 순서도 보장하지 않아도 된다
+public interface RevocationChannel {
+
+    void publish(RevocationEvent event);
+
+    void subscribe(Consumer<RevocationEvent> listener);
+}
@@ -0,0 +1,16 @@
+package opensource.opensource_project.revocation;
+
+import lombok.Getter;
+
+// 노드 사이에 전달되는 폐기 한 건 (불변)
+@Getter
+public final class RevocationEvent {
+
+    public RevocationEvent(String jti, long expiresAtMs) {
+        this.jti = jti;
+        this.expiresAtMs = expiresAtMs;
+    }
+
+    private final String jti;
+    private final long expiresAtMs;
+}
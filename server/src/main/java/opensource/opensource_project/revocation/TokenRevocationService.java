@@ -0,0 +1,255 @@
+package opensource.opensource_project.revocation;
+
+import jakarta.annotation.PostConstruct;
+import opensource.opensource_project.domain.revoked_token.entity.RevokedToken;
+import opensource.opensource_project.jwt.JwtClaims;
+import opensource.opensource_project.repository.RevokedTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 만료 전에 폐기된 토큰(jti)을 메모리에서 판정한다
+// Bloom filter 에는 만료 전 폐기가 모두 들어 있어 없으면 바로 통과(대부분의 요청), 있으면 정확한 폐기 목록(jti → 만료 시각)으로 확인한다
+// 폐기 목록이 max-entries 를 넘어 일부만 들고 있을 때만 목록에 없는 Bloom filter 양성을 DB 로 확인한다
+// 시작할 때 DB 에서 목록을 불러오지 못했으면 다음 정리에서 불러올 때까지 Bloom filter 없이 DB 로 확인한다
+// 폐기는 revoked_token 테이블에 남기고(재시작 시 복구), RevocationChannel 로 다른 노드에 알린다
+// 조회는 락 없이, 추가와 Bloom filter 교체는 this 로 동기화한다 (폐기는 로그아웃 때만 생겨 드물다)
+@Service
+public class TokenRevocationService {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    // null 이면 메모리에만 둔다 (테스트)
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RevocationChannel revocationChannel;
+
+    // Bloom filter 크기 기준. 넘게 들어가면 오탐률이 올라갈 뿐 틀린 판정은 하지 않는다
+    @Value("${auth.revocation.expected-entries:100000}")
+    private int expectedEntries;
+
+    @Value("${auth.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // 정확한 폐기 목록 최대 크기, 넘치면 Bloom filter 양성일 때 DB 를 본다
+    @Value("${auth.revocation.max-entries:200000}")
+    private int maxEntries;
+
+    @Value("${auth.revocation.purge.batch-size:1000}")
+    private int purgeBatchSize;
+
+    @Value("${auth.revocation.purge.max-batches:100}")
+    private int purgeMaxBatches;
+
+    private final Map<String, Long> denylist = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    // 폐기 목록이 가득 차 Bloom filter 에만 들어간 jti 가 있다
+    private volatile boolean overflowed;
+    // 시작할 때 DB 에서 폐기 목록을 불러왔는지. 불러오기 전에는 다른 노드/재시작 전 폐기가 Bloom filter 에 없다
+    private volatile boolean loaded;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder bloomNegatives = new LongAdder();
+    private final LongAdder denylistHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder databaseLookups = new LongAdder();
+    private final LongAdder revoked = new LongAdder();
+    private final LongAdder received = new LongAdder();
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository, RevocationChannel revocationChannel) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.revocationChannel = revocationChannel;
+    }
+
+    @PostConstruct
+    public void init() {
+        BloomFilter filter = new BloomFilter(expectedEntries, falsePositiveRate);
+        synchronized (this) {
+            bloomFilter = filter;
+            // 목록이 넘쳤거나 불러오지 못했으면(-1) 다음 정리 때 DB 에서 다시 채운다
+            long missed = revokedTokenRepository == null ? 0 : load(filter, System.currentTimeMillis());
+            overflowed = missed != 0;
+            loaded = missed >= 0;
+        }
+        revocationChannel.subscribe(event -> {
+            received.increment();
+            remember(event.getJti(), event.getExpiresAtMs());
+        });
+    }
+
+    // 검증이 끝난 토큰이 폐기됐는지 (jti 가 없는 예전 토큰은 폐기할 수 없으므로 false)
+    public boolean isRevoked(JwtClaims claims) {
+        return isRevoked(claims.getJti());
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        checks.increment();
+        if (!loaded) {
+            // 불러오기에 실패한 동안에는 Bloom filter 음성을 믿을 수 없으므로 DB 로 확인한다
+            if (denylist.containsKey(jti)) {
+                denylistHits.increment();
+                return true;
+            }
+            return existsInDatabase(jti);
+        }
+        if (!bloomFilter.mightContain(jti)) {
+            bloomNegatives.increment();
+            return false;
+        }
+        if (denylist.containsKey(jti)) {
+            denylistHits.increment();
+            return true;
+        }
+        if (!overflowed || revokedTokenRepository == null) {
+            falsePositives.increment();
+            return false;
+        }
+        return existsInDatabase(jti);
+    }
+
+    private boolean existsInDatabase(String jti) {
+        databaseLookups.increment();
+        try {
+            return revokedTokenRepository.existsByJtiAndExpiresAtGreaterThan(jti, System.currentTimeMillis());
+        } catch (DataAccessException e) {
+            // 확인할 수 없으면 통과시킨다 (서명/만료 검증은 이미 끝남)
+            System.err.println("토큰 폐기 여부 조회 실패: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // 토큰이 만료될 때까지 폐기한다 (DB 기록 → 이 노드 반영 → 다른 노드에 전파)
+    public void revoke(JwtClaims claims) {
+        String jti = claims.getJti();
+        long now = System.currentTimeMillis();
+        if (jti == null || claims.isExpiredAt(now)) {
+            return;
+        }
+        if (revokedTokenRepository != null) {
+            revokedTokenRepository.insertIgnore(jti, claims.getUsername(), claims.getCategory(), claims.getExpirationMs(), now);
+        }
+        remember(jti, claims.getExpirationMs());
+        revoked.increment();
+        revocationChannel.publish(new RevocationEvent(jti, claims.getExpirationMs()));
+    }
+
+    // 같은 폐기를 여러 번 받아도 결과는 같다
+    private synchronized void remember(String jti, long expiresAtMs) {
+        if (expiresAtMs <= System.currentTimeMillis()) {
+            return;
+        }
+        // Bloom filter 를 먼저 켜야 목록에 넣는 사이 조회가 음성으로 빠지지 않는다
+        bloomFilter.put(jti);
+        if (denylist.size() < maxEntries) {
+            denylist.put(jti, expiresAtMs);
+        } else if (!denylist.containsKey(jti)) {
+            overflowed = true;
+        }
+    }
+
+    // 만료된 폐기를 지우고 Bloom filter 를 새로 만든다 (Bloom filter 는 항목을 지울 수 없으므로 교체)
+    @Scheduled(fixedDelayString = "${auth.revocation.purge.interval-ms:600000}", initialDelayString = "${auth.revocation.purge.initial-delay-ms:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        rebuild(now);
+
+        if (revokedTokenRepository == null) {
+            return;
+        }
+        try {
+            for (int batch = 0; batch < purgeMaxBatches; batch++) {
+                if (revokedTokenRepository.deleteExpired(now, purgeBatchSize) < purgeBatchSize) {
+                    return;
+                }
+            }
+        } catch (DataAccessException e) {
+            System.err.println("만료된 토큰 폐기 기록 삭제 실패: " + e.getMessage());
+        }
+    }
+
+    // 시작할 때 불러오지 못했으면 정리 주기를 기다리지 않고 다시 불러온다 (그동안 요청마다 DB 를 보므로)
+    @Scheduled(fixedDelayString = "${auth.revocation.load-retry-ms:10000}", initialDelayString = "${auth.revocation.load-retry-ms:10000}")
+    public void retryLoad() {
+        if (!loaded) {
+            rebuild(System.currentTimeMillis());
+        }
+    }
+
+    private synchronized void rebuild(long now) {
+        denylist.values().removeIf(expiresAtMs -> expiresAtMs <= now);
+        BloomFilter rebuilt = new BloomFilter(expectedEntries, falsePositiveRate);
+
+        if (!overflowed) {
+            denylist.keySet().forEach(rebuilt::put);
+            bloomFilter = rebuilt;
+            return;
+        }
+        // 목록이 넘친 동안에는 Bloom filter 에만 있는 폐기가 있어 DB 에서 전부 다시 채운다 (실패하면 이전 필터 유지)
+        if (revokedTokenRepository == null) {
+            return;
+        }
+        denylist.keySet().forEach(rebuilt::put);
+        long missed = load(rebuilt, now);
+        if (missed < 0) {
+            return;
+        }
+        bloomFilter = rebuilt;
+        overflowed = missed > 0;
+        loaded = true;
+    }
+
+    // 만료 전 폐기를 모두 Bloom filter 에 넣고, 목록에는 max-entries 까지만 넣는다
+    // 목록에 못 넣은 개수를 돌려준다 (실패하면 -1)
+    private long load(BloomFilter filter, long now) {
+        String afterJti = "";
+        long missed = 0;
+        try {
+            while (true) {
+                List<RevokedToken> page = revokedTokenRepository.findActiveAfter(afterJti, now, LOAD_BATCH_SIZE);
+                for (RevokedToken token : page) {
+                    filter.put(token.getJti());
+                    if (denylist.size() < maxEntries) {
+                        denylist.put(token.getJti(), token.getExpiresAt());
+                    } else if (!denylist.containsKey(token.getJti())) {
+                        missed++;
+                    }
+                }
+                if (page.size() < LOAD_BATCH_SIZE) {
+                    return missed;
+                }
+                afterJti = page.get(page.size() - 1).getJti();
+            }
+        } catch (DataAccessException e) {
+            System.err.println("토큰 폐기 목록 불러오기 실패: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("channel", revocationChannel.getClass().getSimpleName());
+        snapshot.put("entries", denylist.size());
+        snapshot.put("maxEntries", maxEntries);
+        snapshot.put("overflowed", overflowed);
+        snapshot.put("loaded", loaded);
+        snapshot.put("bloomBits", bloomFilter.getBits());
+        snapshot.put("bloomHashes", bloomFilter.getHashes());
+        snapshot.put("checks", checks.sum());
+        snapshot.put("bloomNegatives", bloomNegatives.sum());
+        snapshot.put("denylistHits", denylistHits.sum());
+        snapshot.put("falsePositives", falsePositives.sum());
+        snapshot.put("databaseLookups", databaseLookups.sum());
+        snapshot.put("revoked", revoked.sum());
+        snapshot.put("received", received.sum());
+        return snapshot;
+    }
+}
@@ -0,0 +1,81 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.dto.AnalysisJob;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// 짧은 대기 시간(linger) 동안 들어온 분석 작업을 최대 maxBatchSize 개까지 묶어 넘기는 마이크로 배처
+public class AnalysisBatchDispatcher {
+
+    private final BlockingQueue<AnalysisJob> queue;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final Consumer<List<AnalysisJob>> batchHandler;
+    private final Thread dispatcherThread;
+
+    public AnalysisBatchDispatcher(int queueCapacity, int maxBatchSize, long lingerMs, Consumer<List<AnalysisJob>> batchHandler) {
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        this.batchHandler = batchHandler;
+        this.dispatcherThread = new Thread(this::run, "analysis-batcher");
+        this.dispatcherThread.setDaemon(true);
+    }
+
+    public void start() {
+        dispatcherThread.start();
+    }
+
+    public void stop() {
+        dispatcherThread.interrupt();
+    }
+
+    // 대기열이 가득 차면 false
+    public boolean offer(AnalysisJob job) {
+        return queue.offer(job);
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<AnalysisJob> batch = new ArrayList<>(maxBatchSize);
+            try {
+                batch.add(queue.take());
+
+                // 첫 작업 이후 linger 동안 추가 작업을 모은다
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        queue.drainTo(batch, maxBatchSize - batch.size());
+                        break;
+                    }
+                    AnalysisJob next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (batch.isEmpty()) {
+                    return;
+                }
+            }
+
+            try {
+                batchHandler.accept(batch);
+            } catch (RuntimeException e) {
+                System.err.println("분석 배치 전달 실패: " + e.getMessage());
+            }
+        }
+    }
+}
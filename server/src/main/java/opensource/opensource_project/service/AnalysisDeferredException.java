@@ -0,0 +1,20 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.dto.AnalysisJob;
+
+// 분석이 재시도 대기열로 미뤄졌음을 같은 영상을 기다리는 업로드에 알린다
+public class AnalysisDeferredException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient AnalysisJob job;
+
+    public AnalysisDeferredException(AnalysisJob job) {
+        super("분석 재시도 대기");
+        this.job = job;
+    }
+
+    public AnalysisJob getJob() {
+        return job;
+    }
+}
@@ -0,0 +1,104 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.metrics.LatencyHistogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// 분석 서버 인스턴스 하나의 상태: 진행 중인 요청 수, 지연 분포, 헬스 체크 결과
+public class AnalysisEndpoint {
+
+    private final String baseUrl;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder ejections = new LongAdder();
+
+    private volatile boolean healthy = true;
+    // 요청 실패와 헬스 체크 결과가 연속으로 몇 번 나왔는지 (제외/복귀 판단용)
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicInteger consecutiveProbeFailures = new AtomicInteger();
+    private final AtomicInteger consecutiveProbeSuccesses = new AtomicInteger();
+
+    public AnalysisEndpoint(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public String url(String path) {
+        return baseUrl + path;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    void begin() {
+        inFlight.incrementAndGet();
+        requests.increment();
+    }
+
+    // 연속 실패 횟수를 돌려준다 (성공이면 0)
+    int end(long nanos, boolean failed) {
+        inFlight.decrementAndGet();
+        latency.recordNanos(nanos);
+        if (!failed) {
+            consecutiveFailures.set(0);
+            return 0;
+        }
+        failures.increment();
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    // 헬스 체크 성공 시 연속 성공 횟수, 실패 시 연속 실패 횟수
+    int probed(boolean ok) {
+        if (ok) {
+            consecutiveProbeFailures.set(0);
+            return consecutiveProbeSuccesses.incrementAndGet();
+        }
+        consecutiveProbeSuccesses.set(0);
+        return consecutiveProbeFailures.incrementAndGet();
+    }
+
+    // 상태가 실제로 바뀌었을 때만 true
+    boolean eject() {
+        if (!healthy) {
+            return false;
+        }
+        healthy = false;
+        consecutiveProbeSuccesses.set(0);
+        ejections.increment();
+        return true;
+    }
+
+    boolean admit() {
+        if (healthy) {
+            return false;
+        }
+        healthy = true;
+        consecutiveFailures.set(0);
+        return true;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("baseUrl", baseUrl);
+        snapshot.put("healthy", healthy);
+        snapshot.put("inFlight", inFlight.get());
+        snapshot.put("requests", requests.sum());
+        snapshot.put("failures", failures.sum());
+        snapshot.put("ejections", ejections.sum());
+        snapshot.put("latency", latency.snapshot());
+        return snapshot;
+    }
+}
@@ -0,0 +1,138 @@
+package opensource.opensource_project.service;
+
+import jakarta.annotation.PostConstruct;
+import opensource.opensource_project.dto.AnalysisHealthDTO;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.SocketTimeoutException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 여러 분석 서버 인스턴스에 요청을 나눈다
+// 진행 중인 요청이 가장 적은 인스턴스로 보내고(동률이면 무작위), 연속 실패하거나 /health 가 실패한 인스턴스는 제외했다가
+// /health 가 연속으로 성공하면 다시 넣는다
+@Service
+public class AnalysisEndpointPool {
+
+    private final RestTemplate analysisHealthRestTemplate;
+
+    // 쉼표로 구분한 분석 서버 주소 목록
+    @Value("${analysis.server.base-url:http://localhost:8000}")
+    private String baseUrls;
+
+    // 요청이 연속으로 이만큼 실패(연결 실패/5xx)하면 헬스 체크를 기다리지 않고 바로 제외
+    @Value("${analysis.server.eject-after-failures:3}")
+    private int ejectAfterFailures;
+
+    @Value("${analysis.server.unhealthy-threshold:2}")
+    private int unhealthyThreshold;
+
+    @Value("${analysis.server.healthy-threshold:2}")
+    private int healthyThreshold;
+
+    private List<AnalysisEndpoint> endpoints = List.of();
+
+    public AnalysisEndpointPool(@Qualifier("analysisHealthRestTemplate") RestTemplate analysisHealthRestTemplate) {
+        this.analysisHealthRestTemplate = analysisHealthRestTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+        List<AnalysisEndpoint> parsed = new ArrayList<>();
+        Arrays.stream(baseUrls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .distinct()
+                .forEach(url -> parsed.add(new AnalysisEndpoint(url)));
+        if (parsed.isEmpty()) {
+            throw new IllegalStateException("analysis.server.base-url 이 비어 있습니다");
+        }
+        endpoints = List.copyOf(parsed);
+    }
+
+    // 고른 인스턴스의 진행 중 요청 수를 올려 돌려준다. 호출한 쪽은 반드시 release 한다
+    public AnalysisEndpoint acquire() {
+        List<AnalysisEndpoint> candidates = endpoints;
+        int size = candidates.size();
+        // 같은 수일 때 항상 앞 인스턴스로 몰리지 않도록 무작위 위치부터 훑는다
+        int offset = size == 1 ? 0 : ThreadLocalRandom.current().nextInt(size);
+
+        AnalysisEndpoint best = null;
+        for (int i = 0; i < size; i++) {
+            AnalysisEndpoint endpoint = candidates.get((offset + i) % size);
+            if (endpoint.isHealthy() && (best == null || endpoint.getInFlight() < best.getInFlight())) {
+                best = endpoint;
+            }
+        }
+        if (best == null) {
+            // 모두 제외된 상태면 요청을 전부 버리기보다 그중 한가한 곳으로 보내 본다
+            for (int i = 0; i < size; i++) {
+                AnalysisEndpoint endpoint = candidates.get((offset + i) % size);
+                if (best == null || endpoint.getInFlight() < best.getInFlight()) {
+                    best = endpoint;
+                }
+            }
+        }
+        best.begin();
+        return best;
+    }
+
+    // failed: 인스턴스 문제(연결 실패, 5xx). 4xx 는 요청/영상 문제이므로 성공으로 본다
+    public void release(AnalysisEndpoint endpoint, long nanos, boolean failed) {
+        int failures = endpoint.end(nanos, failed);
+        if (failures >= ejectAfterFailures && endpoints.size() > 1 && endpoint.eject()) {
+            System.err.println("분석 서버 제외 (연속 " + failures + "회 실패): " + endpoint.getBaseUrl());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analysis.server.health-interval-ms:5000}")
+    public void probe() {
+        for (AnalysisEndpoint endpoint : endpoints) {
+            Boolean ok = isHealthy(endpoint);
+            if (ok == null) {
+                continue;
+            }
+            int streak = endpoint.probed(ok);
+            if (ok && streak >= healthyThreshold && endpoint.admit()) {
+                System.err.println("분석 서버 복귀: " + endpoint.getBaseUrl());
+            } else if (!ok && streak >= unhealthyThreshold && endpoint.eject()) {
+                System.err.println("분석 서버 제외 (헬스 체크 실패): " + endpoint.getBaseUrl());
+            }
+        }
+    }
+
+    public List<Map<String, Object>> snapshot() {
+        return endpoints.stream().map(AnalysisEndpoint::snapshot).toList();
+    }
+
+    // 분석 서버는 모델을 불러오지 못하면 status=healthy 여도 model_loaded=false 를 돌려준다
+    // 분석 중인 인스턴스가 제시간에 답하지 못한 것은 판정하지 않는다 (null). 실제로 죽었으면 요청 실패로 제외된다
+    private Boolean isHealthy(AnalysisEndpoint endpoint) {
+        try {
+            ResponseEntity<AnalysisHealthDTO> response = analysisHealthRestTemplate.getForEntity(endpoint.url("/health"),
+                    AnalysisHealthDTO.class);
+            AnalysisHealthDTO body = response.getBody();
+            return response.getStatusCode().is2xxSuccessful()
+                    && body != null
+                    && "healthy".equals(body.getStatus())
+                    && !Boolean.FALSE.equals(body.getModelLoaded());
+        } catch (ResourceAccessException e) {
+            if (e.getCause() instanceof SocketTimeoutException && endpoint.getInFlight() > 0) {
+                return null;
+            }
+            return false;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
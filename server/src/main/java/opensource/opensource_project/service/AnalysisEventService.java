@@ -0,0 +1,161 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.domain.analysis_result.entity.AnalysisResult;
+import opensource.opensource_project.domain.squat_videos.squat_video_constants.Status;
+import opensource.opensource_project.dto.AnalysisCursor;
+import opensource.opensource_project.dto.AnalysisEventDTO;
+import opensource.opensource_project.repository.AnalysisResultRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 사용자별 SSE 구독자 저장소
+// SseEmitter 는 서블릿 비동기 요청이라 대기 중인 연결이 스레드를 점유하지 않는다
+@Service
+public class AnalysisEventService {
+
+    private final AnalysisResultRepository analysisResultRepository;
+
+    @Value("${sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${sse.max-connections:10000}")
+    private int maxConnections;
+
+    // 탭을 여러 개 열어도 사용자당 연결 수는 제한 (넘으면 가장 오래된 연결을 닫는다)
+    @Value("${sse.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${sse.replay-limit:50}")
+    private int replayLimit;
+
+    // 먼저 저장됐지만 늦게 커밋된 결과를 놓치지 않도록 Last-Event-ID 보다 이만큼 앞에서부터 다시 보낸다
+    // 이미 받은 결과가 다시 올 수 있으며 클라이언트는 videoId 기준으로 덮어쓴다
+    @Value("${sse.replay-overlap-ms:5000}")
+    private long replayOverlapMs;
+
+    private final Map<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    public AnalysisEventService(AnalysisResultRepository analysisResultRepository) {
+        this.analysisResultRepository = analysisResultRepository;
+    }
+
+    // 연결 수가 가득 차면 IllegalStateException
+    // lastEventId 는 마지막으로 받은 결과 이벤트의 id (형식이 맞지 않으면 다시 보내기 없이 새로 구독)
+    public SseEmitter subscribe(String username, String lastEventId) throws IOException {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new IllegalStateException("알림 연결이 너무 많습니다");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        emitter.onCompletion(() -> remove(username, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitter.complete());
+
+        // 목록 생성/추가를 키 단위로 원자적으로 처리해 마지막 연결 정리와 겹치지 않게 한다
+        List<SseEmitter> emitters = subscribers.compute(username, (key, current) -> {
+            List<SseEmitter> list = current == null ? new CopyOnWriteArrayList<>() : current;
+            list.add(emitter);
+            return list;
+        });
+        // 닫힌 연결은 onCompletion 에서 목록에서 빠진다
+        for (int i = 0; i < emitters.size() - maxConnectionsPerUser; i++) {
+            emitters.get(i).complete();
+        }
+
+        try {
+            // 프록시가 응답을 버퍼링하지 않도록 연결 직후 한 번 보낸다
+            emitter.send(SseEmitter.event().comment("connected"));
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                replay(username, lastEventId, emitter);
+            }
+        } catch (IOException | RuntimeException e) {
+            remove(username, emitter);
+            throw e;
+        }
+        return emitter;
+    }
+
+    // 커밋된 상태 변경만 전달 (롤백된 변경이 화면에 보이지 않도록)
+    @TransactionalEventListener
+    public void onAnalysisEvent(AnalysisEventDTO event) {
+        List<SseEmitter> emitters = subscribers.get(event.getUsername());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            send(emitter, event);
+        }
+    }
+
+    // 끊긴 연결을 찾아내고 프록시 유휴 타임아웃을 막기 위한 주기적 코멘트
+    @Scheduled(fixedDelayString = "${sse.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(emitters -> emitters.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }));
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    // 재연결 전에 저장된 결과를 (analyzedAt, analysisId) 순으로 다시 보낸다
+    private void replay(String username, String lastEventId, SseEmitter emitter) {
+        AnalysisCursor cursor;
+        try {
+            cursor = AnalysisCursor.decode(lastEventId);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        List<AnalysisResult> missed = analysisResultRepository.findResultsAfter(username,
+                cursor.getAnalyzedAt().minusNanos(replayOverlapMs * 1_000_000), cursor.getAnalysisId(),
+                PageRequest.of(0, replayLimit));
+        for (AnalysisResult result : missed) {
+            Status status = result.getScore() != null ? Status.DONE : Status.FAILED;
+            send(emitter, new AnalysisEventDTO(username, result.getVideoId(), status, AnalysisCursor.of(result).encode(),
+                    result.getScore(), result.getFeedback()));
+        }
+    }
+
+    private void send(SseEmitter emitter, AnalysisEventDTO event) {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event()
+                .name("status")
+                .data(event, MediaType.APPLICATION_JSON);
+        if (event.getEventId() != null) {
+            builder.id(event.getEventId());
+        }
+        try {
+            emitter.send(builder);
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    // 마지막 연결이 끊긴 사용자는 맵에서 제거
+    private void remove(String username, SseEmitter emitter) {
+        subscribers.computeIfPresent(username, (key, current) -> {
+            if (current.remove(emitter)) {
+                connections.decrementAndGet();
+            }
+            return current.isEmpty() ? null : current;
+        });
+    }
+}
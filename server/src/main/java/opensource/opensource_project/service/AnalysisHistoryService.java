@@ -0,0 +1,49 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.dto.AnalysisCursor;
+import opensource.opensource_project.dto.AnalysisHistoryDTO;
+import opensource.opensource_project.dto.AnalysisHistoryPageDTO;
+import opensource.opensource_project.repository.AnalysisResultRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class AnalysisHistoryService {
+
+    private final AnalysisResultRepository analysisResultRepository;
+
+    @Value("${history.page.max-size:50}")
+    private int maxPageSize;
+
+    public AnalysisHistoryService(AnalysisResultRepository analysisResultRepository) {
+        this.analysisResultRepository = analysisResultRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public AnalysisHistoryPageDTO findHistory(String username, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        // 다음 페이지 존재 여부 확인용으로 한 건 더 읽는다
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<AnalysisHistoryDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = analysisResultRepository.findHistory(username, limit);
+        } else {
+            AnalysisCursor position = AnalysisCursor.decode(cursor);
+            rows = analysisResultRepository.findHistoryBefore(username, position.getAnalyzedAt(), position.getAnalysisId(), limit);
+        }
+
+        AnalysisHistoryPageDTO page = new AnalysisHistoryPageDTO();
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            AnalysisHistoryDTO last = rows.get(pageSize - 1);
+            page.setNextCursor(new AnalysisCursor(last.getAnalyzedAt(), last.getAnalysisId()).encode());
+        }
+        page.setItems(rows);
+        return page;
+    }
+}
@@ -0,0 +1,274 @@
+package opensource.opensource_project.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import opensource.opensource_project.dto.AnalysisJob;
+import opensource.opensource_project.dto.AnalysisOutcomeDTO;
+import opensource.opensource_project.dto.UploadResponseDTO;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+@Service
+public class AnalysisJobService {
+
+    // 분석 서버 /analyze-batch 가 허용하는 최대 파일 수
+    public static final int MAX_BATCH_SIZE = 5;
+
+    private final ThreadPoolTaskExecutor analysisExecutor;
+    private final AnalysisServerClient analysisServerClient;
+    private final AnalysisResultWriter analysisResultWriter;
+    private final ContentDedupService contentDedupService;
+    private final AnalysisOutboxService analysisOutboxService;
+
+    // true 이면 단건 업로드를 linger 동안 모아 /analyze-batch 로 보낸다
+    @Value("${analysis.batch.enabled:true}")
+    private boolean batchEnabled;
+
+    @Value("${analysis.batch.linger-ms:50}")
+    private long lingerMs;
+
+    @Value("${analysis.batch.max-size:5}")
+    private int maxBatchSize;
+
+    @Value("${analysis.batch.queue-capacity:100}")
+    private int batchQueueCapacity;
+
+    private AnalysisBatchDispatcher batchDispatcher;
+
+    public AnalysisJobService(@Qualifier("analysisExecutor") ThreadPoolTaskExecutor analysisExecutor,
+                              AnalysisServerClient analysisServerClient,
+                              AnalysisResultWriter analysisResultWriter,
+                              ContentDedupService contentDedupService,
+                              AnalysisOutboxService analysisOutboxService) {
+        this.analysisExecutor = analysisExecutor;
+        this.analysisServerClient = analysisServerClient;
+        this.analysisResultWriter = analysisResultWriter;
+        this.contentDedupService = contentDedupService;
+        this.analysisOutboxService = analysisOutboxService;
+    }
+
+    @PostConstruct
+    public void startBatching() {
+        if (!batchEnabled) {
+            return;
+        }
+        int batchSize = Math.max(1, Math.min(maxBatchSize, MAX_BATCH_SIZE));
+        batchDispatcher = new AnalysisBatchDispatcher(batchQueueCapacity, batchSize, lingerMs, this::dispatch);
+        batchDispatcher.start();
+    }
+
+    @PreDestroy
+    public void stopBatching() {
+        if (batchDispatcher != null) {
+            batchDispatcher.stop();
+        }
+    }
+
+    // 워커 큐(또는 배치 대기열)가 가득 차면 RejectedExecutionException 을 그대로 던진다
+    // 작업 행은 영상을 저장할 때 같은 트랜잭션으로 이미 남겼다 (AnalysisOutboxService.saveTracked, PresignedUploadService.markPending)
+    public void submit(AnalysisJob job) throws RejectedExecutionException {
+        // /analyze-batch 는 파일만 받으므로 원격 작업은 단건으로 보낸다
+        if (batchDispatcher == null || job.isRemote()) {
+            analysisExecutor.execute(() -> process(job));
+            return;
+        }
+        if (!batchDispatcher.offer(job)) {
+            throw new RejectedExecutionException("분석 배치 대기열 포화");
+        }
+    }
+
+    // 다중 업로드는 linger 없이 한 번의 /analyze-batch 호출로 처리
+    public void submitBatch(List<AnalysisJob> jobs) throws RejectedExecutionException {
+        if (jobs.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("한 번에 최대 " + MAX_BATCH_SIZE + "개까지 분석할 수 있습니다");
+        }
+        analysisExecutor.execute(() -> processBatch(jobs));
+    }
+
+    // 대기열에서 임대한 재시도 작업 (S3 에서 받아 단건 분석)
+    public void resubmit(AnalysisJob job) throws RejectedExecutionException {
+        analysisExecutor.execute(() -> process(job));
+    }
+
+    public int getBatchQueueSize() {
+        return batchDispatcher == null ? 0 : batchDispatcher.getQueueSize();
+    }
+
+    // 배처 스레드에서 호출: 모인 작업을 워커 풀로 넘긴다
+    private void dispatch(List<AnalysisJob> jobs) {
+        try {
+            if (jobs.size() == 1) {
+                AnalysisJob job = jobs.get(0);
+                analysisExecutor.execute(() -> process(job));
+            } else {
+                analysisExecutor.execute(() -> processBatch(jobs));
+            }
+        } catch (RejectedExecutionException e) {
+            System.err.println("분석 대기열 포화: " + jobs.size() + "건");
+            for (AnalysisJob job : jobs) {
+                fail(job, "분석 대기열 포화", true);
+                finish(job);
+            }
+        }
+    }
+
+    private void process(AnalysisJob job) {
+        try {
+            // 대기하는 동안 임대가 만료돼 다른 노드가 가져갔으면 중복 분석하지 않는다
+            if (!analysisOutboxService.renew(job)) {
+                skipLeased(job);
+                return;
+            }
+            analysisResultWriter.markProcessing(job.getVideoId(), job.getUsername());
+
+            UploadResponseDTO result = analysisServerClient.analyze(job);
+            complete(job, result.getScore(), result.getFeedBack());
+
+        } catch (Exception e) {
+            fail(job, failureMessage(e), isRetryable(e));
+
+        } finally {
+            finish(job);
+        }
+    }
+
+    private void processBatch(List<AnalysisJob> all) {
+        List<AnalysisJob> jobs = new ArrayList<>(all.size());
+        try {
+            for (AnalysisJob job : all) {
+                if (analysisOutboxService.renew(job)) {
+                    jobs.add(job);
+                } else {
+                    skipLeased(job);
+                }
+            }
+            if (jobs.isEmpty()) {
+                return;
+            }
+            for (AnalysisJob job : jobs) {
+                analysisResultWriter.markProcessing(job.getVideoId(), job.getUsername());
+            }
+
+            List<AnalysisOutcomeDTO> outcomes = analysisServerClient.analyzeBatch(jobs);
+
+            // 결과는 요청한 파일 순서와 같다
+            for (int i = 0; i < jobs.size(); i++) {
+                AnalysisJob job = jobs.get(i);
+                AnalysisOutcomeDTO outcome = outcomes.get(i);
+                if (outcome.isSuccess()) {
+                    complete(job, outcome.getScore(), outcome.getFeedBack());
+                } else {
+                    System.err.println("배치 분석 실패: " + job.getVideoId() + " - " + outcome.getMessage());
+                    // 영상 자체의 문제이므로 다시 시도하지 않는다
+                    fail(job, "분석 실패: " + outcome.getMessage(), false);
+                }
+            }
+
+        } catch (Exception e) {
+            String message = failureMessage(e);
+            boolean retryable = isRetryable(e);
+            for (AnalysisJob job : jobs) {
+                fail(job, message, retryable);
+            }
+
+        } finally {
+            all.forEach(this::finish);
+        }
+    }
+
+    // DB 커밋 후 같은 영상을 기다리는 업로드에도 결과 전달
+    private void complete(AnalysisJob job, Float score, String feedback) {
+        analysisOutboxService.complete(job, score, feedback);
+        if (job.getContentHash() != null) {
+            contentDedupService.publish(job.getUsername(), job.getContentHash(), score, feedback);
+        }
+    }
+
+    // 다시 시도하지 않는 실패 (업로드 거절 등)
+    public void fail(AnalysisJob job, String feedback) {
+        fail(job, feedback, false);
+    }
+
+    // 재시도로 미뤄지면 같은 영상을 기다리는 업로드는 그 재시도 결과를 기다리도록 대기열에 붙인다
+    // 실패 기록이 예외로 끝나도 기다리는 업로드는 반드시 풀어 준다
+    private void fail(AnalysisJob job, String feedback, boolean retryable) {
+        boolean deferred = false;
+        try {
+            deferred = analysisOutboxService.fail(job, feedback, retryable);
+        } finally {
+            if (job.getContentHash() != null) {
+                if (deferred) {
+                    contentDedupService.publishDeferred(job.getUsername(), job.getContentHash(), job);
+                } else {
+                    contentDedupService.publishFailure(job.getUsername(), job.getContentHash(), feedback);
+                }
+            }
+        }
+    }
+
+    private void skipLeased(AnalysisJob job) {
+        System.err.println("다른 노드가 분석 중인 작업: " + job.getVideoId());
+        if (job.getContentHash() != null) {
+            contentDedupService.publishDeferred(job.getUsername(), job.getContentHash(), job);
+        }
+    }
+
+    // 연결 실패와 일시적인 5xx (502/503/504: 모델 로딩 중, S3 다운로드 실패, 앞단 프록시) 만 나중에 다시 시도한다
+    // 그 외 5xx 와 4xx(422: 분석할 수 없는 영상)는 같은 영상을 다시 보내도 결과가 같다
+    private boolean isRetryable(Exception e) {
+        if (e instanceof HttpServerErrorException serverError) {
+            int status = serverError.getStatusCode().value();
+            return status == 502 || status == 503 || status == 504;
+        }
+        return e instanceof ResourceAccessException
+                || e instanceof RejectedExecutionException;
+    }
+
+    private String failureMessage(Exception e) {
+        if (e instanceof ResourceAccessException) {
+            // 네트워크 연결 실패 (서버가 응답하지 않음)
+            System.err.println("분석 서버 연결 실패: " + e.getMessage());
+            return "분석 서버 연결 실패";
+        }
+        if (e instanceof HttpClientErrorException clientError) {
+            // 4xx 에러 (클라이언트 요청 오류)
+            System.err.println("분석 요청 오류: " + clientError.getStatusCode() + " - " + clientError.getResponseBodyAsString());
+            if (clientError.getStatusCode().value() == 422) {
+                // 분석 서버가 읽지 못한 영상
+                return "영상을 분석할 수 없습니다";
+            }
+            return "분석 요청 오류: " + clientError.getStatusCode();
+        }
+        if (e instanceof HttpServerErrorException serverError) {
+            // 5xx 에러 (서버 내부 오류)
+            System.err.println("분석 서버 내부 오류: " + serverError.getStatusCode() + " - " + serverError.getResponseBodyAsString());
+            return "분석 서버 내부 오류";
+        }
+        // 기타 예상치 못한 오류
+        System.err.println("예상치 못한 오류: " + e.getMessage());
+        return "분석 중 오류 발생";
+    }
+
+    // 임시 파일 삭제 후 업로드 수락 슬롯 반납
+    private void finish(AnalysisJob job) {
+        if (job.getStagedFile() != null) {
+            try {
+                Files.deleteIfExists(job.getStagedFile());
+            } catch (IOException e) {
+                System.err.println("임시 파일 삭제 실패: " + job.getStagedFile());
+            }
+        }
+        job.releaseAdmission();
+    }
+}
@@ -0,0 +1,61 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.dto.AnalysisJob;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+// 재시도 시각이 된 작업과 임대가 만료된 작업을 워커 큐에 남은 자리만큼 가져와 다시 분석
+// 모든 노드가 같은 주기로 돌아도 SKIP LOCKED 로 서로 다른 행을 가져간다
+@Component
+public class AnalysisOutboxPoller {
+
+    private final AnalysisOutboxService analysisOutboxService;
+    private final AnalysisJobService analysisJobService;
+    private final ThreadPoolTaskExecutor analysisExecutor;
+
+    @Value("${analysis.outbox.claim-batch-size:10}")
+    private int claimBatchSize;
+
+    public AnalysisOutboxPoller(AnalysisOutboxService analysisOutboxService, AnalysisJobService analysisJobService,
+                                @Qualifier("analysisExecutor") ThreadPoolTaskExecutor analysisExecutor) {
+        this.analysisOutboxService = analysisOutboxService;
+        this.analysisJobService = analysisJobService;
+        this.analysisExecutor = analysisExecutor;
+    }
+
+    @Scheduled(fixedDelayString = "${analysis.outbox.poll-interval-ms:2000}")
+    public void poll() {
+        if (!analysisOutboxService.isEnabled()) {
+            return;
+        }
+
+        // 새 업로드가 거절되지 않도록 워커 큐의 빈자리까지만 가져간다
+        int capacity = analysisExecutor.getQueueCapacity() - analysisExecutor.getQueueSize();
+        int limit = Math.min(claimBatchSize, capacity);
+        if (limit <= 0) {
+            return;
+        }
+
+        List<AnalysisJob> jobs;
+        try {
+            jobs = analysisOutboxService.claimDue(limit);
+        } catch (RuntimeException e) {
+            System.err.println("분석 대기열 조회 실패: " + e.getMessage());
+            return;
+        }
+
+        for (AnalysisJob job : jobs) {
+            try {
+                analysisJobService.resubmit(job);
+            } catch (RejectedExecutionException e) {
+                analysisOutboxService.release(job);
+            }
+        }
+    }
+}
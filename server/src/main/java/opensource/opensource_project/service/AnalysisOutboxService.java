@@ -0,0 +1,277 @@
+package opensource.opensource_project.service;
+
+import jakarta.annotation.PostConstruct;
+import opensource.opensource_project.domain.analysis_outbox.analysis_outbox_constants.OutboxState;
+import opensource.opensource_project.domain.analysis_outbox.entity.AnalysisOutbox;
+import opensource.opensource_project.domain.squat_videos.entity.SquatVideo;
+import opensource.opensource_project.dto.AnalysisJob;
+import opensource.opensource_project.repository.AnalysisOutboxRepository;
+import opensource.opensource_project.repository.SquatVideoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+// 분석 작업을 DB 행으로 남겨 분석 서버 장애나 노드 재시작에도 잃지 않는다
+// 행은 노드가 임대(lease)해서 처리하고, 결과 저장은 임대를 가진 노드만 한다 (영상당 한 번)
+@Service
+public class AnalysisOutboxService {
+
+    private final AnalysisOutboxRepository analysisOutboxRepository;
+    private final SquatVideoRepository squatVideoRepository;
+    private final AnalysisResultWriter analysisResultWriter;
+
+    @Value("${analysis.outbox.enabled:true}")
+    private boolean enabled;
+
+    // 비어 있으면 프로세스마다 새로 만든다 (재시작한 노드가 이전 임대를 자기 것으로 착각하지 않도록)
+    @Value("${analysis.outbox.node-id:}")
+    private String nodeId;
+
+    // 대기열 대기 + 분석 서버 read timeout 보다 길어야 한다 (분석 시작 시 다시 연장)
+    @Value("${analysis.outbox.lease-ms:300000}")
+    private long leaseMs;
+
+    @Value("${analysis.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${analysis.outbox.backoff-base-ms:5000}")
+    private long backoffBaseMs;
+
+    @Value("${analysis.outbox.backoff-max-ms:600000}")
+    private long backoffMaxMs;
+
+    public AnalysisOutboxService(AnalysisOutboxRepository analysisOutboxRepository, SquatVideoRepository squatVideoRepository,
+                                 AnalysisResultWriter analysisResultWriter) {
+        this.analysisOutboxRepository = analysisOutboxRepository;
+        this.squatVideoRepository = squatVideoRepository;
+        this.analysisResultWriter = analysisResultWriter;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (nodeId == null || nodeId.isBlank()) {
+            nodeId = UUID.randomUUID().toString();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 새로 분석할 영상: 영상 행과 작업 행을 한 트랜잭션으로 저장하고 분석 작업을 돌려준다
+    // 둘 다 시퀀스 id 라 두 INSERT 가 커밋 때 한 배치로 나가고, 작업 행 없는 PENDING 영상이 남지 않는다
+    @Transactional
+    public AnalysisJob saveTracked(SquatVideo video, Function<Long, AnalysisJob> jobFor) {
+        SquatVideo saved = squatVideoRepository.save(video);
+        AnalysisJob job = jobFor.apply(saved.getVideoId());
+        track(job);
+        return job;
+    }
+
+    // 이 노드가 임대한 상태로 행을 만든다 (호출자의 트랜잭션에 참여). 노드가 죽으면 임대가 만료된 뒤 다른 노드가 가져간다
+    @Transactional
+    public void track(AnalysisJob job) {
+        if (!isTracked(job)) {
+            return;
+        }
+        AnalysisOutbox row = newRow(job.getVideoId(), job.getUsername(), job);
+        row.setState(OutboxState.RUNNING);
+        row.setAttempts(1);
+        row.setLeaseOwner(nodeId);
+        row.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(leaseMs)));
+        analysisOutboxRepository.save(row);
+    }
+
+    // 같은 영상을 기다리던 업로드: 앞선 업로드의 분석이 미뤄지면 그 재시도 결과를 같이 받는다 (같은 영상을 여러 번 분석하지 않도록)
+    // 앞선 업로드의 행이 이미 없으면(그 사이 끝난 드문 경우) 같은 S3 객체로 따로 다시 시도한다
+    @Transactional
+    public void enqueue(Long videoId, String username, AnalysisJob source) {
+        if (!isTracked(source)) {
+            analysisResultWriter.fail(videoId, username, "분석 서버 연결 실패");
+            return;
+        }
+        // 앞선 업로드의 완료/실패 처리와 겹치지 않도록 그 행을 잠근 채로 붙인다
+        Optional<AnalysisOutbox> leader = analysisOutboxRepository.findForUpdate(source.getVideoId());
+        if (leader.isPresent() && leader.get().getState() == OutboxState.DEAD) {
+            analysisResultWriter.fail(videoId, username, leader.get().getLastError());
+            return;
+        }
+
+        AnalysisOutbox row = newRow(videoId, username, source);
+        row.setAttempts(0);
+        if (leader.isPresent()) {
+            row.setState(OutboxState.WAITING);
+            row.setLeaderVideoId(source.getVideoId());
+            row.setNextAttemptAt(LocalDateTime.now());
+        } else {
+            row.setState(OutboxState.PENDING);
+            row.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoffMillis(1))));
+        }
+        analysisOutboxRepository.save(row);
+    }
+
+    // 분석 시작 직전 임대 연장. false 면 임대가 만료돼 다른 노드가 가져간 작업이므로 건너뛴다
+    @Transactional
+    public boolean renew(AnalysisJob job) {
+        if (!isTracked(job)) {
+            return true;
+        }
+        LocalDateTime leaseUntil = LocalDateTime.now().plus(Duration.ofMillis(leaseMs));
+        return analysisOutboxRepository.renew(job.getVideoId(), nodeId, leaseUntil) == 1;
+    }
+
+    // 행 삭제와 결과 저장을 한 트랜잭션으로. 임대를 잃었으면 다른 노드가 저장하므로 버린다
+    // 이 영상을 기다리던 같은 영상 업로드도 같은 결과로 함께 완료
+    @Transactional
+    public void complete(AnalysisJob job, Float score, String feedback) {
+        if (isTracked(job)) {
+            if (analysisOutboxRepository.deleteLeased(job.getVideoId(), nodeId) == 0) {
+                System.err.println("임대가 만료된 분석 결과 무시: " + job.getVideoId());
+                return;
+            }
+            List<AnalysisOutbox> waiting = analysisOutboxRepository.findWaitingForUpdate(job.getVideoId());
+            for (AnalysisOutbox row : waiting) {
+                analysisResultWriter.complete(row.getVideoId(), row.getUsername(), score, feedback);
+            }
+            analysisOutboxRepository.deleteAll(waiting);
+        }
+        analysisResultWriter.complete(job.getVideoId(), job.getUsername(), score, feedback);
+    }
+
+    // 재시도할 수 있으면 백오프 후 다시 시도하도록 돌려 두고 true (영상은 PENDING 유지)
+    // 재시도 한도를 넘었거나 retryable 이 아니면 DEAD 로 두고 영상을 FAILED 로 저장한 뒤 false
+    @Transactional
+    public boolean fail(AnalysisJob job, String feedback, boolean retryable) {
+        if (!isTracked(job)) {
+            analysisResultWriter.fail(job.getVideoId(), job.getUsername(), feedback);
+            return false;
+        }
+
+        Optional<AnalysisOutbox> found = analysisOutboxRepository.findForUpdate(job.getVideoId());
+        if (found.isEmpty() || !isLeased(found.get())) {
+            // 다른 노드가 가져간 작업
+            System.err.println("임대가 만료된 분석 실패 무시: " + job.getVideoId());
+            return true;
+        }
+
+        AnalysisOutbox row = found.get();
+        row.setLeaseOwner(null);
+        row.setLastError(truncate(feedback));
+        if (retryable && row.getAttempts() < maxAttempts) {
+            long delayMs = backoffMillis(row.getAttempts());
+            row.setState(OutboxState.PENDING);
+            row.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(delayMs)));
+            System.err.println("분석 재시도 예약: " + job.getVideoId() + " (" + row.getAttempts() + "회 실패, " + delayMs + "ms 후)");
+            return true;
+        }
+
+        row.setState(OutboxState.DEAD);
+        analysisResultWriter.fail(job.getVideoId(), job.getUsername(), feedback);
+        failWaiting(job.getVideoId(), feedback);
+        return false;
+    }
+
+    // 시도 시각이 된 작업을 임대한다. 한도를 넘은 작업(임대 중 노드가 반복해서 죽은 경우)은 DEAD 로 정리
+    @Transactional
+    public List<AnalysisJob> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<AnalysisJob> jobs = new ArrayList<>();
+        for (AnalysisOutbox row : analysisOutboxRepository.lockDue(now, limit)) {
+            if (row.getState() == OutboxState.RUNNING) {
+                System.err.println("임대 만료 작업 회수: " + row.getVideoId() + " (" + row.getLeaseOwner() + ")");
+            }
+            if (row.getAttempts() >= maxAttempts) {
+                row.setState(OutboxState.DEAD);
+                row.setLeaseOwner(null);
+                analysisResultWriter.fail(row.getVideoId(), row.getUsername(), "분석 재시도 한도 초과");
+                failWaiting(row.getVideoId(), "분석 재시도 한도 초과");
+                continue;
+            }
+
+            row.setState(OutboxState.RUNNING);
+            row.setLeaseOwner(nodeId);
+            row.setAttempts(row.getAttempts() + 1);
+            row.setNextAttemptAt(now.plus(Duration.ofMillis(leaseMs)));
+            jobs.add(AnalysisJob.remote(row.getVideoId(), row.getUsername(), row.getS3Key(), row.getOriginalFilename(),
+                    row.getContentType()));
+        }
+        return jobs;
+    }
+
+    // 워커 큐가 가득 차 실행하지 못한 작업은 시도 횟수를 되돌려 바로 다시 가져갈 수 있게 한다
+    @Transactional
+    public void release(AnalysisJob job) {
+        analysisOutboxRepository.findForUpdate(job.getVideoId())
+                .filter(this::isLeased)
+                .ifPresent(row -> {
+                    row.setState(OutboxState.PENDING);
+                    row.setLeaseOwner(null);
+                    row.setAttempts(Math.max(0, row.getAttempts() - 1));
+                    row.setNextAttemptAt(LocalDateTime.now());
+                });
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("nodeId", nodeId);
+        if (enabled) {
+            for (OutboxState state : OutboxState.values()) {
+                snapshot.put(state.getValue(), analysisOutboxRepository.countByState(state));
+            }
+        }
+        return snapshot;
+    }
+
+    // 지수 백오프 (상한 backoffMaxMs) 의 절반 + 0~절반 무작위. 장애 복구 직후 재시도가 한꺼번에 몰리지 않도록 한다
+    long backoffMillis(int attempts) {
+        long delay = Math.min(backoffMaxMs, backoffBaseMs << Math.min(Math.max(attempts - 1, 0), 20));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    // 기다리던 업로드도 DEAD 로 남긴다 (앞선 행과 함께 state='PENDING' 으로 바꾸면 각자 다시 시도)
+    private void failWaiting(Long leaderVideoId, String feedback) {
+        for (AnalysisOutbox row : analysisOutboxRepository.findWaitingForUpdate(leaderVideoId)) {
+            row.setState(OutboxState.DEAD);
+            row.setLastError(truncate(feedback));
+            analysisResultWriter.fail(row.getVideoId(), row.getUsername(), feedback);
+        }
+    }
+
+    // S3 키가 없으면 다른 노드에서 다시 분석할 수 없으므로 대기열에 넣지 않는다
+    private boolean isTracked(AnalysisJob job) {
+        return enabled && job.getS3Key() != null;
+    }
+
+    private boolean isLeased(AnalysisOutbox row) {
+        return row.getState() == OutboxState.RUNNING && nodeId.equals(row.getLeaseOwner());
+    }
+
+    private AnalysisOutbox newRow(Long videoId, String username, AnalysisJob source) {
+        AnalysisOutbox row = new AnalysisOutbox();
+        row.setVideoId(videoId);
+        row.setUsername(username);
+        row.setS3Key(source.getS3Key());
+        row.setOriginalFilename(source.getOriginalFileName());
+        row.setContentType(source.getContentType());
+        return row;
+    }
+
+    private String truncate(String message) {
+        if (message == null || message.length() <= 512) {
+            return message;
+        }
+        return message.substring(0, 512);
+    }
+}
@@ -0,0 +1,81 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.domain.analysis_result.entity.AnalysisResult;
+import opensource.opensource_project.domain.squat_videos.entity.SquatVideo;
+import opensource.opensource_project.domain.squat_videos.squat_video_constants.Status;
+import opensource.opensource_project.dto.AnalysisCursor;
+import opensource.opensource_project.dto.AnalysisEventDTO;
+import opensource.opensource_project.repository.AnalysisResultRepository;
+import opensource.opensource_project.repository.SquatVideoRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class AnalysisResultWriter {
+
+    private final SquatVideoRepository squatVideoRepository;
+    private final AnalysisResultRepository analysisResultRepository;
+    private final UserProgressService userProgressService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AnalysisResultWriter(SquatVideoRepository squatVideoRepository, AnalysisResultRepository analysisResultRepository,
+                                UserProgressService userProgressService, ApplicationEventPublisher eventPublisher) {
+        this.squatVideoRepository = squatVideoRepository;
+        this.analysisResultRepository = analysisResultRepository;
+        this.userProgressService = userProgressService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public void markProcessing(Long videoId, String username) {
+        updateStatus(videoId, Status.PROCESSING);
+        eventPublisher.publishEvent(new AnalysisEventDTO(username, videoId, Status.PROCESSING));
+    }
+
+    // 분석 결과 저장, 상태 변경, 사용자 요약 갱신을 하나의 트랜잭션으로 처리
+    // 요약 행 잠금(네이티브 쿼리)을 먼저 잡아 결과 INSERT 와 요약 UPDATE 가 커밋 때 한 번에 나가게 한다
+    @Transactional
+    public void complete(Long videoId, String username, Float score, String feedback) {
+        userProgressService.recordSuccess(username, score, feedback);
+        updateStatus(videoId, Status.DONE);
+        AnalysisResult result = saveResult(videoId, username, score, feedback);
+        eventPublisher.publishEvent(new AnalysisEventDTO(username, videoId, Status.DONE, AnalysisCursor.of(result).encode(), score, feedback));
+    }
+
+    // 같은 영상의 기존 결과를 재사용하는 업로드: 영상 메타데이터를 DONE 으로 바로 저장하고 결과와 함께 커밋
+    @Transactional
+    public SquatVideo completeReused(SquatVideo video, Float score, String feedback) {
+        userProgressService.recordSuccess(video.getUsername(), score, feedback);
+        video.setStatus(Status.DONE);
+        SquatVideo saved = squatVideoRepository.save(video);
+        AnalysisResult result = saveResult(saved.getVideoId(), saved.getUsername(), score, feedback);
+        eventPublisher.publishEvent(new AnalysisEventDTO(saved.getUsername(), saved.getVideoId(), Status.DONE,
+                AnalysisCursor.of(result).encode(), score, feedback));
+        return saved;
+    }
+
+    @Transactional
+    public void fail(Long videoId, String username, String feedback) {
+        userProgressService.recordFailure(username);
+        updateStatus(videoId, Status.FAILED);
+        AnalysisResult result = saveResult(videoId, username, null, feedback);
+        eventPublisher.publishEvent(new AnalysisEventDTO(username, videoId, Status.FAILED, AnalysisCursor.of(result).encode(), null, feedback));
+    }
+
+    private AnalysisResult saveResult(Long videoId, String username, Float score, String feedback) {
+        AnalysisResult result = new AnalysisResult();
+        result.setUsername(username);
+        result.setVideoId(videoId);
+        result.setScore(score);
+        result.setFeedback(feedback);
+
+        return analysisResultRepository.save(result);
+    }
+
+    private void updateStatus(Long videoId, Status status) {
+        if (squatVideoRepository.setStatus(videoId, status) == 0) {
+            throw new IllegalStateException("영상 정보를 찾을 수 없습니다: " + videoId);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.dto.AnalysisJob;
+import opensource.opensource_project.dto.AnalysisOutcomeDTO;
+import opensource.opensource_project.dto.AnalysisServerResponseDTO;
+import opensource.opensource_project.dto.UploadResponseDTO;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class AnalysisServerClient {
+
+    private final RestTemplate analysisRestTemplate;
+    private final S3PresignService s3PresignService;
+    private final AnalysisEndpointPool analysisEndpointPool;
+
+    public AnalysisServerClient(@Qualifier("analysisRestTemplate") RestTemplate analysisRestTemplate, S3PresignService s3PresignService,
+                                AnalysisEndpointPool analysisEndpointPool) {
+        this.analysisRestTemplate = analysisRestTemplate;
+        this.s3PresignService = s3PresignService;
+        this.analysisEndpointPool = analysisEndpointPool;
+    }
+
+    public UploadResponseDTO analyze(AnalysisJob job) {
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        if (job.isRemote()) {
+            // 영상은 분석 서버가 S3 에서 직접 받는다. URL 은 대기열에서 만료되지 않도록 호출 직전에 발급
+            body.add("videoUrl", s3PresignService.presignGet(job.getS3Key()));
+            body.add("videoId", String.valueOf(job.getVideoId()));
+            body.add("username", job.getUsername());
+        } else {
+            body.add("file", filePart(job));
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+
+        HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
+        ResponseEntity<AnalysisServerResponseDTO> response = post("/analyze", requestEntity);
+
+        // 응답 상태 코드 확인
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new RuntimeException("분석 서버 응답 실패: " + response.getStatusCode());
+        }
+
+        AnalysisServerResponseDTO responseBody = response.getBody();
+
+        if (responseBody == null) {
+            throw new RuntimeException("분석 서버로부터 응답 데이터가 없습니다");
+        }
+
+        return toResponse(responseBody);
+    }
+
+    // /analyze-batch 는 파일 순서대로 results 를 돌려주므로 인덱스로 요청과 결과를 짝지은다
+    public List<AnalysisOutcomeDTO> analyzeBatch(List<AnalysisJob> jobs) {
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        for (AnalysisJob job : jobs) {
+            body.add("files", filePart(job));
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+
+        HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
+        ResponseEntity<AnalysisServerResponseDTO> response = post("/analyze-batch", requestEntity);
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new RuntimeException("분석 서버 응답 실패: " + response.getStatusCode());
+        }
+
+        AnalysisServerResponseDTO responseBody = response.getBody();
+        if (responseBody == null || responseBody.getResults() == null) {
+            throw new RuntimeException("분석 서버로부터 응답 데이터가 없습니다");
+        }
+
+        List<AnalysisServerResponseDTO> results = responseBody.getResults();
+        if (results.size() != jobs.size()) {
+            throw new RuntimeException("배치 응답 개수 불일치: " + results.size() + "/" + jobs.size());
+        }
+
+        List<AnalysisOutcomeDTO> outcomes = new ArrayList<>(results.size());
+        for (AnalysisServerResponseDTO result : results) {
+            AnalysisOutcomeDTO outcome = new AnalysisOutcomeDTO();
+            if ("success".equals(result.getStatus())) {
+                UploadResponseDTO parsed = toResponse(result);
+                outcome.setSuccess(true);
+                outcome.setScore(parsed.getScore());
+                outcome.setFeedBack(parsed.getFeedBack());
+            } else {
+                outcome.setSuccess(false);
+                outcome.setMessage(result.getMessage());
+            }
+            outcomes.add(outcome);
+        }
+        return outcomes;
+    }
+
+    // 진행 중인 요청이 가장 적은 인스턴스로 보내고, 연결 실패/5xx 는 그 인스턴스의 실패로 기록
+    private ResponseEntity<AnalysisServerResponseDTO> post(String path, HttpEntity<MultiValueMap<String, Object>> requestEntity) {
+        AnalysisEndpoint endpoint = analysisEndpointPool.acquire();
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            return analysisRestTemplate.postForEntity(endpoint.url(path), requestEntity, AnalysisServerResponseDTO.class);
+        } catch (ResourceAccessException | HttpServerErrorException e) {
+            failed = true;
+            throw e;
+        } finally {
+            analysisEndpointPool.release(endpoint, System.nanoTime() - start, failed);
+        }
+    }
+
+    private HttpEntity<FileSystemResource> filePart(AnalysisJob job) {
+        FileSystemResource resource = new FileSystemResource(job.getStagedFile()) {
+            @Override
+            public String getFilename() {
+                return job.getOriginalFileName();
+            }
+        };
+
+        HttpHeaders fileHeaders = new HttpHeaders();
+        if (job.getContentType() != null) {
+            fileHeaders.setContentType(MediaType.parseMediaType(job.getContentType()));
+        }
+        return new HttpEntity<>(resource, fileHeaders);
+    }
+
+    private UploadResponseDTO toResponse(AnalysisServerResponseDTO responseBody) {
+        List<String> feedbackList = responseBody.getFeedback();
+        String feedback = "";
+
+        if (feedbackList != null && !feedbackList.isEmpty()) {
+            feedback = String.join("\n", feedbackList);
+        }
+
+        UploadResponseDTO responseDTO = new UploadResponseDTO();
+        responseDTO.setFeedBack(feedback);
+        responseDTO.setScore(responseBody.getScore());
+        return responseDTO;
+    }
+}
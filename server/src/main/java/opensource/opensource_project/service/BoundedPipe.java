@@ -0,0 +1,174 @@
+package opensource.opensource_project.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// 생산자 스레드가 쓴 바이트를 소비자 스레드가 읽는 고정 크기 파이프
+// 최대 (capacity + 1) 개의 청크만 메모리에 올라가므로 전체 파일 크기와 무관하게 메모리 사용량이 일정하다
+public class BoundedPipe {
+
+    private static final byte[] EOF = new byte[0];
+    private static final long OFFER_POLL_MS = 100;
+
+    private final BlockingQueue<byte[]> queue;
+    private final int chunkSize;
+
+    private volatile boolean readerClosed;
+    private volatile IOException writerFailure;
+
+    public BoundedPipe(int chunkSize, int capacity) {
+        this.chunkSize = chunkSize;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public OutputStream outputStream() {
+        return new PipeOutputStream();
+    }
+
+    public InputStream inputStream() {
+        return new PipeInputStream();
+    }
+
+    // 생산자 쪽 실패를 소비자에게 전달
+    public void fail(IOException cause) {
+        writerFailure = cause;
+        queue.clear();
+        queue.offer(EOF);
+    }
+
+    private void enqueue(byte[] chunk) throws IOException {
+        try {
+            while (!queue.offer(chunk, OFFER_POLL_MS, TimeUnit.MILLISECONDS)) {
+                if (readerClosed) {
+                    throw new IOException("파이프 소비자가 종료되었습니다");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("파이프 쓰기 중단");
+        }
+    }
+
+    private class PipeOutputStream extends OutputStream {
+        private byte[] buffer = new byte[chunkSize];
+        private int count;
+        private boolean closed;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buffer.length) {
+                flushBuffer();
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (count == buffer.length) {
+                    flushBuffer();
+                }
+                int n = Math.min(len, buffer.length - count);
+                System.arraycopy(b, off, buffer, count, n);
+                count += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        private void flushBuffer() throws IOException {
+            if (count == 0) {
+                return;
+            }
+            byte[] chunk = buffer;
+            if (count < chunk.length) {
+                chunk = new byte[count];
+                System.arraycopy(buffer, 0, chunk, 0, count);
+            }
+            // 큐에 넘긴 배열은 소비자 소유이므로 새 버퍼를 할당
+            buffer = new byte[chunkSize];
+            count = 0;
+            enqueue(chunk);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (readerClosed) {
+                return;
+            }
+            flushBuffer();
+            enqueue(EOF);
+        }
+    }
+
+    private class PipeInputStream extends InputStream {
+        private byte[] current;
+        private int position;
+        private boolean eof;
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            return current[position++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int n = Math.min(len, current.length - position);
+            System.arraycopy(current, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        private boolean fill() throws IOException {
+            if (eof) {
+                return false;
+            }
+            while (current == null || position == current.length) {
+                try {
+                    current = queue.take();
+                    position = 0;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("파이프 읽기 중단");
+                }
+                if (current == EOF) {
+                    eof = true;
+                    current = null;
+                    if (writerFailure != null) {
+                        throw writerFailure;
+                    }
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void close() {
+            readerClosed = true;
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.dto.ChunkedUploadStatusDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 끊긴 업로드를 이어서 받을 수 있는 청크 업로드 세션 관리
+// 세션 파일은 분석용 임시 파일과 같은 디렉터리에 두고, 완료 처리 후에는 분석 작업이 소유한다
+@Service
+public class ChunkedUploadService {
+
+    private static final String SESSION_SUFFIX = ".session";
+
+    @Value("${upload.staging-dir:${java.io.tmpdir}/squat-analysis}")
+    private String stagingDir;
+
+    @Value("${upload.chunked.chunk-size:5242880}")
+    private int chunkSize;
+
+    // 분석 서버 한도(MAX_VIDEO_BYTES, 100MB) 보다 크면 받아도 분석할 수 없으므로 기본값은 upload.max-size 와 같게
+    @Value("${upload.chunked.max-size:${upload.max-size:104857600}}")
+    private long maxSize;
+
+    @Value("${upload.chunked.max-sessions-per-user:3}")
+    private int maxSessionsPerUser;
+
+    @Value("${upload.chunked.max-sessions:200}")
+    private int maxSessions;
+
+    // 마지막 요청 후 이 시간이 지나면 버려진 세션으로 보고 정리
+    @Value("${upload.chunked.session-ttl-ms:3600000}")
+    private long sessionTtlMs;
+
+    @Value("${upload.chunked.write-buffer-size:65536}")
+    private int writeBufferSize;
+
+    // 완료 요청이 진행 중인 청크 기록을 기다리는 최대 시간
+    @Value("${upload.chunked.finalize-wait-ms:10000}")
+    private long finalizeWaitMs;
+
+    // 완료 처리가 이 시간보다 오래 FINALIZING 에 머물면 멈춘 것으로 보고 세션을 정리
+    @Value("${upload.chunked.finalize-timeout-ms:900000}")
+    private long finalizeTimeoutMs;
+
+    private final Map<String, ChunkedUploadSession> sessions = new ConcurrentHashMap<>();
+
+    public ChunkedUploadSession create(String username, String fileName, Long totalSize) throws IOException {
+        if (fileName == null || fileName.isBlank()) {
+            throw new IllegalArgumentException("파일명을 확인할 수 없습니다.");
+        }
+        if (totalSize == null || totalSize <= 0) {
+            throw new IllegalArgumentException("파일 크기를 확인할 수 없습니다.");
+        }
+        if (totalSize > maxSize) {
+            throw new IllegalArgumentException("파일 크기는 최대 " + maxSize + " 바이트입니다.");
+        }
+        long open = sessions.values().stream()
+                .filter(session -> session.getUsername().equals(username) && session.getState() != ChunkedUploadSession.State.DONE)
+                .count();
+        if (open >= maxSessionsPerUser || sessions.size() >= maxSessions) {
+            throw new IllegalStateException("진행 중인 업로드가 너무 많습니다");
+        }
+
+        Path dir = Paths.get(stagingDir);
+        Files.createDirectories(dir);
+        String sessionId = UUID.randomUUID().toString();
+        ChunkedUploadSession session = new ChunkedUploadSession(sessionId, username, fileName, totalSize, chunkSize,
+                dir.resolve(sessionId + SESSION_SUFFIX));
+        sessions.put(sessionId, session);
+        return session;
+    }
+
+    // 다른 사용자의 세션은 없는 것으로 취급
+    public Optional<ChunkedUploadSession> find(String sessionId, String username) {
+        ChunkedUploadSession session = sessions.get(sessionId);
+        if (session == null || !session.getUsername().equals(username)) {
+            return Optional.empty();
+        }
+        session.touch();
+        return Optional.of(session);
+    }
+
+    // 청크를 파일의 자기 위치에 기록. 이미 받은 청크는 본문을 읽지 않고 성공 처리
+    public void writeChunk(ChunkedUploadSession session, int index, long contentLength, InputStream body) throws IOException {
+        if (index < 0 || index >= session.getChunkCount()) {
+            throw new IllegalArgumentException("잘못된 청크 번호입니다");
+        }
+        long length = session.chunkLength(index);
+        if (contentLength != length) {
+            throw new IllegalArgumentException("청크 크기가 맞지 않습니다 (" + length + " 바이트)");
+        }
+        if (session.isReceived(index)) {
+            return;
+        }
+        if (!session.enterWriter()) {
+            throw new IllegalStateException("완료 처리 중이거나 완료된 업로드입니다");
+        }
+
+        try {
+            FileChannel channel = session.getChannel();
+            byte[] buffer = new byte[(int) Math.min(writeBufferSize, length)];
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+            long position = session.chunkOffset(index);
+            long remaining = length;
+            while (remaining > 0) {
+                int read = body.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read == -1) {
+                    throw new IllegalArgumentException("청크가 중간에 끊겼습니다");
+                }
+                byteBuffer.clear().limit(read);
+                // 위치 지정 쓰기라 같은 세션의 다른 청크와 동시에 기록해도 안전
+                while (byteBuffer.hasRemaining()) {
+                    position += channel.write(byteBuffer, position);
+                }
+                remaining -= read;
+            }
+            session.markReceived(index);
+        } finally {
+            session.exitWriter();
+        }
+    }
+
+    public boolean beginFinalize(ChunkedUploadSession session) throws IOException {
+        return session.beginFinalize(finalizeWaitMs);
+    }
+
+    public void abortFinalize(ChunkedUploadSession session) {
+        try {
+            session.abortFinalize();
+        } catch (IOException e) {
+            System.err.println("업로드 세션 복구 실패: " + session.getSessionId());
+            discard(session);
+        }
+    }
+
+    // 완료 후에도 같은 완료 요청이 다시 오면 같은 영상을 돌려주도록 TTL 동안 남겨둔다
+    public void finish(ChunkedUploadSession session, Long videoId) {
+        session.finish(videoId);
+    }
+
+    // 영상이 아니어서 더 받을 필요가 없는 세션 삭제
+    public void discard(ChunkedUploadSession session) {
+        sessions.remove(session.getSessionId(), session);
+        closeAndDelete(session);
+    }
+
+    public ChunkedUploadStatusDTO status(ChunkedUploadSession session, boolean withMissing) {
+        ChunkedUploadStatusDTO responseDTO = new ChunkedUploadStatusDTO();
+        responseDTO.setSessionId(session.getSessionId());
+        responseDTO.setTotalSize(session.getTotalSize());
+        responseDTO.setChunkSize(session.getChunkSize());
+        responseDTO.setChunkCount(session.getChunkCount());
+        responseDTO.setReceivedChunks(session.getReceivedChunks());
+        responseDTO.setVideoId(session.getVideoId());
+        if (withMissing) {
+            responseDTO.setMissingChunks(session.missingChunks(100));
+        }
+        return responseDTO;
+    }
+
+    // 버려진 세션과 재시작 전에 남은 세션 파일 정리
+    @Scheduled(fixedDelayString = "${upload.chunked.gc-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        long expiredBefore = now - sessionTtlMs;
+        sessions.values().forEach(session -> {
+            switch (session.getState()) {
+                case OPEN -> {
+                    if (session.getLastAccessMillis() >= expiredBefore) {
+                        return;
+                    }
+                    // 정리 직전에 들어온 완료 요청과 겹치지 않도록 상태를 먼저 바꾼다 (기록 중이면 다음 주기에 다시 확인)
+                    try {
+                        if (session.beginFinalize(0)) {
+                            discard(session);
+                        }
+                    } catch (IOException e) {
+                        discard(session);
+                    }
+                }
+                // 완료 처리가 끝나지 않고 멈춘 세션 (완료 요청은 계속 409 를 받는다)
+                case FINALIZING -> {
+                    if (session.getFinalizeStartedMillis() < now - finalizeTimeoutMs) {
+                        System.err.println("멈춘 업로드 완료 처리 정리: " + session.getSessionId());
+                        discard(session);
+                    }
+                }
+                // 파일은 분석 작업이 소유하므로 세션만 제거
+                case DONE -> {
+                    if (session.getLastAccessMillis() < expiredBefore) {
+                        sessions.remove(session.getSessionId(), session);
+                    }
+                }
+            }
+        });
+
+        Path dir = Paths.get(stagingDir);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SESSION_SUFFIX)) {
+            for (Path file : files) {
+                String sessionId = file.getFileName().toString().replace(SESSION_SUFFIX, "");
+                if (!sessions.containsKey(sessionId) && Files.getLastModifiedTime(file).toMillis() < expiredBefore) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("업로드 세션 파일 정리 실패: " + e.getMessage());
+        }
+    }
+
+    private void closeAndDelete(ChunkedUploadSession session) {
+        try {
+            session.close();
+            Files.deleteIfExists(session.getFile());
+        } catch (IOException e) {
+            System.err.println("업로드 세션 파일 삭제 실패: " + session.getFile());
+        }
+    }
+}
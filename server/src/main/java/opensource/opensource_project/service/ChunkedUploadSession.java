@@ -0,0 +1,179 @@
+package opensource.opensource_project.service;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+// 청크 업로드 세션 하나. 청크는 순서와 관계없이 동시에 같은 파일의 자기 위치에 기록된다
+public class ChunkedUploadSession {
+
+    public enum State {
+        OPEN, FINALIZING, DONE
+    }
+
+    @Getter
+    private final String sessionId;
+    @Getter
+    private final String username;
+    @Getter
+    private final String fileName;
+    @Getter
+    private final long totalSize;
+    @Getter
+    private final int chunkSize;
+    @Getter
+    private final int chunkCount;
+    @Getter
+    private final Path file;
+
+    // 받은 청크 비트맵
+    private final AtomicLongArray received;
+    private final AtomicInteger receivedCount = new AtomicInteger();
+    // 기록 중인 요청 수 (완료 처리는 이 값이 0 이 될 때까지 기다린다. 0 이 되면 이 객체의 모니터로 깨운다)
+    private final AtomicInteger writers = new AtomicInteger();
+    private final AtomicReference<State> state = new AtomicReference<>(State.OPEN);
+
+    @Getter
+    private volatile FileChannel channel;
+    @Getter
+    private volatile long lastAccessMillis;
+    @Getter
+    private volatile Long videoId;
+    // FINALIZING 으로 바뀐 시각 (완료 처리가 멈춘 세션을 정리할 때 사용)
+    @Getter
+    private volatile long finalizeStartedMillis;
+
+    ChunkedUploadSession(String sessionId, String username, String fileName, long totalSize, int chunkSize, Path file) throws IOException {
+        this.sessionId = sessionId;
+        this.username = username;
+        this.fileName = fileName;
+        this.totalSize = totalSize;
+        this.chunkSize = chunkSize;
+        this.chunkCount = (int) ((totalSize + chunkSize - 1) / chunkSize);
+        this.file = file;
+        this.received = new AtomicLongArray((chunkCount + 63) / 64);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        touch();
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public int getReceivedChunks() {
+        return receivedCount.get();
+    }
+
+    public boolean isComplete() {
+        return receivedCount.get() == chunkCount;
+    }
+
+    public boolean isReceived(int index) {
+        return (received.get(index >> 6) & (1L << index)) != 0;
+    }
+
+    public long chunkOffset(int index) {
+        return (long) index * chunkSize;
+    }
+
+    public long chunkLength(int index) {
+        return Math.min(chunkSize, totalSize - chunkOffset(index));
+    }
+
+    public List<Integer> missingChunks(int limit) {
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < chunkCount && missing.size() < limit; i++) {
+            if (!isReceived(i)) {
+                missing.add(i);
+            }
+        }
+        return missing;
+    }
+
+    void touch() {
+        lastAccessMillis = System.currentTimeMillis();
+    }
+
+    // 처음 받은 청크일 때만 true
+    boolean markReceived(int index) {
+        long bit = 1L << index;
+        long previous = received.getAndAccumulate(index >> 6, bit, (current, mask) -> current | mask);
+        if ((previous & bit) != 0) {
+            return false;
+        }
+        receivedCount.incrementAndGet();
+        return true;
+    }
+
+    boolean enterWriter() {
+        writers.incrementAndGet();
+        if (state.get() != State.OPEN) {
+            writers.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    void exitWriter() {
+        // 완료 처리가 기다리고 있을 때만 깨운다 (OPEN 상태의 일반 기록은 락을 잡지 않는다)
+        if (writers.decrementAndGet() == 0 && state.get() != State.OPEN) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    // OPEN -> FINALIZING 으로 바꾼 요청만 완료 처리를 진행한다. 진행 중인 기록이 끝나면 파일을 닫는다
+    // waitMs 안에 기록이 끝나지 않으면 OPEN 으로 되돌리고 false (클라이언트가 다시 완료 요청)
+    boolean beginFinalize(long waitMs) throws IOException {
+        if (!state.compareAndSet(State.OPEN, State.FINALIZING)) {
+            return false;
+        }
+        finalizeStartedMillis = System.currentTimeMillis();
+        long deadline = System.nanoTime() + waitMs * 1_000_000L;
+        synchronized (this) {
+            try {
+                while (writers.get() > 0) {
+                    long remainingMs = (deadline - System.nanoTime()) / 1_000_000L;
+                    if (remainingMs <= 0) {
+                        state.set(State.OPEN);
+                        return false;
+                    }
+                    wait(remainingMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                state.set(State.OPEN);
+                throw new InterruptedIOException("업로드 완료 처리 대기 중 중단됨");
+            }
+        }
+        channel.close();
+        return true;
+    }
+
+    // 완료 처리가 실패하면 다시 받을 수 있도록 되돌린다 (받은 청크는 유지)
+    void abortFinalize() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.WRITE);
+        state.set(State.OPEN);
+        touch();
+    }
+
+    void finish(Long videoId) {
+        this.videoId = videoId;
+        state.set(State.DONE);
+        touch();
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+}
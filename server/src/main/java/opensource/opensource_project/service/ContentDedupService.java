@@ -0,0 +1,126 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.domain.analysis_result.entity.AnalysisResult;
+import opensource.opensource_project.domain.squat_videos.entity.SquatVideo;
+import opensource.opensource_project.domain.squat_videos.squat_video_constants.Status;
+import opensource.opensource_project.dto.AnalysisJob;
+import opensource.opensource_project.dto.DedupClaim;
+import opensource.opensource_project.dto.UploadResponseDTO;
+import opensource.opensource_project.repository.AnalysisResultRepository;
+import opensource.opensource_project.repository.SquatVideoRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class ContentDedupService {
+
+    private final SquatVideoRepository squatVideoRepository;
+    private final AnalysisResultRepository analysisResultRepository;
+    private final AnalysisResultWriter analysisResultWriter;
+    private final AnalysisOutboxService analysisOutboxService;
+
+    // 사용자+해시별로 업로드/분석이 진행 중인 영상 (이 서버 인스턴스 기준)
+    // 다른 사용자의 S3 객체와 결과를 내주지 않도록 같은 사용자의 업로드끼리만 합친다
+    private final ConcurrentHashMap<String, InFlightUpload> inFlight = new ConcurrentHashMap<>();
+
+    public ContentDedupService(SquatVideoRepository squatVideoRepository, AnalysisResultRepository analysisResultRepository,
+                               AnalysisResultWriter analysisResultWriter, AnalysisOutboxService analysisOutboxService) {
+        this.squatVideoRepository = squatVideoRepository;
+        this.analysisResultRepository = analysisResultRepository;
+        this.analysisResultWriter = analysisResultWriter;
+        this.analysisOutboxService = analysisOutboxService;
+    }
+
+    // 해시가 확정된 시점(S3 커밋 직전)에 호출: 진행 중 업로드 → 완료된 영상 → 새 업로드 순으로 확인
+    public DedupClaim claim(String username, String contentHash, String s3Url) {
+        String key = key(username, contentHash);
+        while (true) {
+            InFlightUpload existing = inFlight.get(key);
+            if (existing != null) {
+                return DedupClaim.follower(existing.s3Url, existing.result);
+            }
+
+            // 앞선 업로드는 DB 커밋 후에 inFlight 에서 빠지므로 여기서 DONE 으로 보인다
+            Optional<DedupClaim> reused = findDone(username, contentHash);
+            if (reused.isPresent()) {
+                return reused.get();
+            }
+
+            if (inFlight.putIfAbsent(key, new InFlightUpload(s3Url)) == null) {
+                return DedupClaim.leader(s3Url);
+            }
+            // 다른 요청이 먼저 등록했으면 다시 확인
+        }
+    }
+
+    // FOLLOWER 영상은 앞선 업로드의 분석이 끝나면 같은 결과로 완료 처리
+    // 앞선 업로드의 분석이 재시도로 미뤄지면 대기열에서 그 재시도 결과를 함께 받는다 (다른 노드에서 끝나도)
+    public void follow(DedupClaim claim, Long videoId, String username) {
+        claim.getLeaderResult().whenComplete((result, e) -> {
+            if (e == null) {
+                analysisResultWriter.complete(videoId, username, result.getScore(), result.getFeedBack());
+                return;
+            }
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof AnalysisDeferredException deferred) {
+                analysisOutboxService.enqueue(videoId, username, deferred.getJob());
+            } else {
+                analysisResultWriter.fail(videoId, username, cause.getMessage());
+            }
+        });
+    }
+
+    // LEADER 의 분석 결과가 DB 에 커밋된 뒤 호출
+    public void publish(String username, String contentHash, Float score, String feedBack) {
+        InFlightUpload upload = inFlight.remove(key(username, contentHash));
+        if (upload != null) {
+            UploadResponseDTO result = new UploadResponseDTO();
+            result.setScore(score);
+            result.setFeedBack(feedBack);
+            upload.result.complete(result);
+        }
+    }
+
+    public void publishFailure(String username, String contentHash, String feedBack) {
+        InFlightUpload upload = inFlight.remove(key(username, contentHash));
+        if (upload != null) {
+            upload.result.completeExceptionally(new IllegalStateException(feedBack));
+        }
+    }
+
+    // 분석이 재시도 대기열로 넘어갔으면 기다리던 업로드를 풀어 준다 (재시도는 다른 노드에서 끝날 수 있다)
+    public void publishDeferred(String username, String contentHash, AnalysisJob job) {
+        InFlightUpload upload = inFlight.remove(key(username, contentHash));
+        if (upload != null) {
+            upload.result.completeExceptionally(new AnalysisDeferredException(job));
+        }
+    }
+
+    private Optional<DedupClaim> findDone(String username, String contentHash) {
+        Optional<SquatVideo> done = squatVideoRepository.findFirstByUsernameAndContentHashAndStatusOrderByVideoIdDesc(
+                username, contentHash, Status.DONE);
+        if (done.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<AnalysisResult> result = analysisResultRepository.findTopByVideoIdOrderByAnalysisIdDesc(done.get().getVideoId());
+        return result.map(r -> DedupClaim.reused(done.get().getS3Url(), r.getScore(), r.getFeedback()));
+    }
+
+    // 해시는 고정 길이 hex 라 구분자가 사용자명과 섞이지 않는다
+    private static String key(String username, String contentHash) {
+        return username + ":" + contentHash;
+    }
+
+    private static class InFlightUpload {
+        private final String s3Url;
+        private final CompletableFuture<UploadResponseDTO> result = new CompletableFuture<>();
+
+        private InFlightUpload(String s3Url) {
+            this.s3Url = s3Url;
+        }
+    }
+}
@@ -5,12 +5,13 @@ import opensource.opensource_project.dto.CustomUserDetails;
 import opensource.opensource_project.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -28,4 +29,18 @@ public class CustomUserDetailsService implements UserDetailsService {
         }
         return null;
     }
+
+    // 로그인 성공 후 저장된 해시의 BCrypt cost 가 현재 설정보다 낮으면 DaoAuthenticationProvider 가 새 해시로 호출한다
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        // 해시 스레드 풀이 바빠 재해시를 건너뛰면 기존 해시가 그대로 넘어온다
+        if (newPassword.equals(user.getPassword())) {
+            return user;
+        }
+        if (userRepository.updatePassword(user.getUsername(), newPassword) == 0) {
+            return user;
+        }
+        User userData = userRepository.findByUsername(user.getUsername());
+        return userData != null ? new CustomUserDetails(userData) : user;
+    }
 }
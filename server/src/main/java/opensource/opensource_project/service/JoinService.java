@@ -4,19 +4,19 @@ import opensource.opensource_project.domain.user.entity.User;
 import opensource.opensource_project.dto.JoinDTO;
 import opensource.opensource_project.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
 public class JoinService {
 
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final PasswordEncoder passwordEncoder;
 
     @Autowired
-    public JoinService(UserRepository userRepository, BCryptPasswordEncoder bCryptPasswordEncoder) {
+    public JoinService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
-        this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+        this.passwordEncoder = passwordEncoder;
     }
 
     public void joinProcess(JoinDTO joinDTO) {
@@ -33,7 +33,8 @@ public class JoinService {
         User data = new User();
 
         data.setUsername(username);
-        data.setPassword(bCryptPasswordEncoder.encode(password));
+        // 해시 스레드 풀이 포화면 PasswordEncoderBusyException (503)
+        data.setPassword(passwordEncoder.encode(password));
         data.setRealName(realName);
         data.setRole("ROLE_USER");
 
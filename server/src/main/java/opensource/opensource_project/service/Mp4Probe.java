@@ -0,0 +1,292 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.dto.VideoMetadata;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+// MP4/MOV(ISO-BMFF) 헤더만 읽어 영상 여부와 길이, 프레임 레이트, 해상도를 확인
+// mdat 등 필요 없는 박스는 skip 으로 건너뛰므로 moov 가 파일 끝에 있어도 읽는 양은 수 KB 수준
+@Component
+public class Mp4Probe {
+
+    // 헤더 파싱에 실제로 읽을 수 있는 최대 바이트 (skip 은 제외)
+    @Value("${upload.probe.max-read-bytes:1048576}")
+    private long maxReadBytes;
+
+    @Value("${upload.probe.max-duration-seconds:600}")
+    private long maxDurationSeconds;
+
+    public VideoMetadata probe(InputStream inputStream) throws IOException {
+        try {
+            return parse(inputStream);
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("손상된 영상 파일입니다");
+        }
+    }
+
+    private VideoMetadata parse(InputStream inputStream) throws IOException {
+        BoxReader reader = new BoxReader(inputStream, maxReadBytes);
+        ProbeState state = new ProbeState();
+
+        boolean first = true;
+        while (state.movieTimescale == 0 || state.video == null) {
+            Box box = reader.nextBox(Long.MAX_VALUE);
+            if (box == null) {
+                break;
+            }
+            if (first && !isLeadingBox(box.type)) {
+                throw new IllegalArgumentException("MP4/MOV 영상이 아닙니다");
+            }
+            first = false;
+
+            switch (box.type) {
+                case "ftyp" -> state.majorBrand = reader.readType();
+                case "moov" -> parseMoov(reader, box.end, state);
+                default -> { }
+            }
+            if (box.end == Long.MAX_VALUE) {
+                // 크기가 0 인 박스는 파일 끝까지 이어진다
+                break;
+            }
+            reader.skipTo(box.end);
+        }
+
+        if (first) {
+            throw new IllegalArgumentException("빈 파일입니다");
+        }
+        if (state.movieTimescale == 0) {
+            throw new IllegalArgumentException("영상 정보(moov)를 찾을 수 없습니다");
+        }
+        if (state.video == null || state.video.timescale == 0 || state.video.duration <= 0 || state.video.sampleCount <= 0) {
+            throw new IllegalArgumentException("영상 트랙이 없습니다");
+        }
+
+        long durationMs = toMillis(state.movieDuration, state.movieTimescale);
+        if (durationMs <= 0) {
+            durationMs = toMillis(state.video.duration, state.video.timescale);
+        }
+        if (durationMs > maxDurationSeconds * 1000) {
+            throw new IllegalArgumentException("영상 길이는 최대 " + maxDurationSeconds + "초입니다");
+        }
+
+        float frameRate = (float) (state.video.sampleCount * (double) state.video.timescale / state.video.duration);
+        return new VideoMetadata(state.majorBrand, durationMs, frameRate, state.video.sampleCount,
+                state.video.width, state.video.height);
+    }
+
+    // version 1 의 64비트 duration 에 1000 을 곱하면 넘칠 수 있으므로 초 단위로 먼저 나눈다
+    private static long toMillis(long duration, long timescale) {
+        if (duration / timescale >= Long.MAX_VALUE / 1000) {
+            return Long.MAX_VALUE;
+        }
+        return duration / timescale * 1000 + duration % timescale * 1000 / timescale;
+    }
+
+    // ftyp 이 없는 오래된 QuickTime 파일은 wide/free/mdat/moov 로 시작한다
+    private boolean isLeadingBox(String type) {
+        return switch (type) {
+            case "ftyp", "wide", "free", "skip", "mdat", "moov", "pnot" -> true;
+            default -> false;
+        };
+    }
+
+    private void parseMoov(BoxReader reader, long end, ProbeState state) throws IOException {
+        Box box;
+        while ((box = reader.nextBox(end)) != null) {
+            switch (box.type) {
+                case "mvhd" -> {
+                    int version = reader.readVersion();
+                    reader.skip(version == 1 ? 16 : 8);
+                    state.movieTimescale = reader.readUInt32();
+                    state.movieDuration = version == 1 ? reader.readInt64() : reader.readUInt32();
+                }
+                case "trak" -> {
+                    Track track = new Track();
+                    parseTrak(reader, box.end, "trak", track);
+                    if (state.video == null && "vide".equals(track.handler)) {
+                        state.video = track;
+                    }
+                }
+                default -> { }
+            }
+            reader.skipTo(box.end);
+        }
+    }
+
+    // trak > tkhd, mdia > mdhd/hdlr, minf > stbl > stts 만 읽는다
+    // parent 는 지금 읽는 박스들의 부모 박스 종류
+    private void parseTrak(BoxReader reader, long end, String parent, Track track) throws IOException {
+        Box box;
+        while ((box = reader.nextBox(end)) != null) {
+            switch (box.type) {
+                case "tkhd" -> {
+                    int version = reader.readVersion();
+                    reader.skip(version == 1 ? 32 : 20);
+                    // reserved, layer, alternate group, volume, reserved, matrix
+                    reader.skip(8 + 2 + 2 + 2 + 2 + 36);
+                    track.width = (int) (reader.readUInt32() >>> 16);
+                    track.height = (int) (reader.readUInt32() >>> 16);
+                }
+                case "mdhd" -> {
+                    int version = reader.readVersion();
+                    reader.skip(version == 1 ? 16 : 8);
+                    track.timescale = reader.readUInt32();
+                    track.duration = version == 1 ? reader.readInt64() : reader.readUInt32();
+                }
+                // QuickTime 은 minf 안에도 데이터 핸들러(dhlr: alis/url) hdlr 를 두므로 mdia 바로 아래 것만 트랙 종류로 본다
+                case "hdlr" -> {
+                    if (parent.equals("mdia")) {
+                        reader.readVersion();
+                        reader.skip(4);
+                        track.handler = reader.readType();
+                    }
+                }
+                case "stts" -> {
+                    reader.readVersion();
+                    long entries = reader.readUInt32();
+                    if (entries > (box.end - reader.position) / 8) {
+                        throw new IllegalArgumentException("손상된 영상 파일입니다");
+                    }
+                    long sampleCount = 0;
+                    for (long i = 0; i < entries; i++) {
+                        sampleCount += reader.readUInt32();
+                        reader.skip(4);
+                    }
+                    track.sampleCount = sampleCount;
+                }
+                case "mdia", "minf", "stbl" -> parseTrak(reader, box.end, box.type, track);
+                default -> { }
+            }
+            reader.skipTo(box.end);
+        }
+    }
+
+    private static class ProbeState {
+        private String majorBrand;
+        private long movieTimescale;
+        private long movieDuration;
+        private Track video;
+    }
+
+    private static class Track {
+        private String handler;
+        private long timescale;
+        private long duration;
+        private long sampleCount;
+        private int width;
+        private int height;
+    }
+
+    private record Box(String type, long end) {
+    }
+
+    // 현재 위치를 추적하며 박스 헤더를 읽는 리더. 읽은 바이트가 한도를 넘으면 거절
+    private static class BoxReader {
+        private final DataInputStream in;
+        private final long maxReadBytes;
+        private long position;
+        private long readBytes;
+
+        private BoxReader(InputStream inputStream, long maxReadBytes) {
+            this.in = new DataInputStream(inputStream);
+            this.maxReadBytes = maxReadBytes;
+        }
+
+        // parentEnd 안의 다음 박스. 더 없으면 null
+        private Box nextBox(long parentEnd) throws IOException {
+            if (position + 8 > parentEnd) {
+                return null;
+            }
+            long start = position;
+            long size;
+            try {
+                size = readUInt32();
+            } catch (EOFException e) {
+                if (parentEnd == Long.MAX_VALUE && position == start) {
+                    return null;
+                }
+                throw new IllegalArgumentException("손상된 영상 파일입니다");
+            }
+            String type = readType();
+            if (size == 1) {
+                size = readInt64();
+            } else if (size == 0) {
+                // 파일 끝까지 이어지는 박스
+                return new Box(type, parentEnd);
+            }
+            long end = start + size;
+            if (size < position - start || end > parentEnd || end < start) {
+                throw new IllegalArgumentException("손상된 영상 파일입니다");
+            }
+            return new Box(type, end);
+        }
+
+        private int readVersion() throws IOException {
+            // version(1) + flags(3)
+            return (int) (readUInt32() >>> 24);
+        }
+
+        private String readType() throws IOException {
+            byte[] type = new byte[4];
+            count(4);
+            in.readFully(type);
+            position += 4;
+            return new String(type, StandardCharsets.ISO_8859_1);
+        }
+
+        private long readUInt32() throws IOException {
+            count(4);
+            long value = in.readInt() & 0xFFFFFFFFL;
+            position += 4;
+            return value;
+        }
+
+        private long readInt64() throws IOException {
+            count(8);
+            long value = in.readLong();
+            position += 8;
+            return value;
+        }
+
+        private void skip(long bytes) throws IOException {
+            // 작은 필드는 읽어서 넘기고, 큰 박스는 스트림 skip 으로 건너뜀
+            while (bytes > 0) {
+                long skipped = in.skip(bytes);
+                if (skipped <= 0) {
+                    if (in.read() == -1) {
+                        throw new EOFException();
+                    }
+                    skipped = 1;
+                }
+                bytes -= skipped;
+                position += skipped;
+            }
+        }
+
+        private void skipTo(long end) throws IOException {
+            if (end == Long.MAX_VALUE) {
+                return;
+            }
+            if (position > end) {
+                // 필드를 읽다가 박스 크기를 넘어섰다
+                throw new IllegalArgumentException("손상된 영상 파일입니다");
+            }
+            if (end > position) {
+                skip(end - position);
+            }
+        }
+
+        private void count(int bytes) {
+            readBytes += bytes;
+            if (readBytes > maxReadBytes) {
+                throw new IllegalArgumentException("영상 헤더가 너무 큽니다");
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.domain.squat_videos.entity.SquatVideo;
+import opensource.opensource_project.domain.squat_videos.squat_video_constants.Status;
+import opensource.opensource_project.dto.AnalysisEventDTO;
+import opensource.opensource_project.dto.AnalysisJob;
+import opensource.opensource_project.dto.PresignedUploadDTO;
+import opensource.opensource_project.dto.VideoMetadata;
+import opensource.opensource_project.repository.SquatVideoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+// 영상 바이트는 클라이언트 -> S3 -> 분석 서버로 직접 흐르고 앱 서버는 메타데이터만 다룬다
+@Service
+public class PresignedUploadService {
+
+    private final S3PresignService s3PresignService;
+    private final SquatVideoRepository squatVideoRepository;
+    private final Mp4Probe mp4Probe;
+    private final AnalysisOutboxService analysisOutboxService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // presigned PUT 은 크기를 강제할 수 없으므로 완료 시 실제 객체 크기로 확인 (분석 서버 한도 100MB 이하)
+    @Value("${upload.presigned.max-size:${upload.max-size:104857600}}")
+    private long maxSize;
+
+    @Value("${upload.presigned.max-pending-per-user:3}")
+    private int maxPendingPerUser;
+
+    @Value("${upload.presigned.purge-batch-size:100}")
+    private int purgeBatchSize;
+
+    public PresignedUploadService(S3PresignService s3PresignService, SquatVideoRepository squatVideoRepository, Mp4Probe mp4Probe,
+                                  AnalysisOutboxService analysisOutboxService, ApplicationEventPublisher eventPublisher) {
+        this.s3PresignService = s3PresignService;
+        this.squatVideoRepository = squatVideoRepository;
+        this.mp4Probe = mp4Probe;
+        this.analysisOutboxService = analysisOutboxService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // 영상 행을 UPLOADING 으로 먼저 만들고 그 키로 PUT URL 발급
+    public PresignedUploadDTO create(String username, String fileName, Long totalSize) {
+        if (fileName == null || fileName.isBlank()) {
+            throw new IllegalArgumentException("파일명을 확인할 수 없습니다.");
+        }
+        if (totalSize == null || totalSize <= 0 || totalSize > maxSize) {
+            throw new IllegalArgumentException("파일 크기는 최대 " + maxSize + " 바이트입니다.");
+        }
+        if (squatVideoRepository.countByUsernameAndStatus(username, Status.UPLOADING) >= maxPendingPerUser) {
+            throw new IllegalStateException("진행 중인 업로드가 너무 많습니다");
+        }
+
+        // 완료 시 실제 컨테이너로 다시 확인하므로 여기서는 파일명만 본다
+        String extension = fileName.toLowerCase(Locale.ROOT).endsWith(".mov") ? ".mov" : ".mp4";
+        String contentType = extension.equals(".mov") ? "video/quicktime" : "video/mp4";
+        String key = UUID.randomUUID() + extension;
+
+        SquatVideo video = new SquatVideo();
+        video.setUsername(username);
+        video.setOriginalFilename(fileName);
+        video.setS3Key(key);
+        video.setS3Url(s3PresignService.getUrl(key));
+        video.setExtension(extension);
+        video.setStatus(Status.UPLOADING);
+        SquatVideo saved = squatVideoRepository.save(video);
+
+        Date expiresAt = new Date(System.currentTimeMillis() + s3PresignService.getPutTtlSeconds() * 1000);
+
+        PresignedUploadDTO responseDTO = new PresignedUploadDTO();
+        responseDTO.setVideoId(saved.getVideoId());
+        responseDTO.setStatus(Status.UPLOADING);
+        responseDTO.setUploadUrl(s3PresignService.presignPut(key, contentType, expiresAt));
+        responseDTO.setContentType(contentType);
+        responseDTO.setExpiresAt(expiresAt.getTime());
+        return responseDTO;
+    }
+
+    // 업로드된 객체의 크기와 헤더만 범위 GET 으로 확인
+    // 객체가 아직 없으면 IllegalStateException, 영상이 아니면 IllegalArgumentException
+    public VideoMetadata inspect(SquatVideo video) throws IOException {
+        Long size = s3PresignService.objectSize(video.getS3Key())
+                .orElseThrow(() -> new IllegalStateException("S3 업로드가 아직 완료되지 않았습니다"));
+        if (size > maxSize) {
+            throw new IllegalArgumentException("파일 크기는 최대 " + maxSize + " 바이트입니다.");
+        }
+        try (InputStream in = s3PresignService.openRange(video.getS3Key(), size)) {
+            return mp4Probe.probe(in);
+        }
+    }
+
+    // UPLOADING -> PENDING 으로 바꾼 요청만 분석을 시작한다. 작업 행도 같은 트랜잭션으로 남긴다
+    @Transactional
+    public boolean markPending(AnalysisJob job, VideoMetadata metadata) {
+        Long videoId = job.getVideoId();
+        if (squatVideoRepository.updateStatus(videoId, Status.UPLOADING, Status.PENDING) == 0) {
+            return false;
+        }
+        SquatVideo video = squatVideoRepository.findById(videoId)
+                .orElseThrow(() -> new IllegalStateException("영상 정보를 찾을 수 없습니다: " + videoId));
+        video.setDurationMs(metadata.getDurationMs());
+        video.setFrameRate(metadata.getFrameRate());
+        video.setWidth(metadata.getWidth());
+        video.setHeight(metadata.getHeight());
+        video.setEstimatedCost(metadata.getEstimatedCost());
+        analysisOutboxService.track(job);
+        eventPublisher.publishEvent(new AnalysisEventDTO(video.getUsername(), videoId, Status.PENDING));
+        return true;
+    }
+
+    // 영상이 아닌 객체는 지우고 실패 처리
+    public void reject(SquatVideo video) {
+        if (squatVideoRepository.updateStatus(video.getVideoId(), Status.UPLOADING, Status.FAILED) > 0) {
+            s3PresignService.delete(video.getS3Key());
+        }
+    }
+
+    // URL 이 만료된 뒤에도 완료되지 않은 업로드 정리
+    @Scheduled(fixedDelayString = "${upload.presigned.purge-interval-ms:300000}")
+    public void purgeExpired() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minusSeconds(s3PresignService.getPutTtlSeconds() * 2);
+        List<SquatVideo> expired = squatVideoRepository.findByStatusAndUploadedAtBefore(Status.UPLOADING, expiredBefore,
+                PageRequest.of(0, purgeBatchSize));
+        expired.forEach(this::reject);
+    }
+}
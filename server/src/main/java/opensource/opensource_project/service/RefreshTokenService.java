@@ -0,0 +1,54 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.domain.refresh_token.entity.Refresh;
+import opensource.opensource_project.jwt.TokenDigest;
+import opensource.opensource_project.repository.RefreshRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class RefreshTokenService {
+
+    private final RefreshRepository refreshRepository;
+
+    @Value("${refresh.purge.batch-size:1000}")
+    private int purgeBatchSize;
+
+    @Value("${refresh.purge.max-batches:100}")
+    private int purgeMaxBatches;
+
+    public RefreshTokenService(RefreshRepository refreshRepository) {
+        this.refreshRepository = refreshRepository;
+    }
+
+    public void save(String username, String refresh, Long expireMs) {
+        Refresh refreshToken = new Refresh();
+        refreshToken.setUsername(username);
+        refreshToken.setTokenDigest(TokenDigest.sha256Hex(refresh));
+        refreshToken.setExpiresAt(System.currentTimeMillis() + expireMs);
+
+        refreshRepository.save(refreshToken);
+    }
+
+    public boolean exists(String refresh) {
+        return refreshRepository.existsByTokenDigest(TokenDigest.sha256Hex(refresh));
+    }
+
+    // 삭제된 행이 있으면 true (동시에 같은 토큰을 두 번 사용하면 한쪽만 성공)
+    public boolean delete(String refresh) {
+        return refreshRepository.deleteByTokenDigest(TokenDigest.sha256Hex(refresh)) > 0;
+    }
+
+    // 만료된 토큰을 batch-size 단위로 나눠 삭제해 긴 락을 피한다
+    @Scheduled(fixedDelayString = "${refresh.purge.interval-ms:3600000}", initialDelayString = "${refresh.purge.initial-delay-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        for (int batch = 0; batch < purgeMaxBatches; batch++) {
+            int deleted = refreshRepository.deleteExpired(now, purgeBatchSize);
+            if (deleted < purgeBatchSize) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package opensource.opensource_project.service;
+
+import com.amazonaws.AmazonClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+@Service
+public class S3MultipartUploader {
+
+    // S3 multipart 의 최소 파트 크기 (마지막 파트 제외)
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    private final AmazonS3 amazonS3Client;
+    private final ThreadPoolTaskExecutor s3PartExecutor;
+    private final long partSize;
+    private final int concurrency;
+    private final long threshold;
+    private final int maxPartRetries;
+
+    public S3MultipartUploader(AmazonS3 amazonS3Client,
+                               @Qualifier("s3PartExecutor") ThreadPoolTaskExecutor s3PartExecutor,
+                               @Value("${cloud.aws.s3.multipart.part-size:8388608}") long partSize,
+                               @Value("${cloud.aws.s3.multipart.concurrency:4}") int concurrency,
+                               @Value("${cloud.aws.s3.multipart.threshold:16777216}") long threshold,
+                               @Value("${cloud.aws.s3.multipart.max-part-retries:3}") int maxPartRetries) {
+        this.amazonS3Client = amazonS3Client;
+        this.s3PartExecutor = s3PartExecutor;
+        this.partSize = Math.max(partSize, MIN_PART_SIZE);
+        this.concurrency = Math.max(concurrency, 1);
+        this.threshold = Math.max(threshold, this.partSize);
+        this.maxPartRetries = Math.max(maxPartRetries, 0);
+    }
+
+    // threshold 미만은 단일 PUT, 이상은 파트 단위 병렬 업로드
+    public void upload(String bucket, String key, InputStream inputStream, long size, String contentType) throws IOException {
+        upload(bucket, key, inputStream, size, contentType, () -> true);
+    }
+
+    // multipart 인 경우 모든 파트를 올린 뒤 commitGate 가 false 면 complete 대신 abort 한다 (커밋 여부 반환)
+    public boolean upload(String bucket, String key, InputStream inputStream, long size, String contentType,
+                          BooleanSupplier commitGate) throws IOException {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+
+        if (size < threshold) {
+            metadata.setContentLength(size);
+            amazonS3Client.putObject(new PutObjectRequest(bucket, key, inputStream, metadata));
+            return true;
+        }
+
+        String uploadId = amazonS3Client
+                .initiateMultipartUpload(new InitiateMultipartUploadRequest(bucket, key, metadata))
+                .getUploadId();
+
+        try {
+            List<PartETag> partETags = uploadParts(bucket, key, uploadId, inputStream, size);
+            if (!commitGate.getAsBoolean()) {
+                abortQuietly(bucket, key, uploadId);
+                return false;
+            }
+            amazonS3Client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, partETags));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            abortQuietly(bucket, key, uploadId);
+            throw e;
+        }
+    }
+
+    public boolean isMultipart(long size) {
+        return size >= threshold;
+    }
+
+    private List<PartETag> uploadParts(String bucket, String key, String uploadId, InputStream inputStream, long size) throws IOException {
+        // 동시에 메모리에 올라가는 파트 수를 concurrency 로 제한
+        Semaphore inFlight = new Semaphore(concurrency);
+        List<Future<PartETag>> futures = new ArrayList<>();
+        AtomicReference<RuntimeException> partFailure = new AtomicReference<>();
+
+        try {
+            long remaining = size;
+            int partNumber = 1;
+            while (remaining > 0) {
+                int length = (int) Math.min(partSize, remaining);
+                acquire(inFlight);
+
+                // 재시도까지 실패한 파트가 있으면 나머지를 읽지 않고 중단
+                if (partFailure.get() != null) {
+                    inFlight.release();
+                    throw partFailure.get();
+                }
+
+                byte[] part;
+                try {
+                    part = inputStream.readNBytes(length);
+                } catch (IOException e) {
+                    inFlight.release();
+                    throw e;
+                }
+                if (part.length < length) {
+                    inFlight.release();
+                    throw new IOException("업로드 스트림이 예상보다 일찍 끝났습니다");
+                }
+
+                UploadPartRequest partRequest = new UploadPartRequest()
+                        .withBucketName(bucket)
+                        .withKey(key)
+                        .withUploadId(uploadId)
+                        .withPartNumber(partNumber)
+                        .withPartSize(length)
+                        .withLastPart(remaining == length);
+
+                futures.add(s3PartExecutor.submit(() -> {
+                    try {
+                        return uploadPartWithRetry(partRequest, part);
+                    } catch (RuntimeException e) {
+                        partFailure.compareAndSet(null, e);
+                        throw e;
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+
+                remaining -= length;
+                partNumber++;
+            }
+
+            List<PartETag> partETags = new ArrayList<>(futures.size());
+            for (Future<PartETag> future : futures) {
+                partETags.add(await(future));
+            }
+            partETags.sort(Comparator.comparingInt(PartETag::getPartNumber));
+            return partETags;
+        } catch (IOException | RuntimeException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+    }
+
+    // 실패한 파트만 다시 보낸다 (이미 성공한 파트는 재전송하지 않음)
+    private PartETag uploadPartWithRetry(UploadPartRequest partRequest, byte[] part) throws InterruptedException {
+        int attempt = 0;
+        while (true) {
+            try {
+                partRequest.setInputStream(new ByteArrayInputStream(part));
+                return amazonS3Client.uploadPart(partRequest).getPartETag();
+            } catch (AmazonClientException e) {
+                if (attempt >= maxPartRetries || !e.isRetryable()) {
+                    throw e;
+                }
+                attempt++;
+                System.err.println("S3 파트 재시도 " + partRequest.getPartNumber() + " (" + attempt + "/" + maxPartRetries + "): " + e.getMessage());
+                Thread.sleep(200L << Math.min(attempt, 5));
+            }
+        }
+    }
+
+    private void acquire(Semaphore semaphore) throws InterruptedIOException {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("파트 업로드 대기 중단");
+        }
+    }
+
+    private PartETag await(Future<PartETag> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("파트 업로드 대기 중단");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("S3 파트 업로드 실패", cause);
+        }
+    }
+
+    private void abortQuietly(String bucket, String key, String uploadId) {
+        try {
+            amazonS3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+        } catch (RuntimeException e) {
+            System.err.println("multipart 업로드 중단 실패: " + uploadId + " - " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package opensource.opensource_project.service;
+
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.util.Date;
+import java.util.Optional;
+
+// 클라이언트/분석 서버가 앱 서버를 거치지 않고 S3 에 직접 접근하도록 presigned URL 발급
+@Service
+public class S3PresignService {
+
+    private final AmazonS3 amazonS3Client;
+
+    @Value("${cloud.aws.s3.bucket}")
+    private String bucket;
+
+    @Value("${upload.presigned.put-ttl-seconds:900}")
+    private long putTtlSeconds;
+
+    // 분석 서버가 영상을 내려받을 URL 유효 시간 (분석 요청 직전에 발급)
+    @Value("${analysis.remote.url-ttl-seconds:600}")
+    private long getTtlSeconds;
+
+    // 헤더 확인용 범위 GET 크기
+    @Value("${upload.presigned.probe-window:65536}")
+    private int probeWindow;
+
+    public S3PresignService(AmazonS3 amazonS3Client) {
+        this.amazonS3Client = amazonS3Client;
+    }
+
+    public long getPutTtlSeconds() {
+        return putTtlSeconds;
+    }
+
+    public String getUrl(String key) {
+        return amazonS3Client.getUrl(bucket, key).toString();
+    }
+
+    // Content-Type 도 서명에 포함되므로 클라이언트는 같은 헤더로 PUT 해야 한다
+    public String presignPut(String key, String contentType, Date expiresAt) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, key)
+                .withMethod(HttpMethod.PUT)
+                .withContentType(contentType)
+                .withExpiration(expiresAt);
+        return amazonS3Client.generatePresignedUrl(request).toString();
+    }
+
+    public String presignGet(String key) {
+        Date expiresAt = new Date(System.currentTimeMillis() + getTtlSeconds * 1000);
+        return amazonS3Client.generatePresignedUrl(bucket, key, expiresAt, HttpMethod.GET).toString();
+    }
+
+    // 객체가 아직 없으면 empty
+    public Optional<Long> objectSize(String key) {
+        try {
+            return Optional.of(amazonS3Client.getObjectMetadata(bucket, key).getContentLength());
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    public InputStream openRange(String key, long size) {
+        return new S3RangeInputStream(amazonS3Client, bucket, key, size, probeWindow);
+    }
+
+    public void delete(String key) {
+        try {
+            amazonS3Client.deleteObject(bucket, key);
+        } catch (RuntimeException e) {
+            System.err.println("S3 객체 삭제 실패: " + key + " - " + e.getMessage());
+        }
+    }
+}
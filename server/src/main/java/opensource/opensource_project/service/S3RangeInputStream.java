@@ -0,0 +1,104 @@
+package opensource.opensource_project.service;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.S3ObjectInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// S3 객체를 범위 GET 으로 나눠 읽는 스트림
+// skip 은 요청 없이 위치만 옮기므로 헤더 파싱처럼 일부만 필요한 경우 객체 전체를 내려받지 않는다
+class S3RangeInputStream extends InputStream {
+
+    private final AmazonS3 amazonS3Client;
+    private final String bucket;
+    private final String key;
+    private final long size;
+    private final int window;
+
+    private long position;
+    private S3ObjectInputStream current;
+    private long currentEnd;
+
+    S3RangeInputStream(AmazonS3 amazonS3Client, String bucket, String key, long size, int window) {
+        this.amazonS3Client = amazonS3Client;
+        this.bucket = bucket;
+        this.key = key;
+        this.size = size;
+        this.window = window;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int read = read(single, 0, 1);
+        return read == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (position >= size) {
+            return -1;
+        }
+        if (current == null || position >= currentEnd) {
+            open();
+        }
+        int read = current.read(buffer, offset, (int) Math.min(length, currentEnd - position));
+        if (read == -1) {
+            release();
+            return -1;
+        }
+        position += read;
+        return read;
+    }
+
+    @Override
+    public long skip(long bytes) throws IOException {
+        long skipped = Math.min(bytes, size - position);
+        if (skipped <= 0) {
+            return 0;
+        }
+        if (current != null && position + skipped < currentEnd) {
+            // 현재 범위 안이면 이미 받은 바이트를 넘긴다
+            skipped = current.skip(skipped);
+        } else {
+            release();
+        }
+        position += skipped;
+        return skipped;
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+
+    private void open() {
+        release();
+        long end = Math.min(size, position + window) - 1;
+        GetObjectRequest request = new GetObjectRequest(bucket, key).withRange(position, end);
+        current = amazonS3Client.getObject(request).getObjectContent();
+        currentEnd = end + 1;
+    }
+
+    // 범위를 다 읽었으면 커넥션을 풀에 돌려주고, 아니면 남은 바이트를 받지 않도록 연결을 끊는다
+    private void release() {
+        if (current == null) {
+            return;
+        }
+        if (position >= currentEnd) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                current.abort();
+            }
+        } else {
+            current.abort();
+        }
+        current = null;
+    }
+}
@@ -0,0 +1,249 @@
+package opensource.opensource_project.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import opensource.opensource_project.config.BoundedPasswordEncoder;
+import opensource.opensource_project.config.IdSequenceInitializer;
+import opensource.opensource_project.dto.JoinDTO;
+import opensource.opensource_project.dto.UserImportRowDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+// 관리자 일괄 가입: CSV(username,password,realName) 또는 NDJSON({"username", "password", "realName"}) 을 줄 단위로 읽는다
+// batch-size 줄씩 비밀번호를 병렬로 해시하고 INSERT IGNORE 배치 한 번으로 넣는다
+// 이미 있는 아이디는 미리 조회하지 않고 username unique 제약으로 걸러 DUPLICATE 로 보고한다
+@Service
+public class UserImportService {
+
+    public static final String ACCEPTED = "ACCEPTED";
+    public static final String DUPLICATE = "DUPLICATE";
+    public static final String INVALID = "INVALID";
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String INSERT_SQL = "INSERT IGNORE INTO `user` (user_id, username, password, real_name, role, joined_at) " +
+            "VALUES (?, ?, ?, ?, 'ROLE_USER', ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    // 로그인 검증과 같은 cost 로 해시하되, 로그인용 스레드 풀(대기열)은 쓰지 않는다
+    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+
+    @Value("${admin.import.batch-size:200}")
+    private int batchSize;
+
+    // 0 이면 CPU 코어의 절반 (나머지는 로그인 검증 몫)
+    @Value("${admin.import.hash-parallelism:0}")
+    private int hashParallelism;
+
+    public UserImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                             BoundedPasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.bCryptPasswordEncoder = new BCryptPasswordEncoder(passwordEncoder.getStrength());
+    }
+
+    // 줄마다 결과를 돌려준다 (빈 줄과 CSV 머리글은 건너뜀)
+    public List<UserImportRowDTO> importUsers(BufferedReader reader, Format format) throws IOException, InterruptedException {
+        int parallelism = hashParallelism > 0 ? hashParallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        List<UserImportRowDTO> results = new ArrayList<>();
+        // 파일 안에서 같은 아이디가 다시 나오면 뒤의 것을 DUPLICATE 로
+        Set<String> seen = new HashSet<>();
+        try {
+            List<UserImportRowDTO> batch = new ArrayList<>(batchSize);
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (format == Format.CSV && lineNumber == 1 && isCsvHeader(line))) {
+                    continue;
+                }
+                UserImportRowDTO row = parse(lineNumber, line, format);
+                results.add(row);
+                if (row.getStatus() == null && !seen.add(row.getUsername())) {
+                    reject(row, DUPLICATE, "파일 안에서 중복된 아이디");
+                }
+                if (row.getStatus() == null) {
+                    batch.add(row);
+                }
+                if (batch.size() >= batchSize) {
+                    insert(pool, batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            insert(pool, batch);
+        } finally {
+            pool.shutdown();
+        }
+        return results;
+    }
+
+    private void insert(ForkJoinPool pool, List<UserImportRowDTO> batch) throws InterruptedException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            pool.submit(() -> batch.parallelStream().forEach(row ->
+                    row.setEncodedPassword(bCryptPasswordEncoder.encode(row.getPassword())))).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("비밀번호 해시 실패", e.getCause());
+        }
+
+        long firstId = reserveIds(batch.size());
+        Timestamp joinedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            UserImportRowDTO row = batch.get(i);
+            args.add(new Object[]{firstId + i, row.getUsername(), row.getEncodedPassword(), row.getRealName(), joinedAt});
+        }
+
+        // 배치 전체를 한 트랜잭션(커밋 한 번)으로
+        int[] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT_SQL, args));
+        Map<String, Long> storedIds = null;
+        for (int i = 0; i < batch.size(); i++) {
+            UserImportRowDTO row = batch.get(i);
+            boolean inserted;
+            if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                // rewriteBatchedStatements=true 면 행별 결과가 없으므로 저장된 id 가 우리가 준 id 인지로 판단
+                if (storedIds == null) {
+                    storedIds = storedIds(batch);
+                }
+                inserted = Long.valueOf(firstId + i).equals(storedIds.get(row.getUsername()));
+            } else {
+                inserted = counts[i] > 0;
+            }
+            if (inserted) {
+                row.setStatus(ACCEPTED);
+            } else {
+                reject(row, DUPLICATE, "이미 있는 아이디");
+            }
+            row.setPassword(null);
+            row.setEncodedPassword(null);
+        }
+    }
+
+    // user_seq 에서 count 개의 id 를 한 번에 가져온다
+    // Hibernate pooled 최적화는 읽은 값 v 에 대해 (v - allocationSize, v] 를 쓰므로 그보다 위인 v - allocationSize + 1 부터 쓴다
+    private long reserveIds(int count) {
+        Long reserved = transactionTemplate.execute(status -> {
+            Long next = jdbcTemplate.queryForObject("SELECT next_val FROM user_seq FOR UPDATE", Long.class);
+            jdbcTemplate.update("UPDATE user_seq SET next_val = ?", next + count);
+            return next;
+        });
+        return reserved - IdSequenceInitializer.ALLOCATION_SIZE + 1;
+    }
+
+    private Map<String, Long> storedIds(List<UserImportRowDTO> batch) {
+        List<String> usernames = batch.stream().map(UserImportRowDTO::getUsername).toList();
+        String placeholders = String.join(",", Collections.nCopies(usernames.size(), "?"));
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT username, user_id FROM `user` WHERE username IN (" + placeholders + ")",
+                resultSet -> {
+                    ids.put(resultSet.getString(1), resultSet.getLong(2));
+                }, usernames.toArray());
+        return ids;
+    }
+
+    private UserImportRowDTO parse(int lineNumber, String line, Format format) {
+        UserImportRowDTO row = new UserImportRowDTO(lineNumber);
+        JoinDTO joinDTO;
+        if (format == Format.NDJSON) {
+            try {
+                joinDTO = objectMapper.readValue(line, JoinDTO.class);
+            } catch (JsonProcessingException e) {
+                reject(row, INVALID, "JSON 형식 오류");
+                return row;
+            }
+        } else {
+            List<String> fields = splitCsv(line);
+            if (fields == null || fields.size() != 3) {
+                reject(row, INVALID, "username,password,realName 세 칸이 필요합니다");
+                return row;
+            }
+            joinDTO = new JoinDTO();
+            joinDTO.setUsername(fields.get(0));
+            joinDTO.setPassword(fields.get(1));
+            joinDTO.setRealName(fields.get(2));
+        }
+
+        String username = joinDTO.getUsername() == null ? null : joinDTO.getUsername().trim();
+        String realName = joinDTO.getRealName() == null ? null : joinDTO.getRealName().trim();
+        row.setUsername(username);
+        row.setPassword(joinDTO.getPassword());
+        row.setRealName(realName);
+
+        // User 엔티티 컬럼 길이 (INSERT IGNORE 는 길이 초과를 잘라서 넣으므로 미리 거른다)
+        if (username == null || username.isEmpty() || username.length() > 50) {
+            reject(row, INVALID, "아이디는 1~50자");
+        } else if (joinDTO.getPassword() == null || joinDTO.getPassword().isEmpty()) {
+            reject(row, INVALID, "비밀번호가 비어 있습니다");
+        } else if (realName == null || realName.isEmpty() || realName.length() > 100) {
+            reject(row, INVALID, "이름은 1~100자");
+        }
+        return row;
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return line.replace(" ", "").equalsIgnoreCase("username,password,realName");
+    }
+
+    private static void reject(UserImportRowDTO row, String status, String message) {
+        row.setStatus(status);
+        row.setMessage(message);
+        row.setPassword(null);
+    }
+
+    // 큰따옴표로 감싼 칸(쉼표, "" 포함)을 지원하는 한 줄 CSV 분리. 따옴표가 닫히지 않으면 null
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
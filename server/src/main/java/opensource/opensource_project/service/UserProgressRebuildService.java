@@ -0,0 +1,81 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.domain.analysis_result.entity.AnalysisResult;
+import opensource.opensource_project.domain.user_progress.entity.UserProgress;
+import opensource.opensource_project.repository.AnalysisResultRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 분석 이력에서 사용자 요약을 다시 계산 (요약 테이블 도입 전 데이터나 불일치 복구용)
+@Service
+public class UserProgressRebuildService {
+
+    private final AnalysisResultRepository analysisResultRepository;
+    private final UserProgressService userProgressService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${progress.rebuild.parallelism:4}")
+    private int parallelism;
+
+    public UserProgressRebuildService(AnalysisResultRepository analysisResultRepository, UserProgressService userProgressService,
+                                      PlatformTransactionManager transactionManager) {
+        this.analysisResultRepository = analysisResultRepository;
+        this.userProgressService = userProgressService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // 사용자 단위로 병렬 처리, 반환값은 재계산한 사용자 수
+    public int rebuildAll() throws InterruptedException {
+        List<String> usernames = analysisResultRepository.findDistinctUsernames();
+        AtomicInteger rebuilt = new AtomicInteger();
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            pool.submit(() -> usernames.parallelStream().forEach(username -> {
+                try {
+                    rebuild(username);
+                    rebuilt.incrementAndGet();
+                } catch (RuntimeException e) {
+                    System.err.println("진행 요약 재계산 실패: " + username + " - " + e.getMessage());
+                }
+            })).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("진행 요약 재계산 실패", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return rebuilt.get();
+    }
+
+    // 요약 행을 잠근 뒤 이력을 읽어 덮어쓴다 (동시에 들어온 결과는 잠금 해제 후 증분 반영)
+    public void rebuild(String username) {
+        transactionTemplate.executeWithoutResult(status -> {
+            UserProgress progress = userProgressService.lock(username);
+            progress.setSessionCount(0);
+            progress.setFailedCount(0);
+            progress.setScoreSum(0);
+            progress.setBestScore(null);
+            progress.setLastScore(null);
+            progress.setRecentScores(null);
+            progress.setFeedbackCounts(null);
+            progress.setTopFeedback(null);
+
+            for (AnalysisResult result : analysisResultRepository.findByUsernameOrderByAnalyzedAtAscAnalysisIdAsc(username)) {
+                if (result.getScore() == null) {
+                    progress.setFailedCount(progress.getFailedCount() + 1);
+                } else {
+                    UserProgressService.apply(progress, result.getScore(), result.getFeedback());
+                }
+            }
+            progress.setUpdatedAt(LocalDateTime.now());
+        });
+    }
+}
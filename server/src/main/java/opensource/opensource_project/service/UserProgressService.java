@@ -0,0 +1,146 @@
+package opensource.opensource_project.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import opensource.opensource_project.domain.user_progress.entity.UserProgress;
+import opensource.opensource_project.dto.UserProgressDTO;
+import opensource.opensource_project.repository.UserProgressRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+public class UserProgressService {
+
+    // 추세 그래프용으로 보관하는 최근 점수 개수
+    public static final int RECENT_SIZE = 10;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Long>> COUNTS_TYPE = new TypeReference<>() {
+    };
+
+    private final UserProgressRepository userProgressRepository;
+
+    public UserProgressService(UserProgressRepository userProgressRepository) {
+        this.userProgressRepository = userProgressRepository;
+    }
+
+    // AnalysisResultWriter 의 트랜잭션 안에서 호출 (결과 저장과 함께 커밋/롤백)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSuccess(String username, Float score, String feedback) {
+        UserProgress progress = lock(username);
+        apply(progress, score, feedback);
+        progress.setUpdatedAt(LocalDateTime.now());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordFailure(String username) {
+        UserProgress progress = lock(username);
+        progress.setFailedCount(progress.getFailedCount() + 1);
+        progress.setUpdatedAt(LocalDateTime.now());
+    }
+
+    // 대시보드 조회: 기본키 한 번으로 끝난다
+    @Transactional(readOnly = true)
+    public Optional<UserProgressDTO> find(String username) {
+        return userProgressRepository.findById(username).map(UserProgressService::toDTO);
+    }
+
+    UserProgress lock(String username) {
+        userProgressRepository.insertIfAbsent(username);
+        return userProgressRepository.findForUpdate(username)
+                .orElseThrow(() -> new IllegalStateException("진행 요약을 찾을 수 없습니다: " + username));
+    }
+
+    // 누적 값에 결과 한 건을 더한다 (재계산 없음)
+    static void apply(UserProgress progress, Float score, String feedback) {
+        if (score == null) {
+            return;
+        }
+        progress.setSessionCount(progress.getSessionCount() + 1);
+        progress.setScoreSum(progress.getScoreSum() + score);
+        progress.setLastScore(score);
+        if (progress.getBestScore() == null || score > progress.getBestScore()) {
+            progress.setBestScore(score);
+        }
+        progress.setRecentScores(appendRecent(progress.getRecentScores(), score));
+
+        if (feedback != null && !feedback.isBlank()) {
+            Map<String, Long> counts = readCounts(progress.getFeedbackCounts());
+            for (String line : feedback.split("\n")) {
+                if (!line.isBlank()) {
+                    long count = counts.merge(line, 1L, Long::sum);
+                    if (progress.getTopFeedback() == null || count > counts.getOrDefault(progress.getTopFeedback(), 0L)) {
+                        progress.setTopFeedback(line);
+                    }
+                }
+            }
+            progress.setFeedbackCounts(writeCounts(counts));
+        }
+    }
+
+    private static UserProgressDTO toDTO(UserProgress progress) {
+        UserProgressDTO dto = new UserProgressDTO();
+        dto.setSessionCount(progress.getSessionCount());
+        dto.setFailedCount(progress.getFailedCount());
+        if (progress.getSessionCount() > 0) {
+            dto.setAverageScore((float) (progress.getScoreSum() / progress.getSessionCount()));
+        }
+        dto.setBestScore(progress.getBestScore());
+        dto.setLastScore(progress.getLastScore());
+
+        List<Float> recent = new ArrayList<>();
+        if (progress.getRecentScores() != null && !progress.getRecentScores().isEmpty()) {
+            for (String score : progress.getRecentScores().split(",")) {
+                recent.add(Float.parseFloat(score));
+            }
+        }
+        dto.setRecentScores(recent);
+        dto.setTopFeedback(progress.getTopFeedback());
+        dto.setFeedbackCounts(readCounts(progress.getFeedbackCounts()));
+        return dto;
+    }
+
+    private static String appendRecent(String recentScores, Float score) {
+        Deque<String> recent = new ArrayDeque<>();
+        if (recentScores != null && !recentScores.isEmpty()) {
+            recent.addAll(Arrays.asList(recentScores.split(",")));
+        }
+        recent.addLast(String.valueOf(score));
+        while (recent.size() > RECENT_SIZE) {
+            recent.removeFirst();
+        }
+        return String.join(",", recent);
+    }
+
+    static Map<String, Long> readCounts(String json) {
+        if (json == null || json.isEmpty()) {
+            return new HashMap<>();
+        }
+        try {
+            return OBJECT_MAPPER.readValue(json, COUNTS_TYPE);
+        } catch (JsonProcessingException e) {
+            System.err.println("피드백 집계 파싱 실패: " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    private static String writeCounts(Map<String, Long> counts) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(counts);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("피드백 집계 저장 실패", e);
+        }
+    }
+}
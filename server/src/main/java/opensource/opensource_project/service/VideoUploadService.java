@@ -1,65 +1,298 @@
 package opensource.opensource_project.service;
 
 import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.model.PutObjectRequest;
 import opensource.opensource_project.config.S3Config;
+import opensource.opensource_project.dto.DedupClaim;
 import opensource.opensource_project.dto.UploadResultDTO;
+import opensource.opensource_project.dto.VideoMetadata;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.multipart.MultipartRequest;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class VideoUploadService {
     private final AmazonS3 amazonS3Client;
+    private final ThreadPoolTaskExecutor s3TransferExecutor;
+    private final S3MultipartUploader s3MultipartUploader;
+    private final ContentDedupService contentDedupService;
+    private final Mp4Probe mp4Probe;
 
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
 
+    @Value("${upload.staging-dir:${java.io.tmpdir}/squat-analysis}")
+    private String stagingDir;
+
+    // true 이면 multipart 본문을 한 번만 읽어 S3 와 분석용 임시 파일로 동시에 흘려보낸다
+    @Value("${upload.streaming.enabled:true}")
+    private boolean streamingEnabled;
+
+    @Value("${upload.streaming.chunk-size:65536}")
+    private int chunkSize;
+
+    @Value("${upload.streaming.buffer-chunks:16}")
+    private int bufferChunks;
+
     @Autowired
-    public VideoUploadService(AmazonS3 amazonS3Client) {
+    public VideoUploadService(AmazonS3 amazonS3Client, @Qualifier("s3TransferExecutor") ThreadPoolTaskExecutor s3TransferExecutor,
+                              S3MultipartUploader s3MultipartUploader, ContentDedupService contentDedupService, Mp4Probe mp4Probe) {
         this.amazonS3Client = amazonS3Client; // S3Config 대신 직접 주입
+        this.s3TransferExecutor = s3TransferExecutor;
+        this.s3MultipartUploader = s3MultipartUploader;
+        this.contentDedupService = contentDedupService;
+        this.mp4Probe = mp4Probe;
+    }
+
+    public UploadResultDTO videoUploadProcess(MultipartRequest request, String username) throws IOException {
+        return videoUploadProcess(request.getFile("upload"), username);
     }
 
-    public UploadResultDTO videoUploadProcess(MultipartRequest request) throws IOException {
-        MultipartFile file = request.getFile("upload");
+    public UploadResultDTO videoUploadProcess(MultipartFile file, String username) throws IOException {
+        return videoUploadProcess(file, probe(file), username);
+    }
 
+    // 헤더만 읽어 영상이 아니면 S3/임시 파일에 쓰기 전에 거절
+    public VideoMetadata probe(MultipartFile file) throws IOException {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("업로드할 파일이 없습니다.");
         }
+        try (InputStream probeStream = file.getInputStream()) {
+            return mp4Probe.probe(probeStream);
+        }
+    }
+
+    public VideoMetadata probe(Path localFile) throws IOException {
+        try (InputStream probeStream = Files.newInputStream(localFile)) {
+            return mp4Probe.probe(probeStream);
+        }
+    }
 
+    public UploadResultDTO videoUploadProcess(MultipartFile file, VideoMetadata metadata, String username) throws IOException {
         String fileName = file.getOriginalFilename();
         if (fileName == null) {
             throw new IllegalArgumentException("파일명을 확인할 수 없습니다.");
         }
 
-        String extension = fileName.substring(fileName.lastIndexOf("."));
+        // 확장자와 Content-Type 은 클라이언트 값 대신 실제 컨테이너 기준으로 정한다
+        String extension = metadata.getExtension();
+        String contentType = metadata.getContentType();
         String uuidFileName = UUID.randomUUID() + extension;
+        String s3Url = amazonS3Client.getUrl(bucket, uuidFileName).toString();
 
-        // 스트림으로 직접 S3에 업로드 (임시 파일 생성 없음)
-        try (InputStream inputStream = file.getInputStream()) {
-            ObjectMetadata metadata = new ObjectMetadata();
-            metadata.setContentLength(file.getSize());
-            metadata.setContentType(file.getContentType());
-
-            PutObjectRequest putObjectRequest = new PutObjectRequest(
-                    bucket,
-                    uuidFileName,
-                    inputStream,
-                    metadata
-            );
+        Path stagedFile = newStagingFile();
+        String contentHash;
+        DedupClaim claim;
+        try {
+            if (streamingEnabled && s3MultipartUploader.isMultipart(file.getSize())) {
+                CompletableFuture<String> hash = new CompletableFuture<>();
+                claim = teeUpload(file, username, uuidFileName, contentType, s3Url, stagedFile, hash);
+                contentHash = hash.join();
+            } else {
+                // 단일 PUT 은 중간에 멈출 수 없으므로 해시를 먼저 구한 뒤 필요할 때만 S3 에 올린다
+                contentHash = stage(file, stagedFile);
+                claim = contentDedupService.claim(username, contentHash, s3Url);
+                if (claim.isLeader()) {
+                    try (InputStream inputStream = Files.newInputStream(stagedFile)) {
+                        putObject(uuidFileName, inputStream, file.getSize(), contentType);
+                    } catch (IOException | RuntimeException e) {
+                        contentDedupService.publishFailure(username, contentHash, "업로드 실패");
+                        throw e;
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(stagedFile);
+            throw e;
+        }
 
-            amazonS3Client.putObject(putObjectRequest);
+        UploadResultDTO result = new UploadResultDTO(fileName, claim.getS3Url(), extension);
+        result.setContentHash(contentHash);
+        result.setDedupClaim(claim);
+        result.setMetadata(metadata);
+        if (claim.isLeader()) {
+            result.setS3Key(uuidFileName);
+            result.setStagedFile(stagedFile);
+        } else {
+            // 분석하지 않으므로 임시 파일은 바로 정리
+            Files.deleteIfExists(stagedFile);
         }
+        return result;
+    }
 
+    // 이미 로컬에 모인 파일(청크 업로드 세션). 해시 확인 후 LEADER 일 때만 S3 에 올린다
+    // 성공하면 파일은 분석용 임시 파일로 넘어가거나(LEADER) 삭제된다. 실패하면 호출자가 다시 시도할 수 있도록 그대로 둔다
+    public UploadResultDTO videoUploadProcess(Path localFile, String fileName, VideoMetadata metadata, String username) throws IOException {
+        String extension = metadata.getExtension();
+        String uuidFileName = UUID.randomUUID() + extension;
         String s3Url = amazonS3Client.getUrl(bucket, uuidFileName).toString();
 
-        return new UploadResultDTO(fileName, s3Url, extension);
+        String contentHash = hash(localFile);
+        DedupClaim claim = contentDedupService.claim(username, contentHash, s3Url);
+        if (claim.isLeader()) {
+            try (InputStream inputStream = Files.newInputStream(localFile)) {
+                putObject(uuidFileName, inputStream, Files.size(localFile), metadata.getContentType());
+            } catch (IOException | RuntimeException e) {
+                contentDedupService.publishFailure(username, contentHash, "업로드 실패");
+                throw e;
+            }
+        }
+
+        UploadResultDTO result = new UploadResultDTO(fileName, claim.getS3Url(), extension);
+        result.setContentHash(contentHash);
+        result.setDedupClaim(claim);
+        result.setMetadata(metadata);
+        if (claim.isLeader()) {
+            result.setS3Key(uuidFileName);
+            try {
+                Path stagedFile = newStagingFile();
+                Files.move(localFile, stagedFile);
+                result.setStagedFile(stagedFile);
+            } catch (IOException | RuntimeException e) {
+                contentDedupService.publishFailure(username, contentHash, "업로드 실패");
+                throw e;
+            }
+        } else {
+            Files.deleteIfExists(localFile);
+        }
+        return result;
+    }
+
+    // multipart 본문을 한 번 읽으면서 S3 업로드 파이프와 로컬 임시 파일에 동시에 기록
+    // 모든 파트를 올린 뒤 해시로 중복 여부를 확인해 LEADER 일 때만 multipart 를 complete 한다
+    private DedupClaim teeUpload(MultipartFile file, String username, String key, String contentType, String s3Url,
+                                 Path stagedFile, CompletableFuture<String> hash) throws IOException {
+        BoundedPipe pipe = new BoundedPipe(chunkSize, bufferChunks);
+        AtomicReference<DedupClaim> claim = new AtomicReference<>();
+
+        // 전송 스레드가 모두 바쁘면 본문을 읽기 전에 TaskRejectedException (컨트롤러가 503 으로 응답)
+        Future<?> s3Upload = s3TransferExecutor.submit(() -> {
+            try (InputStream pipeIn = pipe.inputStream()) {
+                s3MultipartUploader.upload(bucket, key, pipeIn, file.getSize(), contentType, () -> {
+                    claim.set(contentDedupService.claim(username, hash.join(), s3Url));
+                    return claim.get().isLeader();
+                });
+            }
+            return null;
+        });
+
+        MessageDigest digest = sha256();
+        try (InputStream in = file.getInputStream();
+             OutputStream staging = Files.newOutputStream(stagedFile);
+             OutputStream s3Out = pipe.outputStream()) {
+            byte[] buffer = new byte[chunkSize];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                s3Out.write(buffer, 0, read);
+                staging.write(buffer, 0, read);
+            }
+            hash.complete(HexFormat.of().formatHex(digest.digest()));
+        } catch (IOException e) {
+            hash.completeExceptionally(e);
+            pipe.fail(e);
+            // S3 쪽 실패로 파이프가 닫힌 경우라면 그 예외를 우선 전달
+            awaitUpload(s3Upload, username, claim, hash);
+            throw e;
+        }
+
+        awaitUpload(s3Upload, username, claim, hash);
+        return claim.get();
+    }
+
+    // 로컬 임시 파일에 기록하면서 SHA-256 계산
+    private String stage(MultipartFile file, Path stagedFile) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = file.getInputStream();
+             OutputStream staging = Files.newOutputStream(stagedFile)) {
+            byte[] buffer = new byte[chunkSize];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                staging.write(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // 로컬 파일의 SHA-256
+    private String hash(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[chunkSize];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // 해시 확인 후 S3 커밋이 실패했으면 같은 해시로 대기 중인 업로드도 실패 처리
+    private void awaitUpload(Future<?> s3Upload, String username, AtomicReference<DedupClaim> claim, CompletableFuture<String> hash)
+            throws IOException {
+        try {
+            await(s3Upload);
+        } catch (IOException | RuntimeException e) {
+            if (claim.get() != null && claim.get().isLeader()) {
+                contentDedupService.publishFailure(username, hash.join(), "업로드 실패");
+            }
+            throw e;
+        }
+    }
+
+    // 크기에 따라 단일 PUT 또는 병렬 multipart 업로드
+    private void putObject(String key, InputStream inputStream, long size, String contentType) throws IOException {
+        s3MultipartUploader.upload(bucket, key, inputStream, size, contentType);
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다", e);
+        }
+    }
+
+    private Path newStagingFile() throws IOException {
+        Path dir = Paths.get(stagingDir);
+        Files.createDirectories(dir);
+        return dir.resolve(UUID.randomUUID() + ".upload");
+    }
+
+    private void await(Future<?> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("S3 업로드 대기 중단", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("S3 업로드 실패", cause);
+        }
     }
-}
\ No newline at end of file
+}
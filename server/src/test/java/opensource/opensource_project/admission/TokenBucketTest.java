@@ -0,0 +1,95 @@
+package opensource.opensource_project.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// GCRA: burst 개까지 연속 허용, 이후 interval 마다 하나. 시각은 System.nanoTime 처럼 넘칠 수 있다
+class TokenBucketTest {
+
+    private static final long INTERVAL = 100;
+
+    @Test
+    void allowsBurstThenOnePerInterval() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 3, 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(INTERVAL, bucket.tryAcquire(0));
+        // 거절은 토큰을 쓰지 않는다
+        assertEquals(INTERVAL - 40, bucket.tryAcquire(40));
+
+        assertEquals(0, bucket.tryAcquire(100));
+        assertEquals(INTERVAL, bucket.tryAcquire(100));
+    }
+
+    @Test
+    void refillsUpToBurstOnly() {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 2, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        assertFalse(bucket.isFull(199));
+        assertTrue(bucket.isFull(200));
+
+        // 오래 쉬어도 burst 보다 많이 모이지 않는다
+        long later = 10_000;
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(INTERVAL, bucket.tryAcquire(later));
+    }
+
+    @Test
+    void survivesNanoTimeOverflow() {
+        long start = Long.MAX_VALUE - 50;
+        TokenBucket bucket = new TokenBucket(INTERVAL, 2, start);
+
+        assertEquals(0, bucket.tryAcquire(start));
+        assertEquals(0, bucket.tryAcquire(start));
+        assertEquals(INTERVAL, bucket.tryAcquire(start));
+
+        long wrapped = start + INTERVAL;
+        assertTrue(wrapped < 0);
+        assertEquals(0, bucket.tryAcquire(wrapped));
+        assertEquals(INTERVAL, bucket.tryAcquire(wrapped));
+        assertTrue(bucket.isFull(start + 3 * INTERVAL));
+    }
+
+    @Test
+    void concurrentCallersShareBurst() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(INTERVAL, 5, 0);
+        AtomicInteger acquired = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < 100; j++) {
+                    if (bucket.tryAcquire(0) == 0) {
+                        acquired.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(5, acquired.get());
+    }
+}
@@ -0,0 +1,69 @@
+package opensource.opensource_project.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 전역 슬롯은 요청과 그 요청의 분석 작업이 모두 반납해야 비워지고, 거절된 요청은 슬롯도 사용자 토큰도 쓰지 않는다
+class UploadAdmissionServiceTest {
+
+    @Test
+    void slotIsFreedAfterRequestAndAllJobsRelease() {
+        UploadAdmissionService service = service(1, 100);
+        AdmissionPermit permit = service.admit("user").getPermit();
+
+        // 배치 요청: 분석 작업 두 개가 슬롯을 넘겨받고 요청이 먼저 끝난다
+        permit.retain();
+        permit.retain();
+        permit.release();
+        assertFalse(service.admit("other").isAdmitted());
+
+        permit.release();
+        assertEquals(1, service.snapshot().get("inFlight"));
+        permit.release();
+        assertEquals(0, service.snapshot().get("inFlight"));
+        assertTrue(service.admit("other").isAdmitted());
+    }
+
+    @Test
+    void globalLimitRejectsWithoutSpendingUserToken() {
+        UploadAdmissionService service = service(1, 1);
+        AdmissionPermit first = service.admit("a").getPermit();
+
+        AdmissionDecision rejected = service.admit("b");
+        assertFalse(rejected.isAdmitted());
+        assertEquals(5, rejected.getRetryAfterSeconds());
+
+        // b 의 토큰(burst 1)은 그대로 남아 있다
+        first.release();
+        assertTrue(service.admit("b").isAdmitted());
+        assertEquals(1L, service.snapshot().get("rejectedByGlobal"));
+    }
+
+    @Test
+    void userLimitRejectsWithoutHoldingSlot() {
+        UploadAdmissionService service = service(10, 1);
+        assertTrue(service.admit("user").isAdmitted());
+
+        AdmissionDecision rejected = service.admit("user");
+        assertFalse(rejected.isAdmitted());
+        // 분당 1개: 다음 토큰까지 약 60초
+        assertTrue(rejected.getRetryAfterSeconds() > 50 && rejected.getRetryAfterSeconds() <= 60);
+        assertEquals(1, service.snapshot().get("inFlight"));
+        assertTrue(service.admit("other").isAdmitted());
+    }
+
+    private static UploadAdmissionService service(int maxInFlight, int ratePerMinute) {
+        UploadAdmissionService service = new UploadAdmissionService();
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "ratePerMinute", ratePerMinute);
+        ReflectionTestUtils.setField(service, "burst", 1);
+        ReflectionTestUtils.setField(service, "maxInFlight", maxInFlight);
+        ReflectionTestUtils.setField(service, "globalRetryAfterSeconds", 5L);
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,82 @@
+package opensource.opensource_project.aop;
+
+import opensource.opensource_project.metrics.LatencyRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 표본 비율만큼만 기록하고, 기록하지 않는 호출도 그대로 실행한다. 이름은 "대상 클래스.메서드"
+class LatencyTraceInterceptorTest {
+
+    private static final String OPERATION = "SquatScorer.score";
+
+    private final LatencyRegistry registry = new LatencyRegistry();
+
+    @Test
+    void fullRateRecordsEveryCall() {
+        Scorer scorer = proxy(1.0);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i * 2, scorer.score(i));
+        }
+
+        assertEquals(Set.of(OPERATION), registry.snapshot().keySet());
+        assertEquals(100, registry.histogram(OPERATION).getCount());
+    }
+
+    @Test
+    void zeroRateRecordsNothingButStillProceeds() {
+        Scorer scorer = proxy(0.0);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i * 2, scorer.score(i));
+        }
+
+        assertTrue(registry.snapshot().isEmpty());
+    }
+
+    @Test
+    void partialRateRecordsRoughlyThatShare() {
+        Scorer scorer = proxy(0.25);
+        int calls = 10_000;
+        for (int i = 0; i < calls; i++) {
+            scorer.score(i);
+        }
+
+        // 기댓값 2500, 표준편차 약 43
+        long recorded = registry.histogram(OPERATION).getCount();
+        assertTrue(recorded > 2_200 && recorded < 2_800, "recorded " + recorded);
+    }
+
+    @Test
+    void failedCallIsRecordedAndRethrown() {
+        Scorer scorer = proxy(1.0);
+
+        assertThrows(IllegalArgumentException.class, () -> scorer.score(-1));
+        assertEquals(1, registry.histogram(OPERATION).getCount());
+    }
+
+    private Scorer proxy(double sampleRate) {
+        ProxyFactory factory = new ProxyFactory(new SquatScorer());
+        factory.addAdvice(new LatencyTraceInterceptor(registry, sampleRate));
+        return (Scorer) factory.getProxy();
+    }
+
+    interface Scorer {
+        int score(int reps);
+    }
+
+    static class SquatScorer implements Scorer {
+
+        @Override
+        public int score(int reps) {
+            if (reps < 0) {
+                throw new IllegalArgumentException("reps");
+            }
+            return reps * 2;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package opensource.opensource_project.config;
+
+import opensource.opensource_project.support.FakeAnalysisServer;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// 요청이 끝나면 전체 마감 작업이 바로 취소돼 스케줄러 큐에 남지 않고, 멈춘 요청은 마감 시간에 취소된다
+class AnalysisClientConfigTest {
+
+    private final AnalysisClientConfig config = new AnalysisClientConfig();
+    private FakeAnalysisServer server;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = FakeAnalysisServer.start(0);
+        ReflectionTestUtils.setField(config, "maxTotal", 4);
+        ReflectionTestUtils.setField(config, "maxPerRoute", 4);
+        ReflectionTestUtils.setField(config, "connectTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(config, "poolTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(config, "readTimeoutMs", 10_000L);
+        ReflectionTestUtils.setField(config, "totalTimeoutMs", 500L);
+        ReflectionTestUtils.setField(config, "idleEvictMs", 30_000L);
+        ReflectionTestUtils.setField(config, "poolConcurrency", "");
+        httpClient = config.analysisHttpClient(config.analysisConnectionManager());
+        restTemplate = config.analysisRestTemplate(httpClient);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        config.shutdown();
+        httpClient.close();
+        server.close();
+    }
+
+    @Test
+    void finishedRequestsLeaveNoDeadlineTasks() {
+        for (int i = 0; i < 20; i++) {
+            restTemplate.postForObject(server.baseUrl() + "/analyze", "video", String.class);
+        }
+        server.setErrorRate(1.0);
+        assertThrows(HttpServerErrorException.class,
+                () -> restTemplate.postForObject(server.baseUrl() + "/analyze", "video", String.class));
+
+        assertEquals(0, deadlineScheduler().getQueue().size());
+    }
+
+    @Test
+    void stalledRequestIsCancelledAtDeadline() {
+        server.setStall(1.0, 5_000);
+
+        assertThrows(ResourceAccessException.class,
+                () -> restTemplate.postForObject(server.baseUrl() + "/analyze", "video", String.class));
+        assertEquals(0, deadlineScheduler().getQueue().size());
+    }
+
+    private ScheduledThreadPoolExecutor deadlineScheduler() {
+        return (ScheduledThreadPoolExecutor) ReflectionTestUtils.getField(config, "deadlineScheduler");
+    }
+}
@@ -0,0 +1,146 @@
+package opensource.opensource_project.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 해시 스레드 풀이 차면 바로 거절하고, 시간 초과된 작업은 실행하지 않으며, 재해시는 바빠도 로그인을 막지 않는다
+class BoundedPasswordEncoderTest {
+
+    private static final String HASH = new BCryptPasswordEncoder(4).encode("password");
+
+    // BCrypt 가 비밀번호를 읽는 순간(toString) 풀릴 때까지 작업 스레드를 붙잡는다
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(4, 1, 1, 5_000);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches(blocking(), HASH));
+        awaitUntil(() -> (int) encoder.snapshot().get("active"), 1);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches(blocking(), HASH));
+        awaitUntil(() -> (int) encoder.snapshot().get("queued"), 1);
+
+        assertThrows(PasswordEncoderBusyException.class, () -> encoder.matches("password", HASH));
+        assertEquals(1L, encoder.snapshot().get("rejected"));
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void timedOutTaskIsNotRun() throws Exception {
+        encoder = new BoundedPasswordEncoder(4, 1, 4, 100);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches(blocking(), HASH));
+        awaitUntil(() -> (int) encoder.snapshot().get("active"), 1);
+
+        AtomicInteger read = new AtomicInteger();
+        assertThrows(PasswordEncoderBusyException.class, () -> encoder.matches(counting(read), HASH));
+        assertEquals(0, encoder.snapshot().get("queued"));
+
+        release.countDown();
+        assertThrows(Exception.class, () -> running.get(5, TimeUnit.SECONDS));
+        // 앞의 작업이 끝난 뒤에도 취소된 검증은 실행되지 않는다
+        assertTrue(encoder.matches("password", HASH));
+        assertEquals(0, read.get());
+        assertEquals(2L, encoder.snapshot().get("timedOut"));
+    }
+
+    @Test
+    void upgradesLowerCostHashOnly() {
+        encoder = new BoundedPasswordEncoder(5, 1, 4, 5_000);
+
+        assertTrue(encoder.upgradeEncoding(HASH));
+        String upgraded = encoder.encode("password");
+        assertTrue(upgraded.startsWith("$2a$05$"));
+        assertFalse(encoder.upgradeEncoding(upgraded));
+        assertTrue(encoder.matches("password", upgraded));
+    }
+
+    @Test
+    void busyRehashKeepsExistingHash() throws Exception {
+        encoder = new BoundedPasswordEncoder(5, 1, 2, 5_000);
+        assertTrue(encoder.upgradeEncoding(HASH));
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches(blocking(), HASH));
+        awaitUntil(() -> (int) encoder.snapshot().get("active"), 1);
+        CompletableFuture<Boolean> queued1 = CompletableFuture.supplyAsync(() -> encoder.matches(blocking(), HASH));
+        CompletableFuture<Boolean> queued2 = CompletableFuture.supplyAsync(() -> encoder.matches(blocking(), HASH));
+        awaitUntil(() -> (int) encoder.snapshot().get("queued"), 2);
+
+        // 재해시 경로는 거절 대신 기존 해시를 돌려주고, 일반 encode 는 그대로 503
+        assertEquals(HASH, encoder.encode("password"));
+        assertThrows(PasswordEncoderBusyException.class, () -> encoder.encode("password"));
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued1.get(5, TimeUnit.SECONDS));
+        assertTrue(queued2.get(5, TimeUnit.SECONDS));
+    }
+
+    private CharSequence blocking() {
+        return new Password(() -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private static CharSequence counting(AtomicInteger read) {
+        return new Password(read::incrementAndGet);
+    }
+
+    private static void awaitUntil(IntSupplier value, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (value.getAsInt() != expected) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("expected " + expected + " but was " + value.getAsInt());
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private record Password(Runnable onRead) implements CharSequence {
+
+        @Override
+        public String toString() {
+            onRead.run();
+            return "password";
+        }
+
+        @Override
+        public int length() {
+            return toString().length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return toString().charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package opensource.opensource_project.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// BCrypt cost 자동 선택은 min/max-strength 범위를 벗어나지 않는다
+class PasswordEncoderConfigTest {
+
+    @Test
+    void calibrateStaysWithinBounds() {
+        // 목표가 0ms 여도 min-strength 아래로 내리지 않는다
+        assertEquals(4, config(4, 6, 0).calibrate());
+        // 목표가 아무리 커도 max-strength 에서 멈춘다 (그 cost 로 해시를 재지는 않는다)
+        assertEquals(6, config(4, 6, 3_600_000).calibrate());
+        assertEquals(4, config(4, 4, 3_600_000).calibrate());
+    }
+
+    @Test
+    void calibrateGrowsWithTarget() {
+        int small = config(4, 12, 1).calibrate();
+        int large = config(4, 12, 1_000).calibrate();
+        assertTrue(small <= large, small + " > " + large);
+    }
+
+    @Test
+    void explicitStrengthSkipsCalibration() {
+        PasswordEncoderConfig config = config(4, 6, 3_600_000);
+        ReflectionTestUtils.setField(config, "strength", 5);
+        ReflectionTestUtils.setField(config, "threads", 1);
+        ReflectionTestUtils.setField(config, "queueCapacity", 4);
+        ReflectionTestUtils.setField(config, "maxWaitMs", 1_000L);
+
+        BoundedPasswordEncoder encoder = config.passwordEncoder();
+        assertEquals(5, encoder.getStrength());
+        encoder.shutdown();
+    }
+
+    private static PasswordEncoderConfig config(int minStrength, int maxStrength, long targetMs) {
+        PasswordEncoderConfig config = new PasswordEncoderConfig();
+        ReflectionTestUtils.setField(config, "minStrength", minStrength);
+        ReflectionTestUtils.setField(config, "maxStrength", maxStrength);
+        ReflectionTestUtils.setField(config, "targetMs", targetMs);
+        return config;
+    }
+}
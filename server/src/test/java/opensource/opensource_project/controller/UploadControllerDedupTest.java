@@ -0,0 +1,154 @@
+package opensource.opensource_project.controller;
+
+import opensource.opensource_project.domain.analysis_result.entity.AnalysisResult;
+import opensource.opensource_project.domain.squat_videos.entity.SquatVideo;
+import opensource.opensource_project.domain.user.entity.User;
+import opensource.opensource_project.domain.user_progress.entity.UserProgress;
+import opensource.opensource_project.dto.CustomUserDetails;
+import opensource.opensource_project.dto.DedupClaim;
+import opensource.opensource_project.dto.UploadResultDTO;
+import opensource.opensource_project.repository.AnalysisResultRepository;
+import opensource.opensource_project.repository.SquatVideoRepository;
+import opensource.opensource_project.repository.UserProgressRepository;
+import opensource.opensource_project.service.AnalysisOutboxService;
+import opensource.opensource_project.service.AnalysisResultWriter;
+import opensource.opensource_project.service.ChunkedUploadService;
+import opensource.opensource_project.service.ContentDedupService;
+import opensource.opensource_project.service.Mp4Probe;
+import opensource.opensource_project.service.S3MultipartUploader;
+import opensource.opensource_project.service.UserProgressService;
+import opensource.opensource_project.service.VideoUploadService;
+import opensource.opensource_project.support.InMemoryRepository;
+import opensource.opensource_project.support.InMemoryS3;
+import opensource.opensource_project.support.TestVideos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.mock.web.MockMultipartHttpServletRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 같은 영상 중복 제거: 업로드 도중 실패해도 다음 업로드가 끝나지 않는 FOLLOWER 로 묶이지 않고, 다른 사용자와는 합치지 않는다
+class UploadControllerDedupTest {
+
+    private final ThreadPoolTaskExecutor transferExecutor = new ThreadPoolTaskExecutor();
+    // 첫 save 만 DB 오류로 실패
+    private final AtomicBoolean failNextSave = new AtomicBoolean();
+    private Path stagingDir;
+    private VideoUploadService videoUploadService;
+    private UploadController controller;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stagingDir = Files.createTempDirectory("upload-dedup");
+        SquatVideoRepository stored = InMemoryRepository.create(SquatVideoRepository.class,
+                SquatVideo::getVideoId, SquatVideo::setVideoId, SquatVideo::new, 0);
+        SquatVideoRepository squatVideoRepository = (SquatVideoRepository) Proxy.newProxyInstance(
+                SquatVideoRepository.class.getClassLoader(), new Class<?>[]{SquatVideoRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("save") && failNextSave.getAndSet(false)) {
+                        throw new IllegalStateException("DB 연결 끊김");
+                    }
+                    try {
+                        return method.invoke(stored, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        AnalysisResultRepository analysisResultRepository = InMemoryRepository.create(AnalysisResultRepository.class,
+                AnalysisResult::getAnalysisId, AnalysisResult::setAnalysisId, AnalysisResult::new, 0);
+        UserProgressRepository userProgressRepository = InMemoryRepository.create(UserProgressRepository.class,
+                progress -> null, (progress, id) -> {
+                }, UserProgress::new, 0);
+
+        AnalysisResultWriter writer = new AnalysisResultWriter(squatVideoRepository, analysisResultRepository,
+                new UserProgressService(userProgressRepository), event -> {
+        });
+        AnalysisOutboxService outboxService = new AnalysisOutboxService(null, squatVideoRepository, writer);
+        ContentDedupService dedupService = new ContentDedupService(squatVideoRepository, analysisResultRepository, writer,
+                outboxService);
+
+        InMemoryS3 s3 = new InMemoryS3(0, 0, false);
+        transferExecutor.initialize();
+        Mp4Probe mp4Probe = new Mp4Probe();
+        ReflectionTestUtils.setField(mp4Probe, "maxReadBytes", 1L << 20);
+        ReflectionTestUtils.setField(mp4Probe, "maxDurationSeconds", 600L);
+        videoUploadService = new VideoUploadService(s3, transferExecutor,
+                new S3MultipartUploader(s3, transferExecutor, 8L << 20, 4, 16L << 20, 3), dedupService, mp4Probe);
+        ReflectionTestUtils.setField(videoUploadService, "bucket", "dedup");
+        ReflectionTestUtils.setField(videoUploadService, "stagingDir", stagingDir.toString());
+        ReflectionTestUtils.setField(videoUploadService, "streamingEnabled", false);
+        ReflectionTestUtils.setField(videoUploadService, "chunkSize", 65536);
+
+        controller = new UploadController(videoUploadService, null, writer, dedupService, outboxService,
+                new ChunkedUploadService(), null, squatVideoRepository, analysisResultRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transferExecutor.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void failedSaveReleasesLeaderClaim() throws Exception {
+        User user = new User();
+        user.setUsername("user");
+        user.setRole("ROLE_USER");
+        CustomUserDetails principal = new CustomUserDetails(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        MockMultipartFile video = video();
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        request.addFile(video);
+
+        failNextSave.set(true);
+        assertThrows(IllegalStateException.class, () -> controller.upload(request, null));
+        try (var staged = Files.list(stagingDir)) {
+            assertEquals(0, staged.count());
+        }
+
+        // 같은 영상을 다시 올리면 새 LEADER 가 되어야 한다 (새어 나간 claim 이 있으면 FOLLOWER 로 묶여 영원히 PENDING)
+        UploadResultDTO retry = videoUploadService.videoUploadProcess(video, videoUploadService.probe(video), "user");
+        assertTrue(retry.getDedupClaim().isLeader());
+        Files.deleteIfExists(retry.getStagedFile());
+    }
+
+    @Test
+    void sameVideoIsSharedOnlyWithinUser() throws Exception {
+        MockMultipartFile video = video();
+
+        UploadResultDTO first = videoUploadService.videoUploadProcess(video, videoUploadService.probe(video), "a");
+        UploadResultDTO again = videoUploadService.videoUploadProcess(video, videoUploadService.probe(video), "a");
+        UploadResultDTO other = videoUploadService.videoUploadProcess(video, videoUploadService.probe(video), "b");
+
+        assertTrue(first.getDedupClaim().isLeader());
+        assertEquals(DedupClaim.Role.FOLLOWER, again.getDedupClaim().getRole());
+        assertEquals(first.getS3Url(), again.getS3Url());
+        // 다른 사용자는 같은 영상이어도 자기 S3 객체에 올리고 따로 분석한다
+        assertTrue(other.getDedupClaim().isLeader());
+        assertNotEquals(first.getS3Url(), other.getS3Url());
+        Files.deleteIfExists(first.getStagedFile());
+        Files.deleteIfExists(other.getStagedFile());
+    }
+
+    private static MockMultipartFile video() {
+        return new MockMultipartFile("upload", "squat.mp4", "video/mp4", TestVideos.mp4(64 * 1024, new Random(7)));
+    }
+}
@@ -0,0 +1,122 @@
+package opensource.opensource_project.controller;
+
+import opensource.opensource_project.service.AnalysisJobService;
+import opensource.opensource_project.support.FakeAnalysisServer;
+import opensource.opensource_project.support.InMemoryS3;
+import opensource.opensource_project.support.UploadLoadDriver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 분석 서버(TensorFlow/MediaPipe)와 실제 S3 없이 업로드 전체 경로에 부하를 건다
+// 1) 정상 상태: 로그정규 분석 지연 2) 장애 주입: 분석 서버 5xx, 응답 멈춤(read timeout), S3 PUT 실패
+// 3) 분석 서버 2대: 장애 인스턴스 제외 후 복귀
+// 실행: -Dbenchmark=true (요청 수는 -Dload.users, -Dload.uploads-per-user, -Dload.concurrency 로 조절)
+class UploadLoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 50);
+    private static final int UPLOADS_PER_USER = Integer.getInteger("load.uploads-per-user", 10);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 32);
+    private static final int VIDEO_BYTES = Integer.getInteger("load.video-bytes", 256 * 1024);
+
+    private static final long S3_LATENCY_MS = 20;
+    private static final long S3_BYTES_PER_SECOND = 50L * 1024 * 1024;
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void steadyState() throws Exception {
+        try (FakeAnalysisServer analysisServer = FakeAnalysisServer.start(FakeAnalysisServer.Latency.logNormal(150, 0.5))) {
+            // 클래스 로딩, JIT, 커넥션 생성 비용을 측정에서 제외
+            try (UploadLoadDriver warmup = driver(analysisServer, new InMemoryS3(S3_LATENCY_MS, S3_BYTES_PER_SECOND, false))) {
+                warmup.run(10, 5, CONCURRENCY, VIDEO_BYTES);
+            }
+
+            try (UploadLoadDriver driver = driver(analysisServer, new InMemoryS3(S3_LATENCY_MS, S3_BYTES_PER_SECOND, false))) {
+                UploadLoadDriver.Report report = driver.run(USERS, UPLOADS_PER_USER, CONCURRENCY, VIDEO_BYTES);
+                System.out.println("== steady state ==");
+                report.print(System.out);
+
+                assertEquals(USERS * UPLOADS_PER_USER, report.count(202));
+                assertEquals(USERS * UPLOADS_PER_USER, report.getAnalysesDone());
+                assertTrue(report.getStages().containsKey(UploadLoadDriver.END_TO_END_STAGE));
+            }
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void faultInjection() throws Exception {
+        try (FakeAnalysisServer analysisServer = FakeAnalysisServer.start(FakeAnalysisServer.Latency.uniform(50, 250))) {
+            analysisServer.setErrorRate(0.05);
+            analysisServer.setStall(0.02, 5_000);
+            analysisServer.setFileFailureRate(0.05);
+
+            InMemoryS3 s3 = new InMemoryS3(S3_LATENCY_MS, S3_BYTES_PER_SECOND, false);
+            s3.setFailEveryNthPut(50);
+
+            try (UploadLoadDriver driver = driver(analysisServer, s3)) {
+                UploadLoadDriver.Report report = driver.run(USERS, UPLOADS_PER_USER, CONCURRENCY, VIDEO_BYTES);
+                System.out.println("== fault injection (analysis 5% 5xx, 2% stall, S3 PUT 2% fail) ==");
+                report.print(System.out);
+
+                // 모든 요청이 응답을 받고, 수락된 업로드는 모두 DONE 또는 FAILED 로 끝나야 한다
+                assertEquals(USERS * UPLOADS_PER_USER, report.count(202) + report.count(500));
+                assertEquals(report.count(202), report.getAnalysesDone() + report.getAnalysesFailed());
+                assertTrue(report.getAnalysesFailed() > 0);
+            }
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void multipleAnalysisServers() throws Exception {
+        try (FakeAnalysisServer first = FakeAnalysisServer.start(FakeAnalysisServer.Latency.logNormal(150, 0.5));
+             FakeAnalysisServer second = FakeAnalysisServer.start(FakeAnalysisServer.Latency.logNormal(150, 0.5))) {
+            // 두 번째 인스턴스는 모든 분석 요청에 500 (연속 실패로 제외돼야 한다)
+            second.setErrorRate(1.0);
+            second.setHealthy(false);
+
+            InMemoryS3 s3 = new InMemoryS3(S3_LATENCY_MS, S3_BYTES_PER_SECOND, false);
+            try (UploadLoadDriver driver = driver(first.baseUrl() + "," + second.baseUrl(), s3)) {
+                UploadLoadDriver.Report ejected = driver.run(USERS, UPLOADS_PER_USER, CONCURRENCY, VIDEO_BYTES);
+                System.out.println("== 2 analysis servers, second failing ==");
+                ejected.print(System.out);
+                System.out.println(driver.getEndpointPool().snapshot());
+
+                assertEquals(false, driver.getEndpointPool().snapshot().get(1).get("healthy"));
+                // 제외되기 전에 이미 보낸 요청만 실패한다 (워커 수 x 배치 크기 이하)
+                assertTrue(ejected.getAnalysesFailed() <= 16L * AnalysisJobService.MAX_BATCH_SIZE);
+
+                // 복구 후 헬스 체크가 연속으로 성공하면 다시 요청을 나눠 받는다
+                second.setErrorRate(0);
+                second.setHealthy(true);
+                driver.getEndpointPool().probe();
+                driver.getEndpointPool().probe();
+                long firstBefore = first.getRequests();
+                long secondBefore = second.getRequests();
+
+                UploadLoadDriver.Report recovered = driver.run(USERS, UPLOADS_PER_USER, CONCURRENCY, VIDEO_BYTES);
+                System.out.println("== 2 analysis servers, second re-admitted ==");
+                recovered.print(System.out);
+                System.out.println(driver.getEndpointPool().snapshot());
+
+                long firstShare = first.getRequests() - firstBefore;
+                long secondShare = second.getRequests() - secondBefore;
+                assertEquals(ejected.getAnalysesFailed(), recovered.getAnalysesFailed());
+                assertTrue(secondShare * 4 >= firstShare + secondShare, "second=" + secondShare + " first=" + firstShare);
+                assertTrue(firstShare * 4 >= firstShare + secondShare, "second=" + secondShare + " first=" + firstShare);
+            }
+        }
+    }
+
+    private UploadLoadDriver driver(FakeAnalysisServer analysisServer, InMemoryS3 s3) throws Exception {
+        return driver(analysisServer.baseUrl(), s3);
+    }
+
+    private UploadLoadDriver driver(String analysisBaseUrls, InMemoryS3 s3) throws Exception {
+        return new UploadLoadDriver(analysisBaseUrls, s3, new UploadLoadDriver.Options()
+                .analysisReadTimeoutMs(2_000));
+    }
+}
@@ -0,0 +1,122 @@
+package opensource.opensource_project.jwt;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "jwt-util-test-secret-key-which-is-long-enough";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 10_000);
+
+    // 같은 사용자에게 같은 초에 발급한 refresh 토큰도 서로 달라야 token_digest unique 인덱스에 함께 저장된다
+    @Test
+    void refreshTokensIssuedTogetherHaveDistinctDigests() {
+        Set<String> digests = new HashSet<>();
+        Set<String> jtis = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            String refresh = jwtUtil.createJwt("refresh", "user", "ROLE_USER", "사용자", 60_000L);
+            digests.add(TokenDigest.sha256Hex(refresh));
+            jtis.add(jwtUtil.parse(refresh).getJti());
+        }
+
+        assertEquals(100, digests.size());
+        assertEquals(100, jtis.size());
+    }
+
+    // 검증한 토큰은 만료 전까지 다시 검증하지 않는다
+    @Test
+    void verifiedClaimsAreReusedUntilExpiry() {
+        String access = jwtUtil.createJwt("access", "user", "ROLE_USER", "사용자", 60_000L);
+        JwtClaims first = jwtUtil.parse(access);
+
+        assertSame(first, jwtUtil.parse(access));
+        assertEquals("user", jwtUtil.getUsername(access));
+        assertEquals(1, cacheSize(jwtUtil));
+
+        JwtUtil uncached = new JwtUtil(SECRET, 0);
+        assertNotSame(uncached.parse(access), uncached.parse(access));
+        assertEquals(0, cacheSize(uncached));
+    }
+
+    // 캐시에 남은 만료 항목은 쓰지 않고 토큰을 다시 검증한다
+    @Test
+    void expiredCacheEntryIsNotServed() {
+        String access = jwtUtil.createJwt("access", "user", "ROLE_USER", "사용자", 60_000L);
+        JwtClaims stale = new JwtClaims("old", "access", "someone-else", "ROLE_ADMIN", "다른 사람", 0, System.currentTimeMillis() - 1);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "cache", TokenDigest.sha256Hex(access), stale, 0L);
+
+        JwtClaims claims = jwtUtil.parse(access);
+        assertEquals("user", claims.getUsername());
+        assertSame(claims, jwtUtil.parse(access));
+
+        String expired = jwtUtil.createJwt("access", "user", "ROLE_USER", "사용자", -1_000L);
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.parse(expired));
+        assertEquals(1, cacheSize(jwtUtil));
+    }
+
+    @Test
+    void forgedTokenIsNeitherAcceptedNorCached() {
+        String access = new JwtUtil("another-secret-key-which-is-also-long-enough", 10).createJwt(
+                "access", "user", "ROLE_ADMIN", "사용자", 60_000L);
+
+        assertThrows(JwtException.class, () -> jwtUtil.parse(access));
+        assertEquals(0, cacheSize(jwtUtil));
+    }
+
+    // 가득 차면 만료 항목부터 지우고, 모자라면 용량의 10% 를 더 덜어낸다
+    @Test
+    void fullCacheEvictsTenPercent() {
+        JwtUtil small = new JwtUtil(SECRET, 20);
+        for (int i = 0; i < 20; i++) {
+            small.parse(small.createJwt("access", "user" + i, "ROLE_USER", "사용자", 60_000L));
+        }
+        assertEquals(20, cacheSize(small));
+
+        small.parse(small.createJwt("access", "overflow", "ROLE_USER", "사용자", 60_000L));
+        assertEquals(20 - 2 + 1, cacheSize(small));
+    }
+
+    @Test
+    void fullCacheDropsExpiredEntriesFirst() {
+        JwtUtil small = new JwtUtil(SECRET, 20);
+        List<String> live = new ArrayList<>();
+        List<JwtClaims> liveClaims = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            String token = small.createJwt("access", "user" + i, "ROLE_USER", "사용자", 60_000L);
+            live.add(token);
+            liveClaims.add(small.parse(token));
+        }
+        long past = System.currentTimeMillis() - 1;
+        for (int i = 0; i < 5; i++) {
+            JwtClaims expired = new JwtClaims("expired" + i, "access", "gone" + i, "ROLE_USER", "사용자", 0, past);
+            ReflectionTestUtils.invokeMethod(small, "cache", "expired-" + i, expired, 0L);
+        }
+        assertEquals(20, cacheSize(small));
+
+        small.parse(small.createJwt("access", "overflow", "ROLE_USER", "사용자", 60_000L));
+
+        // 만료 항목 5개만으로 자리가 나므로 유효한 항목은 그대로 남는다
+        assertEquals(16, cacheSize(small));
+        for (int i = 0; i < live.size(); i++) {
+            assertSame(liveClaims.get(i), small.parse(live.get(i)));
+        }
+    }
+
+    private static int cacheSize(JwtUtil jwtUtil) {
+        return ((Map<?, ?>) ReflectionTestUtils.getField(jwtUtil, "verifiedClaims")).size();
+    }
+}
@@ -0,0 +1,98 @@
+package opensource.opensource_project.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 로그-선형 버킷: 16 미만은 값 그대로, 그 위는 2의 거듭제곱 구간마다 16칸. 분위수는 버킷 상한(최댓값 이하)으로 답한다
+class LatencyHistogramTest {
+
+    @Test
+    void smallValuesHaveExactBuckets() {
+        for (long value = 0; value < 16; value++) {
+            assertEquals(value, LatencyHistogram.indexOf(value));
+            assertEquals(value, LatencyHistogram.upperBoundOf((int) value));
+        }
+        assertEquals(16, LatencyHistogram.indexOf(16));
+        assertEquals(31, LatencyHistogram.indexOf(31));
+        // 32 부터는 한 칸이 두 값을 담는다
+        assertEquals(32, LatencyHistogram.indexOf(32));
+        assertEquals(32, LatencyHistogram.indexOf(33));
+        assertEquals(33, LatencyHistogram.indexOf(34));
+        assertEquals(33, LatencyHistogram.upperBoundOf(32));
+    }
+
+    @Test
+    void powersOfTwoStartNewBucket() {
+        for (int exponent = 4; exponent < 63; exponent++) {
+            long power = 1L << exponent;
+            int index = LatencyHistogram.indexOf(power);
+
+            assertEquals((exponent - 3) * 16, index);
+            assertEquals(index - 1, LatencyHistogram.indexOf(power - 1));
+            assertEquals(power - 1, LatencyHistogram.upperBoundOf(index - 1));
+        }
+    }
+
+    @Test
+    void upperBoundCoversValueWithinRelativeError() {
+        long[] values = {17, 100, 999, 1_000, 1_023, 1_024, 12_345, 1_000_000, 3_600_000_000L, Long.MAX_VALUE / 3};
+        for (long value : values) {
+            int index = LatencyHistogram.indexOf(value);
+            long upper = LatencyHistogram.upperBoundOf(index);
+
+            assertTrue(upper >= value, "value " + value);
+            assertTrue(LatencyHistogram.upperBoundOf(index - 1) < value, "value " + value);
+            assertTrue(upper - value <= value / 16, "value " + value);
+        }
+    }
+
+    @Test
+    void largestValueFitsLastBucket() {
+        int last = LatencyHistogram.indexOf(Long.MAX_VALUE);
+        assertEquals(59 * 16 + 15, last);
+        // 상한 계산이 넘치지 않는다
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBoundOf(last));
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE / 1_000 / 1_000.0, histogram.percentileMs(0.99));
+    }
+
+    @Test
+    void percentileUsesCeilRankAndCapsAtMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentileMs(0.99));
+
+        // 10µs 90건, 500µs 9건, 1000µs 1건
+        record(histogram, 10, 90);
+        record(histogram, 500, 9);
+        record(histogram, 1_000, 1);
+        assertEquals(100, histogram.getCount());
+
+        assertEquals(0.010, histogram.percentileMs(0));
+        assertEquals(0.010, histogram.percentileMs(0.5));
+        // 90.5 번째 → 91 번째 = 500µs 가 든 [496, 511] 버킷의 상한
+        assertEquals(0.511, histogram.percentileMs(0.905));
+        assertEquals(0.511, histogram.percentileMs(0.985));
+        // 1000µs 버킷 상한은 1023 이지만 기록된 최댓값을 넘지 않는다
+        assertEquals(1.0, histogram.percentileMs(0.995));
+        assertEquals(1.0, histogram.percentileMs(1));
+    }
+
+    @Test
+    void negativeDurationsCountAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(-5_000);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(0.0, histogram.percentileMs(1));
+    }
+
+    private static void record(LatencyHistogram histogram, long micros, int times) {
+        for (int i = 0; i < times; i++) {
+            histogram.recordNanos(micros * 1_000);
+        }
+    }
+}
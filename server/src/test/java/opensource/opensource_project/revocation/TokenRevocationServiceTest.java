@@ -0,0 +1,116 @@
+package opensource.opensource_project.revocation;
+
+import opensource.opensource_project.domain.revoked_token.entity.RevokedToken;
+import opensource.opensource_project.jwt.JwtClaims;
+import opensource.opensource_project.jwt.JwtUtil;
+import opensource.opensource_project.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// LocalRevocationChannel 하나를 두 노드가 같이 써서 노드 간 전파를 흉내 낸다 (DB 없이 메모리에만)
+class TokenRevocationServiceTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil("revocation-test-secret-key-which-is-long-enough", 10_000);
+
+    @Test
+    void revocationReachesOtherNodes() {
+        LocalRevocationChannel channel = new LocalRevocationChannel();
+        TokenRevocationService nodeA = node(channel);
+        TokenRevocationService nodeB = node(channel);
+
+        JwtClaims loggedOut = jwtUtil.parse(jwtUtil.createJwt("access", "user", "ROLE_USER", "사용자", 60_000L));
+        JwtClaims active = jwtUtil.parse(jwtUtil.createJwt("access", "user", "ROLE_USER", "사용자", 60_000L));
+        assertNotNull(loggedOut.getJti());
+
+        nodeA.revoke(loggedOut);
+
+        assertTrue(nodeA.isRevoked(loggedOut));
+        assertTrue(nodeB.isRevoked(loggedOut));
+        assertFalse(nodeB.isRevoked(active));
+        assertEquals(1L, nodeB.snapshot().get("received"));
+    }
+
+    @Test
+    void expiredRevocationsArePurged() throws InterruptedException {
+        TokenRevocationService service = node(new LocalRevocationChannel());
+        JwtClaims claims = jwtUtil.parse(jwtUtil.createJwt("access", "user", "ROLE_USER", "사용자", 2000L));
+
+        service.revoke(claims);
+        assertEquals(1, service.snapshot().get("entries"));
+
+        Thread.sleep(2100);
+        service.purgeExpired();
+
+        assertEquals(0, service.snapshot().get("entries"));
+        assertFalse(service.isRevoked(claims));
+    }
+
+    @Test
+    void failedLoadChecksDatabaseUntilLoaded() {
+        Map<String, RevokedToken> stored = new ConcurrentHashMap<>();
+        AtomicBoolean databaseDown = new AtomicBoolean(true);
+        JwtClaims revokedElsewhere = jwtUtil.parse(jwtUtil.createJwt("access", "user", "ROLE_USER", "사용자", 60_000L));
+        RevokedToken row = new RevokedToken();
+        row.setJti(revokedElsewhere.getJti());
+        row.setExpiresAt(revokedElsewhere.getExpirationMs());
+        stored.put(row.getJti(), row);
+
+        TokenRevocationService service = node(new LocalRevocationChannel(), repository(stored, databaseDown));
+        assertEquals(false, service.snapshot().get("loaded"));
+
+        // 재시작 전(또는 다른 노드)의 폐기가 Bloom filter 에 없어도 DB 로 확인해 막는다
+        databaseDown.set(false);
+        assertTrue(service.isRevoked(revokedElsewhere));
+        assertEquals(1L, service.snapshot().get("databaseLookups"));
+
+        service.retryLoad();
+        assertEquals(true, service.snapshot().get("loaded"));
+        assertTrue(service.isRevoked(revokedElsewhere));
+        assertEquals(1L, service.snapshot().get("databaseLookups"));
+    }
+
+    private static TokenRevocationService node(RevocationChannel channel) {
+        return node(channel, null);
+    }
+
+    private static TokenRevocationService node(RevocationChannel channel, RevokedTokenRepository repository) {
+        TokenRevocationService service = new TokenRevocationService(repository, channel);
+        ReflectionTestUtils.setField(service, "expectedEntries", 1000);
+        ReflectionTestUtils.setField(service, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(service, "maxEntries", 1000);
+        service.init();
+        return service;
+    }
+
+    // DB 가 내려가 있으면 조회가 DataAccessException 으로 실패하는 폐기 기록 저장소
+    private static RevokedTokenRepository repository(Map<String, RevokedToken> stored, AtomicBoolean databaseDown) {
+        return (RevokedTokenRepository) Proxy.newProxyInstance(RevokedTokenRepository.class.getClassLoader(),
+                new Class<?>[]{RevokedTokenRepository.class}, (proxy, method, args) -> {
+                    if (databaseDown.get()) {
+                        throw new DataAccessResourceFailureException("DB 연결 실패");
+                    }
+                    return switch (method.getName()) {
+                        case "findActiveAfter" -> stored.values().stream()
+                                .filter(token -> token.getJti().compareTo((String) args[0]) > 0 && token.getExpiresAt() > (long) args[1])
+                                .sorted((a, b) -> a.getJti().compareTo(b.getJti()))
+                                .limit((int) args[2])
+                                .toList();
+                        case "existsByJtiAndExpiresAtGreaterThan" -> stored.containsKey((String) args[0])
+                                && stored.get((String) args[0]).getExpiresAt() > (Long) args[1];
+                        case "deleteExpired", "insertIgnore" -> 0;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+    }
+}
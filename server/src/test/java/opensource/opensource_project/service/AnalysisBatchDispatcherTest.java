@@ -0,0 +1,148 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.dto.AnalysisJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 첫 작업 이후 linger 동안 모아 최대 maxBatchSize 개씩 넘기고, 멈추면 모으던 작업까지 넘긴 뒤 끝난다
+class AnalysisBatchDispatcherTest {
+
+    private final BlockingQueue<List<AnalysisJob>> batches = new LinkedBlockingQueue<>();
+    private final List<AnalysisBatchDispatcher> started = new ArrayList<>();
+
+    @AfterEach
+    void stop() {
+        started.forEach(AnalysisBatchDispatcher::stop);
+    }
+
+    @Test
+    void jobsWithinLingerShareOneBatch() throws InterruptedException {
+        AnalysisBatchDispatcher dispatcher = start(200, batches::add);
+        AnalysisJob first = job(1);
+        AnalysisJob second = job(2);
+
+        long offeredAt = System.nanoTime();
+        dispatcher.offer(first);
+        Thread.sleep(20);
+        dispatcher.offer(second);
+
+        assertEquals(List.of(first, second), next());
+        // 최대 개수가 안 되면 linger 가 끝날 때까지 기다린다
+        assertTrue(System.nanoTime() - offeredAt >= TimeUnit.MILLISECONDS.toNanos(200));
+
+        // linger 가 지난 뒤 들어온 작업은 새 배치가 된다
+        AnalysisJob third = job(3);
+        dispatcher.offer(third);
+        assertEquals(List.of(third), next());
+    }
+
+    @Test
+    void batchIsCappedAtMaxSize() throws InterruptedException {
+        AnalysisBatchDispatcher dispatcher = new AnalysisBatchDispatcher(100, AnalysisJobService.MAX_BATCH_SIZE, 1000, batches::add);
+        List<AnalysisJob> jobs = new ArrayList<>();
+        for (long i = 1; i <= 12; i++) {
+            jobs.add(job(i));
+            dispatcher.offer(jobs.get(jobs.size() - 1));
+        }
+        long startedAt = System.nanoTime();
+        dispatcher.start();
+        started.add(dispatcher);
+
+        // 가득 찬 배치는 linger 를 기다리지 않는다
+        assertEquals(jobs.subList(0, 5), next());
+        assertEquals(jobs.subList(5, 10), next());
+        assertTrue(System.nanoTime() - startedAt < TimeUnit.MILLISECONDS.toNanos(1000));
+        assertEquals(jobs.subList(10, 12), next());
+        assertEquals(0, dispatcher.getQueueSize());
+    }
+
+    @Test
+    void stopDeliversPartialBatchThenExits() throws InterruptedException {
+        AnalysisBatchDispatcher dispatcher = start(10_000, batches::add);
+        AnalysisJob first = job(1);
+        AnalysisJob second = job(2);
+        dispatcher.offer(first);
+        dispatcher.offer(second);
+        while (dispatcher.getQueueSize() > 0) {
+            Thread.sleep(5);
+        }
+
+        // linger(10초) 중에 멈춰도 모은 작업은 버리지 않는다
+        dispatcher.stop();
+        assertEquals(List.of(first, second), next());
+
+        // 배처 스레드는 끝났으므로 새 작업은 대기열에 남는다
+        dispatcher.offer(job(3));
+        assertNull(batches.poll(300, TimeUnit.MILLISECONDS));
+        assertEquals(1, dispatcher.getQueueSize());
+    }
+
+    @Test
+    void stopWhileIdleDeliversNothing() throws InterruptedException {
+        AnalysisBatchDispatcher dispatcher = start(50, batches::add);
+        Thread.sleep(50);
+
+        dispatcher.stop();
+        // 멈춤과 동시에 들어온 작업은 take() 가 먼저 받아 넘길 수 있으므로 스레드가 끝난 뒤에 넣는다
+        Thread.sleep(100);
+        dispatcher.offer(job(1));
+        assertNull(batches.poll(300, TimeUnit.MILLISECONDS));
+        assertEquals(1, dispatcher.getQueueSize());
+    }
+
+    @Test
+    void handlerFailureKeepsDispatching() throws InterruptedException {
+        AnalysisBatchDispatcher dispatcher = start(10, batch -> {
+            if (batch.get(0).getVideoId() == 1L) {
+                throw new IllegalStateException("워커 풀 종료");
+            }
+            batches.add(batch);
+        });
+        dispatcher.offer(job(1));
+        Thread.sleep(100);
+
+        AnalysisJob second = job(2);
+        dispatcher.offer(second);
+        assertEquals(List.of(second), next());
+    }
+
+    @Test
+    void offerFailsWhenQueueIsFull() {
+        AnalysisBatchDispatcher dispatcher = new AnalysisBatchDispatcher(2, AnalysisJobService.MAX_BATCH_SIZE, 50, batches::add);
+
+        assertTrue(dispatcher.offer(job(1)));
+        assertTrue(dispatcher.offer(job(2)));
+        assertFalse(dispatcher.offer(job(3)));
+        assertEquals(2, dispatcher.getQueueSize());
+    }
+
+    private AnalysisBatchDispatcher start(long lingerMs, Consumer<List<AnalysisJob>> handler) {
+        AnalysisBatchDispatcher dispatcher = new AnalysisBatchDispatcher(100, AnalysisJobService.MAX_BATCH_SIZE, lingerMs, handler);
+        dispatcher.start();
+        started.add(dispatcher);
+        return dispatcher;
+    }
+
+    private List<AnalysisJob> next() throws InterruptedException {
+        List<AnalysisJob> batch = batches.poll(5, TimeUnit.SECONDS);
+        assertNotNull(batch, "배치가 전달되지 않음");
+        return batch;
+    }
+
+    private static AnalysisJob job(long videoId) {
+        return new AnalysisJob(videoId, "user", null, "squat.mp4", "video/mp4");
+    }
+}
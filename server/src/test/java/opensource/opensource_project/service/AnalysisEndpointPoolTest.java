@@ -0,0 +1,150 @@
+package opensource.opensource_project.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+// 분석 서버 인스턴스 선택: 진행 중 요청이 가장 적은 곳, 연속 실패 시 제외, /health 가 연속 성공하면 복귀
+class AnalysisEndpointPoolTest {
+
+    private static final String A = "http://a.local";
+    private static final String B = "http://b.local";
+    private static final String C = "http://c.local";
+    private static final String HEALTHY = "{\"status\": \"healthy\", \"model_loaded\": true}";
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer analysisServers = MockRestServiceServer.bindTo(restTemplate)
+            .ignoreExpectOrder(true)
+            .build();
+
+    @Test
+    void picksEndpointWithFewestRequestsInFlight() {
+        AnalysisEndpointPool pool = pool(A, B, C);
+
+        Set<String> first = new HashSet<>();
+        List<AnalysisEndpoint> acquired = List.of(pool.acquire(), pool.acquire(), pool.acquire());
+        acquired.forEach(endpoint -> first.add(endpoint.getBaseUrl()));
+        // 모두 비어 있으면 한 곳에 몰리지 않는다
+        assertEquals(Set.of(A, B, C), first);
+
+        // 요청이 끝난 인스턴스가 다음 요청을 받는다
+        AnalysisEndpoint released = acquired.get(1);
+        pool.release(released, 1_000_000, false);
+        assertSame(released, pool.acquire());
+        assertEquals(1, released.getInFlight());
+    }
+
+    @Test
+    void ejectsAfterConsecutiveFailuresOnly() {
+        AnalysisEndpointPool pool = pool(A, B);
+        AnalysisEndpoint a = endpoint(pool, A);
+
+        // 중간에 성공하면 연속 실패 횟수는 처음부터 다시 센다
+        fail(pool, a, 2);
+        a.begin();
+        pool.release(a, 1_000_000, false);
+        fail(pool, a, 2);
+        assertTrue(a.isHealthy());
+
+        fail(pool, a, 1);
+        assertFalse(a.isHealthy());
+        for (int i = 0; i < 5; i++) {
+            assertNotEquals(A, pool.acquire().getBaseUrl());
+        }
+        assertEquals(1L, a.snapshot().get("ejections"));
+    }
+
+    @Test
+    void singleEndpointIsNeverEjected() {
+        AnalysisEndpointPool pool = pool(A);
+        AnalysisEndpoint a = endpoint(pool, A);
+
+        fail(pool, a, 5);
+        assertTrue(a.isHealthy());
+        assertSame(a, pool.acquire());
+    }
+
+    @Test
+    void readmittedAfterConsecutiveHealthyProbes() {
+        AnalysisEndpointPool pool = pool(A, B);
+        AnalysisEndpoint a = endpoint(pool, A);
+        fail(pool, a, 3);
+        assertFalse(a.isHealthy());
+
+        analysisServers.expect(ExpectedCount.times(2), requestTo(A + "/health"))
+                .andRespond(withSuccess(HEALTHY, MediaType.APPLICATION_JSON));
+        analysisServers.expect(ExpectedCount.times(2), requestTo(B + "/health"))
+                .andRespond(withSuccess(HEALTHY, MediaType.APPLICATION_JSON));
+
+        pool.probe();
+        // healthy-threshold(2) 전까지는 제외 상태 유지
+        assertFalse(a.isHealthy());
+        pool.probe();
+        assertTrue(a.isHealthy());
+        analysisServers.verify();
+    }
+
+    @Test
+    void modelNotLoadedOrServerErrorCountsAsUnhealthy() {
+        AnalysisEndpointPool pool = pool(A, B);
+        AnalysisEndpoint a = endpoint(pool, A);
+        AnalysisEndpoint b = endpoint(pool, B);
+
+        analysisServers.expect(ExpectedCount.times(2), requestTo(A + "/health"))
+                .andRespond(withSuccess("{\"status\": \"healthy\", \"model_loaded\": false}", MediaType.APPLICATION_JSON));
+        analysisServers.expect(ExpectedCount.times(2), requestTo(B + "/health"))
+                .andRespond(withServerError());
+
+        pool.probe();
+        assertTrue(a.isHealthy());
+        pool.probe();
+        assertFalse(a.isHealthy());
+        assertFalse(b.isHealthy());
+        // 모두 제외되면 요청을 버리지 않고 그중 한가한 곳으로 보낸다
+        AnalysisEndpoint busy = pool.acquire();
+        assertNotSame(busy, pool.acquire());
+    }
+
+    private AnalysisEndpointPool pool(String... baseUrls) {
+        AnalysisEndpointPool pool = new AnalysisEndpointPool(restTemplate);
+        ReflectionTestUtils.setField(pool, "baseUrls", String.join(",", baseUrls));
+        ReflectionTestUtils.setField(pool, "ejectAfterFailures", 3);
+        ReflectionTestUtils.setField(pool, "unhealthyThreshold", 2);
+        ReflectionTestUtils.setField(pool, "healthyThreshold", 2);
+        pool.init();
+        return pool;
+    }
+
+    private static AnalysisEndpoint endpoint(AnalysisEndpointPool pool, String baseUrl) {
+        List<?> endpoints = (List<?>) ReflectionTestUtils.getField(pool, "endpoints");
+        return endpoints.stream()
+                .map(AnalysisEndpoint.class::cast)
+                .filter(endpoint -> endpoint.getBaseUrl().equals(baseUrl))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static void fail(AnalysisEndpointPool pool, AnalysisEndpoint endpoint, int times) {
+        for (int i = 0; i < times; i++) {
+            endpoint.begin();
+            pool.release(endpoint, 1_000_000, true);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.config.IdSequenceInitializer;
+import opensource.opensource_project.config.JpaBatchConfig;
+import opensource.opensource_project.controller.EventController;
+import opensource.opensource_project.domain.analysis_result.entity.AnalysisResult;
+import opensource.opensource_project.domain.squat_videos.squat_video_constants.Status;
+import opensource.opensource_project.dto.AnalysisCursor;
+import opensource.opensource_project.dto.AnalysisEventDTO;
+import opensource.opensource_project.repository.AnalysisResultRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// SSE 구독 저장소: 연결 수 관리, 사용자당 연결 제한, 재연결 시 (analyzedAt, analysisId) 커서 이후 결과 다시 보내기
+// MockMvc 로 비동기 요청을 열어 SseEmitter 가 실제 응답에 쓰고 완료 콜백이 불리게 한다
+// 결과는 H2(MySQL 모드)에 저장해 행 값 비교 keyset 쿼리를 실제로 실행한다 (testRuntimeOnly 'com.h2database:h2' 필요)
+class AnalysisEventServiceTest {
+
+    private static final int MAX_PER_USER = 2;
+    private static final long OVERLAP_MS = 5000;
+    private static final Pattern VIDEO_ID = Pattern.compile("\"videoId\":(\\d+)");
+
+    private static ConfigurableApplicationContext context;
+    private static AnalysisEventService eventService;
+    private static AnalysisResultRepository analysisResultRepository;
+    private static JdbcTemplate jdbcTemplate;
+    private static MockMvc mockMvc;
+
+    @BeforeAll
+    static void startContext() {
+        context = new SpringApplicationBuilder(EventContext.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:events;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER",
+                        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.open-in-view=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "sse.max-connections-per-user=" + MAX_PER_USER,
+                        "sse.replay-overlap-ms=" + OVERLAP_MS)
+                .run();
+        eventService = context.getBean(AnalysisEventService.class);
+        analysisResultRepository = context.getBean(AnalysisResultRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new EventController(eventService)).build();
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    private final List<MvcResult> open = new ArrayList<>();
+
+    @BeforeEach
+    void clear() {
+        analysisResultRepository.deleteAll();
+    }
+
+    @AfterEach
+    void disconnect() {
+        open.forEach(result -> result.getRequest().getAsyncContext().complete());
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void registryCountsConnectionsAndReleasesClosedOnes() throws Exception {
+        MvcResult first = subscribe("alice", null);
+        MvcResult second = subscribe("alice", null);
+        subscribe("bob", null);
+        assertEquals(3, eventService.getConnectionCount());
+        assertTrue(first.getResponse().getContentAsString().contains(":connected"));
+
+        // 커밋된 상태 변경은 해당 사용자의 연결에만 간다
+        eventService.onAnalysisEvent(new AnalysisEventDTO("alice", 7L, Status.PROCESSING));
+        assertEquals(List.of(7L), videoIds(first));
+        assertEquals(List.of(7L), videoIds(second));
+        assertEquals(List.of(), videoIds(open.get(2)));
+
+        // 브라우저가 연결을 끊으면 저장소에서 빠진다
+        first.getRequest().getAsyncContext().complete();
+        open.remove(first);
+        assertEquals(2, eventService.getConnectionCount());
+        eventService.onAnalysisEvent(new AnalysisEventDTO("alice", 8L, Status.PROCESSING));
+        assertEquals(List.of(7L, 8L), videoIds(second));
+    }
+
+    @Test
+    void perUserCapClosesOldestConnection() throws Exception {
+        MvcResult oldest = subscribe("carol", null);
+        MvcResult middle = subscribe("carol", null);
+        MvcResult newest = subscribe("carol", null);
+
+        // 세 번째 연결이 가장 오래된 연결을 닫는다 (닫히지 않았으면 getAsyncResult 가 시간 초과로 실패)
+        oldest.getAsyncResult(1000);
+        mockMvc.perform(asyncDispatch(oldest));
+        open.remove(oldest);
+        assertEquals(MAX_PER_USER, eventService.getConnectionCount());
+
+        eventService.onAnalysisEvent(new AnalysisEventDTO("carol", 9L, Status.PROCESSING));
+        assertEquals(List.of(), videoIds(oldest));
+        assertEquals(List.of(9L), videoIds(middle));
+        assertEquals(List.of(9L), videoIds(newest));
+    }
+
+    @Test
+    void replayFollowsAnalyzedAtCursorNotSequenceOrder() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2024, 5, 1, 12, 0);
+        // 시퀀스 id 는 노드별로 미리 할당되어 저장 순서와 다르다
+        result("dave", 1L, base, 300L);
+        AnalysisResult lastSeen = result("dave", 2L, base.plusSeconds(10), 100L);
+        result("dave", 3L, base.plusSeconds(10), 150L);
+        result("dave", 4L, base.plusSeconds(20), 50L);
+        // 먼저 저장됐지만 마지막으로 받은 결과보다 늦게 커밋된 결과
+        result("dave", 5L, base.plusSeconds(8), 400L);
+        result("erin", 6L, base.plusSeconds(30), 500L);
+
+        MvcResult reconnected = subscribe("dave", AnalysisCursor.of(lastSeen).encode());
+        // 겹침 구간(5초) 안의 결과는 다시 보내고, 그 앞의 결과와 다른 사용자의 결과는 보내지 않는다
+        assertEquals(List.of(5L, 2L, 3L, 4L), videoIds(reconnected));
+        assertTrue(reconnected.getResponse().getContentAsString()
+                .contains("id:" + new AnalysisCursor(base.plusSeconds(20), 50L).encode()));
+
+        // 알 수 없는 id 면 다시 보내기 없이 구독만 한다
+        assertEquals(List.of(), videoIds(subscribe("dave", "42")));
+    }
+
+    private MvcResult subscribe(String username, String lastEventId) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+        var request = get("/events");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        MvcResult result = mockMvc.perform(request).andReturn();
+        open.add(result);
+        return result;
+    }
+
+    private static List<Long> videoIds(MvcResult result) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        Matcher matcher = VIDEO_ID.matcher(result.getResponse().getContentAsString());
+        while (matcher.find()) {
+            ids.add(Long.parseLong(matcher.group(1)));
+        }
+        return ids;
+    }
+
+    // analyzed_at 은 저장 시각으로 채워지므로 저장 후 id 와 시각을 직접 바꾼다
+    private static AnalysisResult result(String username, Long videoId, LocalDateTime analyzedAt, Long analysisId) {
+        AnalysisResult result = new AnalysisResult();
+        result.setUsername(username);
+        result.setVideoId(videoId);
+        result.setScore(80f);
+        result.setFeedback("좋아요");
+        AnalysisResult saved = analysisResultRepository.save(result);
+        // 이벤트 id 를 만들 수 있도록 저장 직후 analyzedAt 이 채워져 있어야 한다
+        assertNotNull(saved.getAnalyzedAt());
+        jdbcTemplate.update("update analysis_result set analysis_id = ?, analyzed_at = ? where analysis_id = ?",
+                analysisId, analyzedAt, saved.getAnalysisId());
+        return analysisResultRepository.findById(analysisId).orElseThrow();
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+    @EntityScan("opensource.opensource_project.domain")
+    @EnableJpaRepositories("opensource.opensource_project.repository")
+    @Import({AnalysisEventService.class, JpaBatchConfig.class, IdSequenceInitializer.class})
+    static class EventContext {
+    }
+}
@@ -0,0 +1,200 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.config.IdSequenceInitializer;
+import opensource.opensource_project.config.JpaBatchConfig;
+import opensource.opensource_project.domain.analysis_result.entity.AnalysisResult;
+import opensource.opensource_project.domain.squat_videos.entity.SquatVideo;
+import opensource.opensource_project.domain.squat_videos.squat_video_constants.Status;
+import opensource.opensource_project.dto.AnalysisCursor;
+import opensource.opensource_project.dto.AnalysisHistoryDTO;
+import opensource.opensource_project.dto.AnalysisHistoryPageDTO;
+import opensource.opensource_project.repository.AnalysisResultRepository;
+import opensource.opensource_project.repository.SquatVideoRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// 분석 이력 keyset 페이지: (analyzedAt, analysisId) 내림차순, 커서는 마지막 행 위치
+// analyzedAt 이 같은 행이 페이지 경계에 걸려도 빠지거나 겹치지 않아야 한다
+// H2(MySQL 모드)에서 행 값 비교 쿼리를 실제로 실행한다 (testRuntimeOnly 'com.h2database:h2' 필요)
+class AnalysisHistoryServiceTest {
+
+    private static final int MAX_PAGE_SIZE = 3;
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    private static ConfigurableApplicationContext context;
+    private static AnalysisHistoryService historyService;
+    private static AnalysisResultRepository analysisResultRepository;
+    private static SquatVideoRepository squatVideoRepository;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startContext() {
+        context = new SpringApplicationBuilder(HistoryContext.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:history;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER",
+                        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.open-in-view=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "history.page.max-size=" + MAX_PAGE_SIZE)
+                .run();
+        historyService = context.getBean(AnalysisHistoryService.class);
+        analysisResultRepository = context.getBean(AnalysisResultRepository.class);
+        squatVideoRepository = context.getBean(SquatVideoRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @BeforeEach
+    void clear() {
+        analysisResultRepository.deleteAll();
+        squatVideoRepository.deleteAll();
+    }
+
+    @Test
+    void cursorRoundTripsAndRejectsGarbage() {
+        AnalysisCursor cursor = new AnalysisCursor(BASE.plusNanos(123_456_000), 42L);
+        AnalysisCursor decoded = AnalysisCursor.decode(cursor.encode());
+
+        assertEquals(cursor.getAnalyzedAt(), decoded.getAnalyzedAt());
+        assertEquals(42L, decoded.getAnalysisId());
+        // URL 쿼리에 그대로 넣을 수 있다
+        assertEquals(cursor.encode(), cursor.encode().replaceAll("[^A-Za-z0-9_-]", ""));
+
+        assertThrows(IllegalArgumentException.class, () -> AnalysisCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> AnalysisCursor.decode(encode("2024-05-01T12:00")));
+        assertThrows(IllegalArgumentException.class, () -> AnalysisCursor.decode(encode("yesterday|42")));
+        assertThrows(IllegalArgumentException.class, () -> AnalysisCursor.decode(encode("2024-05-01T12:00|x")));
+        assertThrows(IllegalArgumentException.class, () -> historyService.findHistory("amy", "%%%", 3));
+    }
+
+    @Test
+    void pagesCoverRowsWithEqualAnalyzedAtExactlyOnce() {
+        // 같은 시각에 저장된 결과 네 건이 첫 페이지 경계(3건)에 걸친다
+        result("amy", 10L, BASE.plusSeconds(30));
+        result("amy", 40L, BASE.plusSeconds(20));
+        result("amy", 25L, BASE.plusSeconds(20));
+        result("amy", 31L, BASE.plusSeconds(20));
+        result("amy", 12L, BASE.plusSeconds(20));
+        result("amy", 99L, BASE.plusSeconds(10));
+        result("amy", 5L, BASE);
+        result("ben", 50L, BASE.plusSeconds(20));
+
+        List<Long> walked = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            AnalysisHistoryPageDTO page = historyService.findHistory("amy", cursor, MAX_PAGE_SIZE);
+            page.getItems().forEach(item -> walked.add(item.getAnalysisId()));
+            pageSizes.add(page.getItems().size());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(10L, 40L, 31L, 25L, 12L, 99L, 5L), walked);
+        assertEquals(List.of(3, 3, 1), pageSizes);
+    }
+
+    @Test
+    void nextCursorOnlyWhenAnotherRowExists() {
+        for (long id = 1; id <= 2 * MAX_PAGE_SIZE; id++) {
+            result("cal", id, BASE.plusSeconds(id));
+        }
+
+        AnalysisHistoryPageDTO first = historyService.findHistory("cal", null, MAX_PAGE_SIZE);
+        assertNotNull(first.getNextCursor());
+        AnalysisCursor position = AnalysisCursor.decode(first.getNextCursor());
+        assertEquals(4L, position.getAnalysisId());
+        assertEquals(BASE.plusSeconds(4), position.getAnalyzedAt());
+
+        // 남은 행이 페이지 크기와 딱 맞으면 빈 다음 페이지를 만들지 않는다
+        AnalysisHistoryPageDTO second = historyService.findHistory("cal", first.getNextCursor(), MAX_PAGE_SIZE);
+        assertEquals(List.of(3L, 2L, 1L), ids(second.getItems()));
+        assertNull(second.getNextCursor());
+
+        // 페이지 크기는 1 ~ max-size 로 자른다
+        assertEquals(MAX_PAGE_SIZE, historyService.findHistory("cal", null, 100).getItems().size());
+        assertEquals(List.of(6L), ids(historyService.findHistory("cal", null, 0).getItems()));
+    }
+
+    @Test
+    void findHistoryBeforeExcludesCursorRowOnly() {
+        result("dan", 7L, BASE.plusSeconds(5));
+        result("dan", 8L, BASE);
+        result("dan", 6L, BASE);
+        result("dan", 9L, BASE.minusSeconds(5));
+
+        // 같은 시각에서는 id 가 더 작은 행부터, 커서 행 자체는 빠진다
+        List<AnalysisHistoryDTO> rows = analysisResultRepository.findHistoryBefore("dan", BASE, 8L, PageRequest.of(0, 10));
+        assertEquals(List.of(6L, 9L), ids(rows));
+        assertEquals("squat-6.mp4", rows.get(0).getOriginalFilename());
+    }
+
+    private static List<Long> ids(List<AnalysisHistoryDTO> rows) {
+        return rows.stream().map(AnalysisHistoryDTO::getAnalysisId).toList();
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // analyzed_at 은 저장 시각으로 채워지므로 저장 후 id 와 시각을 직접 바꾼다
+    private static void result(String username, Long analysisId, LocalDateTime analyzedAt) {
+        SquatVideo video = new SquatVideo();
+        video.setUsername(username);
+        video.setOriginalFilename("squat-" + analysisId + ".mp4");
+        video.setExtension(".mp4");
+        video.setS3Url("https://bucket.s3.amazonaws.com/squat-" + analysisId + ".mp4");
+        video.setStatus(Status.DONE);
+        Long videoId = squatVideoRepository.save(video).getVideoId();
+
+        AnalysisResult result = new AnalysisResult();
+        result.setUsername(username);
+        result.setVideoId(videoId);
+        result.setScore(80f);
+        result.setFeedback("좋아요");
+        AnalysisResult saved = analysisResultRepository.save(result);
+        jdbcTemplate.update("update analysis_result set analysis_id = ?, analyzed_at = ? where analysis_id = ?",
+                analysisId, analyzedAt, saved.getAnalysisId());
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+    @EntityScan("opensource.opensource_project.domain")
+    @EnableJpaRepositories("opensource.opensource_project.repository")
+    @Import({AnalysisHistoryService.class, JpaBatchConfig.class, IdSequenceInitializer.class})
+    static class HistoryContext {
+    }
+}
@@ -0,0 +1,226 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.domain.analysis_result.entity.AnalysisResult;
+import opensource.opensource_project.domain.squat_videos.entity.SquatVideo;
+import opensource.opensource_project.domain.squat_videos.squat_video_constants.Status;
+import opensource.opensource_project.domain.user_progress.entity.UserProgress;
+import opensource.opensource_project.dto.AnalysisEventDTO;
+import opensource.opensource_project.dto.AnalysisJob;
+import opensource.opensource_project.repository.AnalysisResultRepository;
+import opensource.opensource_project.repository.SquatVideoRepository;
+import opensource.opensource_project.repository.UserProgressRepository;
+import opensource.opensource_project.support.InMemoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+// /analyze-batch 결과는 요청한 파일 순서와 같으므로 i 번째 결과를 i 번째 작업에 저장한다
+// 호출 자체가 실패하면 배치의 모든 작업을 같은 이유로 실패 처리하고, 어느 쪽이든 임시 파일은 지운다
+// 분석 작업 대기열(DB)은 끈 상태 (@Value 미적용 시 enabled=false): 실패는 바로 FAILED 로 저장
+class AnalysisJobServiceTest {
+
+    private static final String ANALYSIS = "http://analysis.local";
+
+    private final BlockingQueue<AnalysisEventDTO> events = new LinkedBlockingQueue<>();
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer analysisServer = MockRestServiceServer.bindTo(restTemplate).build();
+    private final ThreadPoolTaskExecutor analysisExecutor = new ThreadPoolTaskExecutor();
+
+    private SquatVideoRepository squatVideoRepository;
+    private AnalysisJobService analysisJobService;
+    private Path stagingDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stagingDir = Files.createTempDirectory("analysis-batch");
+        squatVideoRepository = InMemoryRepository.create(SquatVideoRepository.class,
+                SquatVideo::getVideoId, SquatVideo::setVideoId, SquatVideo::new, 0);
+        AnalysisResultRepository analysisResultRepository = InMemoryRepository.create(AnalysisResultRepository.class,
+                AnalysisResult::getAnalysisId, AnalysisResult::setAnalysisId, AnalysisResult::new, 0);
+        UserProgressRepository userProgressRepository = InMemoryRepository.create(UserProgressRepository.class,
+                progress -> null, (progress, id) -> {
+                }, UserProgress::new, 0);
+
+        AnalysisResultWriter writer = new AnalysisResultWriter(squatVideoRepository, analysisResultRepository,
+                new UserProgressService(userProgressRepository), event -> {
+            if (event instanceof AnalysisEventDTO analysisEvent && analysisEvent.getStatus() != Status.PROCESSING) {
+                events.add(analysisEvent);
+            }
+        });
+        AnalysisOutboxService outboxService = new AnalysisOutboxService(null, squatVideoRepository, writer);
+        ContentDedupService dedupService = new ContentDedupService(squatVideoRepository, analysisResultRepository, writer,
+                outboxService);
+
+        AnalysisEndpointPool endpointPool = new AnalysisEndpointPool(new RestTemplate());
+        ReflectionTestUtils.setField(endpointPool, "baseUrls", ANALYSIS);
+        ReflectionTestUtils.setField(endpointPool, "ejectAfterFailures", 3);
+        endpointPool.init();
+
+        analysisExecutor.setCorePoolSize(1);
+        analysisExecutor.initialize();
+        analysisJobService = new AnalysisJobService(analysisExecutor, new AnalysisServerClient(restTemplate, null, endpointPool),
+                writer, dedupService, outboxService);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        analysisExecutor.shutdown();
+        try (var staged = Files.list(stagingDir)) {
+            staged.forEach(path -> path.toFile().delete());
+        }
+        Files.delete(stagingDir);
+    }
+
+    @Test
+    void outcomesAreMappedToJobsInRequestOrder() throws Exception {
+        List<AnalysisJob> jobs = jobs(3);
+        analysisServer.expect(requestTo(ANALYSIS + "/analyze-batch"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(request -> {
+                    String body = ((MockClientHttpRequest) request).getBodyAsString();
+                    assertTrue(body.indexOf("squat-1.mp4") < body.indexOf("squat-2.mp4"));
+                    assertTrue(body.indexOf("squat-2.mp4") < body.indexOf("squat-3.mp4"));
+                })
+                .andRespond(withSuccess("""
+                        {"results": [
+                          {"filename": "squat-1.mp4", "status": "success", "score": 80, "feedback": ["무릎을 더 굽히세요", "허리를 펴세요"]},
+                          {"filename": "squat-2.mp4", "status": "error", "message": "사람이 보이지 않습니다"},
+                          {"filename": "squat-3.mp4", "status": "success", "score": 65, "feedback": []}
+                        ]}""", MediaType.APPLICATION_JSON));
+
+        analysisJobService.submitBatch(jobs);
+        Map<Long, AnalysisEventDTO> results = awaitResults(jobs);
+
+        AnalysisEventDTO first = results.get(jobs.get(0).getVideoId());
+        assertEquals(Status.DONE, first.getStatus());
+        assertEquals(80f, first.getScore());
+        assertEquals("무릎을 더 굽히세요\n허리를 펴세요", first.getFeedBack());
+
+        AnalysisEventDTO second = results.get(jobs.get(1).getVideoId());
+        assertEquals(Status.FAILED, second.getStatus());
+        assertEquals("분석 실패: 사람이 보이지 않습니다", second.getFeedBack());
+
+        AnalysisEventDTO third = results.get(jobs.get(2).getVideoId());
+        assertEquals(Status.DONE, third.getStatus());
+        assertEquals(65f, third.getScore());
+        assertEquals("", third.getFeedBack());
+
+        assertEquals(List.of(Status.DONE, Status.FAILED, Status.DONE), statuses(jobs));
+        assertStagedFilesDeleted(jobs);
+        analysisServer.verify();
+    }
+
+    @Test
+    void resultCountMismatchFailsWholeBatch() throws Exception {
+        List<AnalysisJob> jobs = jobs(3);
+        analysisServer.expect(requestTo(ANALYSIS + "/analyze-batch"))
+                .andRespond(withSuccess("""
+                        {"results": [
+                          {"status": "success", "score": 80, "feedback": []},
+                          {"status": "success", "score": 70, "feedback": []}
+                        ]}""", MediaType.APPLICATION_JSON));
+
+        analysisJobService.submitBatch(jobs);
+
+        // 어느 결과가 어느 파일의 것인지 알 수 없으므로 하나도 저장하지 않는다
+        for (AnalysisEventDTO result : awaitResults(jobs).values()) {
+            assertEquals(Status.FAILED, result.getStatus());
+            assertEquals("분석 중 오류 발생", result.getFeedBack());
+        }
+        assertEquals(List.of(Status.FAILED, Status.FAILED, Status.FAILED), statuses(jobs));
+        assertStagedFilesDeleted(jobs);
+    }
+
+    @Test
+    void unreadableBatchFailsEveryJob() throws Exception {
+        List<AnalysisJob> jobs = jobs(2);
+        analysisServer.expect(requestTo(ANALYSIS + "/analyze-batch"))
+                .andRespond(withStatus(HttpStatus.UNPROCESSABLE_ENTITY));
+
+        analysisJobService.submitBatch(jobs);
+
+        for (AnalysisEventDTO result : awaitResults(jobs).values()) {
+            assertEquals(Status.FAILED, result.getStatus());
+            assertEquals("영상을 분석할 수 없습니다", result.getFeedBack());
+        }
+        assertStagedFilesDeleted(jobs);
+    }
+
+    @Test
+    void batchLargerThanServerLimitIsRejected() throws Exception {
+        List<AnalysisJob> jobs = jobs(AnalysisJobService.MAX_BATCH_SIZE + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> analysisJobService.submitBatch(jobs));
+        assertEquals(0, analysisExecutor.getThreadPoolExecutor().getTaskCount());
+    }
+
+    private List<AnalysisJob> jobs(int count) throws IOException {
+        List<AnalysisJob> jobs = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            SquatVideo video = new SquatVideo();
+            video.setUsername("user");
+            video.setOriginalFilename("squat-" + i + ".mp4");
+            video.setExtension(".mp4");
+            video.setStatus(Status.PENDING);
+            SquatVideo saved = squatVideoRepository.save(video);
+
+            Path staged = Files.write(stagingDir.resolve("upload-" + i), new byte[]{0, 0, 0, 8, 'f', 't', 'y', 'p'});
+            jobs.add(new AnalysisJob(saved.getVideoId(), "user", staged, "squat-" + i + ".mp4", "video/mp4"));
+        }
+        return jobs;
+    }
+
+    // 결과 이벤트가 모두 온 뒤 워커를 멈춰 임시 파일 정리(finally)까지 끝나게 한다
+    private Map<Long, AnalysisEventDTO> awaitResults(List<AnalysisJob> jobs) throws InterruptedException {
+        Map<Long, AnalysisEventDTO> results = new HashMap<>();
+        while (results.size() < jobs.size()) {
+            AnalysisEventDTO event = events.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "분석 결과가 저장되지 않음");
+            results.put(event.getVideoId(), event);
+        }
+        analysisExecutor.getThreadPoolExecutor().shutdown();
+        assertTrue(analysisExecutor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS));
+        return results;
+    }
+
+    private List<Status> statuses(List<AnalysisJob> jobs) {
+        return jobs.stream()
+                .map(job -> squatVideoRepository.findById(job.getVideoId()).orElseThrow().getStatus())
+                .toList();
+    }
+
+    private static void assertStagedFilesDeleted(List<AnalysisJob> jobs) {
+        for (AnalysisJob job : jobs) {
+            assertFalse(Files.exists(job.getStagedFile()), job.getStagedFile().toString());
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.config.IdSequenceInitializer;
+import opensource.opensource_project.config.JpaBatchConfig;
+import opensource.opensource_project.domain.analysis_outbox.analysis_outbox_constants.OutboxState;
+import opensource.opensource_project.domain.analysis_outbox.entity.AnalysisOutbox;
+import opensource.opensource_project.domain.squat_videos.entity.SquatVideo;
+import opensource.opensource_project.domain.squat_videos.squat_video_constants.Status;
+import opensource.opensource_project.dto.AnalysisJob;
+import opensource.opensource_project.repository.AnalysisOutboxRepository;
+import opensource.opensource_project.repository.SquatVideoRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 분석 작업 대기열의 임대/재시도/DEAD 처리. 다른 노드는 lease_owner 가 다른 행으로 흉내 낸다
+// H2 를 MySQL 모드로 띄워 FOR UPDATE SKIP LOCKED 와 JPQL 조건부 UPDATE/DELETE 를 실제로 실행한다 (testRuntimeOnly 'com.h2database:h2' 필요)
+class AnalysisOutboxServiceTest {
+
+    private static final String NODE = "node-a";
+    private static final String OTHER_NODE = "node-b";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static ConfigurableApplicationContext context;
+    private static AnalysisOutboxService outboxService;
+    private static AnalysisOutboxRepository outboxRepository;
+    private static SquatVideoRepository squatVideoRepository;
+
+    @BeforeAll
+    static void startContext() {
+        context = new SpringApplicationBuilder(OutboxContext.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:outbox;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER",
+                        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.open-in-view=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "analysis.outbox.node-id=" + NODE,
+                        "analysis.outbox.max-attempts=" + MAX_ATTEMPTS,
+                        "analysis.outbox.lease-ms=60000",
+                        "analysis.outbox.backoff-base-ms=2000",
+                        "analysis.outbox.backoff-max-ms=2000")
+                .run();
+        outboxService = context.getBean(AnalysisOutboxService.class);
+        outboxRepository = context.getBean(AnalysisOutboxRepository.class);
+        squatVideoRepository = context.getBean(SquatVideoRepository.class);
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @BeforeEach
+    void clear() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void saveTrackedWritesVideoAndRowInOneTransaction() {
+        AnalysisJob job = outboxService.saveTracked(newVideo(),
+                videoId -> AnalysisJob.remote(videoId, "user", "squat-" + videoId + ".mp4", "squat.mp4", "video/mp4"));
+        assertEquals(Status.PENDING, status(job));
+        AnalysisOutbox row = row(job).orElseThrow();
+        assertEquals(OutboxState.RUNNING, row.getState());
+        assertEquals(NODE, row.getLeaseOwner());
+
+        // 작업을 만들지 못하면 영상 행도 남지 않는다
+        long videos = squatVideoRepository.count();
+        assertThrows(IllegalStateException.class, () -> outboxService.saveTracked(newVideo(), videoId -> {
+            throw new IllegalStateException("작업 생성 실패");
+        }));
+        assertEquals(videos, squatVideoRepository.count());
+        assertEquals(1, outboxRepository.count());
+    }
+
+    @Test
+    void onlyLeaseOwnerCanRenewOrComplete() {
+        AnalysisJob job = newJob();
+        outboxService.track(job);
+        update(job, row -> row.setLeaseOwner(OTHER_NODE));
+
+        assertFalse(outboxService.renew(job));
+        outboxService.complete(job, 80f, "좋아요");
+        assertTrue(row(job).isPresent());
+        assertEquals(Status.PENDING, status(job));
+
+        update(job, row -> row.setLeaseOwner(NODE));
+        assertTrue(outboxService.renew(job));
+        outboxService.complete(job, 80f, "좋아요");
+        assertTrue(row(job).isEmpty());
+        assertEquals(Status.DONE, status(job));
+    }
+
+    @Test
+    void failBacksOffThenGoesDeadAtMaxAttempts() {
+        AnalysisJob job = newJob();
+        outboxService.track(job);
+
+        for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+            LocalDateTime before = LocalDateTime.now();
+            assertTrue(outboxService.fail(job, "분석 서버 연결 실패", true));
+            AnalysisOutbox row = row(job).orElseThrow();
+            assertEquals(OutboxState.PENDING, row.getState());
+            assertEquals(attempt, row.getAttempts());
+            assertNull(row.getLeaseOwner());
+            // 백오프 절반(1초) 이상 뒤로 미뤄진다
+            assertTrue(row.getNextAttemptAt().isAfter(before.plusNanos(999_000_000L)));
+
+            update(job, due -> due.setNextAttemptAt(LocalDateTime.now().minusSeconds(1)));
+            assertEquals(List.of(job.getVideoId()), claimedIds());
+        }
+
+        assertFalse(outboxService.fail(job, "분석 서버 연결 실패", true));
+        assertEquals(OutboxState.DEAD, row(job).orElseThrow().getState());
+        assertEquals(Status.FAILED, status(job));
+    }
+
+    @Test
+    void notRetryableFailureGoesDeadImmediately() {
+        AnalysisJob job = newJob();
+        outboxService.track(job);
+
+        assertFalse(outboxService.fail(job, "영상을 분석할 수 없습니다", false));
+        assertEquals(OutboxState.DEAD, row(job).orElseThrow().getState());
+        assertEquals(Status.FAILED, status(job));
+    }
+
+    @Test
+    void claimDueReclaimsExpiredLeasesAndDeadLettersOverLimit() {
+        AnalysisJob expired = newJob();
+        outboxService.track(expired);
+        update(expired, row -> {
+            row.setLeaseOwner(OTHER_NODE);
+            row.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        });
+        AnalysisJob overLimit = newJob();
+        outboxService.track(overLimit);
+        update(overLimit, row -> {
+            row.setState(OutboxState.PENDING);
+            row.setLeaseOwner(null);
+            row.setAttempts(MAX_ATTEMPTS);
+            row.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        });
+        AnalysisJob leased = newJob();
+        outboxService.track(leased);
+
+        assertEquals(List.of(expired.getVideoId()), claimedIds());
+
+        AnalysisOutbox reclaimed = row(expired).orElseThrow();
+        assertEquals(OutboxState.RUNNING, reclaimed.getState());
+        assertEquals(NODE, reclaimed.getLeaseOwner());
+        assertEquals(2, reclaimed.getAttempts());
+        assertEquals(OutboxState.DEAD, row(overLimit).orElseThrow().getState());
+        assertEquals(Status.FAILED, status(overLimit));
+        assertEquals(OutboxState.RUNNING, row(leased).orElseThrow().getState());
+        assertEquals(Status.PENDING, status(leased));
+    }
+
+    @Test
+    void releaseRestoresAttempt() {
+        AnalysisJob job = newJob();
+        outboxService.track(job);
+
+        outboxService.release(job);
+
+        AnalysisOutbox row = row(job).orElseThrow();
+        assertEquals(OutboxState.PENDING, row.getState());
+        assertEquals(0, row.getAttempts());
+        assertNull(row.getLeaseOwner());
+        assertFalse(row.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals(List.of(job.getVideoId()), claimedIds());
+        assertEquals(1, row(job).orElseThrow().getAttempts());
+    }
+
+    @Test
+    void waitingUploadsShareLeaderRetry() {
+        AnalysisJob leader = newJob();
+        outboxService.track(leader);
+        assertTrue(outboxService.fail(leader, "분석 서버 연결 실패", true));
+        AnalysisJob follower = newJob();
+        outboxService.enqueue(follower.getVideoId(), follower.getUsername(), leader);
+
+        assertEquals(OutboxState.WAITING, row(follower).orElseThrow().getState());
+        outboxRepository.findAll().forEach(row -> {
+            row.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+            outboxRepository.save(row);
+        });
+        // 기다리는 업로드는 따로 분석하지 않는다
+        List<AnalysisJob> claimed = outboxService.claimDue(10);
+        assertEquals(List.of(leader.getVideoId()), claimed.stream().map(AnalysisJob::getVideoId).toList());
+
+        outboxService.complete(claimed.get(0), 75f, "허리를 펴세요");
+        assertEquals(0, outboxRepository.count());
+        assertEquals(Status.DONE, status(leader));
+        assertEquals(Status.DONE, status(follower));
+    }
+
+    @Test
+    void waitingUploadsFailWithLeader() {
+        AnalysisJob leader = newJob();
+        outboxService.track(leader);
+        assertTrue(outboxService.fail(leader, "분석 서버 연결 실패", true));
+        AnalysisJob follower = newJob();
+        outboxService.enqueue(follower.getVideoId(), follower.getUsername(), leader);
+
+        update(leader, row -> {
+            row.setState(OutboxState.RUNNING);
+            row.setLeaseOwner(NODE);
+        });
+        assertFalse(outboxService.fail(leader, "영상을 분석할 수 없습니다", false));
+
+        assertEquals(OutboxState.DEAD, row(follower).orElseThrow().getState());
+        assertEquals(Status.FAILED, status(follower));
+
+        // 앞선 업로드가 이미 DEAD 면 기다리지 않고 바로 실패
+        AnalysisJob late = newJob();
+        outboxService.enqueue(late.getVideoId(), late.getUsername(), leader);
+        assertTrue(row(late).isEmpty());
+        assertEquals(Status.FAILED, status(late));
+    }
+
+    private static AnalysisJob newJob() {
+        Long videoId = squatVideoRepository.save(newVideo()).getVideoId();
+        return AnalysisJob.remote(videoId, "user", "squat-" + videoId + ".mp4", "squat.mp4", "video/mp4");
+    }
+
+    private static SquatVideo newVideo() {
+        SquatVideo video = new SquatVideo();
+        video.setUsername("user");
+        video.setOriginalFilename("squat.mp4");
+        video.setExtension(".mp4");
+        video.setS3Url("https://bucket.s3.amazonaws.com/squat.mp4");
+        video.setStatus(Status.PENDING);
+        return video;
+    }
+
+    private static List<Long> claimedIds() {
+        return outboxService.claimDue(10).stream().map(AnalysisJob::getVideoId).toList();
+    }
+
+    private static Optional<AnalysisOutbox> row(AnalysisJob job) {
+        return outboxRepository.findAll().stream().filter(row -> row.getVideoId().equals(job.getVideoId())).findFirst();
+    }
+
+    private static void update(AnalysisJob job, Consumer<AnalysisOutbox> change) {
+        AnalysisOutbox row = row(job).orElseThrow();
+        change.accept(row);
+        outboxRepository.save(row);
+    }
+
+    private static Status status(AnalysisJob job) {
+        return squatVideoRepository.findById(job.getVideoId()).orElseThrow().getStatus();
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+    @EntityScan("opensource.opensource_project.domain")
+    @EnableJpaRepositories("opensource.opensource_project.repository")
+    @Import({AnalysisOutboxService.class, AnalysisResultWriter.class, UserProgressService.class, JpaBatchConfig.class,
+            IdSequenceInitializer.class})
+    static class OutboxContext {
+    }
+}
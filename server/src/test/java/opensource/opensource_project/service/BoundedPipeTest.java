@@ -0,0 +1,153 @@
+package opensource.opensource_project.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// 생산자는 capacity 개의 청크 + 채우는 중인 버퍼 하나까지만 앞서가고, 실패/조기 종료는 반대편의 막힌 스레드를 깨운다
+class BoundedPipeTest {
+
+    private final ExecutorService threads = Executors.newCachedThreadPool();
+    private final AtomicReference<Thread> reader = new AtomicReference<>();
+
+    @AfterEach
+    void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    void bytesArriveInOrderAcrossChunks() throws Exception {
+        BoundedPipe pipe = new BoundedPipe(8, 2);
+        byte[] data = new byte[1000];
+        new Random(3).nextBytes(data);
+
+        Future<?> writer = threads.submit(() -> {
+            try (OutputStream out = pipe.outputStream()) {
+                int offset = 0;
+                while (offset < data.length) {
+                    // 한 바이트 쓰기와 청크 경계를 넘는 배열 쓰기를 섞는다
+                    out.write(data[offset++]);
+                    int n = Math.min(13, data.length - offset);
+                    out.write(data, offset, n);
+                    offset += n;
+                }
+            }
+            return null;
+        });
+
+        try (InputStream in = pipe.inputStream()) {
+            assertArrayEquals(data, in.readAllBytes());
+            assertEquals(-1, in.read());
+        }
+        writer.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void writerWaitsWhenReaderFallsBehind() throws Exception {
+        BoundedPipe pipe = new BoundedPipe(4, 2);
+        AtomicInteger written = new AtomicInteger();
+        Future<?> writer = threads.submit(() -> {
+            try (OutputStream out = pipe.outputStream()) {
+                for (int i = 0; i < 10; i++) {
+                    out.write(new byte[]{(byte) i, (byte) i, (byte) i, (byte) i});
+                    written.incrementAndGet();
+                }
+            }
+            return null;
+        });
+
+        // 큐 2칸 + 채워 둔 버퍼 1개까지 쓰고 네 번째 청크에서 멈춘다
+        Thread.sleep(300);
+        assertEquals(3, written.get());
+        assertFalse(writer.isDone());
+
+        InputStream in = pipe.inputStream();
+        assertArrayEquals(new byte[]{0, 0, 0, 0}, in.readNBytes(4));
+        waitUntil(() -> written.get() == 4);
+        Thread.sleep(100);
+        assertEquals(4, written.get());
+
+        byte[] rest = in.readAllBytes();
+        assertEquals(36, rest.length);
+        assertEquals(9, rest[35]);
+        writer.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void failWakesBlockedReaderWithCause() throws Exception {
+        BoundedPipe pipe = new BoundedPipe(4, 2);
+        Future<byte[]> read = threads.submit(() -> {
+            reader.set(Thread.currentThread());
+            try (InputStream in = pipe.inputStream()) {
+                return in.readAllBytes();
+            }
+        });
+        waitUntil(() -> reader.get() != null && reader.get().getState() == Thread.State.WAITING);
+
+        // 아직 읽지 않은 청크는 버리고 실패를 먼저 알린다
+        OutputStream out = pipe.outputStream();
+        out.write(new byte[8]);
+        IOException cause = new IOException("S3 업로드 실패");
+        pipe.fail(cause);
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> read.get(5, TimeUnit.SECONDS));
+        assertSame(cause, thrown.getCause());
+    }
+
+    @Test
+    void readerClosingEarlyReleasesBlockedWriter() throws Exception {
+        BoundedPipe pipe = new BoundedPipe(4, 1);
+        byte[] chunk = new byte[4];
+        Arrays.fill(chunk, (byte) 7);
+        AtomicInteger written = new AtomicInteger();
+        Future<?> writer = threads.submit(() -> {
+            try (OutputStream out = pipe.outputStream()) {
+                for (int i = 0; i < 1_000_000; i++) {
+                    out.write(chunk);
+                    written.incrementAndGet();
+                }
+            }
+            return null;
+        });
+        waitUntil(() -> written.get() == 2);
+
+        InputStream in = pipe.inputStream();
+        assertArrayEquals(chunk, in.readNBytes(4));
+        in.close();
+
+        // 소비자가 없으면 큐가 다시 차는 순간 쓰기가 실패한다 (끝까지 쓰거나 영원히 막히지 않는다)
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> writer.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, thrown.getCause());
+        assertEquals("파이프 소비자가 종료되었습니다", thrown.getCause().getMessage());
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("시간 초과");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package opensource.opensource_project.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 완료 처리는 진행 중인 청크 기록을 (바쁜 대기 없이) 기다리고, 멈춘 완료 처리는 정리된다
+class ChunkedUploadServiceTest {
+
+    private final ChunkedUploadService service = new ChunkedUploadService();
+    private Path stagingDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stagingDir = Files.createTempDirectory("chunked-upload");
+        ReflectionTestUtils.setField(service, "stagingDir", stagingDir.toString());
+        ReflectionTestUtils.setField(service, "chunkSize", 1024);
+        ReflectionTestUtils.setField(service, "maxSize", 1L << 20);
+        ReflectionTestUtils.setField(service, "maxSessionsPerUser", 3);
+        ReflectionTestUtils.setField(service, "maxSessions", 10);
+        ReflectionTestUtils.setField(service, "sessionTtlMs", 3_600_000L);
+        ReflectionTestUtils.setField(service, "finalizeWaitMs", 5_000L);
+        ReflectionTestUtils.setField(service, "finalizeTimeoutMs", 900_000L);
+    }
+
+    @Test
+    void finalizeWaitsForInFlightWriter() throws Exception {
+        ChunkedUploadSession session = service.create("user", "squat.mp4", 4096L);
+        assertTrue(session.enterWriter());
+
+        CompletableFuture<Boolean> finalized = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.beginFinalize(session);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertFalse(finalized.isDone());
+        assertEquals(ChunkedUploadSession.State.FINALIZING, session.getState());
+
+        session.exitWriter();
+        assertTrue(finalized.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void finalizeGivesUpAfterWaitAndReopens() throws Exception {
+        ReflectionTestUtils.setField(service, "finalizeWaitMs", 50L);
+        ChunkedUploadSession session = service.create("user", "squat.mp4", 4096L);
+        assertTrue(session.enterWriter());
+
+        assertFalse(service.beginFinalize(session));
+        assertEquals(ChunkedUploadSession.State.OPEN, session.getState());
+        session.exitWriter();
+        assertTrue(service.beginFinalize(session));
+    }
+
+    @Test
+    void purgeReclaimsStuckFinalizingSession() throws Exception {
+        ReflectionTestUtils.setField(service, "finalizeTimeoutMs", 0L);
+        ChunkedUploadSession session = service.create("user", "squat.mp4", 4096L);
+        assertTrue(service.beginFinalize(session));
+        Thread.sleep(5);
+
+        service.purgeExpired();
+
+        assertTrue(service.find(session.getSessionId(), "user").isEmpty());
+        assertFalse(Files.exists(session.getFile()));
+    }
+}
@@ -0,0 +1,170 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.dto.VideoMetadata;
+import opensource.opensource_project.support.TestVideos;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static opensource.opensource_project.support.TestVideos.box;
+import static opensource.opensource_project.support.TestVideos.concat;
+import static opensource.opensource_project.support.TestVideos.ints;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// 헤더가 잘리거나 깨진 파일은 파싱되거나 IllegalArgumentException(400) 으로만 끝나야 한다
+class Mp4ProbeTest {
+
+    private static final byte[] FTYP = box("ftyp", type("isom"), ints(0x200), type("isommp41"));
+    private static final byte[] MVHD = box("mvhd", ints(0, 0, 0, 1000, 10_000), new byte[80]);
+    private static final byte[] MDHD = box("mdhd", ints(0, 0, 0, 30_000, 300_000), new byte[4]);
+
+    private final Mp4Probe probe = new Mp4Probe();
+
+    Mp4ProbeTest() {
+        ReflectionTestUtils.setField(probe, "maxReadBytes", 1L << 20);
+        ReflectionTestUtils.setField(probe, "maxDurationSeconds", 600L);
+    }
+
+    @Test
+    void parsesHeader() throws IOException {
+        assertVideo(probe(TestVideos.mp4(4096, new Random(1))));
+    }
+
+    @Test
+    void truncatedHeaderIsRejected() {
+        byte[] video = concat(FTYP, moov(MVHD, MDHD, "vide"));
+        for (int length = 0; length < video.length; length++) {
+            byte[] truncated = Arrays.copyOf(video, length);
+            assertThrows(IllegalArgumentException.class, () -> probe(truncated), "length " + length);
+        }
+    }
+
+    @Test
+    void missingMoovIsRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> probe(concat(FTYP, box("mdat", new byte[64]))));
+        assertEquals("영상 정보(moov)를 찾을 수 없습니다", e.getMessage());
+    }
+
+    @Test
+    void audioOnlyIsRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> probe(concat(FTYP, moov(MVHD, MDHD, "soun"))));
+        assertEquals("영상 트랙이 없습니다", e.getMessage());
+    }
+
+    @Test
+    void zeroSizeBoxExtendsToEndOfFile() throws IOException {
+        byte[] moov = moov(MVHD, MDHD, "vide");
+        // moov 크기 필드를 0 으로
+        System.arraycopy(ints(0), 0, moov, 0, 4);
+        assertVideo(probe(concat(FTYP, box("mdat", new byte[64]), moov)));
+
+        // 파일 끝까지 이어지는 mdat 뒤에는 moov 가 있을 수 없다
+        byte[] mdat = concat(ints(0), type("mdat"), new byte[64]);
+        assertThrows(IllegalArgumentException.class, () -> probe(concat(FTYP, mdat)));
+    }
+
+    @Test
+    void largeSizeBoxIsSkipped() throws IOException {
+        byte[] mdat = concat(ints(1), type("mdat"), ints(0, 16 + 64), new byte[64]);
+        assertVideo(probe(concat(FTYP, mdat, moov(MVHD, MDHD, "vide"))));
+
+        // largesize 가 헤더(16바이트)보다 작거나 음수면 손상
+        byte[] tooSmall = concat(ints(1), type("mdat"), ints(0, 8), new byte[64]);
+        assertThrows(IllegalArgumentException.class, () -> probe(concat(FTYP, tooSmall, moov(MVHD, MDHD, "vide"))));
+        byte[] negative = concat(ints(1), type("mdat"), ints(-1, -1), new byte[64]);
+        assertThrows(IllegalArgumentException.class, () -> probe(concat(FTYP, negative, moov(MVHD, MDHD, "vide"))));
+    }
+
+    @Test
+    void readsVersionOneHeaders() throws IOException {
+        // version 1: creation/modification time 과 duration 이 64비트
+        byte[] mvhd = box("mvhd", ints(1 << 24, 0, 0, 0, 0, 1000, 0, 10_000), new byte[80]);
+        byte[] mdhd = box("mdhd", ints(1 << 24, 0, 0, 0, 0, 30_000, 0, 300_000), new byte[4]);
+        assertVideo(probe(concat(FTYP, moov(mvhd, mdhd, "vide"))));
+
+        // 1000 을 곱하면 넘치는 duration 도 음수 길이로 통과하지 않는다
+        byte[] huge = box("mvhd", ints(1 << 24, 0, 0, 0, 0, 1, Integer.MAX_VALUE, -1), new byte[80]);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> probe(concat(FTYP, moov(huge, mdhd, "vide"))));
+        assertEquals("영상 길이는 최대 600초입니다", e.getMessage());
+    }
+
+    @Test
+    void quickTimeDataHandlerDoesNotHideVideoTrack() throws IOException {
+        // QuickTime(iPhone .mov): mdia > hdlr(mhlr/vide) 뒤에 minf > hdlr(dhlr/alis) 데이터 핸들러가 온다
+        byte[] tkhd = box("tkhd", ints(0, 0, 0, 1, 0, 10_000), new byte[52], ints(1280 << 16, 720 << 16));
+        byte[] mediaHandler = box("hdlr", ints(0), type("mhlr"), type("vide"), new byte[12]);
+        byte[] dataHandler = box("hdlr", ints(0), type("dhlr"), type("alis"), new byte[12]);
+        byte[] stbl = box("stbl", box("stts", ints(0, 1, 300, 1000)));
+        byte[] minf = box("minf", box("vmhd", new byte[12]), dataHandler, box("dinf", new byte[8]), stbl);
+        byte[] moov = box("moov", MVHD, box("trak", tkhd, box("mdia", MDHD, mediaHandler, minf)));
+        byte[] ftyp = box("ftyp", type("qt  "), ints(0), type("qt  "));
+
+        VideoMetadata metadata = probe(concat(ftyp, box("wide"), moov));
+        assertVideo(metadata);
+        assertEquals(".mov", metadata.getExtension());
+    }
+
+    @Test
+    void boxSmallerThanItsFieldsIsRejected() {
+        byte[] mvhd = box("mvhd", ints(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> probe(concat(FTYP, moov(mvhd, MDHD, "vide"))));
+
+        byte[] stts = box("stts", ints(0, Integer.MAX_VALUE, 300, 1000));
+        assertThrows(IllegalArgumentException.class,
+                () -> probe(concat(FTYP, box("moov", MVHD, trak(MDHD, "vide", stts)))));
+    }
+
+    @Test
+    void corruptedHeadersOnlyFailWithIllegalArgument() {
+        byte[] video = concat(FTYP, moov(MVHD, MDHD, "vide"), box("mdat", new byte[64]));
+        Random random = new Random(15);
+        for (int i = 0; i < 5000; i++) {
+            byte[] corrupted = video.clone();
+            for (int flips = 1 + random.nextInt(4); flips > 0; flips--) {
+                corrupted[random.nextInt(corrupted.length)] = (byte) random.nextInt(256);
+            }
+            try {
+                probe(corrupted);
+            } catch (IllegalArgumentException e) {
+                // 400 으로 거절
+            } catch (IOException | RuntimeException e) {
+                throw new AssertionError("iteration " + i + ": " + e, e);
+            }
+        }
+    }
+
+    private VideoMetadata probe(byte[] video) throws IOException {
+        return probe.probe(new ByteArrayInputStream(video));
+    }
+
+    private static void assertVideo(VideoMetadata metadata) {
+        assertEquals(10_000, metadata.getDurationMs());
+        assertEquals(30f, metadata.getFrameRate(), 0.01f);
+        assertEquals(300, metadata.getFrameCount());
+        assertEquals(1280, metadata.getWidth());
+        assertEquals(720, metadata.getHeight());
+    }
+
+    private static byte[] moov(byte[] mvhd, byte[] mdhd, String handler) {
+        return box("moov", mvhd, trak(mdhd, handler, box("stts", ints(0, 1, 300, 1000))));
+    }
+
+    private static byte[] trak(byte[] mdhd, String handler, byte[] stts) {
+        byte[] tkhd = box("tkhd", ints(0, 0, 0, 1, 0, 10_000), new byte[52], ints(1280 << 16, 720 << 16));
+        byte[] hdlr = box("hdlr", ints(0, 0), type(handler), new byte[13]);
+        return box("trak", tkhd, box("mdia", mdhd, hdlr, box("minf", box("stbl", stts))));
+    }
+
+    private static byte[] type(String type) {
+        return type.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
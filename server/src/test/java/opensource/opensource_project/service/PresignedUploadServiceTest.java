@@ -0,0 +1,208 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.config.IdSequenceInitializer;
+import opensource.opensource_project.config.JpaBatchConfig;
+import opensource.opensource_project.domain.squat_videos.entity.SquatVideo;
+import opensource.opensource_project.domain.squat_videos.squat_video_constants.Status;
+import opensource.opensource_project.dto.AnalysisEventDTO;
+import opensource.opensource_project.dto.AnalysisJob;
+import opensource.opensource_project.dto.PresignedUploadDTO;
+import opensource.opensource_project.dto.VideoMetadata;
+import opensource.opensource_project.repository.AnalysisOutboxRepository;
+import opensource.opensource_project.repository.SquatVideoRepository;
+import opensource.opensource_project.support.InMemoryS3;
+import opensource.opensource_project.support.TestVideos;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// presigned 업로드: 행 생성 → 헤더만 범위 GET 으로 확인 → UPLOADING 에서 PENDING 으로 한 번만, 영상이 아니거나 만료되면 FAILED + 객체 삭제
+// H2 를 MySQL 모드로 띄워 조건부 상태 변경 쿼리를 실제로 실행한다 (testRuntimeOnly 'com.h2database:h2' 필요)
+class PresignedUploadServiceTest {
+
+    private static final int VIDEO_BYTES = 512 * 1024;
+
+    private static ConfigurableApplicationContext context;
+    private static PresignedUploadService presignedUploadService;
+    private static S3PresignService s3PresignService;
+    private static SquatVideoRepository squatVideoRepository;
+    private static AnalysisOutboxRepository outboxRepository;
+    private static InMemoryS3 s3;
+    private static final List<AnalysisEventDTO> events = new CopyOnWriteArrayList<>();
+
+    @BeforeAll
+    static void startContext() {
+        context = new SpringApplicationBuilder(PresignedContext.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:presigned;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER",
+                        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.open-in-view=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "cloud.aws.s3.bucket=presigned",
+                        "upload.presigned.max-size=" + (2 * VIDEO_BYTES),
+                        "upload.presigned.max-pending-per-user=2",
+                        "upload.presigned.probe-window=4096")
+                .run();
+        presignedUploadService = context.getBean(PresignedUploadService.class);
+        s3PresignService = context.getBean(S3PresignService.class);
+        squatVideoRepository = context.getBean(SquatVideoRepository.class);
+        outboxRepository = context.getBean(AnalysisOutboxRepository.class);
+        s3 = context.getBean(InMemoryS3.class);
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @BeforeEach
+    void clear() {
+        squatVideoRepository.deleteAll();
+        outboxRepository.deleteAll();
+        events.clear();
+        ReflectionTestUtils.setField(s3PresignService, "putTtlSeconds", 900L);
+    }
+
+    @Test
+    void createInspectAndMarkPendingOnce() throws Exception {
+        PresignedUploadDTO created = presignedUploadService.create("user", "squat.mp4", (long) VIDEO_BYTES);
+        assertEquals(Status.UPLOADING, created.getStatus());
+        assertEquals("video/mp4", created.getContentType());
+        assertTrue(created.getUploadUrl().contains("X-Amz-Method=PUT"));
+        SquatVideo video = video(created);
+        assertEquals(Status.UPLOADING, video.getStatus());
+
+        // 객체가 올라오기 전에 완료 요청하면 409
+        assertThrows(IllegalStateException.class, () -> presignedUploadService.inspect(video));
+
+        s3.putContent(video.getS3Key(), TestVideos.mp4(VIDEO_BYTES, new Random(3)));
+        VideoMetadata metadata = presignedUploadService.inspect(video);
+        assertEquals(10_000, metadata.getDurationMs());
+        // 헤더(moov) 가 있는 앞부분만 받는다
+        assertTrue(s3.getBytesSent() < VIDEO_BYTES / 10, "read " + s3.getBytesSent());
+
+        assertTrue(presignedUploadService.markPending(job(video, metadata), metadata));
+        // 같은 완료 요청이 다시 와도 분석은 한 번만 시작한다
+        assertFalse(presignedUploadService.markPending(job(video, metadata), metadata));
+        // 작업 행은 상태 변경과 같은 트랜잭션으로 한 번만 남는다
+        assertEquals(1, outboxRepository.count());
+
+        SquatVideo pending = video(created);
+        assertEquals(Status.PENDING, pending.getStatus());
+        assertEquals(10_000L, pending.getDurationMs());
+        assertEquals(1280, pending.getWidth());
+        assertEquals(1, events.size());
+        assertEquals(Status.PENDING, events.get(0).getStatus());
+    }
+
+    @Test
+    void createRejectsOversizeAndTooManyPending() {
+        assertThrows(IllegalArgumentException.class,
+                () -> presignedUploadService.create("user", "squat.mp4", 2L * VIDEO_BYTES + 1));
+        presignedUploadService.create("user", "a.mp4", 1024L);
+        presignedUploadService.create("user", "b.mov", 1024L);
+
+        assertThrows(IllegalStateException.class, () -> presignedUploadService.create("user", "c.mp4", 1024L));
+        assertEquals("video/mp4", presignedUploadService.create("other", "c.mp4", 1024L).getContentType());
+    }
+
+    @Test
+    void notAVideoIsRejectedAndDeleted() throws Exception {
+        PresignedUploadDTO created = presignedUploadService.create("user", "squat.mp4", (long) VIDEO_BYTES);
+        SquatVideo video = video(created);
+        byte[] text = new byte[4096];
+        new Random(5).nextBytes(text);
+        s3.putContent(video.getS3Key(), text);
+
+        assertThrows(IllegalArgumentException.class, () -> presignedUploadService.inspect(video));
+        presignedUploadService.reject(video);
+
+        assertEquals(Status.FAILED, video(created).getStatus());
+        assertFalse(s3.exists(video.getS3Key()));
+        // 이미 FAILED 면 다시 PENDING 으로 바꿀 수 없다
+        VideoMetadata metadata = new VideoMetadata("isom", 10_000, 30f, 300, 1280, 720);
+        assertFalse(presignedUploadService.markPending(job(video, metadata), metadata));
+    }
+
+    @Test
+    void purgeFailsOnlyExpiredUploads() throws Exception {
+        PresignedUploadDTO abandoned = presignedUploadService.create("user", "a.mp4", (long) VIDEO_BYTES);
+        PresignedUploadDTO completed = presignedUploadService.create("user", "b.mp4", (long) VIDEO_BYTES);
+        String abandonedKey = video(abandoned).getS3Key();
+        s3.putContent(abandonedKey, TestVideos.mp4(VIDEO_BYTES, new Random(1)));
+        SquatVideo done = video(completed);
+        s3.putContent(done.getS3Key(), TestVideos.mp4(VIDEO_BYTES, new Random(2)));
+        VideoMetadata doneMetadata = presignedUploadService.inspect(done);
+        assertTrue(presignedUploadService.markPending(job(done, doneMetadata), doneMetadata));
+
+        // URL 유효 시간이 지나지 않았으면 그대로 둔다
+        presignedUploadService.purgeExpired();
+        assertEquals(Status.UPLOADING, video(abandoned).getStatus());
+
+        ReflectionTestUtils.setField(s3PresignService, "putTtlSeconds", 0L);
+        Thread.sleep(20);
+        presignedUploadService.purgeExpired();
+
+        assertEquals(Status.FAILED, video(abandoned).getStatus());
+        assertFalse(s3.exists(abandonedKey));
+        assertEquals(Status.PENDING, video(completed).getStatus());
+        assertTrue(s3.exists(done.getS3Key()));
+    }
+
+    private static AnalysisJob job(SquatVideo video, VideoMetadata metadata) {
+        return AnalysisJob.remote(video.getVideoId(), video.getUsername(), video.getS3Key(), video.getOriginalFilename(),
+                metadata.getContentType());
+    }
+
+    private static SquatVideo video(PresignedUploadDTO created) {
+        return squatVideoRepository.findById(created.getVideoId()).orElseThrow();
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+    @EntityScan("opensource.opensource_project.domain")
+    @EnableJpaRepositories("opensource.opensource_project.repository")
+    @Import({PresignedUploadService.class, S3PresignService.class, Mp4Probe.class, AnalysisOutboxService.class,
+            AnalysisResultWriter.class, UserProgressService.class, JpaBatchConfig.class, IdSequenceInitializer.class})
+    static class PresignedContext {
+
+        // AmazonS3 의 shutdown 을 destroy 메서드로 추론하지 않도록
+        @Bean(destroyMethod = "")
+        InMemoryS3 amazonS3() {
+            return new InMemoryS3(0, 0, true);
+        }
+
+        @EventListener
+        void onAnalysisEvent(AnalysisEventDTO event) {
+            events.add(event);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.support.InMemoryS3;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 로컬 S3 대역(InMemoryS3)을 상대로 파트 분할과 재시도를 확인한다 (파일 크기별 처리량은 jmh 의 S3MultipartUploaderBenchmark)
+class S3MultipartUploaderTest {
+
+    private static final long MB = 1024 * 1024;
+    private static final String BUCKET = "test";
+
+    private ThreadPoolTaskExecutor partExecutor;
+
+    @BeforeEach
+    void setUp() {
+        partExecutor = new ThreadPoolTaskExecutor();
+        partExecutor.setCorePoolSize(16);
+        partExecutor.setMaxPoolSize(16);
+        partExecutor.setThreadNamePrefix("test-part-");
+        partExecutor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        partExecutor.shutdown();
+    }
+
+    @Test
+    void multipartUploadRetriesOnlyFailedParts() throws IOException {
+        InMemoryS3 s3 = new InMemoryS3(0, 0, true);
+        s3.failPartOnce(2);
+        s3.failPartOnce(5);
+        S3MultipartUploader uploader = new S3MultipartUploader(s3, partExecutor, 5 * MB, 4, 5 * MB, 3);
+
+        // 5MB 파트 4개 + 3MB 마지막 파트
+        byte[] content = new byte[(int) (23 * MB)];
+        new Random(7).nextBytes(content);
+
+        uploader.upload(BUCKET, "video.mp4", new ByteArrayInputStream(content), content.length, "video/mp4");
+
+        assertArrayEquals(content, s3.contentOf("video.mp4"));
+        // 실패한 파트만 한 번 더 올리고, 나머지 파트는 다시 보내지 않는다
+        assertEquals(1, s3.partAttempts(1));
+        assertEquals(2, s3.partAttempts(2));
+        assertEquals(1, s3.partAttempts(3));
+        assertEquals(1, s3.partAttempts(4));
+        assertEquals(2, s3.partAttempts(5));
+        assertEquals(0, s3.partAttempts(6));
+    }
+}
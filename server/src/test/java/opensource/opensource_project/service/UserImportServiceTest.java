@@ -0,0 +1,116 @@
+package opensource.opensource_project.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import opensource.opensource_project.config.BoundedPasswordEncoder;
+import opensource.opensource_project.config.IdSequenceInitializer;
+import opensource.opensource_project.config.JpaBatchConfig;
+import opensource.opensource_project.dto.JoinDTO;
+import opensource.opensource_project.dto.UserImportRowDTO;
+import opensource.opensource_project.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// CSV 가져오기: 기존/파일 안 중복과 잘못된 줄을 구분하고, 가져온 뒤에도 JoinService 가 발급하는 id 와 겹치지 않는다
+// H2 를 MySQL 방언으로 띄워 운영과 같은 id 시퀀스 테이블을 쓴다 (testRuntimeOnly 'com.h2database:h2' 필요)
+// 한 명씩 가입과 비교한 처리 시간/DB 왕복은 jmh 의 UserImportServiceBenchmark
+class UserImportServiceTest {
+
+    private static final int USERS = 30;
+
+    @Test
+    void importSkipsDuplicatesAndInvalidRows() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ImportContext.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:user-import;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER",
+                        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.open-in-view=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run()) {
+            UserRepository userRepository = context.getBean(UserRepository.class);
+            JoinService joinService = context.getBean(JoinService.class);
+            UserImportService importService = context.getBean(UserImportService.class);
+
+            for (int i = 0; i < 10; i++) {
+                joinService.joinProcess(join("join-" + i));
+            }
+
+            // 이미 있는 아이디 10개, 파일 안 중복 1개, 잘못된 줄 1개 포함
+            StringBuilder csv = new StringBuilder("username,password,realName\n");
+            for (int i = 0; i < USERS; i++) {
+                csv.append("import-").append(i).append(",secret-").append(i).append(",\"체육관, 회원\"\n");
+            }
+            for (int i = 0; i < 10; i++) {
+                csv.append("join-").append(i).append(",secret,기존\n");
+            }
+            csv.append("import-0,secret,중복\n");
+            csv.append("broken-line\n");
+
+            List<UserImportRowDTO> rows = importService.importUsers(new BufferedReader(new StringReader(csv.toString())),
+                    UserImportService.Format.CSV);
+
+            assertEquals(USERS, count(rows, UserImportService.ACCEPTED));
+            assertEquals(11, count(rows, UserImportService.DUPLICATE));
+            assertEquals(1, count(rows, UserImportService.INVALID));
+            assertEquals("체육관, 회원", userRepository.findByUsername("import-7").getRealName());
+
+            // 가져온 뒤에도 Hibernate 가 발급하는 id 와 겹치지 않는다 (시퀀스 블록 50개를 넘겨 본다)
+            for (int i = 0; i < 60; i++) {
+                joinService.joinProcess(join("after-" + i));
+            }
+            assertEquals(10L + USERS + 60, userRepository.count());
+        }
+    }
+
+    private static long count(List<UserImportRowDTO> rows, String status) {
+        return rows.stream().filter(row -> status.equals(row.getStatus())).count();
+    }
+
+    private static JoinDTO join(String username) {
+        JoinDTO joinDTO = new JoinDTO();
+        joinDTO.setUsername(username);
+        joinDTO.setPassword("secret");
+        joinDTO.setRealName("회원");
+        return joinDTO;
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+    @EntityScan("opensource.opensource_project.domain")
+    @EnableJpaRepositories("opensource.opensource_project.repository")
+    @Import({JoinService.class, UserImportService.class, JpaBatchConfig.class, IdSequenceInitializer.class})
+    static class ImportContext {
+
+        // 운영 기본값(cost 10 이상)보다 낮춰 테스트 시간을 줄인다
+        @Bean(destroyMethod = "shutdown")
+        BoundedPasswordEncoder passwordEncoder() {
+            int cores = Runtime.getRuntime().availableProcessors();
+            return new BoundedPasswordEncoder(4, cores, 64, 30_000);
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+    }
+}
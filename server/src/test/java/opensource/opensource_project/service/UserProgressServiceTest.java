@@ -0,0 +1,199 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.config.IdSequenceInitializer;
+import opensource.opensource_project.config.JpaBatchConfig;
+import opensource.opensource_project.domain.squat_videos.entity.SquatVideo;
+import opensource.opensource_project.domain.squat_videos.squat_video_constants.Status;
+import opensource.opensource_project.domain.user_progress.entity.UserProgress;
+import opensource.opensource_project.dto.UserProgressDTO;
+import opensource.opensource_project.repository.AnalysisResultRepository;
+import opensource.opensource_project.repository.SquatVideoRepository;
+import opensource.opensource_project.repository.UserProgressRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// 결과 저장 때마다 더하는 증분 요약(apply)과 이력 전체를 다시 읽는 재계산(rebuild)은 같은 요약을 만들어야 한다
+// 최근 점수 창과 최다 피드백(횟수가 같으면 먼저 도달한 문장)은 순서에 따라 달라지므로 재계산도 커밋 순서로 읽는다
+// H2(MySQL 모드)에서 INSERT IGNORE 와 행 잠금 쿼리를 실제로 실행한다 (testRuntimeOnly 'com.h2database:h2' 필요)
+class UserProgressServiceTest {
+
+    private static final String KNEES = "무릎을 더 굽히세요";
+    private static final String BACK = "허리를 펴세요";
+    private static final String HEELS = "발뒤꿈치를 붙이세요";
+
+    private static ConfigurableApplicationContext context;
+    private static AnalysisResultWriter writer;
+    private static UserProgressService progressService;
+    private static UserProgressRebuildService rebuildService;
+    private static SquatVideoRepository squatVideoRepository;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startContext() {
+        context = new SpringApplicationBuilder(ProgressContext.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:progress;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER",
+                        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.jpa.open-in-view=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        writer = context.getBean(AnalysisResultWriter.class);
+        progressService = context.getBean(UserProgressService.class);
+        rebuildService = context.getBean(UserProgressRebuildService.class);
+        squatVideoRepository = context.getBean(SquatVideoRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @BeforeEach
+    void clear() {
+        context.getBean(AnalysisResultRepository.class).deleteAll();
+        context.getBean(UserProgressRepository.class).deleteAll();
+        squatVideoRepository.deleteAll();
+    }
+
+    @Test
+    void applyKeepsRecentWindowAndFirstFeedbackToLead() {
+        UserProgress progress = new UserProgress();
+        for (int i = 1; i <= UserProgressService.RECENT_SIZE + 2; i++) {
+            UserProgressService.apply(progress, (float) i, i % 2 == 0 ? BACK : KNEES);
+        }
+        // 실패(점수 없음)는 요약에 더하지 않는다
+        UserProgressService.apply(progress, null, HEELS);
+
+        assertEquals("3.0,4.0,5.0,6.0,7.0,8.0,9.0,10.0,11.0,12.0", progress.getRecentScores());
+        assertEquals(12, progress.getSessionCount());
+        assertEquals(78.0, progress.getScoreSum());
+        assertEquals(12f, progress.getBestScore());
+        assertEquals(12f, progress.getLastScore());
+        // 6:6 동점이면 먼저 6회에 도달한 문장이 남는다
+        assertEquals(KNEES, progress.getTopFeedback());
+        assertEquals(Map.of(KNEES, 6L, BACK, 6L), UserProgressService.readCounts(progress.getFeedbackCounts()));
+    }
+
+    @Test
+    void rebuildMatchesIncrementalSummary() {
+        String username = "fay";
+        recordHistory(username);
+        Map<String, Object> incremental = summary(username);
+
+        rebuildService.rebuild(username);
+
+        assertEquals(incremental, summary(username));
+        assertEquals(2L, incremental.get("failedCount"));
+        assertEquals(UserProgressService.RECENT_SIZE, ((List<?>) incremental.get("recentScores")).size());
+        assertEquals(KNEES, incremental.get("topFeedback"));
+    }
+
+    @Test
+    void rebuildFollowsCommitOrderNotSequenceOrder() {
+        String username = "gus";
+        recordHistory(username);
+        Map<String, Object> incremental = summary(username);
+
+        // 다른 노드가 미리 받아 둔 시퀀스 블록처럼 id 가 커밋 순서와 반대가 되게 바꾼다
+        List<Long> ids = jdbcTemplate.queryForList(
+                "select analysis_id from analysis_result where username = ? order by analysis_id", Long.class, username);
+        LocalDateTime base = LocalDateTime.of(2024, 5, 1, 12, 0);
+        for (int i = 0; i < ids.size(); i++) {
+            jdbcTemplate.update("update analysis_result set analysis_id = ?, analyzed_at = ? where analysis_id = ?",
+                    100_000L - i, base.plusSeconds(i), ids.get(i));
+        }
+
+        rebuildService.rebuild(username);
+        assertEquals(incremental, summary(username));
+    }
+
+    @Test
+    void rebuildOfUserWithoutHistoryClearsSummary() {
+        String username = "hal";
+        recordHistory(username);
+        context.getBean(AnalysisResultRepository.class).deleteAll();
+
+        rebuildService.rebuild(username);
+
+        UserProgressDTO rebuilt = progressService.find(username).orElseThrow();
+        assertEquals(0, rebuilt.getSessionCount());
+        assertEquals(0, rebuilt.getFailedCount());
+        assertNull(rebuilt.getAverageScore());
+        assertNull(rebuilt.getTopFeedback());
+        assertEquals(List.of(), rebuilt.getRecentScores());
+    }
+
+    // 점수 14건과 실패 2건. 세 피드백 모두 4회로 끝나고 무릎이 먼저 4회에 도달한다
+    private static void recordHistory(String username) {
+        float[] scores = {62, 71.5f, 55, 80, 90.25f, 67, 74, 88, 59, 93, 77, 81, 64, 85};
+        String[] feedback = {
+                KNEES, BACK, KNEES + "\n" + HEELS, "", BACK + "\n" + KNEES, HEELS, KNEES, null,
+                BACK, "  ", HEELS + "\n" + BACK, null, "", HEELS};
+        for (int i = 0; i < scores.length; i++) {
+            writer.complete(video(username), username, scores[i], feedback[i]);
+            if (i == 3 || i == 9) {
+                writer.fail(video(username), username, "분석 서버 연결 실패");
+            }
+        }
+    }
+
+    private static Long video(String username) {
+        SquatVideo video = new SquatVideo();
+        video.setUsername(username);
+        video.setOriginalFilename("squat.mp4");
+        video.setExtension(".mp4");
+        video.setS3Url("https://bucket.s3.amazonaws.com/squat.mp4");
+        video.setStatus(Status.PROCESSING);
+        return squatVideoRepository.save(video).getVideoId();
+    }
+
+    private static Map<String, Object> summary(String username) {
+        UserProgressDTO progress = progressService.find(username).orElseThrow();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("sessionCount", progress.getSessionCount());
+        summary.put("failedCount", progress.getFailedCount());
+        summary.put("averageScore", progress.getAverageScore());
+        summary.put("bestScore", progress.getBestScore());
+        summary.put("lastScore", progress.getLastScore());
+        summary.put("recentScores", progress.getRecentScores());
+        summary.put("topFeedback", progress.getTopFeedback());
+        summary.put("feedbackCounts", progress.getFeedbackCounts());
+        return summary;
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+    @EntityScan("opensource.opensource_project.domain")
+    @EnableJpaRepositories("opensource.opensource_project.repository")
+    @Import({AnalysisResultWriter.class, UserProgressService.class, UserProgressRebuildService.class, JpaBatchConfig.class,
+            IdSequenceInitializer.class})
+    static class ProgressContext {
+    }
+}
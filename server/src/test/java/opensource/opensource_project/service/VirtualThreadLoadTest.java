@@ -0,0 +1,181 @@
+package opensource.opensource_project.service;
+
+import opensource.opensource_project.config.AnalysisClientConfig;
+import opensource.opensource_project.config.AnalysisExecutorConfig;
+import opensource.opensource_project.config.VirtualThreads;
+import opensource.opensource_project.dto.AnalysisJob;
+import opensource.opensource_project.metrics.LatencyHistogram;
+import opensource.opensource_project.support.FakeAnalysisServer;
+import opensource.opensource_project.support.InMemoryS3;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 업로드 한 건이 막히는 세 구간(S3 PUT, DB 저장, 분석 서버 호출)을 로컬 대역으로 흉내 내고
+// 플랫폼 스레드(Tomcat 기본 200)와 가상 스레드 모드의 처리량/메모리를 비교한다
+// 실행: -Dbenchmark=true (가상 스레드 모드는 Java 21 이상에서만 측정)
+class VirtualThreadLoadTest {
+
+    private static final int REQUESTS = 2000;
+    private static final int WARMUP_REQUESTS = 300;
+    // 본문 크기가 아니라 블로킹 구간의 동시성을 보려는 것이므로 작은 영상 사용
+    private static final int VIDEO_BYTES = 32 * 1024;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final int ANALYSIS_WORKERS = 1000;
+
+    private static final long S3_LATENCY_MS = 30;
+    private static final long DB_LATENCY_MS = 5;
+    private static final long ANALYSIS_LATENCY_MS = 200;
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void compareThroughputAndMemory() throws Exception {
+        byte[] video = new byte[VIDEO_BYTES];
+        Path stagedFile = Files.createTempFile("load-test", ".mp4");
+        Files.write(stagedFile, video);
+
+        try (FakeAnalysisServer analysisServer = FakeAnalysisServer.start(ANALYSIS_LATENCY_MS)) {
+            // 클래스 로딩, JIT, 커넥션 생성 비용을 측정에서 제외
+            run(false, WARMUP_REQUESTS, false, analysisServer, video, stagedFile);
+
+            System.out.println("mode,requests,seconds,req_per_s,p50_ms,p99_ms,peak_threads,peak_heap_mb");
+            run(false, REQUESTS, true, analysisServer, video, stagedFile);
+            if (VirtualThreads.isSupported()) {
+                run(true, WARMUP_REQUESTS, false, analysisServer, video, stagedFile);
+                run(true, REQUESTS, true, analysisServer, video, stagedFile);
+            } else {
+                System.out.println("virtual,skipped (Java " + Runtime.version().feature() + ")");
+            }
+        } finally {
+            Files.deleteIfExists(stagedFile);
+        }
+    }
+
+    private void run(boolean virtual, int requests, boolean report,
+                     FakeAnalysisServer analysisServer, byte[] video, Path stagedFile) throws Exception {
+        InMemoryS3 s3 = new InMemoryS3(S3_LATENCY_MS, 0, false);
+        // 영상이 threshold 보다 작아 요청 스레드에서 단일 PUT 으로 끝난다 (파트 실행기 미사용)
+        S3MultipartUploader uploader = new S3MultipartUploader(s3, new ThreadPoolTaskExecutor(), 8L << 20, 4, 64L << 20, 0);
+
+        AnalysisExecutorConfig executorConfig = new AnalysisExecutorConfig();
+        ReflectionTestUtils.setField(executorConfig, "workerThreads", ANALYSIS_WORKERS);
+        ReflectionTestUtils.setField(executorConfig, "queueCapacity", requests);
+        ReflectionTestUtils.setField(executorConfig, "virtualThreads", virtual);
+        ThreadPoolTaskExecutor analysisExecutor = executorConfig.analysisExecutor();
+
+        AnalysisClientConfig clientConfig = new AnalysisClientConfig();
+        ReflectionTestUtils.setField(clientConfig, "maxTotal", ANALYSIS_WORKERS);
+        ReflectionTestUtils.setField(clientConfig, "maxPerRoute", ANALYSIS_WORKERS);
+        ReflectionTestUtils.setField(clientConfig, "connectTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(clientConfig, "poolTimeoutMs", 30000L);
+        ReflectionTestUtils.setField(clientConfig, "readTimeoutMs", 30000L);
+        ReflectionTestUtils.setField(clientConfig, "totalTimeoutMs", 60000L);
+        ReflectionTestUtils.setField(clientConfig, "idleEvictMs", 30000L);
+        ReflectionTestUtils.setField(clientConfig, "poolConcurrency", System.getProperty("pool", ""));
+        ReflectionTestUtils.setField(clientConfig, "virtualThreads", virtual);
+        CloseableHttpClient httpClient = clientConfig.analysisHttpClient(clientConfig.analysisConnectionManager());
+        RestTemplate restTemplate = clientConfig.analysisRestTemplate(httpClient);
+        AnalysisEndpointPool endpointPool = new AnalysisEndpointPool(null);
+        ReflectionTestUtils.setField(endpointPool, "baseUrls", analysisServer.baseUrl());
+        endpointPool.init();
+        AnalysisServerClient analysisServerClient = new AnalysisServerClient(restTemplate, null, endpointPool);
+
+        // Tomcat 요청 스레드 역할
+        ExecutorService platformRequests = virtual ? null : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        Executor requestExecutor = virtual ? VirtualThreads.perTaskExecutor("request-vt-") : platformRequests;
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        threads.resetPeakThreadCount();
+        AtomicLong peakHeap = new AtomicLong();
+        ScheduledSampler sampler = new ScheduledSampler(() ->
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max));
+
+        LatencyHistogram latency = new LatencyHistogram();
+        CountDownLatch done = new CountDownLatch(requests);
+        AtomicLong failures = new AtomicLong();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            long id = i;
+            long submitted = System.nanoTime();
+            requestExecutor.execute(() -> {
+                try {
+                    uploader.upload("bench", "video-" + id, new ByteArrayInputStream(video), video.length, "video/mp4");
+                    Thread.sleep(DB_LATENCY_MS);
+
+                    AnalysisJob job = new AnalysisJob(id, "load-user", stagedFile, "squat.mp4", "video/mp4");
+                    analysisExecutor.execute(() -> {
+                        try {
+                            analysisServerClient.analyze(job);
+                            Thread.sleep(DB_LATENCY_MS);
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        } finally {
+                            latency.recordNanos(System.nanoTime() - submitted);
+                            done.countDown();
+                        }
+                    });
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.MINUTES), "부하 테스트가 제한 시간 안에 끝나지 않았습니다");
+        double seconds = (System.nanoTime() - start) / 1e9;
+        sampler.stop();
+
+        if (report) {
+            Map<String, Object> snapshot = latency.snapshot();
+            System.out.printf("%s,%d,%.2f,%.1f,%s,%s,%d,%d%n",
+                    virtual ? "virtual" : "platform", requests, seconds, requests / seconds,
+                    snapshot.get("p50Ms"), snapshot.get("p99Ms"), threads.getPeakThreadCount(), peakHeap.get() / (1024 * 1024));
+        }
+
+        if (platformRequests != null) {
+            platformRequests.shutdownNow();
+        }
+        analysisExecutor.shutdown();
+        httpClient.close();
+        clientConfig.shutdown();
+
+        assertEquals(0, failures.get());
+    }
+
+    // 주기적으로 힙 사용량을 기록하는 샘플러
+    private static class ScheduledSampler {
+        private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+        ScheduledSampler(Runnable sample) {
+            scheduler.scheduleAtFixedRate(sample, 0, 20, TimeUnit.MILLISECONDS);
+        }
+
+        void stop() {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package opensource.opensource_project.support;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import opensource.opensource_project.config.VirtualThreads;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 로컬 테스트용 분석 서버 대역 (내장 Tomcat): 본문을 끝까지 읽고 지연 후 분석 결과 JSON 을 돌려준다
+// 지연 분포, 5xx 비율, 응답 멈춤(stall), 배치 파일별 실패 비율, /health 응답을 바꿀 수 있다
+public class FakeAnalysisServer implements AutoCloseable {
+
+    private static final String RESULT = "{\"score\": 87.5, \"feedback\": [\"무릎이 발끝을 넘지 않도록 하세요\"], \"status\": \"success\"}";
+    private static final String FILE_FAILURE = "{\"status\": \"error\", \"message\": \"사람을 찾을 수 없습니다\"}";
+    private static final String HEALTHY = "{\"status\": \"healthy\", \"model_loaded\": true}";
+    private static final String UNHEALTHY = "{\"status\": \"unhealthy\", \"model_loaded\": false}";
+    private static final String SERVER_ERROR = "{\"detail\": \"injected failure\"}";
+
+    private final Tomcat tomcat;
+    private final Path baseDir;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong stalls = new AtomicLong();
+    // close 때 멈춰 있는 요청을 풀어 준다
+    private final CountDownLatch closed = new CountDownLatch(1);
+
+    private volatile Latency latency;
+    private volatile double errorRate;
+    private volatile double stallRate;
+    private volatile long stallMs;
+    private volatile double fileFailureRate;
+    private volatile boolean healthy = true;
+
+    private FakeAnalysisServer(Latency latency) throws IOException, LifecycleException {
+        this.latency = latency;
+        this.baseDir = Files.createTempDirectory("fake-analysis");
+
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(baseDir.toString());
+
+        Connector connector = new Connector();
+        connector.setPort(0);
+        // 대역 서버가 병목이 되지 않도록 동시 요청 상한을 넉넉하게
+        connector.setProperty("maxThreads", "4000");
+        connector.setProperty("maxConnections", "20000");
+        connector.setProperty("acceptCount", "4096");
+        connector.setProperty("maxKeepAliveRequests", "-1");
+        if (VirtualThreads.isSupported()) {
+            connector.getProtocolHandler().setExecutor(VirtualThreads.perTaskExecutor("fake-analysis-"));
+        }
+        tomcat.setConnector(connector);
+
+        Context context = tomcat.addContext("", baseDir.toString());
+        Tomcat.addServlet(context, "analysis", new AnalysisServlet());
+        context.addServletMappingDecoded("/*", "analysis");
+        tomcat.start();
+    }
+
+    public static FakeAnalysisServer start(long latencyMs) throws IOException {
+        return start(Latency.fixed(latencyMs));
+    }
+
+    public static FakeAnalysisServer start(Latency latency) throws IOException {
+        try {
+            return new FakeAnalysisServer(latency);
+        } catch (LifecycleException e) {
+            throw new IOException("분석 서버 대역 시작 실패", e);
+        }
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + tomcat.getConnector().getLocalPort();
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    public long getStalls() {
+        return stalls.get();
+    }
+
+    public void setLatency(Latency latency) {
+        this.latency = latency;
+    }
+
+    // 요청 중 rate 비율을 500 으로 응답
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    // 요청 중 rate 비율은 stallMs 동안 응답하지 않는다 (클라이언트 read timeout 확인용)
+    public void setStall(double stallRate, long stallMs) {
+        this.stallRate = stallRate;
+        this.stallMs = stallMs;
+    }
+
+    // /analyze-batch 응답에서 파일별로 status=error 를 돌려줄 비율
+    public void setFileFailureRate(double fileFailureRate) {
+        this.fileFailureRate = fileFailureRate;
+    }
+
+    // false 면 GET /health 가 503 을 돌려준다 (분석 요청은 그대로 받는다)
+    public void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    private class AnalysisServlet extends HttpServlet {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            if (!request.getRequestURI().endsWith("/health")) {
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            response.setContentType("application/json");
+            response.setStatus(healthy ? HttpServletResponse.SC_OK : HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.getOutputStream().write((healthy ? HEALTHY : UNHEALTHY).getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            byte[] body;
+            try (InputStream in = request.getInputStream()) {
+                body = in.readAllBytes();
+            }
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String json;
+            if (request.getRequestURI().endsWith("/analyze-batch")) {
+                // multipart 파트 이름으로 파일 수를 세어 같은 개수의 결과를 돌려준다
+                int files = Math.max(1, countOccurrences(new String(body, StandardCharsets.ISO_8859_1), "name=\"files\""));
+                StringBuilder results = new StringBuilder("{\"results\": [");
+                for (int i = 0; i < files; i++) {
+                    results.append(i == 0 ? "" : ",").append(random.nextDouble() < fileFailureRate ? FILE_FAILURE : RESULT);
+                }
+                json = results.append("], \"total_files\": ").append(files).append('}').toString();
+            } else {
+                json = RESULT;
+            }
+
+            requests.incrementAndGet();
+            if (random.nextDouble() < stallRate) {
+                stalls.incrementAndGet();
+                pause(stallMs);
+            }
+            pause(latency.nextMillis(random));
+
+            response.setContentType("application/json");
+            response.setCharacterEncoding("UTF-8");
+            if (random.nextDouble() < errorRate) {
+                errors.incrementAndGet();
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                json = SERVER_ERROR;
+            }
+            response.getOutputStream().write(json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            closed.await(millis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 요청당 처리 시간 분포 (밀리초)
+    public interface Latency {
+
+        long nextMillis(ThreadLocalRandom random);
+
+        static Latency fixed(long millis) {
+            return random -> millis;
+        }
+
+        static Latency uniform(long minMillis, long maxMillis) {
+            return random -> random.nextLong(minMillis, maxMillis + 1);
+        }
+
+        // 중앙값 median, 로그 표준편차 sigma 의 로그정규 분포 (실제 추론 시간처럼 오른쪽 꼬리가 길다)
+        static Latency logNormal(long medianMillis, double sigma) {
+            return random -> Math.round(medianMillis * Math.exp(sigma * random.nextGaussian()));
+        }
+    }
+
+    private static int countOccurrences(String text, String token) {
+        int count = 0;
+        for (int i = text.indexOf(token); i >= 0; i = text.indexOf(token, i + token.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public void close() throws LifecycleException, IOException {
+        closed.countDown();
+        tomcat.stop();
+        tomcat.destroy();
+        try (var files = Files.walk(baseDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
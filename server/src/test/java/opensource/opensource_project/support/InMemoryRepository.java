@@ -0,0 +1,95 @@
+package opensource.opensource_project.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// 로컬 테스트용 JPA 리포지토리 대역: save/findById 는 메모리 맵에 저장하고, 호출마다 DB 왕복 지연을 흉내 낸다
+// findForUpdate(key) 는 키별로 하나의 엔티티를 만들어 돌려주고, setStatus(id, status) 는 저장된 엔티티의 상태를 바꾸며, 나머지 조회는 빈 결과를 돌려준다
+public class InMemoryRepository<E> implements InvocationHandler {
+
+    private final Function<E, Long> idGetter;
+    private final BiConsumer<E, Long> idSetter;
+    private final Supplier<E> factory;
+    private final long latencyMs;
+
+    private final Map<Long, E> rows = new ConcurrentHashMap<>();
+    private final Map<Object, E> locked = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private InMemoryRepository(Function<E, Long> idGetter, BiConsumer<E, Long> idSetter, Supplier<E> factory, long latencyMs) {
+        this.idGetter = idGetter;
+        this.idSetter = idSetter;
+        this.factory = factory;
+        this.latencyMs = latencyMs;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T, E> T create(Class<T> repositoryType, Function<E, Long> idGetter, BiConsumer<E, Long> idSetter,
+                                  Supplier<E> factory, long latencyMs) {
+        InMemoryRepository<E> handler = new InMemoryRepository<>(idGetter, idSetter, factory, latencyMs);
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType}, handler);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "toString":
+                return "in-memory repository";
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            default:
+                break;
+        }
+
+        if (latencyMs > 0) {
+            Thread.sleep(latencyMs);
+        }
+
+        switch (method.getName()) {
+            case "save":
+                E entity = (E) args[0];
+                if (idGetter.apply(entity) == null) {
+                    idSetter.accept(entity, sequence.incrementAndGet());
+                }
+                rows.put(idGetter.apply(entity), entity);
+                return entity;
+            case "findById":
+                return Optional.ofNullable(rows.get((Long) args[0]));
+            case "findForUpdate":
+                return Optional.of(locked.computeIfAbsent(args[0], key -> factory.get()));
+            case "insertIfAbsent":
+                return 1;
+            case "setStatus":
+                // 조회 없이 상태만 바꾸는 update 쿼리
+                E row = rows.get((Long) args[0]);
+                if (row == null) {
+                    return 0;
+                }
+                row.getClass().getMethod("setStatus", args[1].getClass()).invoke(row, args[1]);
+                return 1;
+            default:
+                Class<?> returnType = method.getReturnType();
+                if (returnType == int.class) {
+                    return 0;
+                }
+                if (returnType == long.class) {
+                    return 0L;
+                }
+                if (returnType == boolean.class) {
+                    return false;
+                }
+                return returnType == Optional.class ? Optional.empty() : null;
+        }
+    }
+}
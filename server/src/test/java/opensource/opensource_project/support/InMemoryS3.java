@@ -0,0 +1,339 @@
+package opensource.opensource_project.support;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AbstractAmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
+import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.PutObjectResult;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.S3ObjectInputStream;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 로컬 테스트용 S3 대역: 요청당 지연과 연결당 대역폭을 흉내 내고, 필요하면 파트 실패를 주입한다
+public class InMemoryS3 extends AbstractAmazonS3 {
+
+    private final long requestLatencyMs;
+    private final long bytesPerSecond;
+    private final boolean retainContent;
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final Map<String, Long> objectSizes = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, byte[]>> multipartUploads = new ConcurrentHashMap<>();
+    private final Map<String, Long> multipartSizes = new ConcurrentHashMap<>();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private volatile int failEveryNthPart;
+    private final AtomicLong partAttempts = new AtomicLong();
+    private final Set<Integer> failPartsOnce = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, AtomicInteger> partAttemptsByNumber = new ConcurrentHashMap<>();
+    private volatile int failEveryNthPut;
+    private final AtomicLong putAttempts = new AtomicLong();
+
+    public InMemoryS3(long requestLatencyMs, long bytesPerSecond, boolean retainContent) {
+        this.requestLatencyMs = requestLatencyMs;
+        this.bytesPerSecond = bytesPerSecond;
+        this.retainContent = retainContent;
+    }
+
+    public void setFailEveryNthPart(int failEveryNthPart) {
+        this.failEveryNthPart = failEveryNthPart;
+    }
+
+    // 지정한 파트 번호의 첫 시도만 500 으로 실패시킨다 (어느 파트가 실패할지 스케줄링에 따라 달라지지 않도록)
+    public void failPartOnce(int partNumber) {
+        failPartsOnce.add(partNumber);
+    }
+
+    // 파트 번호별 업로드 시도 횟수 (실패한 시도 포함, 모든 multipart 업로드 합계)
+    public int partAttempts(int partNumber) {
+        AtomicInteger attempts = partAttemptsByNumber.get(partNumber);
+        return attempts == null ? 0 : attempts.get();
+    }
+
+    // 단일 PUT 도 n 번째마다 500 으로 실패시킨다 (업로드 실패 경로 확인용)
+    public void setFailEveryNthPut(int failEveryNthPut) {
+        this.failEveryNthPut = failEveryNthPut;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    public boolean exists(String key) {
+        return objectSizes.containsKey(key);
+    }
+
+    public long sizeOf(String key) {
+        return objectSizes.getOrDefault(key, -1L);
+    }
+
+    public byte[] contentOf(String key) {
+        return objects.get(key);
+    }
+
+    @Override
+    public PutObjectResult putObject(PutObjectRequest request) {
+        requests.incrementAndGet();
+        Received received = receive(request.getInputStream());
+
+        int nth = failEveryNthPut;
+        if (nth > 0 && putAttempts.incrementAndGet() % nth == 0) {
+            throw injectedFailure("injected put failure");
+        }
+
+        store(request.getKey(), received);
+        return new PutObjectResult();
+    }
+
+    @Override
+    public InitiateMultipartUploadResult initiateMultipartUpload(InitiateMultipartUploadRequest request) {
+        requests.incrementAndGet();
+        simulateTransfer(0);
+        String uploadId = UUID.randomUUID().toString();
+        multipartUploads.put(uploadId, new ConcurrentHashMap<>());
+        multipartSizes.put(uploadId, 0L);
+
+        InitiateMultipartUploadResult result = new InitiateMultipartUploadResult();
+        result.setBucketName(request.getBucketName());
+        result.setKey(request.getKey());
+        result.setUploadId(uploadId);
+        return result;
+    }
+
+    @Override
+    public UploadPartResult uploadPart(UploadPartRequest request) {
+        requests.incrementAndGet();
+        Map<Integer, byte[]> parts = multipartUploads.get(request.getUploadId());
+        if (parts == null) {
+            throw notFound("NoSuchUpload");
+        }
+
+        Received received = receive(request.getInputStream());
+        partAttemptsByNumber.computeIfAbsent(request.getPartNumber(), number -> new AtomicInteger()).incrementAndGet();
+
+        int nth = failEveryNthPart;
+        if (nth > 0 && partAttempts.incrementAndGet() % nth == 0) {
+            throw injectedFailure("injected part failure");
+        }
+        if (failPartsOnce.remove(request.getPartNumber())) {
+            throw injectedFailure("injected part failure");
+        }
+
+        parts.put(request.getPartNumber(), received.content != null ? received.content : new byte[0]);
+        multipartSizes.merge(request.getUploadId(), received.size, Long::sum);
+
+        UploadPartResult result = new UploadPartResult();
+        result.setPartNumber(request.getPartNumber());
+        result.setETag(Integer.toHexString(request.getPartNumber()));
+        return result;
+    }
+
+    @Override
+    public CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest request) {
+        requests.incrementAndGet();
+        simulateTransfer(0);
+        Map<Integer, byte[]> parts = multipartUploads.remove(request.getUploadId());
+        Long size = multipartSizes.remove(request.getUploadId());
+        if (parts == null) {
+            throw notFound("NoSuchUpload");
+        }
+
+        ByteArrayOutputStream content = retainContent ? new ByteArrayOutputStream() : null;
+        for (PartETag partETag : request.getPartETags()) {
+            byte[] part = parts.get(partETag.getPartNumber());
+            if (content != null && part != null) {
+                content.writeBytes(part);
+            }
+        }
+        store(request.getKey(), new Received(size, content == null ? null : content.toByteArray()));
+
+        CompleteMultipartUploadResult result = new CompleteMultipartUploadResult();
+        result.setBucketName(request.getBucketName());
+        result.setKey(request.getKey());
+        return result;
+    }
+
+    @Override
+    public void abortMultipartUpload(AbortMultipartUploadRequest request) {
+        requests.incrementAndGet();
+        multipartUploads.remove(request.getUploadId());
+        multipartSizes.remove(request.getUploadId());
+    }
+
+    @Override
+    public void deleteObject(String bucketName, String key) {
+        requests.incrementAndGet();
+        objects.remove(key);
+        objectSizes.remove(key);
+    }
+
+    @Override
+    public boolean doesObjectExist(String bucketName, String objectName) {
+        requests.incrementAndGet();
+        return objectSizes.containsKey(objectName);
+    }
+
+    // presigned URL 로 클라이언트가 직접 올린 객체 (요청 수에 넣지 않는다)
+    public void putContent(String key, byte[] content) {
+        store(key, new Received(content.length, retainContent ? content : null));
+    }
+
+    @Override
+    public ObjectMetadata getObjectMetadata(String bucketName, String key) {
+        requests.incrementAndGet();
+        Long size = objectSizes.get(key);
+        if (size == null) {
+            AmazonS3Exception e = new AmazonS3Exception("Not Found");
+            e.setStatusCode(404);
+            throw e;
+        }
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(size);
+        return metadata;
+    }
+
+    // 범위 GET (retainContent 일 때만 본문이 있다)
+    @Override
+    public S3Object getObject(GetObjectRequest request) {
+        requests.incrementAndGet();
+        byte[] content = objects.get(request.getKey());
+        if (content == null) {
+            throw notFound("NoSuchKey");
+        }
+        long[] range = request.getRange();
+        int start = range == null ? 0 : (int) range[0];
+        int end = range == null ? content.length : (int) Math.min(content.length, range[1] + 1);
+        byte[] slice = Arrays.copyOfRange(content, start, end);
+        bytesSent.addAndGet(slice.length);
+
+        S3Object object = new S3Object();
+        object.setKey(request.getKey());
+        object.setObjectContent(new S3ObjectInputStream(new ByteArrayInputStream(slice), null));
+        return object;
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    @Override
+    public URL generatePresignedUrl(GeneratePresignedUrlRequest request) {
+        return presignedUrl(request.getBucketName(), request.getKey(), request.getMethod());
+    }
+
+    @Override
+    public URL generatePresignedUrl(String bucketName, String key, Date expiration, HttpMethod method) {
+        return presignedUrl(bucketName, key, method);
+    }
+
+    private URL presignedUrl(String bucketName, String key, HttpMethod method) {
+        try {
+            return new URL("http://localhost/" + bucketName + "/" + key + "?X-Amz-Method=" + method);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public URL getUrl(String bucketName, String key) {
+        try {
+            return new URL("http://localhost/" + bucketName + "/" + key);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private void store(String key, Received received) {
+        objectSizes.put(key, received.size);
+        if (received.content != null) {
+            objects.put(key, received.content);
+        }
+    }
+
+    private Received receive(InputStream inputStream) {
+        try (InputStream in = inputStream) {
+            ByteArrayOutputStream content = retainContent ? new ByteArrayOutputStream() : null;
+            OutputStream sink = content != null ? content : OutputStream.nullOutputStream();
+            long size = in.transferTo(sink);
+            bytesReceived.addAndGet(size);
+            simulateTransfer(size);
+            return new Received(size, content == null ? null : content.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 요청 지연 + 바이트 수 / 연결 대역폭 만큼 대기
+    private void simulateTransfer(long bytes) {
+        long sleepMs = requestLatencyMs;
+        if (bytesPerSecond > 0) {
+            sleepMs += bytes * 1000 / bytesPerSecond;
+        }
+        if (sleepMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(sleepMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private AmazonServiceException injectedFailure(String message) {
+        AmazonServiceException e = new AmazonServiceException(message);
+        e.setStatusCode(500);
+        e.setErrorType(AmazonServiceException.ErrorType.Service);
+        return e;
+    }
+
+    private AmazonServiceException notFound(String errorCode) {
+        AmazonServiceException e = new AmazonServiceException(errorCode);
+        e.setStatusCode(404);
+        e.setErrorCode(errorCode);
+        return e;
+    }
+
+    private static class Received {
+        private final long size;
+        private final byte[] content;
+
+        private Received(long size, byte[] content) {
+            this.size = size;
+            this.content = content;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package opensource.opensource_project.support;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+// DB 왕복 횟수를 세는 DataSource 래퍼: 문장 실행(execute*), 배치 전송(executeBatch), 커밋/롤백을 각각 한 번으로 센다
+// 배치에 모인 문장 수(addBatch)도 따로 센다
+public final class RoundTripCountingDataSource {
+
+    private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate");
+    private static final Set<String> BATCH = Set.of("executeBatch", "executeLargeBatch");
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedStatements = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+
+    public DataSource wrap(DataSource target) {
+        return proxy(DataSource.class, target, (method, result) -> method.getName().equals("getConnection")
+                ? proxy(Connection.class, (Connection) result, this::onConnection)
+                : result);
+    }
+
+    public long roundTrips() {
+        return statements.sum() + batches.sum() + commits.sum();
+    }
+
+    public Map<String, Long> snapshot() {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        snapshot.put("roundTrips", roundTrips());
+        snapshot.put("statements", statements.sum());
+        snapshot.put("batches", batches.sum());
+        snapshot.put("batchedStatements", batchedStatements.sum());
+        snapshot.put("commits", commits.sum());
+        return snapshot;
+    }
+
+    public void reset() {
+        statements.reset();
+        batches.reset();
+        batchedStatements.reset();
+        commits.reset();
+    }
+
+    private Object onConnection(Method method, Object result) {
+        String name = method.getName();
+        if (name.equals("commit") || name.equals("rollback")) {
+            commits.increment();
+        }
+        if (result instanceof Statement statement && (name.startsWith("prepare") || name.equals("createStatement"))) {
+            Class<?> type = name.equals("prepareCall") ? java.sql.CallableStatement.class
+                    : name.equals("prepareStatement") ? java.sql.PreparedStatement.class : Statement.class;
+            return proxy(type, statement, this::onStatement);
+        }
+        return result;
+    }
+
+    private Object onStatement(Method method, Object result) {
+        String name = method.getName();
+        if (EXECUTE.contains(name)) {
+            statements.increment();
+        } else if (BATCH.contains(name)) {
+            batches.increment();
+        } else if (name.equals("addBatch")) {
+            batchedStatements.increment();
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, Object target, AfterCall afterCall) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return afterCall.apply(method, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(RoundTripCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private interface AfterCall {
+        Object apply(Method method, Object result);
+    }
+}
@@ -0,0 +1,57 @@
+package opensource.opensource_project.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+// Mp4Probe 를 통과하는 최소 MP4 (ftyp + moov + 난수 mdat)
+public final class TestVideos {
+
+    private TestVideos() {
+    }
+
+    // 30fps, 1280x720 영상 트랙 하나, 10초짜리 size 바이트 MP4. 난수 mdat 라 해시가 매번 달라 중복 제거에 걸리지 않는다
+    public static byte[] mp4(int size, Random random) {
+        int frames = 300;
+        byte[] ftyp = box("ftyp", "isom".getBytes(StandardCharsets.ISO_8859_1), ints(0x200),
+                "isommp41".getBytes(StandardCharsets.ISO_8859_1));
+        byte[] mvhd = box("mvhd", ints(0, 0, 0, 1000, 10_000), new byte[80]);
+        byte[] tkhd = box("tkhd", ints(0, 0, 0, 1, 0, 10_000), new byte[52], ints(1280 << 16, 720 << 16));
+        byte[] mdhd = box("mdhd", ints(0, 0, 0, 30_000, frames * 1000), new byte[4]);
+        byte[] hdlr = box("hdlr", ints(0, 0), "vide".getBytes(StandardCharsets.ISO_8859_1), new byte[13]);
+        byte[] stts = box("stts", ints(0, 1, frames, 1000));
+        byte[] moov = box("moov", mvhd, box("trak", tkhd, box("mdia", mdhd, hdlr, box("minf", box("stbl", stts)))));
+
+        byte[] payload = new byte[Math.max(0, size - ftyp.length - moov.length - 8)];
+        random.nextBytes(payload);
+        return concat(ftyp, moov, box("mdat", payload));
+    }
+
+    public static byte[] box(String type, byte[]... children) {
+        byte[] body = concat(children);
+        return concat(ints(body.length + 8), type.getBytes(StandardCharsets.ISO_8859_1), body);
+    }
+
+    public static byte[] ints(int... values) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DataOutputStream data = new DataOutputStream(out)) {
+            for (int value : values) {
+                data.writeInt(value);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+}
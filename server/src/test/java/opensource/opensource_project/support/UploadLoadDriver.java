@@ -0,0 +1,393 @@
+package opensource.opensource_project.support;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import opensource.opensource_project.admission.UploadAdmissionFilter;
+import opensource.opensource_project.admission.UploadAdmissionService;
+import opensource.opensource_project.aop.LatencyTraceInterceptor;
+import opensource.opensource_project.config.AnalysisClientConfig;
+import opensource.opensource_project.config.AnalysisExecutorConfig;
+import opensource.opensource_project.controller.UploadController;
+import opensource.opensource_project.domain.analysis_result.entity.AnalysisResult;
+import opensource.opensource_project.domain.squat_videos.entity.SquatVideo;
+import opensource.opensource_project.domain.squat_videos.squat_video_constants.Status;
+import opensource.opensource_project.domain.user_progress.entity.UserProgress;
+import opensource.opensource_project.dto.AnalysisEventDTO;
+import opensource.opensource_project.jwt.JwtFilter;
+import opensource.opensource_project.jwt.JwtUtil;
+import opensource.opensource_project.metrics.LatencyRegistry;
+import opensource.opensource_project.revocation.LocalRevocationChannel;
+import opensource.opensource_project.revocation.TokenRevocationService;
+import opensource.opensource_project.repository.AnalysisResultRepository;
+import opensource.opensource_project.repository.SquatVideoRepository;
+import opensource.opensource_project.repository.UserProgressRepository;
+import opensource.opensource_project.service.AnalysisEndpointPool;
+import opensource.opensource_project.service.AnalysisJobService;
+import opensource.opensource_project.service.AnalysisOutboxService;
+import opensource.opensource_project.service.AnalysisResultWriter;
+import opensource.opensource_project.service.AnalysisServerClient;
+import opensource.opensource_project.service.ChunkedUploadService;
+import opensource.opensource_project.service.ContentDedupService;
+import opensource.opensource_project.service.Mp4Probe;
+import opensource.opensource_project.service.S3MultipartUploader;
+import opensource.opensource_project.service.UserProgressService;
+import opensource.opensource_project.service.VideoUploadService;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.PrintStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+
+// 인증된 동시 업로드를 UploadController 에 재생하는 부하 드라이버
+// JWT 필터와 수락 제어 필터를 거쳐 MockMvc 로 호출하고, S3/DB/분석 서버는 대역(InMemoryS3, InMemoryRepository, FakeAnalysisServer)을 쓴다
+// 구간별 지연은 운영 코드와 같은 LatencyTraceInterceptor 로 기록한다
+public class UploadLoadDriver implements AutoCloseable {
+
+    // 요청 → 응답 (필터 + 프로브 + S3 + 메타데이터 저장)
+    public static final String HTTP_STAGE = "http.upload";
+    // 요청 → 분석 결과 저장 (DONE/FAILED)
+    public static final String END_TO_END_STAGE = "e2e.analysis";
+
+    private static final String JWT_SECRET = "load-test-secret-key-which-is-long-enough-for-hs256";
+
+    private final LatencyRegistry latencyRegistry = new LatencyRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JwtUtil jwtUtil = new JwtUtil(JWT_SECRET, 10_000);
+
+    private final Path stagingDir;
+    private final ThreadPoolTaskExecutor partExecutor;
+    private final ThreadPoolTaskExecutor transferExecutor;
+    private final ThreadPoolTaskExecutor analysisExecutor;
+    private final AnalysisClientConfig clientConfig;
+    private final CloseableHttpClient httpClient;
+    private final AnalysisEndpointPool endpointPool;
+    private final AnalysisJobService analysisJobService;
+    private final MockMvc mockMvc;
+
+    // 응답과 분석 완료 이벤트 중 먼저 도착한 쪽의 시각 (videoId 별)
+    private final Map<Long, Long> pending = new ConcurrentHashMap<>();
+    private final AtomicLong analysesDone = new AtomicLong();
+    private final AtomicLong analysesFailed = new AtomicLong();
+
+    public UploadLoadDriver(String analysisBaseUrl, InMemoryS3 inMemoryS3, Options options) throws Exception {
+        stagingDir = Files.createTempDirectory("upload-load");
+
+        SquatVideoRepository squatVideoRepository = InMemoryRepository.create(SquatVideoRepository.class,
+                SquatVideo::getVideoId, SquatVideo::setVideoId, SquatVideo::new, options.dbLatencyMs);
+        AnalysisResultRepository analysisResultRepository = InMemoryRepository.create(AnalysisResultRepository.class,
+                AnalysisResult::getAnalysisId, AnalysisResult::setAnalysisId, AnalysisResult::new, options.dbLatencyMs);
+        UserProgressRepository userProgressRepository = InMemoryRepository.create(UserProgressRepository.class,
+                progress -> null, (progress, id) -> {
+                }, UserProgress::new, options.dbLatencyMs);
+
+        AnalysisResultWriter writer = traced(new AnalysisResultWriter(squatVideoRepository, analysisResultRepository,
+                new UserProgressService(userProgressRepository), this::onEvent));
+        // 분석 작업 대기열(DB)은 끈 상태 (@Value 미적용 시 enabled=false): 실패는 바로 FAILED 로 저장
+        AnalysisOutboxService outboxService = new AnalysisOutboxService(null, squatVideoRepository, writer);
+        ContentDedupService dedupService = new ContentDedupService(squatVideoRepository, analysisResultRepository, writer, outboxService);
+
+        AmazonS3 s3 = traced((AmazonS3) inMemoryS3);
+        partExecutor = executor("load-part-", 16);
+        transferExecutor = executor("load-s3-", 16);
+        S3MultipartUploader uploader = new S3MultipartUploader(s3, partExecutor, 8L << 20, 4, 16L << 20, 3);
+
+        Mp4Probe mp4Probe = new Mp4Probe();
+        ReflectionTestUtils.setField(mp4Probe, "maxReadBytes", 1L << 20);
+        ReflectionTestUtils.setField(mp4Probe, "maxDurationSeconds", 600L);
+
+        VideoUploadService videoUploadService = new VideoUploadService(s3, transferExecutor, uploader, dedupService, mp4Probe);
+        ReflectionTestUtils.setField(videoUploadService, "bucket", "load");
+        ReflectionTestUtils.setField(videoUploadService, "stagingDir", stagingDir.toString());
+        ReflectionTestUtils.setField(videoUploadService, "streamingEnabled", true);
+        ReflectionTestUtils.setField(videoUploadService, "chunkSize", 65536);
+        ReflectionTestUtils.setField(videoUploadService, "bufferChunks", 16);
+
+        AnalysisExecutorConfig executorConfig = new AnalysisExecutorConfig();
+        ReflectionTestUtils.setField(executorConfig, "workerThreads", options.analysisWorkers);
+        ReflectionTestUtils.setField(executorConfig, "queueCapacity", options.analysisQueueCapacity);
+        ReflectionTestUtils.setField(executorConfig, "virtualThreads", false);
+        analysisExecutor = executorConfig.analysisExecutor();
+
+        clientConfig = new AnalysisClientConfig();
+        ReflectionTestUtils.setField(clientConfig, "maxTotal", options.analysisWorkers);
+        ReflectionTestUtils.setField(clientConfig, "maxPerRoute", options.analysisWorkers);
+        ReflectionTestUtils.setField(clientConfig, "connectTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(clientConfig, "poolTimeoutMs", 30000L);
+        ReflectionTestUtils.setField(clientConfig, "readTimeoutMs", options.analysisReadTimeoutMs);
+        ReflectionTestUtils.setField(clientConfig, "totalTimeoutMs", options.analysisReadTimeoutMs * 2);
+        ReflectionTestUtils.setField(clientConfig, "healthTimeoutMs", 1000);
+        ReflectionTestUtils.setField(clientConfig, "idleEvictMs", 30000L);
+        ReflectionTestUtils.setField(clientConfig, "poolConcurrency", "");
+        ReflectionTestUtils.setField(clientConfig, "virtualThreads", false);
+        httpClient = clientConfig.analysisHttpClient(clientConfig.analysisConnectionManager());
+        RestTemplate restTemplate = clientConfig.analysisRestTemplate(httpClient);
+        // 쉼표로 여러 분석 서버를 주면 진행 중인 요청 수 기준으로 나눈다 (스케줄러가 없으므로 헬스 체크는 getEndpointPool().probe() 로 직접)
+        endpointPool = new AnalysisEndpointPool(clientConfig.analysisHealthRestTemplate());
+        ReflectionTestUtils.setField(endpointPool, "baseUrls", analysisBaseUrl);
+        ReflectionTestUtils.setField(endpointPool, "ejectAfterFailures", 3);
+        ReflectionTestUtils.setField(endpointPool, "unhealthyThreshold", 2);
+        ReflectionTestUtils.setField(endpointPool, "healthyThreshold", 2);
+        endpointPool.init();
+        AnalysisServerClient analysisServerClient = traced(new AnalysisServerClient(restTemplate, null, endpointPool));
+
+        analysisJobService = new AnalysisJobService(analysisExecutor, analysisServerClient, writer, dedupService, outboxService);
+        ReflectionTestUtils.setField(analysisJobService, "batchEnabled", options.batchEnabled);
+        ReflectionTestUtils.setField(analysisJobService, "lingerMs", 50L);
+        ReflectionTestUtils.setField(analysisJobService, "maxBatchSize", AnalysisJobService.MAX_BATCH_SIZE);
+        ReflectionTestUtils.setField(analysisJobService, "batchQueueCapacity", options.analysisQueueCapacity);
+        analysisJobService.startBatching();
+
+        UploadAdmissionService admissionService = new UploadAdmissionService();
+        ReflectionTestUtils.setField(admissionService, "enabled", true);
+        ReflectionTestUtils.setField(admissionService, "ratePerMinute", options.admissionRatePerMinute);
+        ReflectionTestUtils.setField(admissionService, "burst", options.admissionBurst);
+        ReflectionTestUtils.setField(admissionService, "maxInFlight", options.admissionMaxInFlight);
+        ReflectionTestUtils.setField(admissionService, "globalRetryAfterSeconds", 5L);
+        admissionService.init();
+
+        // 폐기 목록은 메모리에만 (DB 없음)
+        TokenRevocationService revocationService = new TokenRevocationService(null, new LocalRevocationChannel());
+        ReflectionTestUtils.setField(revocationService, "expectedEntries", 10_000);
+        ReflectionTestUtils.setField(revocationService, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(revocationService, "maxEntries", 10_000);
+        revocationService.init();
+
+        UploadController controller = new UploadController(traced(videoUploadService), analysisJobService, writer, dedupService,
+                outboxService, new ChunkedUploadService(), null, squatVideoRepository, analysisResultRepository);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .addFilters(new JwtFilter(jwtUtil, revocationService), new UploadAdmissionFilter(admissionService))
+                .build();
+    }
+
+    // users 명이 각자 uploadsPerUser 건씩, 최대 concurrency 개를 동시에 올린다. 분석 결과가 모두 저장될 때까지 기다린다
+    public Report run(int users, int uploadsPerUser, int concurrency, int videoBytes) throws InterruptedException {
+        String[] tokens = new String[users];
+        for (int i = 0; i < users; i++) {
+            tokens[i] = jwtUtil.createJwt("access", "load-user-" + i, "ROLE_USER", "부하", 1000L * 60 * 60);
+        }
+
+        Map<Integer, AtomicLong> statuses = new ConcurrentHashMap<>();
+        AtomicLong accepted = new AtomicLong();
+        long doneBefore = analysesDone.get() + analysesFailed.get();
+
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        int requests = users * uploadsPerUser;
+        for (int i = 0; i < requests; i++) {
+            // 사용자별 요청이 몰리지 않도록 순서대로 돌아가며 보낸다
+            String token = tokens[i % users];
+            long seed = i;
+            clients.execute(() -> {
+                byte[] video = TestVideos.mp4(videoBytes, new Random(seed));
+                int status = upload(token, video, accepted);
+                statuses.computeIfAbsent(status, key -> new AtomicLong()).incrementAndGet();
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(10, TimeUnit.MINUTES);
+        double uploadSeconds = (System.nanoTime() - start) / 1e9;
+
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+        while (analysesDone.get() + analysesFailed.get() - doneBefore < accepted.get() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        double totalSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.get()));
+        return new Report(requests, uploadSeconds, totalSeconds, statusCounts, analysesDone.get(), analysesFailed.get(),
+                latencyRegistry.snapshot());
+    }
+
+    public AnalysisEndpointPool getEndpointPool() {
+        return endpointPool;
+    }
+
+    // 응답 상태 코드. 컨트롤러 밖으로 던져진 예외는 서블릿 컨테이너처럼 500 으로 센다
+    private int upload(String token, byte[] video, AtomicLong accepted) {
+        long start = System.nanoTime();
+        try {
+            MockHttpServletResponse response = mockMvc.perform(multipart("/upload")
+                            .file(new MockMultipartFile("upload", "squat.mp4", "video/mp4", video))
+                            .header("access", token))
+                    .andReturn().getResponse();
+            latencyRegistry.record(HTTP_STAGE, System.nanoTime() - start);
+
+            if (response.getStatus() == 202) {
+                accepted.incrementAndGet();
+                JsonNode body = objectMapper.readTree(response.getContentAsByteArray());
+                arrive(body.get("videoId").asLong(), start);
+            }
+            return response.getStatus();
+        } catch (Exception e) {
+            latencyRegistry.record(HTTP_STAGE, System.nanoTime() - start);
+            return 500;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // 먼저 온 쪽은 시각을 남기고, 나중 쪽이 두 시각의 차이를 종단 지연으로 기록
+    private void arrive(long videoId, long nanos) {
+        pending.compute(videoId, (id, other) -> {
+            if (other == null) {
+                return nanos;
+            }
+            latencyRegistry.record(END_TO_END_STAGE, Math.abs(nanos - other));
+            return null;
+        });
+    }
+
+    private void onEvent(Object event) {
+        if (!(event instanceof AnalysisEventDTO analysisEvent) || analysisEvent.getStatus() == Status.PROCESSING) {
+            return;
+        }
+        arrive(analysisEvent.getVideoId(), System.nanoTime());
+        if (analysisEvent.getStatus() == Status.DONE) {
+            analysesDone.incrementAndGet();
+        } else {
+            analysesFailed.incrementAndGet();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T traced(T target) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addAdvice(new LatencyTraceInterceptor(latencyRegistry, 1.0));
+        return (T) proxyFactory.getProxy();
+    }
+
+    private static ThreadPoolTaskExecutor executor(String prefix, int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix(prefix);
+        executor.initialize();
+        return executor;
+    }
+
+    @Override
+    public void close() throws IOException {
+        analysisJobService.stopBatching();
+        analysisExecutor.shutdown();
+        partExecutor.shutdown();
+        transferExecutor.shutdown();
+        httpClient.close();
+        clientConfig.shutdown();
+        try (var files = Files.walk(stagingDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    // 스텁 환경 설정 (DB 지연, 분석 워커 수, 분석 서버 read timeout, 수락 제어 한도)
+    public static class Options {
+        private long dbLatencyMs = 2;
+        private int analysisWorkers = 16;
+        private int analysisQueueCapacity = 1000;
+        private long analysisReadTimeoutMs = 10_000;
+        private boolean batchEnabled = true;
+        private int admissionRatePerMinute = 6000;
+        private int admissionBurst = 100;
+        private int admissionMaxInFlight = 200;
+
+        public Options dbLatencyMs(long dbLatencyMs) {
+            this.dbLatencyMs = dbLatencyMs;
+            return this;
+        }
+
+        public Options analysisWorkers(int analysisWorkers) {
+            this.analysisWorkers = analysisWorkers;
+            return this;
+        }
+
+        public Options analysisQueueCapacity(int analysisQueueCapacity) {
+            this.analysisQueueCapacity = analysisQueueCapacity;
+            return this;
+        }
+
+        public Options analysisReadTimeoutMs(long analysisReadTimeoutMs) {
+            this.analysisReadTimeoutMs = analysisReadTimeoutMs;
+            return this;
+        }
+
+        public Options batchEnabled(boolean batchEnabled) {
+            this.batchEnabled = batchEnabled;
+            return this;
+        }
+
+        public Options admission(int ratePerMinute, int burst, int maxInFlight) {
+            this.admissionRatePerMinute = ratePerMinute;
+            this.admissionBurst = burst;
+            this.admissionMaxInFlight = maxInFlight;
+            return this;
+        }
+    }
+
+    public static class Report {
+        private final int requests;
+        private final double uploadSeconds;
+        private final double totalSeconds;
+        private final Map<Integer, Long> statusCounts;
+        private final long analysesDone;
+        private final long analysesFailed;
+        private final Map<String, Map<String, Object>> stages;
+
+        private Report(int requests, double uploadSeconds, double totalSeconds, Map<Integer, Long> statusCounts,
+                       long analysesDone, long analysesFailed, Map<String, Map<String, Object>> stages) {
+            this.requests = requests;
+            this.uploadSeconds = uploadSeconds;
+            this.totalSeconds = totalSeconds;
+            this.statusCounts = statusCounts;
+            this.analysesDone = analysesDone;
+            this.analysesFailed = analysesFailed;
+            this.stages = stages;
+        }
+
+        public long count(int status) {
+            return statusCounts.getOrDefault(status, 0L);
+        }
+
+        public long getAnalysesDone() {
+            return analysesDone;
+        }
+
+        public long getAnalysesFailed() {
+            return analysesFailed;
+        }
+
+        public Map<String, Map<String, Object>> getStages() {
+            return stages;
+        }
+
+        public void print(PrintStream out) {
+            out.printf("requests=%d upload_s=%.2f upload_req_per_s=%.1f total_s=%.2f statuses=%s analyses_done=%d analyses_failed=%d%n",
+                    requests, uploadSeconds, requests / uploadSeconds, totalSeconds, statusCounts, analysesDone, analysesFailed);
+            out.println("stage,count,mean_ms,p50_ms,p99_ms,p999_ms,max_ms");
+            stages.forEach((name, snapshot) -> out.printf("%s,%s,%.2f,%s,%s,%s,%s%n", name, snapshot.get("count"),
+                    ((Number) snapshot.get("meanMs")).doubleValue(), snapshot.get("p50Ms"), snapshot.get("p99Ms"),
+                    snapshot.get("p999Ms"), snapshot.get("maxMs")));
+        }
+    }
+}